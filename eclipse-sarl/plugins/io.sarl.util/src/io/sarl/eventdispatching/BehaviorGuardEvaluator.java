@@ -21,8 +21,12 @@
 
 package io.sarl.eventdispatching;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
 import java.text.MessageFormat;
 import java.util.Collection;
 
@@ -32,6 +36,10 @@ import com.google.common.base.Strings;
  * Describes each class having one of its methods annotated with {@code PerceptGuardEvaluator} annotation corresponding to the
  * method in charge of evaluating the guard associated to a given event and returns the list of behaviors runnable that must be
  * executed according to the result of the guard evaluation.
+ *
+ * <p>The {@code PerceptGuardEvaluator} method is bound to its target once, when the evaluator is created, into a
+ * {@link MethodHandle}. The evaluation of the guard does not use the Java reflection API, except when the method
+ * cannot be bound (for example, when the security manager forbids the access to the method).
  * @author $Author: ngaud$
  * @version $FullVersion$
  * @mavengroupid $GroupId$
@@ -46,6 +54,17 @@ public final class BehaviorGuardEvaluator {
     /** {@code PerceptGuardEvaluator} method. */
     private final Method method;
 
+	/** Type of the events that are accepted by the {@code PerceptGuardEvaluator} method.
+	 * It is {@code null} when the method has not the expected prototype.
+	 */
+	private final Class<?> eventType;
+
+	/** Invoker of the {@code PerceptGuardEvaluator} method, already bound to the {@link #target}.
+	 * Its type is {@code (Object, Collection)void}. It is {@code null} if the method cannot be bound;
+	 * and the reflection API is used in this case.
+	 */
+	private final MethodHandle invoker;
+
     /** Creates a {@code Subscriber} for {@code method} on {@code listener}.
 	 *
 	 * @param target - the listener
@@ -55,8 +74,41 @@ public final class BehaviorGuardEvaluator {
     	assert target != null;
         this.target = target;
         this.method = method;
+		this.eventType = getEventType(method);
+		this.invoker = createInvoker(target, method, this.eventType);
     }
 
+	private static Class<?> getEventType(Method method) {
+		if (method != null) {
+			final Class<?>[] parameterTypes = method.getParameterTypes();
+			if (parameterTypes.length == 2 && Collection.class.isAssignableFrom(parameterTypes[1])) {
+				return parameterTypes[0];
+			}
+		}
+		return null;
+	}
+
+	/** Bind the given method to the given target.
+	 *
+	 * @param target - the object on which the method must be invoked.
+	 * @param method - the method to bind.
+	 * @param eventType - the type of the first formal parameter of the method.
+	 * @return the invoker, or {@code null} if the method cannot be bound.
+	 */
+	private static MethodHandle createInvoker(Object target, Method method, Class<?> eventType) {
+		if (eventType == null || Modifier.isStatic(method.getModifiers())
+				|| eventType.isPrimitive()) {
+			return null;
+		}
+		try {
+			method.setAccessible(true);
+			return MethodHandles.lookup().unreflect(method).bindTo(target).asType(
+					MethodType.methodType(void.class, Object.class, Collection.class));
+		} catch (Throwable exception) {
+			return null;
+		}
+	}
+
 	/**
 	 * Evaluates the guard associated to the specified {@code event} and returns the list of behaviors methods that must be
 	 * executed.
@@ -68,6 +120,19 @@ public final class BehaviorGuardEvaluator {
 	 */
 	public void evaluateGuard(Object event, Collection<Runnable> behaviorsMethodsToExecute)
 			throws InvocationTargetException {
+		if (this.invoker != null) {
+			if (event != null && !this.eventType.isInstance(event)) {
+				throw new Error(MessageFormat.format(Messages.BehaviorGuardEvaluator_0, event));
+			}
+			try {
+				this.invoker.invokeExact(event, behaviorsMethodsToExecute);
+			} catch (Error e) {
+				throw e;
+			} catch (Throwable e) {
+				throw new InvocationTargetException(e);
+			}
+			return;
+		}
 		try {
 			this.method.setAccessible(true);
 			this.method.invoke(this.target, event, behaviorsMethodsToExecute);
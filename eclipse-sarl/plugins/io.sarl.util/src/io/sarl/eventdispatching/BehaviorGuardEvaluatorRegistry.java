@@ -25,9 +25,11 @@ import java.lang.reflect.Method;
 import java.text.MessageFormat;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.CopyOnWriteArraySet;
 
 import com.google.common.base.MoreObjects;
@@ -39,7 +41,7 @@ import com.google.common.cache.LoadingCache;
 import com.google.common.collect.HashMultimap;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
-import com.google.common.collect.Lists;
+import com.google.common.collect.MapMaker;
 import com.google.common.collect.Maps;
 import com.google.common.collect.Multimap;
 import com.google.common.collect.Sets;
@@ -52,6 +54,10 @@ import io.sarl.lang.core.Event;
  * Registry of all {@code BehaviorGuardEvaluator} classes containing a method to evaluate the guard of a given behavior (on clause in SARL behavior).
  * This class has been inspired by the com.google.common.eventbus.SuscriberRegistry class of Google Guava library.
  *
+ * <p>When the registry is created with concurrent data structures, it may be shared between threads without external
+ * synchronization: the updates are serialized internally, and {@link #getBehaviorGuardEvaluators(Event)} reads,
+ * without locking, immutable snapshots that are replaced by the updates.
+ *
  * @author $Author: ngaud$
  * @author $Author: sgalland$
  * @version $FullVersion$
@@ -97,6 +103,26 @@ public class BehaviorGuardEvaluatorRegistry {
 	 */
 	private final Map<Class<? extends Event>, CopyOnWriteArraySet<BehaviorGuardEvaluator>> behaviorGuardEvaluators;
 
+	/**
+	 * The {@code BehaviorGuardEvaluator}s to notify for each concrete event type, i.e. the union of the
+	 * {@code BehaviorGuardEvaluator}s that are registered for the types in the hierarchy of the concrete event type.
+	 *
+	 * <p>The entries are created when an event of a given type is dispatched for the first time. They are rebuilt
+	 * by {@link #register(Object)} and {@link #unregister(Object)} when the event types they depend on are changed.
+	 * In this way, {@link #getBehaviorGuardEvaluators(Event)} does a single lookup and does not allocate memory
+	 * in the common case.
+	 *
+	 * <p>As in the cache of the type hierarchies, the keys are weak references: the event types that are
+	 * loaded by a discarded class loader are not retained by the registry.
+	 */
+	private final Map<Class<?>, ImmutableList<BehaviorGuardEvaluator>> behaviorGuardEvaluatorsPerConcreteType;
+
+	/**
+	 * Lock that is used for updating the registry and for building the entries of
+	 * {@link #behaviorGuardEvaluatorsPerConcreteType}.
+	 */
+	private final Object updateLock = new Object();
+
 	/**
 	 * Instanciates a new registry linked with the {@link PerceptGuardEvaluator} annotation.
 	 *
@@ -123,6 +149,11 @@ public class BehaviorGuardEvaluatorRegistry {
 	public BehaviorGuardEvaluatorRegistry(Map<Class<? extends Event>, CopyOnWriteArraySet<BehaviorGuardEvaluator>> buffer) {
 		assert buffer != null;
 		this.behaviorGuardEvaluators = buffer;
+		final MapMaker mapMaker = new MapMaker().weakKeys();
+		if (!(buffer instanceof ConcurrentMap<?, ?>)) {
+			mapMaker.concurrencyLevel(1);
+		}
+		this.behaviorGuardEvaluatorsPerConcreteType = mapMaker.makeMap();
 	}
 
 	/**
@@ -134,18 +165,23 @@ public class BehaviorGuardEvaluatorRegistry {
 	public void register(Object listener) {
 		final Multimap<Class<? extends Event>, BehaviorGuardEvaluator> listenerMethods = findAllBehaviorGuardEvaluators(listener);
 
-		for (final Map.Entry<Class<? extends Event>, Collection<BehaviorGuardEvaluator>> entry : listenerMethods.asMap().entrySet()) {
-			final Class<? extends Event> eventType = entry.getKey();
-			final Collection<BehaviorGuardEvaluator> eventMethodsInListener = entry.getValue();
+		synchronized (this.updateLock) {
+			for (final Map.Entry<Class<? extends Event>, Collection<BehaviorGuardEvaluator>> entry
+					: listenerMethods.asMap().entrySet()) {
+				final Class<? extends Event> eventType = entry.getKey();
+				final Collection<BehaviorGuardEvaluator> eventMethodsInListener = entry.getValue();
 
-			CopyOnWriteArraySet<BehaviorGuardEvaluator> eventSubscribers = this.behaviorGuardEvaluators.get(eventType);
+				CopyOnWriteArraySet<BehaviorGuardEvaluator> eventSubscribers = this.behaviorGuardEvaluators.get(eventType);
 
-			if (eventSubscribers == null) {
-				final CopyOnWriteArraySet<BehaviorGuardEvaluator> newSet = new CopyOnWriteArraySet<>();
-				eventSubscribers = MoreObjects.firstNonNull(this.behaviorGuardEvaluators.putIfAbsent(eventType, newSet), newSet);
+				if (eventSubscribers == null) {
+					final CopyOnWriteArraySet<BehaviorGuardEvaluator> newSet = new CopyOnWriteArraySet<>();
+					eventSubscribers = MoreObjects.firstNonNull(this.behaviorGuardEvaluators.putIfAbsent(eventType, newSet), newSet);
+				}
+
+				eventSubscribers.addAll(eventMethodsInListener);
 			}
 
-			eventSubscribers.addAll(eventMethodsInListener);
+			rebuildConcreteTypeEntries(listenerMethods.keySet());
 		}
 	}
 
@@ -153,7 +189,10 @@ public class BehaviorGuardEvaluatorRegistry {
 	 * Unregisters all BehaviorGuardEvaluators on all the listener objects.
 	 */
 	public void unregisterAll() {
-		this.behaviorGuardEvaluators.clear();
+		synchronized (this.updateLock) {
+			this.behaviorGuardEvaluators.clear();
+			this.behaviorGuardEvaluatorsPerConcreteType.clear();
+		}
 	}
 
 	/**
@@ -164,49 +203,95 @@ public class BehaviorGuardEvaluatorRegistry {
 	public void unregister(Object listener) {
 		final Multimap<Class<? extends Event>, BehaviorGuardEvaluator> listenerMethods = findAllBehaviorGuardEvaluators(listener);
 
-		for (final Map.Entry<Class<? extends Event>, Collection<BehaviorGuardEvaluator>> entry : listenerMethods.asMap().entrySet()) {
-			final Class<? extends Event> eventType = entry.getKey();
-			final Collection<BehaviorGuardEvaluator> listenerMethodsForType = entry.getValue();
-
-			//TODO Array-based implementation may be not efficient
-			final CopyOnWriteArraySet<BehaviorGuardEvaluator> currentSubscribers = this.behaviorGuardEvaluators.get(eventType);
-
-			if (currentSubscribers == null || !currentSubscribers.removeAll(listenerMethodsForType)) {
-				if (currentSubscribers != null) {
-					currentSubscribers.removeAll(listenerMethodsForType);
+		synchronized (this.updateLock) {
+			try {
+				for (final Map.Entry<Class<? extends Event>, Collection<BehaviorGuardEvaluator>> entry
+						: listenerMethods.asMap().entrySet()) {
+					final Class<? extends Event> eventType = entry.getKey();
+					final Collection<BehaviorGuardEvaluator> listenerMethodsForType = entry.getValue();
+
+					//TODO Array-based implementation may be not efficient
+					final CopyOnWriteArraySet<BehaviorGuardEvaluator> currentSubscribers = this.behaviorGuardEvaluators.get(eventType);
+
+					if (currentSubscribers == null || !currentSubscribers.removeAll(listenerMethodsForType)) {
+						if (currentSubscribers != null) {
+							currentSubscribers.removeAll(listenerMethodsForType);
+						}
+						// if removeAll returns true, all we really know is that at least one subscriber was
+						// removed... however, barring something very strange we can assume that if at least one
+						// subscriber was removed, all subscribers on listener for that event type were... after
+						// all, the definition of subscribers on a particular class is totally static
+						throw new IllegalArgumentException(MessageFormat.format(Messages.BehaviorGuardEvaluatorRegistry_0, listener));
+					}
+
+					// don't try to remove the set if it's empty; that can't be done safely without a lock
+					// anyway, if the set is empty it'll just be wrapping an array of length 0
 				}
-				// if removeAll returns true, all we really know is that at least one subscriber was
-				// removed... however, barring something very strange we can assume that if at least one
-				// subscriber was removed, all subscribers on listener for that event type were... after
-				// all, the definition of subscribers on a particular class is totally static
-				throw new IllegalArgumentException(MessageFormat.format(Messages.BehaviorGuardEvaluatorRegistry_0, listener));
+			} finally {
+				rebuildConcreteTypeEntries(listenerMethods.keySet());
+			}
+		}
+	}
+
+	/**
+	 * Rebuild the entries of {@link #behaviorGuardEvaluatorsPerConcreteType} that are depending on one of the given
+	 * event types. This function must be called when {@link #updateLock} is owned.
+	 *
+	 * @param changedEventTypes the event types for which the registered {@code BehaviorGuardEvaluator}s have changed.
+	 */
+	private void rebuildConcreteTypeEntries(Set<Class<? extends Event>> changedEventTypes) {
+		if (changedEventTypes.isEmpty()) {
+			return;
+		}
+		for (final Map.Entry<Class<?>, ImmutableList<BehaviorGuardEvaluator>> entry
+				: this.behaviorGuardEvaluatorsPerConcreteType.entrySet()) {
+			final ImmutableSet<Class<?>> eventTypes = flattenHierarchy(entry.getKey());
+			if (!Collections.disjoint(eventTypes, changedEventTypes)) {
+				entry.setValue(buildBehaviorGuardEvaluators(eventTypes));
 			}
+		}
+	}
 
-			// don't try to remove the set if it's empty; that can't be done safely without a lock
-			// anyway, if the set is empty it'll just be wrapping an array of length 0
+	/**
+	 * Build the immutable list of the {@code BehaviorGuardEvaluator}s that are registered for the given event types.
+	 *
+	 * @param eventTypes the event types.
+	 * @return the {@code BehaviorGuardEvaluator}s.
+	 */
+	private ImmutableList<BehaviorGuardEvaluator> buildBehaviorGuardEvaluators(ImmutableSet<Class<?>> eventTypes) {
+		final ImmutableList.Builder<BehaviorGuardEvaluator> builder = ImmutableList.builder();
+		for (final Class<?> eventType : eventTypes) {
+			final CopyOnWriteArraySet<BehaviorGuardEvaluator> eventSubscribers = this.behaviorGuardEvaluators.get(eventType);
+			if (eventSubscribers != null) {
+				builder.addAll(eventSubscribers);
+			}
 		}
+		return builder.build();
 	}
 
 	/**
 	 * Gets an iterator representing an immutable snapshot of all BehaviorGuardEvaluators to the given event at the time this method is called.
 	 *
+	 * <p>The replied collection is shared between the callers and cannot be modified.
+	 *
 	 * @param event
 	 *            -the event to process
 	 * @return the set of guard evaluators associated to the specified event
 	 */
 	public Collection<BehaviorGuardEvaluator> getBehaviorGuardEvaluators(Event event) {
-		final ImmutableSet<Class<?>> eventTypes = flattenHierarchy(event.getClass());
-
-		final List<BehaviorGuardEvaluator> iBehaviorGuardEvaluators = Lists.newArrayListWithCapacity(eventTypes.size());
-
-		for (final Class<?> eventType : eventTypes) {
-			final CopyOnWriteArraySet<BehaviorGuardEvaluator> eventSubscribers = this.behaviorGuardEvaluators.get(eventType);
-			if (eventSubscribers != null) {
-				iBehaviorGuardEvaluators.addAll(eventSubscribers);
+		final Class<?> concreteType = event.getClass();
+		final ImmutableList<BehaviorGuardEvaluator> evaluators = this.behaviorGuardEvaluatorsPerConcreteType.get(concreteType);
+		if (evaluators != null) {
+			return evaluators;
+		}
+		synchronized (this.updateLock) {
+			ImmutableList<BehaviorGuardEvaluator> newEvaluators = this.behaviorGuardEvaluatorsPerConcreteType.get(concreteType);
+			if (newEvaluators == null) {
+				newEvaluators = buildBehaviorGuardEvaluators(flattenHierarchy(concreteType));
+				this.behaviorGuardEvaluatorsPerConcreteType.put(concreteType, newEvaluators);
 			}
+			return newEvaluators;
 		}
-
-		return iBehaviorGuardEvaluators;
 	}
 
 	/**
@@ -21,6 +21,7 @@
 
 package io.sarl.util;
 
+import java.util.Collections;
 import java.util.Set;
 import java.util.TreeSet;
 
@@ -30,12 +31,15 @@ import io.sarl.lang.core.Scope;
 /**
  * Scope using {@link Address} for EventSpace's.
  *
+ * <p>This scope enumerates its addresses, which enables the spaces to deliver the events to the
+ * matching participants without testing all the participants.
+ *
  * @author $Author: srodriguez$
  * @version $FullVersion$
  * @mavengroupid $GroupId$
  * @mavenartifactid $ArtifactId$
  */
-public class AddressScope implements Scope<Address> {
+public class AddressScope implements EnumerableScope<Address> {
 
 	private static final long serialVersionUID = 1910691822350327667L;
 
@@ -66,6 +70,11 @@ public class AddressScope implements Scope<Address> {
 		return this.addresses.contains(address);
 	}
 
+	@Override
+	public Set<Address> getReceivers() {
+		return Collections.unmodifiableSet(this.addresses);
+	}
+
 	/** Create an scope restricted to the given addresses.
 	 *
 	 * @param addresses - addresses to put in the scope.
@@ -0,0 +1,49 @@
+/*
+ * $Id$
+ *
+ * SARL is an general-purpose agent programming language.
+ * More details on http://www.sarl.io
+ *
+ * Copyright (C) 2014-2016 the original authors or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.sarl.util;
+
+import java.util.Set;
+
+import io.sarl.lang.core.Scope;
+
+/**
+ * Scope that is able to enumerate the elements it matches.
+ *
+ * <p>The spaces may use the replied elements for delivering an event to the matching participants without
+ * testing each participant with {@link #matches(Object)}. Consequently, an element {@code e} is replied by
+ * {@link #getReceivers()} if and only if {@code matches(e)} is {@code true}.
+ *
+ * @param <T> - the type of the elements in the scope.
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ */
+public interface EnumerableScope<T> extends Scope<T> {
+
+	/** Replies the elements that are matched by this scope.
+	 *
+	 * @return the unmodifiable set of the matching elements.
+	 */
+	Set<T> getReceivers();
+
+}
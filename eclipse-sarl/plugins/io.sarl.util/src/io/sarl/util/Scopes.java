@@ -57,6 +57,16 @@ public final class Scopes {
 		return new AddressScope(addresses);
 	}
 
+	/** Create an scope restricted to the subscribers of the given topic in a {@link TopicEventSpace}.
+	 *
+	 * @param topic - the topic.
+	 * @return the scope restricted to the subscribers of the topic.
+	 * @since 0.5
+	 */
+	public static Scope<Address> topic(String topic) {
+		return new TopicScope(topic);
+	}
+
 	/** A scope that is matching all the elements.
 	 *
 	 * @param <T> - the type of the elements to match to.
@@ -0,0 +1,43 @@
+/*
+ * $Id$
+ *
+ * SARL is an general-purpose agent programming language.
+ * More details on http://www.sarl.io
+ *
+ * Copyright (C) 2014-2016 the original authors or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.sarl.util;
+
+import io.sarl.lang.core.Scope;
+
+/**
+ * Scope that is evaluated only by the spaces that are dedicated to it.
+ *
+ * <p>The elements matched by this scope are known by a specific type of space only, e.g. the subscribers of
+ * a topic, or the participants located inside a disc. Consequently, {@link #matches(Object)} replies always
+ * <code>false</code>, and the spaces that are not dedicated to this scope are rejecting it, instead of
+ * silently dropping the events.
+ *
+ * @param <T> - the type of the elements in the scope.
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 0.5
+ */
+public interface SpaceSpecificScope<T> extends Scope<T> {
+	//
+}
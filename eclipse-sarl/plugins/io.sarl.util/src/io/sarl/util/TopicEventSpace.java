@@ -0,0 +1,99 @@
+/*
+ * $Id$
+ *
+ * SARL is an general-purpose agent programming language.
+ * More details on http://www.sarl.io
+ *
+ * Copyright (C) 2014-2016 the original authors or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.sarl.util;
+
+import java.util.Set;
+import java.util.UUID;
+
+import io.sarl.lang.core.Address;
+import io.sarl.lang.core.Event;
+import io.sarl.lang.core.EventListener;
+import io.sarl.lang.core.EventSpace;
+
+/**
+ * Event driven interaction space where the agents are subscribing to topics.
+ *
+ * <p>An event that is emitted with a {@link TopicScope} is delivered to the subscribers of the topic only,
+ * without testing the other participants of the space.
+ *
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 0.5
+ */
+public interface TopicEventSpace extends EventSpace {
+
+	/**
+	 * Subscribes the entity to the given topic.
+	 * The entity is registered inside this space if it is not yet registered.
+	 *
+	 * <p>If the agent is already registered the address is return, but the listener is not replaced.
+	 *
+	 * @param entity - the entity to subscribe.
+	 * @param topic - the topic.
+	 * @return the entity's address in this space
+	 */
+	Address subscribe(EventListener entity, String topic);
+
+	/**
+	 * Unsubscribes the entity from the given topic.
+	 * The entity stays registered inside this space.
+	 *
+	 * @param entity - the entity to unsubscribe.
+	 * @param topic - the topic.
+	 * @return <code>true</code> if the entity was subscribing to the topic.
+	 */
+	boolean unsubscribe(EventListener entity, String topic);
+
+	/**
+	 * Unregisters the entity inside this space, and unsubscribes it from all the topics.
+	 *
+	 * @param entity - the entity to unregister.
+	 * @return the former entity's address
+	 */
+	Address unregister(EventListener entity);
+
+	/**
+	 * Replies the identifiers of the subscribers of the given topic.
+	 *
+	 * @param topic - the topic.
+	 * @return the identifiers of the subscribers.
+	 */
+	Set<UUID> getSubscribers(String topic);
+
+	/**
+	 * Replies the topics that have at least one subscriber.
+	 *
+	 * @return the topics.
+	 */
+	Set<String> getTopics();
+
+	/**
+	 * Emit the event to the subscribers of the given topic.
+	 * This function is equivalent to <code>emit(event, Scopes.topic(topic))</code>.
+	 *
+	 * @param event - the event to emit.
+	 * @param topic - the topic.
+	 */
+	void emit(Event event, String topic);
+
+}
@@ -0,0 +1,91 @@
+/*
+ * $Id$
+ *
+ * SARL is an general-purpose agent programming language.
+ * More details on http://www.sarl.io
+ *
+ * Copyright (C) 2014-2016 the original authors or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.sarl.util;
+
+import io.sarl.lang.core.Address;
+
+/**
+ * Scope that is restricted to the subscribers of a topic in a {@link TopicEventSpace}.
+ *
+ * <p>The subscriptions are known by the topic space only. Consequently, this scope is evaluated
+ * by the topic space with its subscriber sets, and {@link #matches(Address)} replies always
+ * <code>false</code>. Because the scope is sent with the event on the network, the remote kernels
+ * are delivering the event to their local subscribers of the topic. The event spaces that are not topic-based
+ * are rejecting this scope.
+ *
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 0.5
+ */
+public class TopicScope implements SpaceSpecificScope<Address> {
+
+	private static final long serialVersionUID = 4431468839427329387L;
+
+	private static final String SCOPE_ID = "topic://"; //$NON-NLS-1$
+
+	private final String topic;
+
+	/**
+	 * @param topic - the topic.
+	 */
+	protected TopicScope(String topic) {
+		assert topic != null;
+		this.topic = topic;
+	}
+
+	/**
+	 * Replies the topic.
+	 *
+	 * @return the topic.
+	 */
+	public String getTopic() {
+		return this.topic;
+	}
+
+	@Override
+	public boolean matches(Address element) {
+		return false;
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj) {
+			return true;
+		}
+		if (obj instanceof TopicScope) {
+			return this.topic.equals(((TopicScope) obj).topic);
+		}
+		return false;
+	}
+
+	@Override
+	public int hashCode() {
+		return this.topic.hashCode();
+	}
+
+	@Override
+	public String toString() {
+		return SCOPE_ID + this.topic;
+	}
+
+}
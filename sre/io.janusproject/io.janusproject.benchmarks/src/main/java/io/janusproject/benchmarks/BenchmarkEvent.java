@@ -0,0 +1,97 @@
+/*
+ * $Id$
+ *
+ * SARL is an general-purpose agent programming language.
+ * More details on http://www.sarl.io
+ *
+ * Copyright (C) 2014-2016 the original authors or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.janusproject.benchmarks;
+
+import java.util.concurrent.CountDownLatch;
+
+import io.sarl.lang.core.Address;
+import io.sarl.lang.core.Event;
+
+/**
+ * Event that is emitted, dispatched and serialized by the benchmarks.
+ *
+ * <p>The event may carry a latch that is counted down by each receiver, in order to let a benchmark wait
+ * for the asynchronous deliveries. The latch is transient: it is never serialized.
+ *
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ */
+public class BenchmarkEvent extends Event {
+
+	private static final long serialVersionUID = -2415862046012349287L;
+
+	private final String label;
+
+	private final int value;
+
+	private final transient CountDownLatch latch;
+
+	/**
+	 * Construct an empty event, as the events that are generated by the SARL compiler.
+	 * It is the constructor that is used by the deserializers.
+	 */
+	public BenchmarkEvent() {
+		this(null, null, 0, null);
+	}
+
+	/**
+	 * Construct an event.
+	 *
+	 * @param source - the source of the event.
+	 * @param label - the text in the event.
+	 * @param value - the number in the event.
+	 * @param latch - the latch that is counted down by the receivers, or {@code null}.
+	 */
+	public BenchmarkEvent(Address source, String label, int value, CountDownLatch latch) {
+		super(source);
+		this.label = label;
+		this.value = value;
+		this.latch = latch;
+	}
+
+	/** Replies the text in the event.
+	 *
+	 * @return the text.
+	 */
+	public String getLabel() {
+		return this.label;
+	}
+
+	/** Replies the number in the event.
+	 *
+	 * @return the number.
+	 */
+	public int getValue() {
+		return this.value;
+	}
+
+	/** Notify the receiving of this event.
+	 */
+	public void received() {
+		if (this.latch != null) {
+			this.latch.countDown();
+		}
+	}
+
+}
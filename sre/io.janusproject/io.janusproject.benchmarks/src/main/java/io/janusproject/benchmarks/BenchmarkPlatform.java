@@ -0,0 +1,108 @@
+/*
+ * $Id$
+ *
+ * SARL is an general-purpose agent programming language.
+ * More details on http://www.sarl.io
+ *
+ * Copyright (C) 2014-2016 the original authors or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.janusproject.benchmarks;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.Collection;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import io.janusproject.Boot;
+import io.janusproject.JanusConfig;
+import io.janusproject.kernel.Kernel;
+import io.janusproject.services.contextspace.ContextSpaceService;
+import io.janusproject.services.spawn.SpawnService;
+
+import io.sarl.lang.core.AgentContext;
+
+/**
+ * Launcher of the Janus platform that is used by the benchmarks.
+ *
+ * <p>The platform is launched offline (see {@link OfflineJanusPlatformModule}), without logging, and with an
+ * {@link IdleAgent} as boot agent. Because the boot agent is never killed by the benchmarks, the kernel is
+ * running until {@link #stop(Kernel)} is invoked.
+ *
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ */
+public final class BenchmarkPlatform {
+
+	private static final long STOP_TIMEOUT = 30;
+
+	private static final long STOP_POLLING_DELAY = 10;
+
+	private BenchmarkPlatform() {
+		//
+	}
+
+	/**
+	 * Start a kernel that is not connected to the network.
+	 *
+	 * @return the kernel.
+	 * @throws Exception - if the kernel cannot be launched.
+	 */
+	public static Kernel start() throws Exception {
+		Boot.setOffline(true);
+		Boot.setVerboseLevel(0);
+		Boot.setProperty(JanusConfig.JANUS_LOGO_SHOW_NAME, Boolean.FALSE.toString());
+		Boot.setConsoleLogger(new PrintStream(new OutputStream() {
+			@Override
+			public void write(int b) {
+				//
+			}
+		}));
+		return Boot.startJanusWithModule(new OfflineJanusPlatformModule(), IdleAgent.class);
+	}
+
+	/**
+	 * Stop the given kernel by killing its boot agent, and wait for the end of the kernel.
+	 *
+	 * @param kernel - the kernel to stop.
+	 * @throws Exception - if the kernel cannot be stopped.
+	 */
+	public static void stop(Kernel kernel) throws Exception {
+		final UUID bootAgent = Boot.getBootAgentIdentifier();
+		final SpawnService spawnService = kernel.getService(SpawnService.class);
+		if (bootAgent != null && spawnService != null) {
+			spawnService.killAgent(bootAgent);
+		}
+		final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(STOP_TIMEOUT);
+		while (kernel.isRunning() && System.nanoTime() < deadline) {
+			Thread.sleep(STOP_POLLING_DELAY);
+		}
+	}
+
+	/**
+	 * Replies the root context of the given kernel, i.e. the context of its boot agent.
+	 *
+	 * @param kernel - the kernel.
+	 * @return the root context.
+	 */
+	public static AgentContext getRootContext(Kernel kernel) {
+		final Collection<AgentContext> contexts = kernel.getService(ContextSpaceService.class).getContexts();
+		return contexts.iterator().next();
+	}
+
+}
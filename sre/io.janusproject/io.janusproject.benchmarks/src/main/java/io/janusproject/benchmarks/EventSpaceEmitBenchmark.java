@@ -0,0 +1,164 @@
+/*
+ * $Id$
+ *
+ * SARL is an general-purpose agent programming language.
+ * More details on http://www.sarl.io
+ *
+ * Copyright (C) 2014-2016 the original authors or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.janusproject.benchmarks;
+
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.janusproject.kernel.Kernel;
+import io.janusproject.kernel.space.AbstractEventSpace;
+
+import io.sarl.lang.core.Address;
+import io.sarl.lang.core.Event;
+import io.sarl.lang.core.EventListener;
+import io.sarl.util.OpenEventSpace;
+import io.sarl.util.Scopes;
+
+/**
+ * Benchmark of {@link AbstractEventSpace#emit(Event, io.sarl.lang.core.Scope)}.
+ *
+ * <p>An event is emitted in the default space of the root context, in which {@link #agents} listeners are registered.
+ * Each operation waits for the delivery of the event to the listeners that are matching the scope.
+ *
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class EventSpaceEmitBenchmark {
+
+	/** Number of listeners in the space.
+	 */
+	@Param({"1", "100", "10000"})
+	@SuppressWarnings("checkstyle:visibilitymodifier")
+	public int agents;
+
+	private Kernel kernel;
+
+	private OpenEventSpace space;
+
+	private Address source;
+
+	private Address receiver;
+
+	/** Launch the kernel and register the listeners.
+	 *
+	 * @throws Exception - if the kernel cannot be launched.
+	 */
+	@Setup(Level.Trial)
+	public void setUp() throws Exception {
+		this.kernel = BenchmarkPlatform.start();
+		this.space = (OpenEventSpace) BenchmarkPlatform.getRootContext(this.kernel).getDefaultSpace();
+		for (int i = 0; i < this.agents; ++i) {
+			final Address address = this.space.register(new Receiver());
+			if (this.source == null) {
+				this.source = address;
+			}
+			this.receiver = address;
+		}
+	}
+
+	/** Stop the kernel.
+	 *
+	 * @throws Exception - if the kernel cannot be stopped.
+	 */
+	@TearDown(Level.Trial)
+	public void tearDown() throws Exception {
+		BenchmarkPlatform.stop(this.kernel);
+		this.kernel = null;
+		this.space = null;
+	}
+
+	/** Emit an event to all the participants of the space.
+	 *
+	 * @throws InterruptedException - if the waiting for the deliveries was interrupted.
+	 */
+	@Benchmark
+	public void emitToAllParticipants() throws InterruptedException {
+		final CountDownLatch latch = new CountDownLatch(this.agents);
+		this.space.emit(new BenchmarkEvent(this.source, "all", this.agents, latch)); //$NON-NLS-1$
+		latch.await();
+	}
+
+	/** Emit an event to a single participant of the space, given by its address.
+	 *
+	 * @throws InterruptedException - if the waiting for the delivery was interrupted.
+	 */
+	@Benchmark
+	public void emitToOneAddress() throws InterruptedException {
+		final CountDownLatch latch = new CountDownLatch(1);
+		this.space.emit(new BenchmarkEvent(this.source, "one", 1, latch), Scopes.addresses(this.receiver)); //$NON-NLS-1$
+		latch.await();
+	}
+
+	/**
+	 * Listener that notifies the receiving of the benchmark events.
+	 *
+	 * @author $Author: sgalland$
+	 * @version $FullVersion$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 */
+	private static class Receiver implements EventListener {
+
+		private final UUID id = UUID.randomUUID();
+
+		Receiver() {
+			//
+		}
+
+		@Override
+		public UUID getID() {
+			return this.id;
+		}
+
+		@Override
+		public void receiveEvent(Event event) {
+			if (event instanceof BenchmarkEvent) {
+				((BenchmarkEvent) event).received();
+			}
+		}
+
+	}
+
+}
@@ -0,0 +1,139 @@
+/*
+ * $Id$
+ *
+ * SARL is an general-purpose agent programming language.
+ * More details on http://www.sarl.io
+ *
+ * Copyright (C) 2014-2016 the original authors or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.janusproject.benchmarks;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.sarl.eventdispatching.BehaviorGuardEvaluator;
+import io.sarl.eventdispatching.BehaviorGuardEvaluatorRegistry;
+
+/**
+ * Benchmark of the {@link BehaviorGuardEvaluatorRegistry} and of the {@link BehaviorGuardEvaluator}.
+ *
+ * <p>The registry contains {@link #listeners} objects with a guard evaluator for {@link BenchmarkEvent}.
+ * The benchmarks measure the lookup of the guard evaluators for an event, the evaluation of the guards, and
+ * the evaluation of the same guards with the reflection API, which is the reference implementation.
+ *
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class GuardEvaluatorBenchmark {
+
+	/** Number of objects with a guard evaluator in the registry.
+	 */
+	@Param({"1", "16", "256"})
+	@SuppressWarnings("checkstyle:visibilitymodifier")
+	public int listeners;
+
+	private final BenchmarkEvent event = new BenchmarkEvent(null, "guard", 0, null); //$NON-NLS-1$
+
+	private final List<Runnable> behaviors = new ArrayList<>();
+
+	private BehaviorGuardEvaluatorRegistry registry;
+
+	private Collection<BehaviorGuardEvaluator> evaluators;
+
+	private Object[] targets;
+
+	private Method guardMethod;
+
+	/** Fill the registry.
+	 *
+	 * @throws Exception - if the guard evaluator method cannot be found.
+	 */
+	@Setup(Level.Trial)
+	public void setUp() throws Exception {
+		this.registry = new BehaviorGuardEvaluatorRegistry();
+		this.targets = new Object[this.listeners];
+		for (int i = 0; i < this.listeners; ++i) {
+			this.targets[i] = new InternalEventDispatchBenchmark.GuardedBehavior();
+			this.registry.register(this.targets[i]);
+		}
+		this.evaluators = this.registry.getBehaviorGuardEvaluators(this.event);
+		this.guardMethod = InternalEventDispatchBenchmark.GuardedBehavior.class.getDeclaredMethod(
+				"guardEvaluator", BenchmarkEvent.class, Collection.class); //$NON-NLS-1$
+		this.guardMethod.setAccessible(true);
+	}
+
+	/** Lookup the guard evaluators that are associated to the event.
+	 *
+	 * @return the guard evaluators.
+	 */
+	@Benchmark
+	public Collection<BehaviorGuardEvaluator> lookup() {
+		return this.registry.getBehaviorGuardEvaluators(this.event);
+	}
+
+	/** Evaluate the guards with the {@link BehaviorGuardEvaluator}.
+	 *
+	 * @return the number of behaviors to run.
+	 * @throws Exception - if a guard cannot be evaluated.
+	 */
+	@Benchmark
+	public int evaluateGuards() throws Exception {
+		this.behaviors.clear();
+		for (final BehaviorGuardEvaluator evaluator : this.evaluators) {
+			evaluator.evaluateGuard(this.event, this.behaviors);
+		}
+		return this.behaviors.size();
+	}
+
+	/** Evaluate the guards with {@link Method#invoke(Object, Object...)}.
+	 *
+	 * @return the number of behaviors to run.
+	 * @throws Exception - if a guard cannot be evaluated.
+	 */
+	@Benchmark
+	public int evaluateGuardsWithReflection() throws Exception {
+		this.behaviors.clear();
+		for (final Object target : this.targets) {
+			this.guardMethod.invoke(target, this.event, this.behaviors);
+		}
+		return this.behaviors.size();
+	}
+
+}
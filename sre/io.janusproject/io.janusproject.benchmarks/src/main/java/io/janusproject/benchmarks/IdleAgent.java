@@ -0,0 +1,55 @@
+/*
+ * $Id$
+ *
+ * SARL is an general-purpose agent programming language.
+ * More details on http://www.sarl.io
+ *
+ * Copyright (C) 2014-2016 the original authors or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.janusproject.benchmarks;
+
+import java.util.UUID;
+
+import io.sarl.lang.SARLVersion;
+import io.sarl.lang.annotation.SarlSpecification;
+import io.sarl.lang.core.Agent;
+import io.sarl.lang.core.BuiltinCapacitiesProvider;
+
+/**
+ * Agent without behavior.
+ *
+ * <p>It is the boot agent of the benchmarked kernels, and the agent that is spawned by the spawn benchmarks.
+ *
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ */
+@SarlSpecification(SARLVersion.SPECIFICATION_RELEASE_VERSION_STRING)
+public class IdleAgent extends Agent {
+
+	/**
+	 * Construct an agent.
+	 *
+	 * @param provider - the provider of builtin capacities.
+	 * @param parentID - the identifier of the parent's agent.
+	 * @param agentID - the identifier of the agent.
+	 */
+	public IdleAgent(BuiltinCapacitiesProvider provider, UUID parentID, UUID agentID) {
+		super(provider, parentID, agentID);
+	}
+
+}
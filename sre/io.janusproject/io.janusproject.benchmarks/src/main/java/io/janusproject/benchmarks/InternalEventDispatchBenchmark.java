@@ -0,0 +1,158 @@
+/*
+ * $Id$
+ *
+ * SARL is an general-purpose agent programming language.
+ * More details on http://www.sarl.io
+ *
+ * Copyright (C) 2014-2016 the original authors or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.janusproject.benchmarks;
+
+import java.util.Collection;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.janusproject.JanusConfig;
+import io.janusproject.kernel.Kernel;
+import io.janusproject.kernel.bic.internaleventdispatching.AgentInternalEventsDispatcher;
+import io.janusproject.services.executor.ExecutorService;
+
+import io.sarl.lang.annotation.PerceptGuardEvaluator;
+
+/**
+ * Benchmark of the {@link AgentInternalEventsDispatcher}.
+ *
+ * <p>The dispatcher contains {@link #guards} objects with a guard evaluator for {@link BenchmarkEvent}. Each operation
+ * dispatches one event, and waits for the execution of all the behavior methods. The parallel evaluation of the guards
+ * is enabled from {@link #threshold} guard evaluators; {@code 0} means that the guards are always evaluated sequentially.
+ *
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @see JanusConfig#PARALLEL_GUARD_EVALUATION_THRESHOLD_NAME
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class InternalEventDispatchBenchmark {
+
+	/** Number of guard evaluators for the dispatched event.
+	 */
+	@Param({"1", "16", "256"})
+	@SuppressWarnings("checkstyle:visibilitymodifier")
+	public int guards;
+
+	/** Minimal number of guard evaluators for evaluating them in parallel.
+	 */
+	@Param({"0", "" + JanusConfig.PARALLEL_GUARD_EVALUATION_THRESHOLD_VALUE})
+	@SuppressWarnings("checkstyle:visibilitymodifier")
+	public int threshold;
+
+	private Kernel kernel;
+
+	private AgentInternalEventsDispatcher dispatcher;
+
+	/** Launch the kernel and create the dispatcher.
+	 *
+	 * @throws Exception - if the kernel cannot be launched.
+	 */
+	@Setup(Level.Trial)
+	public void setUp() throws Exception {
+		this.kernel = BenchmarkPlatform.start();
+		this.dispatcher = new AgentInternalEventsDispatcher(this.kernel.getService(ExecutorService.class), this.threshold);
+		for (int i = 0; i < this.guards; ++i) {
+			this.dispatcher.register(new GuardedBehavior());
+		}
+	}
+
+	/** Stop the kernel.
+	 *
+	 * @throws Exception - if the kernel cannot be stopped.
+	 */
+	@TearDown(Level.Trial)
+	public void tearDown() throws Exception {
+		this.dispatcher.unregisterAll();
+		this.dispatcher = null;
+		BenchmarkPlatform.stop(this.kernel);
+		this.kernel = null;
+	}
+
+	/** Dispatch an event with {@link AgentInternalEventsDispatcher#immediateDispatch(io.sarl.lang.core.Event)}.
+	 *
+	 * @throws InterruptedException - if the waiting for the behaviors was interrupted.
+	 */
+	@Benchmark
+	public void immediateDispatch() throws InterruptedException {
+		final CountDownLatch latch = new CountDownLatch(this.guards);
+		this.dispatcher.immediateDispatch(new BenchmarkEvent(null, "immediate", this.guards, latch)); //$NON-NLS-1$
+		latch.await();
+	}
+
+	/** Dispatch an event with {@link AgentInternalEventsDispatcher#asyncDispatch(io.sarl.lang.core.Event)}.
+	 *
+	 * @throws InterruptedException - if the waiting for the behaviors was interrupted.
+	 */
+	@Benchmark
+	public void asyncDispatch() throws InterruptedException {
+		final CountDownLatch latch = new CountDownLatch(this.guards);
+		this.dispatcher.asyncDispatch(new BenchmarkEvent(null, "async", this.guards, latch)); //$NON-NLS-1$
+		latch.await();
+	}
+
+	/**
+	 * Object with a behavior unit on {@link BenchmarkEvent}, as generated by the SARL compiler.
+	 *
+	 * @author $Author: sgalland$
+	 * @version $FullVersion$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 */
+	static class GuardedBehavior {
+
+		GuardedBehavior() {
+			//
+		}
+
+		@PerceptGuardEvaluator
+		private void guardEvaluator(BenchmarkEvent occurrence, Collection<Runnable> behaviorsMethodsToExecute) {
+			behaviorsMethodsToExecute.add(() -> behaviorUnit(occurrence));
+		}
+
+		private static void behaviorUnit(BenchmarkEvent occurrence) {
+			occurrence.received();
+		}
+
+	}
+
+}
@@ -0,0 +1,56 @@
+/*
+ * $Id$
+ *
+ * SARL is an general-purpose agent programming language.
+ * More details on http://www.sarl.io
+ *
+ * Copyright (C) 2014-2016 the original authors or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.janusproject.benchmarks;
+
+import com.google.inject.AbstractModule;
+
+import io.janusproject.modules.BootModule;
+import io.janusproject.modules.StandardCoreModule;
+import io.janusproject.modules.kernel.LocalDistributedDataStructureServiceModule;
+import io.janusproject.modules.kernel.LocalInfrastructureServiceModule;
+import io.janusproject.modules.kernel.LocalKernelDiscoveryServiceModule;
+import io.janusproject.modules.nonetwork.NoNetworkModule;
+
+/**
+ * The module configures Janus to run the benchmarks with the standard core modules and without network.
+ *
+ * <p>The distributed data structures are local, and the events are never published outside the JVM.
+ * In this way, the results of the benchmarks depend neither on the network nor on the other hosts.
+ *
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ */
+public class OfflineJanusPlatformModule extends AbstractModule {
+
+	@Override
+	protected void configure() {
+		install(new BootModule());
+		install(new LocalInfrastructureServiceModule());
+		install(new LocalDistributedDataStructureServiceModule());
+		install(new LocalKernelDiscoveryServiceModule());
+		install(new StandardCoreModule());
+		install(new NoNetworkModule());
+	}
+
+}
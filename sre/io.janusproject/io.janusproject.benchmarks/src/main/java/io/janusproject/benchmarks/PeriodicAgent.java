@@ -0,0 +1,84 @@
+/*
+ * $Id$
+ *
+ * SARL is an general-purpose agent programming language.
+ * More details on http://www.sarl.io
+ *
+ * Copyright (C) 2014-2016 the original authors or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.janusproject.benchmarks;
+
+import java.util.Collection;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.sarl.core.AgentTask;
+import io.sarl.core.Initialize;
+import io.sarl.core.Schedules;
+import io.sarl.lang.SARLVersion;
+import io.sarl.lang.annotation.PerceptGuardEvaluator;
+import io.sarl.lang.annotation.SarlSpecification;
+import io.sarl.lang.core.Agent;
+import io.sarl.lang.core.BuiltinCapacitiesProvider;
+
+/**
+ * Agent that runs a periodic task with {@link Schedules#every(AgentTask, long, org.eclipse.xtext.xbase.lib.Procedures.Procedure1)}.
+ *
+ * <p>The initialization parameters are: the latch to count down when the task was run the expected number of times,
+ * the number of times the task must be run, and the period of the task in milliseconds. The task is canceled after
+ * its last run.
+ *
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ */
+@SarlSpecification(SARLVersion.SPECIFICATION_RELEASE_VERSION_STRING)
+public class PeriodicAgent extends Agent {
+
+	/**
+	 * Construct an agent.
+	 *
+	 * @param provider - the provider of builtin capacities.
+	 * @param parentID - the identifier of the parent's agent.
+	 * @param agentID - the identifier of the agent.
+	 */
+	public PeriodicAgent(BuiltinCapacitiesProvider provider, UUID parentID, UUID agentID) {
+		super(provider, parentID, agentID);
+	}
+
+	@PerceptGuardEvaluator
+	private void guardEvaluator(Initialize occurrence, Collection<Runnable> behaviorsMethodsToExecute) {
+		behaviorsMethodsToExecute.add(() -> behaviorUnit(occurrence));
+	}
+
+	private void behaviorUnit(Initialize occurrence) {
+		final CountDownLatch latch = (CountDownLatch) occurrence.parameters[0];
+		final int runs = ((Number) occurrence.parameters[1]).intValue();
+		final long period = ((Number) occurrence.parameters[2]).longValue();
+		final Schedules schedules = getSkill(Schedules.class);
+		final AgentTask task = schedules.task(null);
+		final AtomicInteger counter = new AtomicInteger();
+		schedules.every(task, period, (it) -> {
+			if (counter.incrementAndGet() == runs) {
+				schedules.cancel(task);
+				latch.countDown();
+			}
+		});
+	}
+
+}
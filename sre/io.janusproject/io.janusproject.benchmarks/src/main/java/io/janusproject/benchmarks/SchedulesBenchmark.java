@@ -0,0 +1,127 @@
+/*
+ * $Id$
+ *
+ * SARL is an general-purpose agent programming language.
+ * More details on http://www.sarl.io
+ *
+ * Copyright (C) 2014-2016 the original authors or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.janusproject.benchmarks;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.janusproject.kernel.Kernel;
+import io.janusproject.services.spawn.SpawnService;
+
+import io.sarl.core.Schedules;
+import io.sarl.lang.core.AgentContext;
+
+/**
+ * Benchmark of the periodic tasks of {@link Schedules}, with many agents.
+ *
+ * <p>Each operation spawns {@link #agents} {@link PeriodicAgent periodic agents}, waits until each of them has run
+ * its task {@link #RUNS} times with a period of {@link #PERIOD} milliseconds, and kills them. The measured time
+ * cannot be lower than {@code RUNS * PERIOD} milliseconds; the difference is the cost of the scheduling.
+ *
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+@Fork(1)
+public class SchedulesBenchmark {
+
+	/** Number of times the task of each agent is run.
+	 */
+	public static final int RUNS = 10;
+
+	/** Period of the task of each agent, in milliseconds.
+	 */
+	public static final long PERIOD = 10;
+
+	/** Number of periodic agents.
+	 */
+	@Param({"100", "1000", "10000"})
+	@SuppressWarnings("checkstyle:visibilitymodifier")
+	public int agents;
+
+	private Kernel kernel;
+
+	private SpawnService spawnService;
+
+	private AgentContext context;
+
+	/** Launch the kernel.
+	 *
+	 * @throws Exception - if the kernel cannot be launched.
+	 */
+	@Setup(Level.Trial)
+	public void setUp() throws Exception {
+		this.kernel = BenchmarkPlatform.start();
+		this.spawnService = this.kernel.getService(SpawnService.class);
+		this.context = BenchmarkPlatform.getRootContext(this.kernel);
+	}
+
+	/** Stop the kernel.
+	 *
+	 * @throws Exception - if the kernel cannot be stopped.
+	 */
+	@TearDown(Level.Trial)
+	public void tearDown() throws Exception {
+		BenchmarkPlatform.stop(this.kernel);
+		this.kernel = null;
+		this.spawnService = null;
+		this.context = null;
+	}
+
+	/** Run the periodic tasks of the agents.
+	 *
+	 * @throws Exception - if an agent cannot be killed.
+	 */
+	@Benchmark
+	public void every() throws Exception {
+		final CountDownLatch latch = new CountDownLatch(this.agents);
+		final List<UUID> periodicAgents = this.spawnService.spawn(this.agents, this.context, PeriodicAgent.class,
+				latch, Integer.valueOf(RUNS), Long.valueOf(PERIOD));
+		latch.await();
+		for (final UUID agent : periodicAgents) {
+			this.spawnService.killAgent(agent);
+		}
+	}
+
+}
@@ -0,0 +1,167 @@
+/*
+ * $Id$
+ *
+ * SARL is an general-purpose agent programming language.
+ * More details on http://www.sarl.io
+ *
+ * Copyright (C) 2014-2016 the original authors or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.janusproject.benchmarks;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import com.google.gson.GsonBuilder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.janusproject.kernel.services.gson.GsonEventSerializer;
+import io.janusproject.kernel.services.jdk.distributeddata.StandardDistributedDataStructureService;
+import io.janusproject.kernel.services.jdk.network.AESEventEncrypter;
+import io.janusproject.kernel.services.jdk.network.CompactEventSerializer;
+import io.janusproject.kernel.services.jdk.network.FramedAESEventEncrypter;
+import io.janusproject.kernel.services.jdk.network.JavaBinaryEventSerializer;
+import io.janusproject.kernel.services.jdk.network.PlainTextEventEncrypter;
+import io.janusproject.services.network.EventDispatch;
+import io.janusproject.services.network.EventEncrypter;
+import io.janusproject.services.network.EventEnvelope;
+import io.janusproject.services.network.EventSerializer;
+
+import io.sarl.lang.core.Address;
+import io.sarl.lang.core.SpaceID;
+import io.sarl.util.OpenEventSpaceSpecification;
+import io.sarl.util.Scopes;
+
+/**
+ * Benchmark of the {@link EventSerializer event serializers} and of the {@link EventEncrypter event encrypters}.
+ *
+ * <p>The serializer is selected by {@link #serializer}: {@code gson} for {@link GsonEventSerializer},
+ * {@code java} for {@link JavaBinaryEventSerializer}, and {@code compact} for {@link CompactEventSerializer}.
+ * The encrypter is selected by {@link #encrypter}: {@code plain} for {@link PlainTextEventEncrypter},
+ * {@code aes} for {@link AESEventEncrypter}, {@code framed-gcm} and {@code framed-cbc} for {@link FramedAESEventEncrypter}.
+ *
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class SerializationBenchmark {
+
+	private static final String AES_KEY = "0123456789abcdef"; //$NON-NLS-1$
+
+	/** Name of the serializer.
+	 */
+	@Param({"gson", "java", "compact"})
+	@SuppressWarnings("checkstyle:visibilitymodifier")
+	public String serializer;
+
+	/** Name of the encrypter.
+	 */
+	@Param({"plain", "aes", "framed-gcm", "framed-cbc"})
+	@SuppressWarnings("checkstyle:visibilitymodifier")
+	public String encrypter;
+
+	private EventSerializer eventSerializer;
+
+	private EventDispatch dispatch;
+
+	/** Create the serializer and the event to serialize.
+	 *
+	 * @throws Exception - if the serializer cannot be created.
+	 */
+	@Setup(Level.Trial)
+	public void setUp() throws Exception {
+		final EventEncrypter eventEncrypter = createEncrypter(this.encrypter);
+		switch (this.serializer) {
+		case "java": //$NON-NLS-1$
+			this.eventSerializer = new JavaBinaryEventSerializer(eventEncrypter);
+			break;
+		case "compact": //$NON-NLS-1$
+			this.eventSerializer = new CompactEventSerializer(eventEncrypter, new StandardDistributedDataStructureService());
+			break;
+		default:
+			// Same configuration as the one of the NetworkEventModule
+			this.eventSerializer = new GsonEventSerializer(
+					new GsonBuilder().registerTypeAdapter(Class.class, new GsonEventSerializer.ClassTypeAdapter())
+					.setPrettyPrinting().create(),
+					eventEncrypter);
+			break;
+		}
+		final SpaceID spaceID = new SpaceID(UUID.randomUUID(), UUID.randomUUID(), OpenEventSpaceSpecification.class);
+		final Address source = new Address(spaceID, UUID.randomUUID());
+		final Address receiver = new Address(spaceID, UUID.randomUUID());
+		this.dispatch = new EventDispatch(spaceID, new BenchmarkEvent(source, "serialization", 1, null), //$NON-NLS-1$
+				Scopes.addresses(receiver));
+	}
+
+	private static EventEncrypter createEncrypter(String name) throws Exception {
+		switch (name) {
+		case "aes": //$NON-NLS-1$
+			final AESEventEncrypter aes = new AESEventEncrypter();
+			aes.setKey(AES_KEY);
+			return aes;
+		case "framed-gcm": //$NON-NLS-1$
+			final FramedAESEventEncrypter gcm = new FramedAESEventEncrypter();
+			gcm.setKey(AES_KEY);
+			gcm.setMode(FramedAESEventEncrypter.GCM_MODE);
+			return gcm;
+		case "framed-cbc": //$NON-NLS-1$
+			final FramedAESEventEncrypter cbc = new FramedAESEventEncrypter();
+			cbc.setKey(AES_KEY);
+			cbc.setMode(FramedAESEventEncrypter.CBC_MODE);
+			return cbc;
+		default:
+			return new PlainTextEventEncrypter();
+		}
+	}
+
+	/** Serialize and encrypt the event.
+	 *
+	 * @return the envelope.
+	 * @throws Exception - if the event cannot be serialized.
+	 */
+	@Benchmark
+	public EventEnvelope serialize() throws Exception {
+		return this.eventSerializer.serialize(this.dispatch);
+	}
+
+	/** Serialize and encrypt the event, and decrypt and deserialize the resulting envelope.
+	 *
+	 * @return the deserialized event.
+	 * @throws Exception - if the event cannot be serialized or deserialized.
+	 */
+	@Benchmark
+	public EventDispatch roundTrip() throws Exception {
+		return this.eventSerializer.deserialize(this.eventSerializer.serialize(this.dispatch));
+	}
+
+}
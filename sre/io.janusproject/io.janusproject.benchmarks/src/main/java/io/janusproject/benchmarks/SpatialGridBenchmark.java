@@ -0,0 +1,163 @@
+/*
+ * $Id$
+ *
+ * SARL is an general-purpose agent programming language.
+ * More details on http://www.sarl.io
+ *
+ * Copyright (C) 2014-2016 the original authors or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.janusproject.benchmarks;
+
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import io.janusproject.kernel.space.SpatialEventSpace;
+import io.janusproject.kernel.space.SpatialGrid;
+
+/**
+ * Benchmark of the {@link SpatialGrid} that is used by the {@link SpatialEventSpace}.
+ *
+ * <p>The grid contains {@link #agents} agents that are uniformly distributed in a square world of {@link #WORLD_SIZE}
+ * units. The benchmarks measure the small moves of the agents, and the queries of the agents around a point with
+ * the radius of {@link #RANGE} units. The random sequences are seeded in order to have reproducible results.
+ *
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class SpatialGridBenchmark {
+
+	/** Size of the world.
+	 */
+	public static final double WORLD_SIZE = 1000.;
+
+	/** Radius of the range queries.
+	 */
+	public static final double RANGE = 20.;
+
+	/** Maximal distance of a move along each axis.
+	 */
+	public static final double STEP = 2.;
+
+	private static final long SEED = 0x5a4c;
+
+	/** Number of agents in the grid.
+	 */
+	@Param({"1000", "100000"})
+	@SuppressWarnings("checkstyle:visibilitymodifier")
+	public int agents;
+
+	/** Size of the cells of the grid.
+	 */
+	@Param({"10", "50"})
+	@SuppressWarnings("checkstyle:visibilitymodifier")
+	public double cellSize;
+
+	private SpatialGrid<UUID> grid;
+
+	private UUID[] identifiers;
+
+	/** Fill the grid.
+	 */
+	@Setup(Level.Trial)
+	public void setUp() {
+		final SplittableRandom random = new SplittableRandom(SEED);
+		this.grid = new SpatialGrid<>(this.cellSize);
+		this.identifiers = new UUID[this.agents];
+		for (int i = 0; i < this.agents; ++i) {
+			final UUID id = new UUID(random.nextLong(), random.nextLong());
+			this.identifiers[i] = id;
+			this.grid.put(id, id, random.nextDouble(WORLD_SIZE), random.nextDouble(WORLD_SIZE));
+		}
+	}
+
+	/** Move a random agent by a small step.
+	 *
+	 * @param cursor - the random sequence of the current thread.
+	 * @return <code>true</code> if the agent was moved.
+	 */
+	@Benchmark
+	public boolean move(Cursor cursor) {
+		final UUID id = this.identifiers[cursor.random.nextInt(this.identifiers.length)];
+		final double[] position = this.grid.getPosition(id);
+		final double x = clamp(position[0] + cursor.random.nextDouble(-STEP, STEP));
+		final double y = clamp(position[1] + cursor.random.nextDouble(-STEP, STEP));
+		return this.grid.move(id, x, y);
+	}
+
+	/** Replies the agents around a random point.
+	 *
+	 * @param cursor - the random sequence of the current thread.
+	 * @param blackhole - the consumer of the agents.
+	 */
+	@Benchmark
+	public void rangeQuery(Cursor cursor, Blackhole blackhole) {
+		this.grid.forEachInRange(cursor.random.nextDouble(WORLD_SIZE), cursor.random.nextDouble(WORLD_SIZE), RANGE,
+				blackhole::consume);
+	}
+
+	private static double clamp(double value) {
+		return Math.max(0., Math.min(WORLD_SIZE, value));
+	}
+
+	/**
+	 * Random sequence of a benchmark thread.
+	 *
+	 * @author $Author: sgalland$
+	 * @version $FullVersion$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 */
+	@State(Scope.Thread)
+	public static class Cursor {
+
+		/** The random sequence.
+		 */
+		@SuppressWarnings("checkstyle:visibilitymodifier")
+		public SplittableRandom random;
+
+		/** Seed the random sequence.
+		 */
+		@Setup(Level.Trial)
+		public void setUp() {
+			this.random = new SplittableRandom(SEED + Thread.currentThread().getId());
+		}
+
+	}
+
+}
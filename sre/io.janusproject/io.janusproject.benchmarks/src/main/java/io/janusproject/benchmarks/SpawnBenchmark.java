@@ -0,0 +1,136 @@
+/*
+ * $Id$
+ *
+ * SARL is an general-purpose agent programming language.
+ * More details on http://www.sarl.io
+ *
+ * Copyright (C) 2014-2016 the original authors or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.janusproject.benchmarks;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.janusproject.kernel.Kernel;
+import io.janusproject.services.spawn.SpawnService;
+
+import io.sarl.lang.core.AgentContext;
+
+/**
+ * Benchmark of the spawn and of the kill of agents.
+ *
+ * <p>Each operation spawns agents without behavior, and kills them.
+ *
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class SpawnBenchmark {
+
+	private Kernel kernel;
+
+	private SpawnService spawnService;
+
+	private AgentContext context;
+
+	/** Launch the kernel.
+	 *
+	 * @throws Exception - if the kernel cannot be launched.
+	 */
+	@Setup(Level.Trial)
+	public void setUp() throws Exception {
+		this.kernel = BenchmarkPlatform.start();
+		this.spawnService = this.kernel.getService(SpawnService.class);
+		this.context = BenchmarkPlatform.getRootContext(this.kernel);
+	}
+
+	/** Stop the kernel.
+	 *
+	 * @throws Exception - if the kernel cannot be stopped.
+	 */
+	@TearDown(Level.Trial)
+	public void tearDown() throws Exception {
+		BenchmarkPlatform.stop(this.kernel);
+		this.kernel = null;
+		this.spawnService = null;
+		this.context = null;
+	}
+
+	/** Spawn an agent with {@link Kernel#spawn(Class, Object...)} and kill it.
+	 *
+	 * @throws Exception - if the agent cannot be killed.
+	 */
+	@Benchmark
+	public void spawnAndKill() throws Exception {
+		final UUID agent = this.kernel.spawn(IdleAgent.class);
+		this.spawnService.killAgent(agent);
+	}
+
+	/** Spawn a group of agents with {@link SpawnService#spawn(int, AgentContext, Class, Object...)} and kill them.
+	 *
+	 * @param group - the size of the group.
+	 * @throws Exception - if an agent cannot be killed.
+	 */
+	@Benchmark
+	public void spawnAndKillGroup(Group group) throws Exception {
+		final List<UUID> agents = this.spawnService.spawn(group.agents, this.context, IdleAgent.class);
+		for (final UUID agent : agents) {
+			this.spawnService.killAgent(agent);
+		}
+	}
+
+	/**
+	 * Size of the groups of agents that are spawned at once.
+	 *
+	 * @author $Author: sgalland$
+	 * @version $FullVersion$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 */
+	@State(Scope.Benchmark)
+	public static class Group {
+
+		/** Number of agents in a group.
+		 */
+		@Param({"10", "1000"})
+		@SuppressWarnings("checkstyle:visibilitymodifier")
+		public int agents;
+
+	}
+
+}
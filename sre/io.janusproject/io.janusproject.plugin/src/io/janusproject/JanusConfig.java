@@ -204,6 +204,21 @@ public final class JanusConfig {
      */
     public static final int MIN_NUMBER_OF_THREADS_IN_EXECUTOR_VALUE = 16;
 
+    /**
+     * Name of the property that contains the number of worker threads of the work-stealing executor.
+     *
+     * @see #FORK_JOIN_PARALLELISM_VALUE
+     */
+    public static final String FORK_JOIN_PARALLELISM_NAME = "janus.executors.forkjoin.parallelism"; //$NON-NLS-1$
+
+    /**
+     * Indicates the number of worker threads of the work-stealing executor. If it is not strictly positive,
+     * the number of available processors is used.
+     *
+     * @see #FORK_JOIN_PARALLELISM_NAME
+     */
+    public static final int FORK_JOIN_PARALLELISM_VALUE = 0;
+
     /**
      * Name of the property that contains the numbers of seconds that the kernel is waiting for thread terminations before timeout.
      *
@@ -246,6 +261,254 @@ public final class JanusConfig {
      */
     public static final int KERNEL_THREAD_PURGE_DELAY_VALUE = 30;
 
+    /**
+     * Name of the property that indicates if the delayed and periodic tasks are scheduled with a timing wheel.
+     *
+     * @see #TIMING_WHEEL_VALUE
+     */
+    public static final String TIMING_WHEEL_NAME = "janus.executors.timingWheel"; //$NON-NLS-1$
+
+    /**
+     * Indicates if the delayed and periodic tasks are scheduled with a timing wheel.
+     *
+     * @see #TIMING_WHEEL_NAME
+     */
+    public static final boolean TIMING_WHEEL_VALUE = false;
+
+    /**
+     * Name of the property that contains the number of milliseconds between two ticks of the timing wheel.
+     *
+     * @see #TIMING_WHEEL_TICK_VALUE
+     */
+    public static final String TIMING_WHEEL_TICK_NAME = "janus.executors.timingWheel.tick"; //$NON-NLS-1$
+
+    /**
+     * Indicates the number of milliseconds between two ticks of the timing wheel.
+     *
+     * @see #TIMING_WHEEL_TICK_NAME
+     */
+    public static final int TIMING_WHEEL_TICK_VALUE = 10;
+
+    /**
+     * Name of the property that contains the number of slots in the timing wheel.
+     *
+     * @see #TIMING_WHEEL_SIZE_VALUE
+     */
+    public static final String TIMING_WHEEL_SIZE_NAME = "janus.executors.timingWheel.size"; //$NON-NLS-1$
+
+    /**
+     * Indicates the number of slots in the timing wheel.
+     *
+     * @see #TIMING_WHEEL_SIZE_NAME
+     */
+    public static final int TIMING_WHEEL_SIZE_VALUE = 512;
+
+    /**
+     * Name of the property that contains the minimal number of guard evaluators that must be associated to an event
+     * for evaluating these guards in parallel. Below this number, the guards are evaluated sequentially by the
+     * dispatching thread. A value lower than or equal to zero disables the parallel evaluation of the guards.
+     *
+     * @see #PARALLEL_GUARD_EVALUATION_THRESHOLD_VALUE
+     */
+    public static final String PARALLEL_GUARD_EVALUATION_THRESHOLD_NAME = "janus.dispatcher.guards.parallelThreshold"; //$NON-NLS-1$
+
+    /**
+     * Indicates the minimal number of guard evaluators that must be associated to an event for evaluating these
+     * guards in parallel.
+     *
+     * @see #PARALLEL_GUARD_EVALUATION_THRESHOLD_NAME
+     */
+    public static final int PARALLEL_GUARD_EVALUATION_THRESHOLD_VALUE = 64;
+
+    /**
+     * Name of the property that indicates if the events received by an agent are stored into a mailbox that is
+     * drained by at most one task of the executor service at a time, or if each event is submitted to the executor
+     * service.
+     *
+     * @see #AGENT_MAILBOX_VALUE
+     */
+    public static final String AGENT_MAILBOX_NAME = "janus.agent.mailbox"; //$NON-NLS-1$
+
+    /**
+     * Indicates if the events received by an agent are stored into a mailbox.
+     *
+     * @see #AGENT_MAILBOX_NAME
+     */
+    public static final Boolean AGENT_MAILBOX_VALUE = Boolean.FALSE;
+
+    /**
+     * Name of the property that contains the maximal number of events in the mailbox of an agent.
+     * When the mailbox is full, the thread that is giving the event to the agent waits until the mailbox has room
+     * for the event (see {@link #AGENT_MAILBOX_OFFER_TIMEOUT_NAME}).
+     *
+     * @see #AGENT_MAILBOX_CAPACITY_VALUE
+     * @see #AGENT_MAILBOX_NAME
+     */
+    public static final String AGENT_MAILBOX_CAPACITY_NAME = "janus.agent.mailbox.capacity"; //$NON-NLS-1$
+
+    /**
+     * Indicates the maximal number of events in the mailbox of an agent.
+     *
+     * @see #AGENT_MAILBOX_CAPACITY_NAME
+     */
+    public static final int AGENT_MAILBOX_CAPACITY_VALUE = 4096;
+
+    /**
+     * Name of the property that contains the maximal number of events that are dispatched from the mailbox of an agent
+     * by a single task of the executor service.
+     *
+     * @see #AGENT_MAILBOX_BATCH_SIZE_VALUE
+     * @see #AGENT_MAILBOX_NAME
+     */
+    public static final String AGENT_MAILBOX_BATCH_SIZE_NAME = "janus.agent.mailbox.batchSize"; //$NON-NLS-1$
+
+    /**
+     * Indicates the maximal number of events that are dispatched from the mailbox of an agent by a single task.
+     *
+     * @see #AGENT_MAILBOX_BATCH_SIZE_NAME
+     */
+    public static final int AGENT_MAILBOX_BATCH_SIZE_VALUE = 64;
+
+    /**
+     * Name of the property that contains the maximal duration in milliseconds during which the thread that is giving an
+     * event to an agent waits when the mailbox of the agent is full. When this duration is elapsed, the event is added
+     * to the mailbox even if its capacity is exceeded. In both cases, the event is dispatched after the events that
+     * are already in the mailbox.
+     *
+     * @see #AGENT_MAILBOX_OFFER_TIMEOUT_VALUE
+     * @see #AGENT_MAILBOX_CAPACITY_NAME
+     */
+    public static final String AGENT_MAILBOX_OFFER_TIMEOUT_NAME = "janus.agent.mailbox.offerTimeout"; //$NON-NLS-1$
+
+    /**
+     * Indicates the maximal duration in milliseconds during which a producer waits for room in a full mailbox.
+     *
+     * @see #AGENT_MAILBOX_OFFER_TIMEOUT_NAME
+     */
+    public static final int AGENT_MAILBOX_OFFER_TIMEOUT_VALUE = 1000;
+
+    /**
+     * Name of the property that indicates if the log messages are written by a background thread. In this case, the
+     * messages are formatted by this thread, and not by the thread that is logging.
+     *
+     * @see #ASYNC_LOGGING_VALUE
+     */
+    public static final String ASYNC_LOGGING_NAME = "janus.logging.async"; //$NON-NLS-1$
+
+    /**
+     * Indicates if the log messages are written by a background thread.
+     *
+     * @see #ASYNC_LOGGING_NAME
+     */
+    public static final Boolean ASYNC_LOGGING_VALUE = Boolean.FALSE;
+
+    /**
+     * Name of the property that contains the maximal number of log messages that are waiting for being written by
+     * the background thread. When the buffer is full, the thread that is logging waits until the background thread
+     * has made room in the buffer.
+     *
+     * @see #ASYNC_LOGGING_CAPACITY_VALUE
+     * @see #ASYNC_LOGGING_NAME
+     */
+    public static final String ASYNC_LOGGING_CAPACITY_NAME = "janus.logging.async.capacity"; //$NON-NLS-1$
+
+    /**
+     * Indicates the maximal number of log messages that are waiting for being written.
+     *
+     * @see #ASYNC_LOGGING_CAPACITY_NAME
+     */
+    public static final int ASYNC_LOGGING_CAPACITY_VALUE = 8192;
+
+    /**
+     * Name of the property that indicates if the runtime metrics are collected. When they are not collected,
+     * the metrics service is not bound, and the other services are not updating any metric.
+     *
+     * @see #METRICS_ENABLED_VALUE
+     */
+    public static final String METRICS_ENABLED_NAME = "janus.metrics.enabled"; //$NON-NLS-1$
+
+    /**
+     * Indicates if the runtime metrics are collected.
+     *
+     * @see #METRICS_ENABLED_NAME
+     */
+    public static final Boolean METRICS_ENABLED_VALUE = Boolean.FALSE;
+
+    /**
+     * Name of the property that indicates if the runtime metrics are exposed through JMX, when they are collected.
+     *
+     * @see #METRICS_ENABLED_NAME
+     * @see #METRICS_JMX_VALUE
+     */
+    public static final String METRICS_JMX_NAME = "janus.metrics.jmx"; //$NON-NLS-1$
+
+    /**
+     * Indicates if the runtime metrics are exposed through JMX.
+     *
+     * @see #METRICS_JMX_NAME
+     */
+    public static final Boolean METRICS_JMX_VALUE = Boolean.TRUE;
+
+    /**
+     * Name of the property that contains the delay (in milliseconds) between two snapshots of the runtime metrics
+     * that are given to the metrics listeners. A value lower or equal to zero disables the periodic snapshots.
+     *
+     * @see #METRICS_SNAPSHOT_PERIOD_VALUE
+     */
+    public static final String METRICS_SNAPSHOT_PERIOD_NAME = "janus.metrics.snapshot.period"; //$NON-NLS-1$
+
+    /**
+     * Indicates the delay (in milliseconds) between two snapshots of the runtime metrics.
+     *
+     * @see #METRICS_SNAPSHOT_PERIOD_NAME
+     */
+    public static final int METRICS_SNAPSHOT_PERIOD_VALUE = 10000;
+
+    /**
+     * Name of the property that indicates if the lookups in the distributed maps are served by a local near-cache.
+     * The near-cache is invalidated by the events of the distributed maps; the values may be stale until
+     * these events are received.
+     *
+     * @see #DMAP_NEAR_CACHE_VALUE
+     */
+    public static final String DMAP_NEAR_CACHE_NAME = "janus.dmap.nearcache"; //$NON-NLS-1$
+
+    /**
+     * Indicates if the lookups in the distributed maps are served by a local near-cache.
+     *
+     * @see #DMAP_NEAR_CACHE_NAME
+     */
+    public static final Boolean DMAP_NEAR_CACHE_VALUE = Boolean.FALSE;
+
+    /**
+     * Name of the property that contains the maximal number of keys in the near-cache of a distributed map.
+     *
+     * @see #DMAP_NEAR_CACHE_SIZE_VALUE
+     */
+    public static final String DMAP_NEAR_CACHE_SIZE_NAME = "janus.dmap.nearcache.size"; //$NON-NLS-1$
+
+    /**
+     * Indicates the maximal number of keys in the near-cache of a distributed map.
+     *
+     * @see #DMAP_NEAR_CACHE_SIZE_NAME
+     */
+    public static final int DMAP_NEAR_CACHE_SIZE_VALUE = 10000;
+
+    /**
+     * Name of the property that contains the duration (in milliseconds) after which a value is evicted from the
+     * near-cache of a distributed map. A value lower or equal to zero disables the expiration.
+     *
+     * @see #DMAP_NEAR_CACHE_TTL_VALUE
+     */
+    public static final String DMAP_NEAR_CACHE_TTL_NAME = "janus.dmap.nearcache.ttl"; //$NON-NLS-1$
+
+    /**
+     * Indicates the duration (in milliseconds) after which a value is evicted from the near-cache of a distributed map.
+     *
+     * @see #DMAP_NEAR_CACHE_TTL_NAME
+     */
+    public static final int DMAP_NEAR_CACHE_TTL_VALUE = 60000;
+
     /**
      * Name of the property that contains the name of the Janus main program from the external point of view.
      */
@@ -275,8 +538,25 @@ public final class JanusConfig {
         defaultValues.put(HAZELCAST_LOGGER_FACTORY_NAME, HAZELCAST_LOGGER_FACTORY_VALUE);
         defaultValues.put(MIN_NUMBER_OF_THREADS_IN_EXECUTOR_NAME, Integer.toString(MIN_NUMBER_OF_THREADS_IN_EXECUTOR_VALUE));
         defaultValues.put(MAX_NUMBER_OF_THREADS_IN_EXECUTOR_NAME, Integer.toString(MAX_NUMBER_OF_THREADS_IN_EXECUTOR_VALUE));
+        defaultValues.put(FORK_JOIN_PARALLELISM_NAME, Integer.toString(FORK_JOIN_PARALLELISM_VALUE));
         defaultValues.put(KERNEL_THREAD_TIMEOUT_NAME, Integer.toString(KERNEL_THREAD_TIMEOUT_VALUE));
         defaultValues.put(KERNEL_THREAD_PURGE_DELAY_NAME, Integer.toString(KERNEL_THREAD_PURGE_DELAY_VALUE));
+        defaultValues.put(TIMING_WHEEL_NAME, Boolean.toString(TIMING_WHEEL_VALUE));
+        defaultValues.put(TIMING_WHEEL_TICK_NAME, Integer.toString(TIMING_WHEEL_TICK_VALUE));
+        defaultValues.put(TIMING_WHEEL_SIZE_NAME, Integer.toString(TIMING_WHEEL_SIZE_VALUE));
+        defaultValues.put(PARALLEL_GUARD_EVALUATION_THRESHOLD_NAME, Integer.toString(PARALLEL_GUARD_EVALUATION_THRESHOLD_VALUE));
+        defaultValues.put(AGENT_MAILBOX_NAME, AGENT_MAILBOX_VALUE.toString());
+        defaultValues.put(AGENT_MAILBOX_CAPACITY_NAME, Integer.toString(AGENT_MAILBOX_CAPACITY_VALUE));
+        defaultValues.put(AGENT_MAILBOX_BATCH_SIZE_NAME, Integer.toString(AGENT_MAILBOX_BATCH_SIZE_VALUE));
+        defaultValues.put(AGENT_MAILBOX_OFFER_TIMEOUT_NAME, Integer.toString(AGENT_MAILBOX_OFFER_TIMEOUT_VALUE));
+        defaultValues.put(ASYNC_LOGGING_NAME, ASYNC_LOGGING_VALUE.toString());
+        defaultValues.put(ASYNC_LOGGING_CAPACITY_NAME, Integer.toString(ASYNC_LOGGING_CAPACITY_VALUE));
+        defaultValues.put(METRICS_ENABLED_NAME, METRICS_ENABLED_VALUE.toString());
+        defaultValues.put(METRICS_JMX_NAME, METRICS_JMX_VALUE.toString());
+        defaultValues.put(METRICS_SNAPSHOT_PERIOD_NAME, Integer.toString(METRICS_SNAPSHOT_PERIOD_VALUE));
+        defaultValues.put(DMAP_NEAR_CACHE_NAME, DMAP_NEAR_CACHE_VALUE.toString());
+        defaultValues.put(DMAP_NEAR_CACHE_SIZE_NAME, Integer.toString(DMAP_NEAR_CACHE_SIZE_VALUE));
+        defaultValues.put(DMAP_NEAR_CACHE_TTL_NAME, Integer.toString(DMAP_NEAR_CACHE_TTL_VALUE));
         defaultValues.put(INJECTION_MODULE_NAME, INJECTION_MODULE_NAME_VALUE);
         defaultValues.put(JANUS_LOGO_SHOW_NAME, JANUS_LOGO_SHOW.toString());
         defaultValues.put(JANUS_PROGRAM_NAME, ""); //$NON-NLS-1$
@@ -23,7 +23,9 @@ package io.janusproject.kernel.bic;
 
 import java.util.Queue;
 import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.logging.Level;
 import java.util.logging.LogRecord;
@@ -32,10 +34,13 @@ import com.google.common.base.Throwables;
 import com.google.common.collect.Queues;
 import com.google.inject.Inject;
 
+import io.janusproject.JanusConfig;
 import io.janusproject.kernel.bic.internaleventdispatching.AgentInternalEventsDispatcher;
+import io.janusproject.services.executor.ExecutorService;
 import io.janusproject.services.logging.LogService;
 import io.janusproject.services.spawn.SpawnService;
 import io.janusproject.services.spawn.SpawnService.AgentKillException;
+import io.janusproject.util.ManagedBlocking;
 
 import io.sarl.core.AgentSpawned;
 import io.sarl.core.Destroy;
@@ -86,6 +91,9 @@ public class InternalEventBusSkill extends BuiltinSkill implements InternalEvent
 	@Inject
 	private SpawnService spawnService;
 
+	@Inject
+	private ExecutorService executor;
+
 	/**
 	 * Address of the agent in the inner space.
 	 */
@@ -226,9 +234,28 @@ public class InternalEventBusSkill extends BuiltinSkill implements InternalEvent
 
 		private final AtomicBoolean isKilled = new AtomicBoolean(false);
 
+		/**
+		 * The mailbox of the agent, or {@code null} if the events are directly given to the event dispatcher.
+		 *
+		 * @see JanusConfig#AGENT_MAILBOX_NAME
+		 */
+		private final Mailbox mailbox;
+
 		@SuppressWarnings("synthetic-access")
 		AgentEventListener() {
 			this.aid = InternalEventBusSkill.this.getOwner().getID();
+			if (JanusConfig.getSystemPropertyAsBoolean(JanusConfig.AGENT_MAILBOX_NAME,
+					JanusConfig.AGENT_MAILBOX_VALUE.booleanValue())) {
+				this.mailbox = new Mailbox(
+						JanusConfig.getSystemPropertyAsInteger(JanusConfig.AGENT_MAILBOX_CAPACITY_NAME,
+								JanusConfig.AGENT_MAILBOX_CAPACITY_VALUE),
+						JanusConfig.getSystemPropertyAsInteger(JanusConfig.AGENT_MAILBOX_BATCH_SIZE_NAME,
+								JanusConfig.AGENT_MAILBOX_BATCH_SIZE_VALUE),
+						JanusConfig.getSystemPropertyAsInteger(JanusConfig.AGENT_MAILBOX_OFFER_TIMEOUT_NAME,
+								JanusConfig.AGENT_MAILBOX_OFFER_TIMEOUT_VALUE));
+			} else {
+				this.mailbox = null;
+			}
 		}
 
 		@Override
@@ -258,7 +285,7 @@ public class InternalEventBusSkill extends BuiltinSkill implements InternalEvent
 				break;
 			case RUNNING:
 				fireEnqueuedEvents(InternalEventBusSkill.this);
-				InternalEventBusSkill.this.eventDispatcher.asyncDispatch(event);
+				dispatch(InternalEventBusSkill.this, event);
 				break;
 			case DESTROYED:
 				// Dropping messages since agent is dying
@@ -276,11 +303,25 @@ public class InternalEventBusSkill extends BuiltinSkill implements InternalEvent
 			if (queue != null && !queue.isEmpty()) {
 				this.buffer = null;
 				for (final Event evt : queue) {
-					skill.eventDispatcher.asyncDispatch(evt);
+					dispatch(skill, evt);
 				}
 			}
 		}
 
+		/** Give the event to the mailbox, or to the event dispatcher if the mailbox is disabled.
+		 *
+		 * @param skill the skill.
+		 * @param event the event to dispatch.
+		 */
+		@SuppressWarnings("synthetic-access")
+		private void dispatch(InternalEventBusSkill skill, Event event) {
+			if (this.mailbox == null) {
+				skill.eventDispatcher.asyncDispatch(event);
+			} else {
+				this.mailbox.put(event);
+			}
+		}
+
 		@SuppressWarnings("synthetic-access")
 		private void killOwner(InternalEventBusSkill skill) {
 			try {
@@ -302,4 +343,124 @@ public class InternalEventBusSkill extends BuiltinSkill implements InternalEvent
 
 	}
 
+	/**
+	 * Mailbox of an agent. The events are stored into a bounded queue, which is drained by at most one task of
+	 * the executor service at a time. Each task dispatches a bounded number of events, and reschedules itself
+	 * if the queue is not empty, in order to let the other agents access to the executor service.
+	 *
+	 * <p>This mailbox replaces the submission of one task per received event to the executor service.
+	 *
+	 * <p>When the mailbox is full, the producer waits until the draining task has made room for the event, or
+	 * until the offer timeout is elapsed. Then the event is added behind the events that are already in the mailbox,
+	 * even if the capacity is exceeded. In this way, the events are always dispatched in the order of their arrival.
+	 *
+	 * @author $Author: sgalland$
+	 * @version $FullVersion$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 * @see JanusConfig#AGENT_MAILBOX_NAME
+	 */
+	private class Mailbox implements Runnable {
+
+		private final Queue<Event> events = Queues.newConcurrentLinkedQueue();
+
+		private final AtomicInteger size = new AtomicInteger();
+
+		private final AtomicBoolean scheduled = new AtomicBoolean();
+
+		private final int capacity;
+
+		private final int batchSize;
+
+		private final long offerTimeout;
+
+		private final AtomicInteger waitingProducers = new AtomicInteger();
+
+		private final Object notFull = new Object();
+
+		/** Constructor.
+		 *
+		 * @param capacity the maximal number of events in the mailbox.
+		 * @param batchSize the maximal number of events that are dispatched by a single task.
+		 * @param offerTimeout the maximal duration in milliseconds during which a producer waits for room in the mailbox.
+		 */
+		Mailbox(int capacity, int batchSize, long offerTimeout) {
+			this.capacity = Math.max(1, capacity);
+			this.batchSize = Math.max(1, batchSize);
+			this.offerTimeout = Math.max(0, offerTimeout);
+		}
+
+		/** Add the given event into the mailbox, and schedule the draining task if needed.
+		 *
+		 * <p>If the mailbox is full, this function waits for room in the mailbox before adding the event.
+		 *
+		 * @param event the event.
+		 */
+		void put(Event event) {
+			if (this.size.get() >= this.capacity) {
+				awaitRoom();
+			}
+			this.size.incrementAndGet();
+			this.events.offer(event);
+			schedule();
+		}
+
+		private void awaitRoom() {
+			this.waitingProducers.incrementAndGet();
+			try {
+				ManagedBlocking.await(this.notFull, () -> this.size.get() < this.capacity, this.offerTimeout, TimeUnit.MILLISECONDS);
+			} catch (InterruptedException exception) {
+				Thread.currentThread().interrupt();
+			} finally {
+				this.waitingProducers.decrementAndGet();
+			}
+		}
+
+		private void signalRoom() {
+			if (this.waitingProducers.get() > 0) {
+				synchronized (this.notFull) {
+					this.notFull.notifyAll();
+				}
+			}
+		}
+
+		@SuppressWarnings("synthetic-access")
+		private void schedule() {
+			if (this.scheduled.compareAndSet(false, true)) {
+				InternalEventBusSkill.this.executor.execute(this);
+			}
+		}
+
+		@SuppressWarnings("synthetic-access")
+		@Override
+		public void run() {
+			try {
+				Event event;
+				int count = 0;
+				while (count < this.batchSize && (event = this.events.poll()) != null) {
+					this.size.decrementAndGet();
+					++count;
+					if (InternalEventBusSkill.this.state.get() == OwnerState.DESTROYED) {
+						InternalEventBusSkill.this.logger.debug(Messages.InternalEventBusSkill_1, event);
+					} else {
+						InternalEventBusSkill.this.eventDispatcher.asyncDispatchInCurrentThread(event);
+					}
+				}
+			} finally {
+				signalRoom();
+				this.scheduled.set(false);
+				// An event may be added after the last poll and before the scheduling flag was reset.
+				if (!this.events.isEmpty()) {
+					schedule();
+				}
+			}
+		}
+
+		@Override
+		public String toString() {
+			return "[mailbox of " + InternalEventBusSkill.this.getOwner().getID() + "; size=" + this.size.get() + "]"; //$NON-NLS-1$ //$NON-NLS-2$
+		}
+
+	}
+
 }
@@ -91,6 +91,11 @@ public class LifecycleSkill extends BuiltinSkill implements Lifecycle {
 		return this.spawnService.spawn(context, agentID, agentClass, params);
 	}
 
+	@Override
+	public Iterable<UUID> spawnInContext(int nbAgents, Class<? extends Agent> agentClass, AgentContext context, Object... params) {
+		return this.spawnService.spawn(nbAgents, context, agentClass, params);
+	}
+
 	@Override
 	public void killMe() {
 		// The agent should be killed by a specific asynchronous event.
@@ -24,10 +24,11 @@ package io.janusproject.kernel.bic;
 import java.lang.ref.WeakReference;
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.HashMap;
-import java.util.Map;
+import java.util.Iterator;
 import java.util.Map.Entry;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 
@@ -47,6 +48,9 @@ import io.sarl.lang.core.Agent;
 /**
  * Skill that permits to execute tasks with an executor service.
  *
+ * <p>The tasks and their futures are stored in concurrent maps, so that the completion of the tasks
+ * in the threads of the executor service does not contend with the scheduling functions of the agent.
+ *
  * @author $Author: srodriguez$
  * @version $FullVersion$
  * @mavengroupid $GroupId$
@@ -62,9 +66,9 @@ public class SchedulesSkill extends BuiltinSkill implements Schedules {
 	@Inject
 	private LogService logger;
 
-	private final Map<String, AgentTask> tasks = new HashMap<>();
+	private final ConcurrentMap<String, AgentTask> tasks = new ConcurrentHashMap<>();
 
-	private final Map<String, ScheduledFuture<?>> futures = new HashMap<>();
+	private final ConcurrentMap<String, ScheduledFuture<?>> futures = new ConcurrentHashMap<>();
 
 	/**
 	 * @param agent - the owner of this skill.
@@ -87,13 +91,17 @@ public class SchedulesSkill extends BuiltinSkill implements Schedules {
 	}
 
 	/**
-	 * Remove any reference to the given task.
+	 * Remove any reference to the given task and to its future.
+	 *
+	 * <p>The references are removed only if they were not replaced by another task or another future with the same name.
 	 *
-	 * @param name - name of the task.
+	 * @param task - the task.
+	 * @param future - the future of the task.
 	 */
-	private synchronized void finishTask(String name) {
-		this.tasks.remove(name);
-		this.futures.remove(name);
+	private void finishTask(AgentTask task, ScheduledFuture<?> future) {
+		final String name = task.getName();
+		this.tasks.remove(name, task);
+		this.futures.remove(name, future);
 	}
 
 	/**
@@ -101,7 +109,7 @@ public class SchedulesSkill extends BuiltinSkill implements Schedules {
 	 *
 	 * @return the names of the active tasks.
 	 */
-	synchronized Collection<String> getActiveTasks() {
+	Collection<String> getActiveTasks() {
 		return new ArrayList<>(this.tasks.keySet());
 	}
 
@@ -110,15 +118,32 @@ public class SchedulesSkill extends BuiltinSkill implements Schedules {
 	 *
 	 * @return the names of the active futures.
 	 */
-	synchronized Collection<ScheduledFuture<?>> getActiveFutures() {
+	Collection<ScheduledFuture<?>> getActiveFutures() {
 		return new ArrayList<>(this.futures.values());
 	}
 
+	/**
+	 * Register the future of the given task.
+	 *
+	 * <p>If the task was already finished before its registration, the future is immediately forgotten.
+	 *
+	 * @param task - the task.
+	 * @param runnable - the runnable that is run by the future.
+	 * @param future - the future of the task.
+	 */
+	private void registerFuture(AgentTask task, AgentRunnableTask runnable, ScheduledFuture<?> future) {
+		this.futures.put(task.getName(), future);
+		runnable.bindFuture(future);
+	}
+
 	@Override
-	protected synchronized void uninstall() {
+	protected void uninstall() {
 		ScheduledFuture<?> future;
-		for (final Entry<String, ScheduledFuture<?>> futureDescription : this.futures.entrySet()) {
+		final Iterator<Entry<String, ScheduledFuture<?>>> iterator = this.futures.entrySet().iterator();
+		while (iterator.hasNext()) {
+			final Entry<String, ScheduledFuture<?>> futureDescription = iterator.next();
 			future = futureDescription.getValue();
+			iterator.remove();
 			if ((future instanceof JanusScheduledFutureTask<?>) && ((JanusScheduledFutureTask<?>) future).isCurrentThread()) {
 				// Ignore the cancelation of the future.
 				// It is assumed that a ChuckNorrisException will be thrown later.
@@ -129,7 +154,6 @@ public class SchedulesSkill extends BuiltinSkill implements Schedules {
 				this.logger.fineInfo(Messages.SchedulesSkill_1, futureDescription.getKey(), future);
 			}
 		}
-		this.futures.clear();
 		this.tasks.clear();
 	}
 
@@ -139,18 +163,20 @@ public class SchedulesSkill extends BuiltinSkill implements Schedules {
 	}
 
 	@Override
-	public synchronized AgentTask in(AgentTask task, long delay, Procedure1<? super Agent> procedure) {
+	public AgentTask in(AgentTask task, long delay, Procedure1<? super Agent> procedure) {
 		final AgentTask rtask = task == null ? task("task-" + UUID.randomUUID()) : task; //$NON-NLS-1$
 		rtask.setProcedure(procedure);
-		final ScheduledFuture<?> sf = this.executorService.schedule(new AgentRunnableTask(rtask, false), delay, TimeUnit.MILLISECONDS);
-		this.futures.put(rtask.getName(), sf);
+		final AgentRunnableTask runnable = new AgentRunnableTask(rtask, false);
+		final ScheduledFuture<?> sf = this.executorService.schedule(runnable, delay, TimeUnit.MILLISECONDS);
+		registerFuture(rtask, runnable, sf);
 		return rtask;
 	}
 
 	@Override
-	public synchronized AgentTask task(String name) {
-		if (this.tasks.containsKey(name)) {
-			return this.tasks.get(name);
+	public AgentTask task(String name) {
+		final AgentTask existingTask = this.tasks.get(name);
+		if (existingTask != null) {
+			return existingTask;
 		}
 		final AgentTask t = new AgentTask();
 		t.setName(name);
@@ -161,8 +187,8 @@ public class SchedulesSkill extends BuiltinSkill implements Schedules {
 				return Boolean.TRUE;
 			}
 		});
-		this.tasks.put(name, t);
-		return t;
+		final AgentTask previousTask = this.tasks.putIfAbsent(name, t);
+		return previousTask == null ? t : previousTask;
 	}
 
 	@Override
@@ -171,12 +197,13 @@ public class SchedulesSkill extends BuiltinSkill implements Schedules {
 	}
 
 	@Override
-	public synchronized boolean cancel(AgentTask task, boolean mayInterruptIfRunning) {
+	public boolean cancel(AgentTask task, boolean mayInterruptIfRunning) {
 		if (task != null) {
 			final String name = task.getName();
 			final ScheduledFuture<?> future = this.futures.get(name);
 			if (future != null && !future.isDone() && !future.isCancelled() && future.cancel(mayInterruptIfRunning)) {
-				finishTask(name);
+				// Only the canceled future is forgotten, not a future that was registered with the same name in the meantime.
+				finishTask(task, future);
 			}
 		}
 		return false;
@@ -188,18 +215,23 @@ public class SchedulesSkill extends BuiltinSkill implements Schedules {
 	}
 
 	@Override
-	public synchronized AgentTask every(AgentTask task, long period, Procedure1<? super Agent> procedure) {
+	public AgentTask every(AgentTask task, long period, Procedure1<? super Agent> procedure) {
 		final AgentTask rtask = task == null ? task("task-" + UUID.randomUUID()) : task; //$NON-NLS-1$
 		rtask.setProcedure(procedure);
-		final ScheduledFuture<?> sf = this.executorService.scheduleAtFixedRate(new AgentRunnableTask(rtask, true), 0, period,
+		final AgentRunnableTask runnable = new AgentRunnableTask(rtask, true);
+		final ScheduledFuture<?> sf = this.executorService.scheduleAtFixedRate(runnable, 0, period,
 				TimeUnit.MILLISECONDS);
-		this.futures.put(rtask.getName(), sf);
+		registerFuture(rtask, runnable, sf);
 		return rtask;
 	}
 
 	/**
 	 * Implementation of an agent task.
 	 *
+	 * <p>When the task is finished, it removes its own future from the skill. Because the task may be finished before
+	 * its future is registered, the removal is done by the last of the task termination and of the future
+	 * registration.
+	 *
 	 * @author $Author: srodriguez$
 	 * @version $Name$ $Revision$ $Date$
 	 * @mavengroupid $GroupId$
@@ -211,11 +243,37 @@ public class SchedulesSkill extends BuiltinSkill implements Schedules {
 
 		private final boolean isPeriodic;
 
+		private volatile ScheduledFuture<?> future;
+
+		private volatile boolean finished;
+
 		AgentRunnableTask(AgentTask task, boolean isPeriodic) {
 			this.agentTaskRef = new WeakReference<>(task);
 			this.isPeriodic = isPeriodic;
 		}
 
+		/** Bind this task to its future.
+		 *
+		 * @param future the future of this task.
+		 */
+		void bindFuture(ScheduledFuture<?> future) {
+			this.future = future;
+			if (this.finished) {
+				final AgentTask task = this.agentTaskRef.get();
+				if (task != null) {
+					finishTask(task, future);
+				}
+			}
+		}
+
+		private void finish(AgentTask task) {
+			this.finished = true;
+			final ScheduledFuture<?> currentFuture = this.future;
+			if (currentFuture != null) {
+				finishTask(task, currentFuture);
+			}
+		}
+
 		@Override
 		public void run() {
 			final AgentTask task = this.agentTaskRef.get();
@@ -229,12 +287,12 @@ public class SchedulesSkill extends BuiltinSkill implements Schedules {
 				}
 			} catch (Throwable ex) {
 				if (this.isPeriodic) {
-					finishTask(task.getName());
+					finish(task);
 				}
 				throw ex;
 			} finally {
 				if (!this.isPeriodic) {
-					finishTask(task.getName());
+					finish(task);
 				}
 			}
 		}
@@ -22,20 +22,27 @@
 package io.janusproject.kernel.bic.internaleventdispatching;
 
 import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
 import java.util.Queue;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
 
-import javax.inject.Inject;
-
-import com.google.common.collect.Lists;
 import com.google.common.collect.Queues;
-import org.arakhne.afc.util.MultiCollection;
+import com.google.inject.Inject;
 import org.arakhne.afc.util.OutputParameter;
 import org.eclipse.xtext.xbase.lib.Pair;
 
+import io.janusproject.JanusConfig;
+import io.janusproject.services.executor.ChuckNorrisException;
 import io.janusproject.services.executor.ExecutorService;
+import io.janusproject.services.metrics.MetricCounter;
+import io.janusproject.services.metrics.MetricHistogram;
+import io.janusproject.services.metrics.MetricsService;
+import io.janusproject.util.ManagedBlocking;
 
 import io.sarl.eventdispatching.BehaviorGuardEvaluator;
 import io.sarl.eventdispatching.BehaviorGuardEvaluatorRegistry;
@@ -54,10 +61,25 @@ import io.sarl.lang.core.Event;
  */
 public class AgentInternalEventsDispatcher {
 
+	/**
+	 * Maximal size of the per-thread buffers that are kept for being reused.
+	 */
+	private static final int MAX_REUSABLE_BUFFER_SIZE = 256;
+
+	/**
+	 * Per-thread buffer that is reused for collecting the behavior methods to execute.
+	 * This buffer is shared by all the dispatchers. It is {@code null} when it is already used by the thread.
+	 */
+	private static final ThreadLocal<List<Runnable>> BEHAVIOR_METHOD_BUFFER = new ThreadLocal<>();
+
 	/**
 	 * The registry of all {@code BehaviorGuardEvaluator} classes containing a method to evaluate the guard of a given behavior
 	 * (on clause in SARL behavior). This class has been inspired by the com.google.common.eventbus.SuscriberRegistry class of
 	 * Google Guava library.
+	 *
+	 * <p>The registry is thread-safe: the updates are serialized internally, and the lookups are reading immutable
+	 * snapshots of the evaluators that are replaced atomically on each update. Consequently, the dispatching
+	 * functions of this class do not need to lock the registry.
 	 */
 	private final BehaviorGuardEvaluatorRegistry behaviorGuardEvaluatorRegistry;
 
@@ -86,15 +108,67 @@ public class AgentInternalEventsDispatcher {
 	 */
 	private final ExecutorService executor;
 
+	/**
+	 * The minimal number of guard evaluators for evaluating the guards in parallel.
+	 */
+	private final int parallelGuardEvaluationThreshold;
+
+	/**
+	 * The counter of the dispatched events, or {@code null} if the metrics are not collected.
+	 */
+	private MetricCounter dispatchedEvents;
+
+	/**
+	 * The durations of the guard evaluations, or {@code null} if the metrics are not collected.
+	 */
+	private MetricHistogram guardEvaluationTime;
+
+	/**
+	 * The durations of the behavior executions, or {@code null} if the metrics are not collected.
+	 */
+	private MetricHistogram behaviorExecutionTime;
+
 	/**
 	 * Instantiates a dispatcher.
 	 *
 	 * @param executor the executor service.
+	 * @see JanusConfig#PARALLEL_GUARD_EVALUATION_THRESHOLD_NAME
 	 */
 	@Inject
 	public AgentInternalEventsDispatcher(ExecutorService executor) {
+		this(executor, JanusConfig.getSystemPropertyAsInteger(JanusConfig.PARALLEL_GUARD_EVALUATION_THRESHOLD_NAME,
+				JanusConfig.PARALLEL_GUARD_EVALUATION_THRESHOLD_VALUE));
+	}
+
+	/**
+	 * Instantiates a dispatcher.
+	 *
+	 * @param executor the executor service.
+	 * @param parallelGuardEvaluationThreshold the minimal number of guard evaluators for evaluating the guards in parallel.
+	 *     If it is lower than or equal to zero, the guards are always evaluated sequentially.
+	 */
+	public AgentInternalEventsDispatcher(ExecutorService executor, int parallelGuardEvaluationThreshold) {
 		this.executor = executor;
 		this.behaviorGuardEvaluatorRegistry = new BehaviorGuardEvaluatorRegistry();
+		this.parallelGuardEvaluationThreshold = parallelGuardEvaluationThreshold;
+	}
+
+	/**
+	 * Change the service that collects the runtime metrics of the dispatcher.
+	 *
+	 * @param service the metrics service, or {@code null} for not collecting the metrics.
+	 */
+	@Inject(optional = true)
+	public void setMetricsService(MetricsService service) {
+		if (service == null) {
+			this.dispatchedEvents = null;
+			this.guardEvaluationTime = null;
+			this.behaviorExecutionTime = null;
+		} else {
+			this.dispatchedEvents = service.getCounter(MetricsService.DISPATCHED_EVENTS);
+			this.guardEvaluationTime = service.getHistogram(MetricsService.GUARD_EVALUATION_TIME);
+			this.behaviorExecutionTime = service.getHistogram(MetricsService.BEHAVIOR_EXECUTION_TIME);
+		}
 	}
 
 	/**
@@ -103,9 +177,7 @@ public class AgentInternalEventsDispatcher {
 	 * @param object object whose {@code PerceptGuardEvaluator} methods should be registered.
 	 */
 	public void register(Object object) {
-		synchronized (this.behaviorGuardEvaluatorRegistry) {
-			this.behaviorGuardEvaluatorRegistry.register(object);
-		}
+		this.behaviorGuardEvaluatorRegistry.register(object);
 	}
 
 	/**
@@ -115,9 +187,7 @@ public class AgentInternalEventsDispatcher {
 	 * @throws IllegalArgumentException if the object was not previously registered.
 	 */
 	public void unregister(Object object) {
-		synchronized (this.behaviorGuardEvaluatorRegistry) {
-			this.behaviorGuardEvaluatorRegistry.unregister(object);
-		}
+		this.behaviorGuardEvaluatorRegistry.unregister(object);
 	}
 
 	/**
@@ -126,9 +196,7 @@ public class AgentInternalEventsDispatcher {
 	 * @throws IllegalArgumentException if the object was not previously registered.
 	 */
 	public void unregisterAll() {
-		synchronized (this.behaviorGuardEvaluatorRegistry) {
-			this.behaviorGuardEvaluatorRegistry.unregisterAll();
-		}
+		this.behaviorGuardEvaluatorRegistry.unregisterAll();
 	}
 
 	/**
@@ -140,20 +208,20 @@ public class AgentInternalEventsDispatcher {
 	 */
 	public void immediateDispatch(Event event) {
 		assert event != null;
-		Collection<BehaviorGuardEvaluator> behaviorGuardEvaluators = null;
-		synchronized (this.behaviorGuardEvaluatorRegistry) {
-			behaviorGuardEvaluators = AgentInternalEventsDispatcher.this.behaviorGuardEvaluatorRegistry
-					.getBehaviorGuardEvaluators(event);
-		}
+		countDispatchedEvent();
+		final Collection<BehaviorGuardEvaluator> behaviorGuardEvaluators = this.behaviorGuardEvaluatorRegistry
+				.getBehaviorGuardEvaluators(event);
 		if (behaviorGuardEvaluators != null && !behaviorGuardEvaluators.isEmpty()) {
-			final Collection<Runnable> behaviorsMethodsToExecute;
+			final List<Runnable> behaviorsMethodsToExecute = acquireBuffer();
 			try {
-				behaviorsMethodsToExecute = evaluateGuards(event, behaviorGuardEvaluators);
+				evaluateGuards(event, behaviorGuardEvaluators, behaviorsMethodsToExecute);
 				executeBehaviorMethodsInParalellWithSynchroAtTheEnd(event, behaviorsMethodsToExecute);
 			} catch (RuntimeException exception) {
 				throw exception;
 			} catch (InterruptedException | ExecutionException | InvocationTargetException e) {
 				throw new RuntimeException(e);
+			} finally {
+				releaseBuffer(behaviorsMethodsToExecute);
 			}
 
 		}
@@ -177,73 +245,217 @@ public class AgentInternalEventsDispatcher {
 	 */
 	public void asyncDispatch(Event event) {
 		assert event != null;
-		this.executor.execute(() -> {
-			Collection<BehaviorGuardEvaluator> behaviorGuardEvaluators = null;
-			synchronized (AgentInternalEventsDispatcher.this.behaviorGuardEvaluatorRegistry) {
-				behaviorGuardEvaluators = AgentInternalEventsDispatcher.this.behaviorGuardEvaluatorRegistry
-						.getBehaviorGuardEvaluators(event);
-			}
-			if (behaviorGuardEvaluators != null && !behaviorGuardEvaluators.isEmpty()) {
+		this.executor.execute(() -> asyncDispatchInCurrentThread(event));
+	}
 
-				final Collection<Runnable> behaviorsMethodsToExecute;
-				try {
-					behaviorsMethodsToExecute = evaluateGuards(event, behaviorGuardEvaluators);
-				} catch (InvocationTargetException e) {
-					throw new RuntimeException(e);
-				}
+	/**
+	 * Posts an event to all registered {@code BehaviorGuardEvaluator}. The guards are evaluated by the current thread,
+	 * and the behavior methods are executed asynchronously.
+	 *
+	 * <p>This function is the task that is submitted to the executor service by {@link #asyncDispatch(Event)}.
+	 * It may be invoked directly by a caller that is already running inside the executor service in order to
+	 * avoid an additional hand-off between threads.
+	 *
+	 * @param event - an event to dispatch asynchronously.
+	 */
+	public void asyncDispatchInCurrentThread(Event event) {
+		assert event != null;
+		countDispatchedEvent();
+		final Collection<BehaviorGuardEvaluator> behaviorGuardEvaluators = this.behaviorGuardEvaluatorRegistry
+				.getBehaviorGuardEvaluators(event);
+		if (behaviorGuardEvaluators != null && !behaviorGuardEvaluators.isEmpty()) {
+
+			final List<Runnable> behaviorsMethodsToExecute = acquireBuffer();
+			try {
+				evaluateGuards(event, behaviorGuardEvaluators, behaviorsMethodsToExecute);
 				executeAsynchronouslyBehaviorMethods(event, behaviorsMethodsToExecute);
+			} catch (InterruptedException | InvocationTargetException e) {
+				throw new RuntimeException(e);
+			} finally {
+				releaseBuffer(behaviorsMethodsToExecute);
+			}
+
+		}
+		// XXX: Not in the SAR specification, should we fire the DeadEvent?
+		/*else if (!(event instanceof DeadEvent)) {
+			// the event had no subscribers and was not itself a DeadEvent
+			asyncDispatch(new DeadEvent(event));
+		}*/
+	}
+
+	private void countDispatchedEvent() {
+		final MetricCounter counter = this.dispatchedEvents;
+		if (counter != null) {
+			counter.increment();
+		}
+	}
 
+	/**
+	 * Replies the given behavior method, wrapped for measuring its execution time if the metrics are collected.
+	 *
+	 * @param runnable the behavior method.
+	 * @return the runnable to execute.
+	 */
+	private Runnable measured(Runnable runnable) {
+		final MetricHistogram histogram = this.behaviorExecutionTime;
+		if (histogram == null) {
+			return runnable;
+		}
+		return () -> {
+			final long start = System.nanoTime();
+			try {
+				runnable.run();
+			} finally {
+				histogram.recordSince(start);
 			}
-			// XXX: Not in the SAR specification, should we fire the DeadEvent?
-			/*else if (!(event instanceof DeadEvent)) {
-				// the event had no subscribers and was not itself a DeadEvent
-				asyncDispatch(new DeadEvent(event));
-			}*/
-		});
+		};
+	}
+
+	/**
+	 * Replies a buffer for collecting the behavior methods to execute. The buffer must be given back with
+	 * {@link #releaseBuffer(List)} when it is no more used.
+	 *
+	 * @return the empty buffer.
+	 */
+	private static List<Runnable> acquireBuffer() {
+		final List<Runnable> buffer = BEHAVIOR_METHOD_BUFFER.get();
+		if (buffer != null) {
+			// Reentrant calls must not use the same buffer.
+			BEHAVIOR_METHOD_BUFFER.set(null);
+			return buffer;
+		}
+		return new ArrayList<>();
 	}
 
 	/**
-	 * Evaluate the guard associated to the specified {@code event} and returns the list of behaviors methods that must be
+	 * Give back a buffer that was obtained with {@link #acquireBuffer()}.
+	 *
+	 * @param buffer the buffer.
+	 */
+	private static void releaseBuffer(List<Runnable> buffer) {
+		if (buffer.size() <= MAX_REUSABLE_BUFFER_SIZE) {
+			buffer.clear();
+			BEHAVIOR_METHOD_BUFFER.set(buffer);
+		}
+	}
+
+	/**
+	 * Evaluate the guard associated to the specified {@code event} and fill the list of behaviors methods that must be
 	 * executed.
 	 *
+	 * <p>If the number of guard evaluators is lower than the threshold given to the constructor, the guards are
+	 * evaluated sequentially by the current thread. Otherwise, the guard evaluators are split into batches that
+	 * are evaluated in parallel by the executor service.
+	 *
 	 * @param event - the event triggering behaviors
 	 * @param behaviorGuardEvaluators - the list of class containing a {@code PerceptGuardEvaluator} method
-	 * @return the collection of couple associating a object and its collection of behavior methods that must be executed
+	 * @param behaviorsMethodsToExecute - the collection of behavior methods to fill.
 	 * @throws InvocationTargetException - exception when you try to execute a method by reflection and this method doesn't exist.
+	 * @throws InterruptedException - something interrupt the waiting of the parallel evaluations.
 	 */
-	private static Collection<Runnable> evaluateGuards(final Event event,
-			final Collection<BehaviorGuardEvaluator> behaviorGuardEvaluators) throws InvocationTargetException {
-
-		final MultiCollection<Runnable> behaviorsMethodsToExecute = new MultiCollection<>();
+	private void evaluateGuards(final Event event, final Collection<BehaviorGuardEvaluator> behaviorGuardEvaluators,
+			final Collection<Runnable> behaviorsMethodsToExecute) throws InvocationTargetException, InterruptedException {
+		final MetricHistogram histogram = this.guardEvaluationTime;
+		final long start = histogram == null ? 0 : System.nanoTime();
+		final int threshold = this.parallelGuardEvaluationThreshold;
+		if (threshold <= 0 || behaviorGuardEvaluators.size() < threshold) {
+			for (final BehaviorGuardEvaluator evaluator : behaviorGuardEvaluators) {
+				evaluator.evaluateGuard(event, behaviorsMethodsToExecute);
+			}
+		} else {
+			evaluateGuardsInParallel(event, behaviorGuardEvaluators, behaviorsMethodsToExecute);
+		}
+		if (histogram != null) {
+			histogram.recordSince(start);
+		}
+	}
 
-		try {
-			behaviorGuardEvaluators.parallelStream().forEach((evaluator) -> {
+	/**
+	 * Evaluate in parallel the guard associated to the specified {@code event} and fill the list of behaviors methods
+	 * that must be executed. The first batch is evaluated by the current thread, the other batches by the executor service.
+	 * The batches that are not yet started by the executor service when the current thread has finished its own batch are
+	 * evaluated by the current thread too. In this way, the current thread never waits for a batch that is queued
+	 * behind it in the executor service. The order of the behavior methods is the same as for a sequential evaluation.
+	 *
+	 * @param event - the event triggering behaviors
+	 * @param behaviorGuardEvaluators - the list of class containing a {@code PerceptGuardEvaluator} method
+	 * @param behaviorsMethodsToExecute - the collection of behavior methods to fill.
+	 * @throws InvocationTargetException - exception when you try to execute a method by reflection and this method doesn't exist.
+	 * @throws InterruptedException - something interrupt the waiting of the parallel evaluations.
+	 */
+	private void evaluateGuardsInParallel(final Event event, final Collection<BehaviorGuardEvaluator> behaviorGuardEvaluators,
+			final Collection<Runnable> behaviorsMethodsToExecute) throws InvocationTargetException, InterruptedException {
+		final BehaviorGuardEvaluator[] evaluators = behaviorGuardEvaluators.toArray(
+				new BehaviorGuardEvaluator[behaviorGuardEvaluators.size()]);
+		final int nbBatches = Math.max(1, Math.min(Runtime.getRuntime().availableProcessors(),
+				evaluators.length / this.parallelGuardEvaluationThreshold));
+		final int batchSize = (evaluators.length + nbBatches - 1) / nbBatches;
+
+		final List<List<Runnable>> batchResults = new ArrayList<>(nbBatches - 1);
+		final List<JoinableTask> batchTasks = new ArrayList<>(nbBatches - 1);
+		final CountDownLatch doneSignal = new CountDownLatch(nbBatches - 1);
+		final AtomicReference<Throwable> evaluationException = new AtomicReference<>();
+
+		for (int start = batchSize; start < evaluators.length; start += batchSize) {
+			final int batchStart = start;
+			final int batchEnd = Math.min(start + batchSize, evaluators.length);
+			final List<Runnable> batchResult = new ArrayList<>();
+			batchResults.add(batchResult);
+			final JoinableTask batchTask = new JoinableTask(() -> {
 				try {
-					final Collection<Runnable> behaviorsMethodsToExecutePerTarget = Lists.newLinkedList();
-					evaluator.evaluateGuard(event, behaviorsMethodsToExecutePerTarget);
-					synchronized (behaviorsMethodsToExecute) {
-						behaviorsMethodsToExecute.addCollection(behaviorsMethodsToExecutePerTarget);
-					}
-				} catch (InvocationTargetException exception) {
-					throw new RuntimeException(exception);
+					evaluateGuardBatch(event, evaluators, batchStart, batchEnd, batchResult);
+				} catch (Throwable exception) {
+					evaluationException.compareAndSet(null, exception);
 				}
-			});
-		} catch (RuntimeException exception) {
-			final Throwable t = exception.getCause();
-			if (t instanceof InvocationTargetException) {
-				throw (InvocationTargetException) t;
-			}
-			throw exception;
+			}, doneSignal);
+			batchTasks.add(batchTask);
+			this.executor.execute(batchTask);
+		}
+		// Release the latch for the batches that were not created due to the rounding of the batch size.
+		for (int i = batchResults.size(); i < nbBatches - 1; ++i) {
+			doneSignal.countDown();
+		}
+
+		evaluateGuardBatch(event, evaluators, 0, Math.min(batchSize, evaluators.length), behaviorsMethodsToExecute);
+
+		for (final JoinableTask batchTask : batchTasks) {
+			batchTask.run();
 		}
+		ManagedBlocking.await(doneSignal);
 
-		return behaviorsMethodsToExecute;
+		final Throwable exception = evaluationException.get();
+		if (exception instanceof InvocationTargetException) {
+			throw (InvocationTargetException) exception;
+		}
+		if (exception instanceof RuntimeException) {
+			throw (RuntimeException) exception;
+		}
+		if (exception instanceof Error) {
+			throw (Error) exception;
+		}
+		for (final List<Runnable> batchResult : batchResults) {
+			behaviorsMethodsToExecute.addAll(batchResult);
+		}
+	}
+
+	private static void evaluateGuardBatch(Event event, BehaviorGuardEvaluator[] evaluators, int start, int end,
+			Collection<Runnable> behaviorsMethodsToExecute) throws InvocationTargetException {
+		for (int i = start; i < end; ++i) {
+			evaluators[i].evaluateGuard(event, behaviorsMethodsToExecute);
+		}
 	}
 
 	/**
 	 * Execute every single Behaviors runnable, a dedicated thread will created by the executor local to this class and be used to
 	 * execute each runnable in parallel, and this method waits until its future has been completed before leaving.
 	 *
-	 * <p>This function may fail if one of the called handlers has failed. Errors are logged by the executor service too.
+	 * <p>The behavior methods that are not yet started by the executor service when this function starts to wait
+	 * are run by the current thread. In this way, the current thread never waits for a behavior method that is
+	 * queued behind it in the executor service.
+	 *
+	 * <p>This function may fail if one of the called handlers has failed. The errors are logged too: by the executor
+	 * service for the handlers it has run, and by the handler of the uncaught exceptions of the current thread for the
+	 * handlers run by the current thread.
 	 *
 	 * @param event - the event occurrence that has activated the specified behaviors, used just for indexing purpose but not
 	 *        passed to runnable here, they were created according to this occurrence
@@ -259,8 +471,10 @@ public class AgentInternalEventsDispatcher {
 
 		final OutputParameter<Throwable> runException = new OutputParameter<>();
 
-		for (final Runnable runnable : behaviorsMethodsToExecute) {
-			this.executor.execute(() -> {
+		final List<JoinableTask> tasks = new ArrayList<>(behaviorsMethodsToExecute.size());
+		for (final Runnable behaviorMethod : behaviorsMethodsToExecute) {
+			final Runnable runnable = measured(behaviorMethod);
+			final JoinableTask task = new JoinableTask(() -> {
 				try {
 					runnable.run();
 				} catch (RuntimeException e) {
@@ -273,14 +487,28 @@ public class AgentInternalEventsDispatcher {
 					runException.set(e);
 					// Do the standard behavior too -> logging
 					throw new RuntimeException(e);
-				} finally {
-					doneSignal.countDown();
 				}
-			});
+			}, doneSignal);
+			tasks.add(task);
+			this.executor.execute(task);
+		}
+
+		// Run the Behaviors runnable that are not yet started
+		for (final JoinableTask task : tasks) {
+			try {
+				task.run();
+			} catch (RuntimeException e) {
+				// The exception is already stored in runException.
+				// Log it as the executor service does for the tasks it runs.
+				if (!(e instanceof ChuckNorrisException)) {
+					final Thread thread = Thread.currentThread();
+					thread.getUncaughtExceptionHandler().uncaughtException(thread, e);
+				}
+			}
 		}
 
 		// Wait for all Behaviors runnable to complete before continuing
-		doneSignal.await();
+		ManagedBlocking.await(doneSignal);
 
 		// Re-throw the run-time exception
 		if (runException.get() != null) {
@@ -301,15 +529,20 @@ public class AgentInternalEventsDispatcher {
 	private void executeAsynchronouslyBehaviorMethods(Event event, Collection<Runnable> behaviorsMethodsToExecute) {
 
 		final Queue<Pair<Event, Collection<Runnable>>> queueForThread = this.queue.get();
-		queueForThread.offer(new Pair<>(event, behaviorsMethodsToExecute));
 
-		if (!this.dispatching.get().booleanValue()) {
+		if (this.dispatching.get().booleanValue()) {
+			// The given collection is a buffer that may be reused before the queue is consumed.
+			queueForThread.offer(new Pair<>(event, new ArrayList<>(behaviorsMethodsToExecute)));
+		} else {
 			this.dispatching.set(Boolean.TRUE);
 			try {
+				for (final Runnable runnable : behaviorsMethodsToExecute) {
+					this.executor.execute(measured(runnable));
+				}
 				Pair<Event, Collection<Runnable>> nextEvent;
 				while ((nextEvent = queueForThread.poll()) != null) {
 					for (final Runnable runnable : nextEvent.getValue()) {
-						this.executor.execute(runnable);
+						this.executor.execute(measured(runnable));
 					}
 				}
 			} finally {
@@ -320,4 +553,39 @@ public class AgentInternalEventsDispatcher {
 
 	}
 
+	/**
+	 * Task that is run only once, either by the executor service, or by the thread that is waiting for its termination
+	 * when it is not yet started by the executor service.
+	 *
+	 * @author $Author: sgalland$
+	 * @version $FullVersion$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 */
+	private static class JoinableTask implements Runnable {
+
+		private final AtomicBoolean started = new AtomicBoolean();
+
+		private final Runnable body;
+
+		private final CountDownLatch doneSignal;
+
+		JoinableTask(Runnable body, CountDownLatch doneSignal) {
+			this.body = body;
+			this.doneSignal = doneSignal;
+		}
+
+		@Override
+		public void run() {
+			if (this.started.compareAndSet(false, true)) {
+				try {
+					this.body.run();
+				} finally {
+					this.doneSignal.countDown();
+				}
+			}
+		}
+
+	}
+
 }
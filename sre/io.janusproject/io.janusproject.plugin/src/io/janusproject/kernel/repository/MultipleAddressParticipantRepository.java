@@ -22,10 +22,16 @@
 package io.janusproject.kernel.repository;
 
 import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
 import java.util.UUID;
 
 import io.janusproject.services.distributeddata.DMultiMap;
 import io.janusproject.services.distributeddata.DistributedDataStructureService;
+import io.janusproject.util.DataViewDelegate;
 
 import io.sarl.lang.core.EventListener;
 import io.sarl.lang.util.SynchronizedCollection;
@@ -40,6 +46,8 @@ import io.sarl.util.Collections3;
  * <p>The repository must be distributed and synchronized all over the network by using data-structures that are provided by an
  * injected {@link DistributedDataStructureService}.
  *
+ * <p>The collections of addresses and of identifiers that are replied by this repository are unmodifiable snapshots.
+ *
  * @param <ADDRESST> - the generic type representing the address of a participant in the related space. This type must remains
  *        small, less than M in memory and must be {@link java.io.Serializable}
  * @author $Author: ngaud$
@@ -56,6 +64,12 @@ public final class MultipleAddressParticipantRepository<ADDRESST extends Seriali
 	 */
 	private final DMultiMap<UUID, ADDRESST> participants;
 
+	/**
+	 * Lock of {@link #participants} for building the snapshots. The multimaps of the local implementation are
+	 * synchronized on themselves, and their views must be iterated while owning this lock.
+	 */
+	private final Object participantsLock;
+
 	private final String distributedParticipantMapName;
 
 	/**
@@ -69,6 +83,7 @@ public final class MultipleAddressParticipantRepository<ADDRESST extends Seriali
 		super();
 		this.distributedParticipantMapName = distributedParticipantMapName;
 		this.participants = repositoryImplFactory.getMultiMap(this.distributedParticipantMapName, null);
+		this.participantsLock = DataViewDelegate.undelegate(this.participants);
 	}
 
 	/**
@@ -79,10 +94,10 @@ public final class MultipleAddressParticipantRepository<ADDRESST extends Seriali
 	 * @return a.
 	 */
 	public ADDRESST registerParticipant(ADDRESST address, EventListener entity) {
-		synchronized (mutex()) {
-			addListener(address, entity);
-			this.participants.put(entity.getID(), address);
-		}
+		// The listener is added before the address is published, so that a published address
+		// is always associated to a listener.
+		addListener(address, entity);
+		this.participants.put(entity.getID(), address);
 		return address;
 	}
 
@@ -94,10 +109,9 @@ public final class MultipleAddressParticipantRepository<ADDRESST extends Seriali
 	 * @return a.
 	 */
 	public ADDRESST unregisterParticipant(ADDRESST address, EventListener entity) {
-		synchronized (mutex()) {
-			removeListener(address);
-			this.participants.remove(entity.getID(), address);
-		}
+		// The address is removed before the listener, in the reverse order of the registration.
+		this.participants.remove(entity.getID(), address);
+		removeListener(address);
 		return address;
 	}
 
@@ -105,37 +119,41 @@ public final class MultipleAddressParticipantRepository<ADDRESST extends Seriali
 	 * Replies all the addresses of the participant with the given identifier.
 	 *
 	 * @param participant - the identifier of the participant.
-	 * @return the collection of addresses. It may be <code>null</code> if the participant is unknown.
+	 * @return the snapshot of the addresses. It is empty if the participant is unknown.
 	 */
 	public SynchronizedCollection<ADDRESST> getAddresses(UUID participant) {
-		final Object mutex = mutex();
-		synchronized (mutex) {
-			return Collections3.synchronizedCollection(this.participants.get(participant), mutex);
+		final Collection<ADDRESST> addresses;
+		synchronized (this.participantsLock) {
+			final Collection<ADDRESST> currentAddresses = this.participants.get(participant);
+			addresses = currentAddresses == null ? Collections.emptyList() : new ArrayList<>(currentAddresses);
 		}
+		return Collections3.synchronizedCollection(Collections.unmodifiableCollection(addresses), mutex());
 	}
 
 	/**
 	 * Replies all the addresses in this repository.
 	 *
-	 * @return the collection of addresses.
+	 * @return the snapshot of the addresses.
 	 */
 	public SynchronizedCollection<ADDRESST> getParticipantAddresses() {
-		final Object mutex = mutex();
-		synchronized (mutex) {
-			return Collections3.synchronizedCollection(this.participants.values(), mutex);
+		final Collection<ADDRESST> addresses;
+		synchronized (this.participantsLock) {
+			addresses = new ArrayList<>(this.participants.values());
 		}
+		return Collections3.synchronizedCollection(Collections.unmodifiableCollection(addresses), mutex());
 	}
 
 	/**
 	 * Replies all the participants in this repository.
 	 *
-	 * @return the collection of identifiers.
+	 * @return the snapshot of the identifiers.
 	 */
 	public SynchronizedSet<UUID> getParticipantIDs() {
-		final Object mutex = mutex();
-		synchronized (mutex) {
-			return Collections3.synchronizedSet(this.participants.keySet(), mutex);
+		final Set<UUID> identifiers;
+		synchronized (this.participantsLock) {
+			identifiers = new HashSet<>(this.participants.keySet());
 		}
+		return Collections3.synchronizedSet(Collections.unmodifiableSet(identifiers), mutex());
 	}
 
 }
@@ -22,10 +22,11 @@
 package io.janusproject.kernel.repository;
 
 import java.io.Serializable;
+import java.util.Collections;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
-import java.util.TreeMap;
+import java.util.concurrent.ConcurrentSkipListMap;
 
 import io.sarl.lang.core.EventListener;
 import io.sarl.lang.util.SynchronizedCollection;
@@ -35,6 +36,11 @@ import io.sarl.util.Collections3;
 /**
  * An abstract repository providing the basic support of storage a collection a participant's address and its related listener.
  *
+ * <p>The repository is thread-safe without locking: the participants are stored in a concurrent map, and the
+ * registration or the removal of a participant never blocks the threads that are reading the repository.
+ * The collections replied by {@link #getListeners()} and the similar functions are synchronized on {@link #mutex()}
+ * for backward compatibility; but synchronizing on this mutex is no more needed for iterating on them.
+ *
  * @param <ADDRESST> - the generic type representing the address of a participant in the related space. This type must remains
  *        small, less than M in memory and must be {@link java.io.Serializable}
  * @author $Author: ngaud$
@@ -46,14 +52,22 @@ public abstract class ParticipantRepository<ADDRESST extends Serializable> {
 
 	/**
 	 * Map linking the unique address of an entity in the related space to the entity itself. This is local non-distributed map.
+	 *
+	 * <p>The map supports concurrent readers that are not synchronized on {@link #mutex()}.
 	 */
 	private final Map<ADDRESST, EventListener> listeners;
 
+	/**
+	 * Unmodifiable view on {@link #listeners}.
+	 */
+	private final Map<ADDRESST, EventListener> unmodifiableListeners;
+
 	/**
 	 * Construct a <code>ParticipantRepository</code>.
 	 */
 	protected ParticipantRepository() {
-		this.listeners = new TreeMap<>();
+		this.listeners = new ConcurrentSkipListMap<>();
+		this.unmodifiableListeners = Collections.unmodifiableMap(this.listeners);
 	}
 
 	/**
@@ -62,9 +76,7 @@ public abstract class ParticipantRepository<ADDRESST extends Serializable> {
 	 * @return the number of listeners.
 	 */
 	public int listenerCount() {
-		synchronized (mutex()) {
-			return this.listeners.size();
-		}
+		return this.listeners.size();
 	}
 
 	/**
@@ -73,9 +85,7 @@ public abstract class ParticipantRepository<ADDRESST extends Serializable> {
 	 * @return <code>true</code> if the repository is empty, <code>false</code> if there is a least one participant.
 	 */
 	protected boolean isListenerEmpty() {
-		synchronized (mutex()) {
-			return this.listeners.isEmpty();
-		}
+		return this.listeners.isEmpty();
 	}
 
 	/**
@@ -86,9 +96,7 @@ public abstract class ParticipantRepository<ADDRESST extends Serializable> {
 	 *         <code>null</code>.
 	 */
 	protected boolean containsAddress(ADDRESST key) {
-		synchronized (mutex()) {
-			return this.listeners.containsKey(key);
-		}
+		return this.listeners.containsKey(key);
 	}
 
 	/**
@@ -99,9 +107,7 @@ public abstract class ParticipantRepository<ADDRESST extends Serializable> {
 	 *         present or <code>null</code>.
 	 */
 	protected boolean containsListener(EventListener value) {
-		synchronized (mutex()) {
-			return this.listeners.containsValue(value);
-		}
+		return this.listeners.containsValue(value);
 	}
 
 	/**
@@ -111,9 +117,7 @@ public abstract class ParticipantRepository<ADDRESST extends Serializable> {
 	 * @return the participant with the given address, or <code>null</code> if there is no participant with the given address.
 	 */
 	protected EventListener getListener(ADDRESST key) {
-		synchronized (mutex()) {
-			return this.listeners.get(key);
-		}
+		return this.listeners.get(key);
 	}
 
 	/**
@@ -124,9 +128,7 @@ public abstract class ParticipantRepository<ADDRESST extends Serializable> {
 	 * @return the participant that was previously associated to the given address.
 	 */
 	protected EventListener addListener(ADDRESST key, EventListener value) {
-		synchronized (mutex()) {
-			return this.listeners.put(key, value);
-		}
+		return this.listeners.put(key, value);
 	}
 
 	/**
@@ -136,18 +138,14 @@ public abstract class ParticipantRepository<ADDRESST extends Serializable> {
 	 * @return the participant for which the address was removed, <code>null</code> if the given address was not found.
 	 */
 	protected EventListener removeListener(ADDRESST key) {
-		synchronized (mutex()) {
-			return this.listeners.remove(key);
-		}
+		return this.listeners.remove(key);
 	}
 
 	/**
 	 * Remove all the participants in this repository.
 	 */
 	protected void clearListeners() {
-		synchronized (mutex()) {
-			this.listeners.clear();
-		}
+		this.listeners.clear();
 	}
 
 	/**
@@ -156,10 +154,7 @@ public abstract class ParticipantRepository<ADDRESST extends Serializable> {
 	 * @return the addresses in this repository.
 	 */
 	protected SynchronizedSet<ADDRESST> getAdresses() {
-		final Object mutex = mutex();
-		synchronized (mutex) {
-			return Collections3.synchronizedSet(this.listeners.keySet(), mutex);
-		}
+		return Collections3.synchronizedSet(this.listeners.keySet(), mutex());
 	}
 
 	/**
@@ -168,10 +163,21 @@ public abstract class ParticipantRepository<ADDRESST extends Serializable> {
 	 * @return the participants.
 	 */
 	public SynchronizedCollection<EventListener> getListeners() {
-		final Object mutex = mutex();
-		synchronized (mutex) {
-			return Collections3.synchronizedCollection(this.listeners.values(), mutex);
-		}
+		return Collections3.synchronizedCollection(this.listeners.values(), mutex());
+	}
+
+	/**
+	 * Replies an unmodifiable view on the participants, indexed by their addresses.
+	 *
+	 * <p>Contrary to {@link #getListeners()}, the replied map may be read and iterated without synchronizing on
+	 * {@link #mutex()}. Its iterators are weakly consistent: they never throw
+	 * {@link java.util.ConcurrentModificationException}, and they reflect the state of the repository at some point
+	 * at or since their creation. The lookups by address have a logarithmic complexity.
+	 *
+	 * @return the view on the participants.
+	 */
+	public Map<ADDRESST, EventListener> getListenersView() {
+		return this.unmodifiableListeners;
 	}
 
 	/**
@@ -180,14 +186,13 @@ public abstract class ParticipantRepository<ADDRESST extends Serializable> {
 	 * @return the pairs of addresses and participants
 	 */
 	protected Set<Entry<ADDRESST, EventListener>> listenersEntrySet() {
-		final Object mutex = mutex();
-		synchronized (mutex) {
-			return Collections3.synchronizedSet(this.listeners.entrySet(), mutex);
-		}
+		return Collections3.synchronizedSet(this.listeners.entrySet(), mutex());
 	}
 
 	/**
-	 * Replies the mutex to synchronize on this repository.
+	 * Replies the mutex that is used by the synchronized collections replied by this repository.
+	 *
+	 * <p>The repository itself does not synchronize on this mutex for changing its content.
 	 *
 	 * @return the mutex.
 	 */
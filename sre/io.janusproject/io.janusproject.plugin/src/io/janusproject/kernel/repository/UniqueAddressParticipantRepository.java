@@ -78,10 +78,10 @@ public final class UniqueAddressParticipantRepository<ADDRESST extends Serializa
 	 * @return the address of the participant
 	 */
 	public ADDRESST registerParticipant(ADDRESST address, EventListener entity) {
-		synchronized (mutex()) {
-			addListener(address, entity);
-			this.participants.put(entity.getID(), address);
-		}
+		// The listener is added before the address is published, so that a published address
+		// is always associated to a listener.
+		addListener(address, entity);
+		this.participants.put(entity.getID(), address);
 		return address;
 	}
 
@@ -102,10 +102,12 @@ public final class UniqueAddressParticipantRepository<ADDRESST extends Serializa
 	 * @return the address that was mapped to the given participant.
 	 */
 	public ADDRESST unregisterParticipant(UUID entityID) {
-		synchronized (mutex()) {
-			removeListener(this.participants.get(entityID));
-			return this.participants.remove(entityID);
+		// The address is removed before the listener, in the reverse order of the registration.
+		final ADDRESST address = this.participants.remove(entityID);
+		if (address != null) {
+			removeListener(address);
 		}
+		return address;
 	}
 
 	/**
@@ -125,9 +127,7 @@ public final class UniqueAddressParticipantRepository<ADDRESST extends Serializa
 	 * @return the address of the participant with the given id.
 	 */
 	public ADDRESST getAddress(UUID id) {
-		synchronized (mutex()) {
-			return this.participants.get(id);
-		}
+		return this.participants.get(id);
 	}
 
 	/**
@@ -136,10 +136,7 @@ public final class UniqueAddressParticipantRepository<ADDRESST extends Serializa
 	 * @return all the addresses.
 	 */
 	public SynchronizedCollection<ADDRESST> getParticipantAddresses() {
-		final Object mutex = mutex();
-		synchronized (mutex) {
-			return Collections3.synchronizedCollection(this.participants.values(), mutex);
-		}
+		return Collections3.synchronizedCollection(this.participants.values(), mutex());
 	}
 
 	/**
@@ -148,10 +145,7 @@ public final class UniqueAddressParticipantRepository<ADDRESST extends Serializa
 	 * @return all the identifiers.
 	 */
 	public SynchronizedSet<UUID> getParticipantIDs() {
-		final Object mutex = mutex();
-		synchronized (mutex) {
-			return Collections3.synchronizedSet(this.participants.keySet(), mutex);
-		}
+		return Collections3.synchronizedSet(this.participants.keySet(), mutex());
 	}
 
 }
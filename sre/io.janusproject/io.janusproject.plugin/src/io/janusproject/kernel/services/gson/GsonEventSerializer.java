@@ -133,11 +133,11 @@ public class GsonEventSerializer extends AbstractEventSerializer {
 
 		this.encrypter.decrypt(envelope);
 
-		final UUID contextId = NetworkUtil.fromByteArray(envelope.getContextId());
-		final UUID spaceId = NetworkUtil.fromByteArray(envelope.getSpaceId());
+		final UUID contextId = NetworkUtil.fromByteBuffer(envelope.getContextIdBuffer());
+		final UUID spaceId = NetworkUtil.fromByteBuffer(envelope.getSpaceIdBuffer());
 
 		final Map<String, String> headers = getHeadersFromString(
-				new String(envelope.getCustomHeaders(), NetworkConfig.getStringEncodingCharset()));
+				NetworkUtil.toString(envelope.getCustomHeadersBuffer()));
 
 		final Class<? extends SpaceSpecification> spaceSpec = extractClass("x-java-spacespec-class", headers, SpaceSpecification.class); //$NON-NLS-1$
 		final Class<? extends Event> eventClazz = extractClass("x-java-event-class", headers, Event.class); //$NON-NLS-1$
@@ -145,9 +145,9 @@ public class GsonEventSerializer extends AbstractEventSerializer {
 
 		final SpaceID spaceID = new SpaceID(contextId, spaceId, (Class<? extends SpaceSpecification<?>>) spaceSpec);
 
-		final Event event = this.gson.fromJson(new String(envelope.getBody(), NetworkConfig.getStringEncodingCharset()), eventClazz);
+		final Event event = this.gson.fromJson(NetworkUtil.toString(envelope.getBodyBuffer()), eventClazz);
 		assert event != null;
-		final Scope scope = this.gson.fromJson(new String(envelope.getScope(), NetworkConfig.getStringEncodingCharset()), scopeClazz);
+		final Scope scope = this.gson.fromJson(NetworkUtil.toString(envelope.getScopeBuffer()), scopeClazz);
 		assert scope != null;
 
 		return new EventDispatch(spaceID, event, scope, headers);
@@ -27,6 +27,7 @@ import java.util.Iterator;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import com.google.common.base.Objects;
 import com.google.common.collect.Multimap;
@@ -42,15 +43,24 @@ import com.hazelcast.core.MapEvent;
 import com.hazelcast.core.MultiMap;
 import com.hazelcast.map.listener.MapListener;
 
+import io.janusproject.JanusConfig;
 import io.janusproject.services.AbstractDependentService;
 import io.janusproject.services.distributeddata.DMap;
 import io.janusproject.services.distributeddata.DMapListener;
 import io.janusproject.services.distributeddata.DMultiMap;
 import io.janusproject.services.distributeddata.DistributedDataStructureService;
+import io.janusproject.services.distributeddata.NearCache;
+import io.janusproject.services.distributeddata.NearCachedDMap;
+import io.janusproject.services.distributeddata.NearCachedDMultiMap;
+import io.janusproject.services.metrics.MetricCounter;
+import io.janusproject.services.metrics.MetricsService;
 
 /**
  * Service based on Hazelcast that permits to manage data structures that are shared over a network.
  *
+ * <p>If it is enabled, the lookups in the maps are served by a local near-cache, which is shared by all the
+ * views on the same map.
+ *
  * @author $Author: srodriguez$
  * @author $Author: ngaud$
  * @author $Author: sgalland$
@@ -64,6 +74,12 @@ public class HazelcastDistributedDataStructureService extends AbstractDependentS
 	@Inject
 	private HazelcastInstance hazelcastInstance;
 
+	private final Map<String, NearCachedDMap<?, ?>> nearCachedMaps = new ConcurrentHashMap<>();
+
+	private final Map<String, NearCachedDMultiMap<?, ?>> nearCachedMultiMaps = new ConcurrentHashMap<>();
+
+	private MetricsService metrics;
+
 	@Override
 	public final Class<? extends Service> getServiceType() {
 		return DistributedDataStructureService.class;
@@ -78,6 +94,82 @@ public class HazelcastDistributedDataStructureService extends AbstractDependentS
 		this.hazelcastInstance = hazelcastInstance;
 	}
 
+	/**
+	 * Change the service that collects the hits and the misses of the near-caches.
+	 *
+	 * @param service - the metrics service.
+	 */
+	@Inject(optional = true)
+	public void setMetricsService(MetricsService service) {
+		this.metrics = service;
+	}
+
+	/**
+	 * Replies if the lookups in the distributed maps are served by a near-cache.
+	 *
+	 * @return <code>true</code> if the near-caches are enabled.
+	 * @see JanusConfig#DMAP_NEAR_CACHE_NAME
+	 */
+	protected static boolean isNearCacheEnabled() {
+		return JanusConfig.getSystemPropertyAsBoolean(JanusConfig.DMAP_NEAR_CACHE_NAME,
+				JanusConfig.DMAP_NEAR_CACHE_VALUE.booleanValue());
+	}
+
+	private <V> NearCache<Object, V> createNearCache(String name) {
+		final int size = JanusConfig.getSystemPropertyAsInteger(JanusConfig.DMAP_NEAR_CACHE_SIZE_NAME,
+				JanusConfig.DMAP_NEAR_CACHE_SIZE_VALUE);
+		final int ttl = JanusConfig.getSystemPropertyAsInteger(JanusConfig.DMAP_NEAR_CACHE_TTL_NAME,
+				JanusConfig.DMAP_NEAR_CACHE_TTL_VALUE);
+		final String prefix = MetricsService.NEAR_CACHE_PREFIX + name;
+		final MetricsService service = this.metrics;
+		final NearCache<Object, V> cache;
+		if (service != null) {
+			cache = new NearCache<>(size, ttl, service.getCounter(prefix + MetricsService.NEAR_CACHE_HITS_SUFFIX),
+					service.getCounter(prefix + MetricsService.NEAR_CACHE_MISSES_SUFFIX));
+			service.registerGauge(prefix + MetricsService.NEAR_CACHE_SIZE_SUFFIX, cache::size);
+		} else {
+			cache = new NearCache<>(size, ttl, new MetricCounter(prefix + MetricsService.NEAR_CACHE_HITS_SUFFIX),
+					new MetricCounter(prefix + MetricsService.NEAR_CACHE_MISSES_SUFFIX));
+		}
+		return cache;
+	}
+
+	private void removeNearCacheMetrics(String name) {
+		final MetricsService service = this.metrics;
+		if (service != null) {
+			final String prefix = MetricsService.NEAR_CACHE_PREFIX + name;
+			service.removeMetrics(prefix + MetricsService.NEAR_CACHE_HITS_SUFFIX);
+			service.removeMetrics(prefix + MetricsService.NEAR_CACHE_MISSES_SUFFIX);
+			service.removeMetrics(prefix + MetricsService.NEAR_CACHE_SIZE_SUFFIX);
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private <K, V> DMap<K, V> createMapView(String name) {
+		final IMap<K, V> map = this.hazelcastInstance.getMap(name);
+		if (map == null) {
+			return null;
+		}
+		if (isNearCacheEnabled()) {
+			return (DMap<K, V>) this.nearCachedMaps.computeIfAbsent(name,
+				(it) -> new NearCachedDMap<>(new MapView<>(it, map), this.<V>createNearCache(it)));
+		}
+		return new MapView<>(name, map);
+	}
+
+	@SuppressWarnings("unchecked")
+	private <K, V> DMultiMap<K, V> createMultiMapView(String name) {
+		final MultiMap<K, V> map = this.hazelcastInstance.getMultiMap(name);
+		if (map == null) {
+			return null;
+		}
+		if (isNearCacheEnabled()) {
+			return (DMultiMap<K, V>) this.nearCachedMultiMaps.computeIfAbsent(name,
+				(it) -> new NearCachedDMultiMap<>(new MultiMapView<>(it, map), this.<Collection<V>>createNearCache(it)));
+		}
+		return new MultiMapView<>(name, map);
+	}
+
 	@Override
 	protected void doStart() {
 		notifyStarted();
@@ -85,43 +177,37 @@ public class HazelcastDistributedDataStructureService extends AbstractDependentS
 
 	@Override
 	protected void doStop() {
+		for (final NearCachedDMap<?, ?> map : this.nearCachedMaps.values()) {
+			map.destroy();
+			removeNearCacheMetrics(map.getName());
+		}
+		this.nearCachedMaps.clear();
+		for (final NearCachedDMultiMap<?, ?> map : this.nearCachedMultiMaps.values()) {
+			map.destroy();
+			removeNearCacheMetrics(map.getName());
+		}
+		this.nearCachedMultiMaps.clear();
 		notifyStopped();
 	}
 
 	@Override
 	public <K, V> DMap<K, V> getMap(String name) {
-		final IMap<K, V> map = this.hazelcastInstance.getMap(name);
-		if (map != null) {
-			return new MapView<>(name, map);
-		}
-		return null;
+		return createMapView(name);
 	}
 
 	@Override
 	public <K, V> DMap<K, V> getMap(String name, Comparator<? super K> comparator) {
-		final IMap<K, V> map = this.hazelcastInstance.getMap(name);
-		if (map != null) {
-			return new MapView<>(name, map);
-		}
-		return null;
+		return createMapView(name);
 	}
 
 	@Override
 	public <K, V> DMultiMap<K, V> getMultiMap(String name) {
-		final MultiMap<K, V> map = this.hazelcastInstance.getMultiMap(name);
-		if (map != null) {
-			return new MultiMapView<>(name, map);
-		}
-		return null;
+		return createMultiMapView(name);
 	}
 
 	@Override
 	public <K, V> DMultiMap<K, V> getMultiMap(String name, Comparator<? super K> comparator) {
-		final MultiMap<K, V> map = this.hazelcastInstance.getMultiMap(name);
-		if (map != null) {
-			return new MultiMapView<>(name, map);
-		}
-		return null;
+		return createMultiMapView(name);
 	}
 
 	/**
@@ -138,6 +224,8 @@ public class HazelcastDistributedDataStructureService extends AbstractDependentS
 
 		private final IMap<K, V> map;
 
+		private final Map<DMapListener<?, ?>, String> listenerRegistrations = new ConcurrentHashMap<>();
+
 		MapView(String name, IMap<K, V> map) {
 			assert map != null;
 			this.name = name;
@@ -224,15 +312,17 @@ public class HazelcastDistributedDataStructureService extends AbstractDependentS
 			final EntryListenerWrapper<K, V> w = new EntryListenerWrapper<>(listener);
 			final String k = this.map.addEntryListener((MapListener) w, true);
 			w.setHazelcastListener(k);
+			this.listenerRegistrations.put(listener, k);
 		}
 
 		@Override
 		public void removeDMapListener(DMapListener<? super K, ? super V> listener) {
-			if (listener instanceof EntryListenerWrapper) {
-				final String k = ((EntryListenerWrapper<?, ?>) listener).getHazelcastListener();
-				if (k != null) {
-					this.map.removeEntryListener(k);
-				}
+			String k = this.listenerRegistrations.remove(listener);
+			if (k == null && listener instanceof EntryListenerWrapper) {
+				k = ((EntryListenerWrapper<?, ?>) listener).getHazelcastListener();
+			}
+			if (k != null) {
+				this.map.removeEntryListener(k);
 			}
 		}
 
@@ -253,6 +343,8 @@ public class HazelcastDistributedDataStructureService extends AbstractDependentS
 
 		private final MultiMap<K, V> map;
 
+		private final Map<DMapListener<?, ?>, String> listenerRegistrations = new ConcurrentHashMap<>();
+
 		MultiMapView(String name, MultiMap<K, V> map) {
 			this.name = name;
 			assert map != null;
@@ -352,15 +444,17 @@ public class HazelcastDistributedDataStructureService extends AbstractDependentS
 			final EntryListenerWrapper<K, V> w = new EntryListenerWrapper<>(listener);
 			final String k = this.map.addEntryListener(w, true);
 			w.setHazelcastListener(k);
+			this.listenerRegistrations.put(listener, k);
 		}
 
 		@Override
 		public void removeDMapListener(DMapListener<? super K, ? super V> listener) {
-			if (listener instanceof EntryListenerWrapper) {
-				final String k = ((EntryListenerWrapper<?, ?>) listener).getHazelcastListener();
-				if (k != null) {
-					this.map.removeEntryListener(k);
-				}
+			String k = this.listenerRegistrations.remove(listener);
+			if (k == null && listener instanceof EntryListenerWrapper) {
+				k = ((EntryListenerWrapper<?, ?>) listener).getHazelcastListener();
+			}
+			if (k != null) {
+				this.map.removeEntryListener(k);
 			}
 		}
 
@@ -288,7 +288,11 @@ public class Context implements AgentContext {
 		 */
 		protected SpaceRepository newInstanceWithPrivateSpaceListener(Context context, String distributedSpaceSetName,
 				SpaceRepositoryListener listener) {
-			return new SpaceRepository(distributedSpaceSetName, this.dataStructureService, this.injector, listener);
+			final SpaceRepository repository = new SpaceRepository(distributedSpaceSetName, this.dataStructureService,
+					this.injector, listener);
+			// Inject the optional services, e.g. the metrics service.
+			this.injector.injectMembers(repository);
+			return repository;
 		}
 
 	}
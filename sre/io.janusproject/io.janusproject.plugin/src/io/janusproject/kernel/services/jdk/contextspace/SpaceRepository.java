@@ -27,20 +27,22 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
-import java.util.Map;
 import java.util.Map.Entry;
-import java.util.TreeMap;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListSet;
 
 import com.google.common.base.Predicate;
 import com.google.common.collect.Collections2;
-import com.google.common.collect.Multimap;
-import com.google.common.collect.TreeMultimap;
+import com.google.inject.Inject;
 import com.google.inject.Injector;
 
 import io.janusproject.services.contextspace.SpaceRepositoryListener;
 import io.janusproject.services.distributeddata.DMap;
 import io.janusproject.services.distributeddata.DMapListener;
 import io.janusproject.services.distributeddata.DistributedDataStructureService;
+import io.janusproject.services.metrics.MetricsService;
 import io.janusproject.util.Comparators;
 import io.janusproject.util.TwoStepConstruction;
 
@@ -53,6 +55,10 @@ import io.sarl.util.Collections3;
 /**
  * A repository of spaces specific to a given context.
  *
+ * <p>The spaces are stored into concurrent maps: the read accesses ({@link #getSpace(SpaceID)}, {@link #getSpaces()}...)
+ * are not blocking. The changes of the repository are serialized on the repository instance, and the
+ * listeners are notified outside this lock.
+ *
  * @author $Author: ngaud$
  * @author $Author: sgalland$
  * @version $FullVersion$
@@ -87,13 +93,15 @@ public class SpaceRepository {
 	/**
 	 * Map linking a space id to its related Space object This is local non-distributed map.
 	 */
-	private final Map<SpaceID, Space> spaces;
+	private final ConcurrentMap<SpaceID, Space> spaces;
 
 	/**
 	 * Map linking a a class of Space specification to its related implementations' ids Use the map <code>spaces</code> to get the
 	 * Space object associated to a given id This is local non-distributed map.
 	 */
-	private final Multimap<Class<? extends SpaceSpecification<?>>, SpaceID> spacesBySpec;
+	private final ConcurrentMap<Class<? extends SpaceSpecification<?>>, Set<SpaceID>> spacesBySpec;
+
+	private MetricsService metricsService;
 
 	/**
 	 * @param distributedSpaceSetName - the name used to identify distributed map over network
@@ -106,15 +114,25 @@ public class SpaceRepository {
 		this.distributedSpaceSetName = distributedSpaceSetName;
 		this.injector = injector;
 		this.externalListener = listener;
-		this.spaces = new TreeMap<>();
-		this.spacesBySpec = TreeMultimap.create(Comparators.CLASS_COMPARATOR, Comparators.OBJECT_COMPARATOR);
+		this.spaces = new ConcurrentHashMap<>();
+		this.spacesBySpec = new ConcurrentHashMap<>();
 		this.spaceIDs = distributedDataStructureService.getMap(this.distributedSpaceSetName, null);
 	}
 
+	/**
+	 * Change the service that collects the runtime metrics of the spaces.
+	 *
+	 * @param service - the metrics service, or <code>null</code> if the metrics are not collected.
+	 */
+	@Inject(optional = true)
+	void setMetricsService(MetricsService service) {
+		this.metricsService = service;
+	}
+
 	/**
 	 * Finalize the initialization: ensure that the events are fired outside the scope of the SpaceRepository constructor.
 	 */
-	synchronized void postConstruction() {
+	void postConstruction() {
 		if (this.spaceIDs != null) {
 			for (final Entry<SpaceID, Object[]> e : this.spaceIDs.entrySet()) {
 				assert this.spaceIDs.containsKey(e.getKey());
@@ -128,7 +146,7 @@ public class SpaceRepository {
 	/**
 	 * Destroy this repository and releaqse all the resources.
 	 */
-	public synchronized void destroy() {
+	public void destroy() {
 		// Unregister from Hazelcast layer.
 		if (this.internalListener != null) {
 			this.spaceIDs.removeDMapListener(this.internalListener);
@@ -143,8 +161,15 @@ public class SpaceRepository {
 		}
 	}
 
-	private synchronized <S extends Space> S createSpaceInstance(Class<? extends SpaceSpecification<S>> spec, SpaceID spaceID,
+	/**
+	 * Create the instance of a space, and register it into this repository.
+	 *
+	 * <p>This function must be called when the lock on this repository is owned.
+	 * The listeners are not notified by this function.
+	 */
+	private <S extends Space> S createSpaceInstance(Class<? extends SpaceSpecification<S>> spec, SpaceID spaceID,
 			boolean isLocalCreation, Object[] creationParams) {
+		assert Thread.holdsLock(this);
 		final S space;
 		assert spaceID.getSpaceSpecification() == null
 				|| spaceID.getSpaceSpecification().equals(spec) : "The specification type is invalid"; //$NON-NLS-1$
@@ -158,7 +183,12 @@ public class SpaceRepository {
 		final SpaceID id = space.getSpaceID();
 		assert id != null;
 		this.spaces.put(id, space);
-		this.spacesBySpec.put(id.getSpaceSpecification(), id);
+		Set<SpaceID> ids = this.spacesBySpec.get(id.getSpaceSpecification());
+		if (ids == null) {
+			ids = new ConcurrentSkipListSet<>(Comparators.OBJECT_COMPARATOR);
+			this.spacesBySpec.put(id.getSpaceSpecification(), ids);
+		}
+		ids.add(id);
 		if (isLocalCreation) {
 			Object[] sharedParams = NO_PARAMETERS;
 			if (creationParams != null && creationParams.length > 0) {
@@ -174,7 +204,31 @@ public class SpaceRepository {
 			}
 			this.spaceIDs.putIfAbsent(id, sharedParams);
 		}
-		fireSpaceAdded(space, isLocalCreation);
+		return space;
+	}
+
+	/**
+	 * Unregister the given space from the local data structures.
+	 *
+	 * <p>This function must be called when the lock on this repository is owned.
+	 * The listeners are not notified by this function.
+	 */
+	private Space removeSpaceInstance(SpaceID id) {
+		assert Thread.holdsLock(this);
+		final Space space = this.spaces.remove(id);
+		if (space != null) {
+			final MetricsService metrics = this.metricsService;
+			if (metrics != null) {
+				metrics.removeMetrics(MetricsService.SPACE_PREFIX + id.getID() + '.');
+			}
+			final Set<SpaceID> ids = this.spacesBySpec.get(id.getSpaceSpecification());
+			if (ids != null) {
+				ids.remove(id);
+				if (ids.isEmpty()) {
+					this.spacesBySpec.remove(id.getSpaceSpecification(), ids);
+				}
+			}
+		}
 		return space;
 	}
 
@@ -185,9 +239,17 @@ public class SpaceRepository {
 	 * @param initializationParameters - parameters for initialization.
 	 */
 	@SuppressWarnings({ "unchecked", "rawtypes" })
-	protected synchronized void ensureLocalSpaceDefinition(SpaceID id, Object[] initializationParameters) {
+	protected void ensureLocalSpaceDefinition(SpaceID id, Object[] initializationParameters) {
 		if (!this.spaces.containsKey(id)) {
-			createSpaceInstance((Class) id.getSpaceSpecification(), id, false, initializationParameters);
+			Space space = null;
+			synchronized (this) {
+				if (!this.spaces.containsKey(id)) {
+					space = createSpaceInstance((Class) id.getSpaceSpecification(), id, false, initializationParameters);
+				}
+			}
+			if (space != null) {
+				fireSpaceAdded(space, false);
+			}
 		}
 	}
 
@@ -197,10 +259,12 @@ public class SpaceRepository {
 	 * @param id - identifier of the space
 	 * @param isLocalDestruction - indicates if the destruction is initiated by the local kernel.
 	 */
-	protected synchronized void removeLocalSpaceDefinition(SpaceID id, boolean isLocalDestruction) {
-		final Space space = this.spaces.remove(id);
+	protected void removeLocalSpaceDefinition(SpaceID id, boolean isLocalDestruction) {
+		final Space space;
+		synchronized (this) {
+			space = removeSpaceInstance(id);
+		}
 		if (space != null) {
-			this.spacesBySpec.remove(id.getSpaceSpecification(), id);
 			fireSpaceRemoved(space, isLocalDestruction);
 		}
 	}
@@ -210,19 +274,17 @@ public class SpaceRepository {
 	 *
 	 * @param isLocalDestruction - indicates if the destruction is initiated by the local kernel.
 	 */
-	protected synchronized void removeLocalSpaceDefinitions(boolean isLocalDestruction) {
+	protected void removeLocalSpaceDefinitions(boolean isLocalDestruction) {
 		if (!this.spaces.isEmpty()) {
 			final List<Space> removedSpaces = new ArrayList<>(this.spaces.size());
-			final Iterator<Entry<SpaceID, Space>> iterator = this.spaces.entrySet().iterator();
-			Space space;
-			SpaceID id;
-			while (iterator.hasNext()) {
-				final Entry<SpaceID, Space> entry = iterator.next();
-				id = entry.getKey();
-				space = entry.getValue();
-				iterator.remove();
-				this.spacesBySpec.remove(id.getSpaceSpecification(), id);
-				removedSpaces.add(space);
+			synchronized (this) {
+				final Iterator<SpaceID> iterator = this.spaces.keySet().iterator();
+				while (iterator.hasNext()) {
+					final Space space = removeSpaceInstance(iterator.next());
+					if (space != null) {
+						removedSpaces.add(space);
+					}
+				}
 			}
 			for (final Space s : removedSpaces) {
 				fireSpaceRemoved(s, isLocalDestruction);
@@ -239,10 +301,19 @@ public class SpaceRepository {
 	 * @param creationParams - creation parameters.
 	 * @return the new space, or <code>null</code> if the space already exists.
 	 */
-	public synchronized <S extends io.sarl.lang.core.Space> S createSpace(SpaceID spaceID,
+	public <S extends io.sarl.lang.core.Space> S createSpace(SpaceID spaceID,
 			Class<? extends SpaceSpecification<S>> spec, Object... creationParams) {
 		if (!this.spaces.containsKey(spaceID)) {
-			return createSpaceInstance(spec, spaceID, true, creationParams);
+			S space = null;
+			synchronized (this) {
+				if (!this.spaces.containsKey(spaceID)) {
+					space = createSpaceInstance(spec, spaceID, true, creationParams);
+				}
+			}
+			if (space != null) {
+				fireSpaceAdded(space, true);
+			}
+			return space;
 		}
 		return null;
 	}
@@ -256,20 +327,40 @@ public class SpaceRepository {
 	 * @param creationParams - creation parameters (used only when creating a space).
 	 * @return the new space.
 	 */
-	@SuppressWarnings("unchecked")
-	public synchronized <S extends io.sarl.lang.core.Space> S getOrCreateSpaceWithSpec(SpaceID spaceID,
+	public <S extends io.sarl.lang.core.Space> S getOrCreateSpaceWithSpec(SpaceID spaceID,
 			Class<? extends SpaceSpecification<S>> spec, Object... creationParams) {
-		final Collection<SpaceID> ispaces = this.spacesBySpec.get(spec);
-		final S firstSpace;
-		if (ispaces == null || ispaces.isEmpty()) {
-			firstSpace = createSpaceInstance(spec, spaceID, true, creationParams);
-		} else {
-			firstSpace = (S) this.spaces.get(ispaces.iterator().next());
+		S firstSpace = getFirstSpace(spec);
+		if (firstSpace == null) {
+			boolean created = false;
+			synchronized (this) {
+				firstSpace = getFirstSpace(spec);
+				if (firstSpace == null) {
+					firstSpace = createSpaceInstance(spec, spaceID, true, creationParams);
+					created = true;
+				}
+			}
+			if (created) {
+				fireSpaceAdded(firstSpace, true);
+			}
 		}
 		assert firstSpace != null;
 		return firstSpace;
 	}
 
+	@SuppressWarnings("unchecked")
+	private <S extends io.sarl.lang.core.Space> S getFirstSpace(Class<? extends SpaceSpecification<S>> spec) {
+		final Set<SpaceID> ids = this.spacesBySpec.get(spec);
+		if (ids != null) {
+			for (final SpaceID id : ids) {
+				final Space space = this.spaces.get(id);
+				if (space != null) {
+					return (S) space;
+				}
+			}
+		}
+		return null;
+	}
+
 	/**
 	 * Retrieve the first space of the given identifier, or create a space if none.
 	 *
@@ -280,11 +371,21 @@ public class SpaceRepository {
 	 * @return the new space.
 	 */
 	@SuppressWarnings("unchecked")
-	public synchronized <S extends io.sarl.lang.core.Space> S getOrCreateSpaceWithID(SpaceID spaceID,
+	public <S extends io.sarl.lang.core.Space> S getOrCreateSpaceWithID(SpaceID spaceID,
 			Class<? extends SpaceSpecification<S>> spec, Object... creationParams) {
 		Space space = this.spaces.get(spaceID);
 		if (space == null) {
-			space = createSpaceInstance(spec, spaceID, true, creationParams);
+			boolean created = false;
+			synchronized (this) {
+				space = this.spaces.get(spaceID);
+				if (space == null) {
+					space = createSpaceInstance(spec, spaceID, true, creationParams);
+					created = true;
+				}
+			}
+			if (created) {
+				fireSpaceAdded(space, true);
+			}
 		}
 		assert space != null;
 		return (S) space;
@@ -295,7 +396,7 @@ public class SpaceRepository {
 	 *
 	 * @return the collection of all spaces stored in this repository.
 	 */
-	public synchronized SynchronizedCollection<? extends Space> getSpaces() {
+	public SynchronizedCollection<? extends Space> getSpaces() {
 		return Collections3.synchronizedCollection(Collections.unmodifiableCollection(this.spaces.values()), this);
 	}
 
@@ -307,7 +408,7 @@ public class SpaceRepository {
 	 * @return the collection of all spaces with the specified {@link SpaceSpecification} stored in this repository
 	 */
 	@SuppressWarnings("unchecked")
-	public synchronized <S extends Space> SynchronizedCollection<S> getSpaces(final Class<? extends SpaceSpecification<S>> spec) {
+	public <S extends Space> SynchronizedCollection<S> getSpaces(final Class<? extends SpaceSpecification<S>> spec) {
 		return Collections3
 				.synchronizedCollection((Collection<S>) Collections2.filter(this.spaces.values(), new Predicate<Space>() {
 					@Override
@@ -323,7 +424,7 @@ public class SpaceRepository {
 	 * @param spaceID - the identifier to retreive.
 	 * @return the space instance of <code>null</code> if none.
 	 */
-	public synchronized Space getSpace(SpaceID spaceID) {
+	public Space getSpace(SpaceID spaceID) {
 		return this.spaces.get(spaceID);
 	}
 
@@ -21,13 +21,18 @@
 
 package io.janusproject.kernel.services.jdk.contextspace;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.List;
 import java.util.Map;
+import java.util.Map.Entry;
 import java.util.Set;
 import java.util.TreeMap;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import com.google.common.base.Predicate;
 import com.google.common.collect.Collections2;
@@ -59,6 +64,11 @@ import io.sarl.util.Collections3;
 /**
  * A repository of Agent's context and spaces that is based on the other Janus platform services.
  *
+ * <p>The contexts are stored into a concurrent map: the resolution of the contexts is not blocking.
+ * The creations of contexts are serialized on the {@link #mutex()}. A context is published in the map only when it is
+ * fully constructed. The listeners on the context repository are notified outside this lock: the creation of the
+ * context is notified before the creation of its default space.
+ *
  * @author $Author: ngaud$
  * @author $Author: srodriguez$
  * @author $Author: sgalland$
@@ -91,7 +101,7 @@ public class StandardContextSpaceService extends AbstractDependentService implem
 	/**
 	 * Map linking a context id to its related Context object This is local non-distributed map.
 	 */
-	private Map<UUID, AgentContext> contexts = new TreeMap<>();
+	private final ConcurrentMap<UUID, AgentContext> contexts = new ConcurrentHashMap<>();
 
 	/**
 	 * Internal listener on the space repository changes.
@@ -181,37 +191,51 @@ public class StandardContextSpaceService extends AbstractDependentService implem
 	}
 
 	@Override
-	public synchronized boolean isEmptyContextRepository() {
+	public boolean isEmptyContextRepository() {
 		return this.contexts.isEmpty();
 	}
 
 	@Override
-	public synchronized int getNumberOfContexts() {
+	public int getNumberOfContexts() {
 		return this.contexts.size();
 	}
 
 	@Override
-	public synchronized boolean containsContext(UUID contextID) {
+	public boolean containsContext(UUID contextID) {
 		return this.contexts.containsKey(contextID);
 	}
 
 	@Override
-	public synchronized AgentContext createContext(UUID contextID, UUID defaultSpaceUUID) {
+	public AgentContext createContext(UUID contextID, UUID defaultSpaceUUID) {
 		assert contextID != null : "The contextID cannot be null"; //$NON-NLS-1$
 		assert defaultSpaceUUID != null : "The defaultSpaceUUID cannot be null"; //$NON-NLS-1$
 		assert this.contexts != null : "Internal Error: the context container must not be null"; //$NON-NLS-1$
-		final AgentContext context = this.contexts.get(contextID);
+		AgentContext context = this.contexts.get(contextID);
 		if (context == null) {
-			final Context ctx = this.contextFactory.newInstance(contextID, defaultSpaceUUID, this.spaceRepositoryFactory,
-					new SpaceEventProxy());
-			assert ctx != null : "The internal Context cannot be null"; //$NON-NLS-1$
-			assert this.contexts != null : "Internal Error: the context container must not be null"; //$NON-NLS-1$
-			this.contexts.put(contextID, ctx);
+			final Context ctx;
+			// The space events are delayed until the creation of the context is notified.
+			final SpaceEventProxy spaceEventProxy = new SpaceEventProxy();
+			synchronized (mutex()) {
+				context = this.contexts.get(contextID);
+				if (context != null) {
+					return context;
+				}
+				ctx = this.contextFactory.newInstance(contextID, defaultSpaceUUID, this.spaceRepositoryFactory,
+						spaceEventProxy);
+				assert ctx != null : "The internal Context cannot be null"; //$NON-NLS-1$
+				final Space defaultSpace = ctx.postConstruction();
+				assert defaultSpace != null : "The default space in the context " //$NON-NLS-1$
+						+ contextID + " cannot be null"; //$NON-NLS-1$
+				// Publish the context only when it is fully constructed.
+				context = this.contexts.putIfAbsent(contextID, ctx);
+				if (context != null) {
+					ctx.destroy();
+					return context;
+				}
+				this.defaultSpaces.putIfAbsent(ctx.getID(), defaultSpace.getSpaceID());
+			}
 			fireContextCreated(ctx);
-			final Space defaultSpace = ctx.postConstruction();
-			assert defaultSpace != null : "The default space in the context " //$NON-NLS-1$
-					+ contextID + " cannot be null"; //$NON-NLS-1$
-			this.defaultSpaces.putIfAbsent(ctx.getID(), defaultSpace.getSpaceID());
+			spaceEventProxy.release();
 			return ctx;
 		}
 		return context;
@@ -223,7 +247,7 @@ public class StandardContextSpaceService extends AbstractDependentService implem
 	}
 
 	@Override
-	public synchronized void removeContext(UUID contextID) {
+	public void removeContext(UUID contextID) {
 		this.defaultSpaces.remove(contextID);
 		final AgentContext context = this.contexts.remove(contextID);
 		if (context != null) {
@@ -233,12 +257,12 @@ public class StandardContextSpaceService extends AbstractDependentService implem
 	}
 
 	@Override
-	public synchronized Collection<AgentContext> getContexts() {
+	public Collection<AgentContext> getContexts() {
 		return Collections.unmodifiableCollection(Collections3.synchronizedCollection(this.contexts.values(), mutex()));
 	}
 
 	@Override
-	public synchronized Collection<AgentContext> getContexts(final Collection<UUID> contextIDs) {
+	public Collection<AgentContext> getContexts(final Collection<UUID> contextIDs) {
 		return Collections2.filter(this.contexts.values(), new Predicate<AgentContext>() {
 			@Override
 			public boolean apply(AgentContext input) {
@@ -248,12 +272,12 @@ public class StandardContextSpaceService extends AbstractDependentService implem
 	}
 
 	@Override
-	public synchronized Set<UUID> getContextIDs() {
+	public Set<UUID> getContextIDs() {
 		return Collections.unmodifiableSet(Collections3.synchronizedSet(this.contexts.keySet(), mutex()));
 	}
 
 	@Override
-	public synchronized AgentContext getContext(UUID contextID) {
+	public AgentContext getContext(UUID contextID) {
 		return this.contexts.get(contextID);
 	}
 
@@ -332,7 +356,7 @@ public class StandardContextSpaceService extends AbstractDependentService implem
 	 *
 	 * @param spaceID - identifier of the space to initialize.
 	 */
-	protected synchronized void ensureDefaultSpaceDefinition(SpaceID spaceID) {
+	protected void ensureDefaultSpaceDefinition(SpaceID spaceID) {
 		final UUID contextID = spaceID.getContextID();
 		createContext(contextID, spaceID.getID());
 	}
@@ -342,7 +366,7 @@ public class StandardContextSpaceService extends AbstractDependentService implem
 	 *
 	 * @param spaceID - identifier of the space to remove.
 	 */
-	protected synchronized void removeDefaultSpaceDefinition(SpaceID spaceID) {
+	protected void removeDefaultSpaceDefinition(SpaceID spaceID) {
 		final AgentContext context = this.contexts.remove(spaceID.getContextID());
 		if (context != null) {
 			fireContextDestroyed(context);
@@ -360,18 +384,21 @@ public class StandardContextSpaceService extends AbstractDependentService implem
 	}
 
 	@Override
-	protected synchronized void doStop() {
+	protected void doStop() {
 		if (this.dmapListener != null) {
 			this.defaultSpaces.removeDMapListener(this.dmapListener);
 		}
 		// Unconnect the default space collection from remote clusters
 		// Not needed becasue the Kernel will be stopped: this.defaultSpaces.destroy();
-		// Delete the contexts from this repository
-		final Map<UUID, AgentContext> old = this.contexts;
-		this.contexts = new TreeMap<>();
-		for (final AgentContext context : old.values()) {
-			((Context) context).destroy();
-			fireContextDestroyed(context);
+		// Delete the contexts from this repository.
+		// The snapshot is sorted for destroying the contexts in a predictable order.
+		final Map<UUID, AgentContext> old = new TreeMap<>(this.contexts);
+		for (final Entry<UUID, AgentContext> entry : old.entrySet()) {
+			final AgentContext context = entry.getValue();
+			if (this.contexts.remove(entry.getKey(), context)) {
+				((Context) context).destroy();
+				fireContextDestroyed(context);
+			}
 		}
 		notifyStopped();
 	}
@@ -420,6 +447,9 @@ public class StandardContextSpaceService extends AbstractDependentService implem
 	/**
 	 * Proxy for space events.
 	 *
+	 * <p>The events are delayed until {@link #release()} is invoked. After this call, the events are
+	 * immediately forwarded to the listeners.
+	 *
 	 * @author $Author: sgalland$
 	 * @version $FullVersion$
 	 * @mavengroupid $GroupId$
@@ -427,6 +457,8 @@ public class StandardContextSpaceService extends AbstractDependentService implem
 	 */
 	private class SpaceEventProxy implements SpaceRepositoryListener {
 
+		private List<Runnable> pendingEvents = new ArrayList<>();
+
 		/**
 		 * Construct.
 		 */
@@ -434,14 +466,49 @@ public class StandardContextSpaceService extends AbstractDependentService implem
 			//
 		}
 
+		/**
+		 * Forward the delayed events to the listeners, and stop to delay the next events.
+		 */
+		void release() {
+			while (true) {
+				final List<Runnable> events;
+				synchronized (this) {
+					if (this.pendingEvents.isEmpty()) {
+						this.pendingEvents = null;
+						return;
+					}
+					events = this.pendingEvents;
+					// The events that are received during the notification are delayed for keeping their order.
+					this.pendingEvents = new ArrayList<>();
+				}
+				for (final Runnable event : events) {
+					event.run();
+				}
+			}
+		}
+
+		private boolean delay(Runnable event) {
+			synchronized (this) {
+				if (this.pendingEvents != null) {
+					this.pendingEvents.add(event);
+					return true;
+				}
+			}
+			return false;
+		}
+
 		@Override
 		public void spaceCreated(Space space, boolean isLocalCreation) {
-			fireSpaceCreated(space, isLocalCreation);
+			if (!delay(() -> fireSpaceCreated(space, isLocalCreation))) {
+				fireSpaceCreated(space, isLocalCreation);
+			}
 		}
 
 		@Override
 		public void spaceDestroyed(Space space, boolean isLocalDestruction) {
-			fireSpaceDestroyed(space, isLocalDestruction);
+			if (!delay(() -> fireSpaceDestroyed(space, isLocalDestruction))) {
+				fireSpaceDestroyed(space, isLocalDestruction);
+			}
 		}
 
 	}
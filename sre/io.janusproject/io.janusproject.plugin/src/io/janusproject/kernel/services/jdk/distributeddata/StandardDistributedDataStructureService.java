@@ -25,6 +25,7 @@ import java.util.Collection;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
 
 import com.google.common.base.Supplier;
 import com.google.common.collect.Lists;
@@ -43,6 +44,8 @@ import io.janusproject.services.distributeddata.DistributedDataStructureService;
  * Service providing tools for creating distributed data structures.
  *
  * <p>This implementation creates standard Java collections that cannot be distributed other several JVM.
+ * The maps are concurrent collections, and the multimaps are synchronized collections; so that they
+ * could be used without external synchronization, as their distributed counterparts.
  *
  * @author $Author: sgalland$
  * @version $FullVersion$
@@ -68,17 +71,16 @@ public class StandardDistributedDataStructureService extends AbstractDependentSe
 
 	@Override
 	public <K, V> DMap<K, V> getMap(String name) {
-		return new DMapView<>(name, Maps.<K, V>newHashMap());
+		return new DMapView<>(name, Maps.<K, V>newConcurrentMap());
 	}
 
-	@SuppressWarnings("unchecked")
 	@Override
 	public <K, V> DMap<K, V> getMap(String name, Comparator<? super K> comparator) {
 		final Map<K, V> map;
 		if (comparator == null) {
-			map = (Map<K, V>) Maps.newTreeMap();
+			map = new ConcurrentSkipListMap<>();
 		} else {
-			map = Maps.newTreeMap(comparator);
+			map = new ConcurrentSkipListMap<>(comparator);
 		}
 		return new DMapView<>(name, map);
 	}
@@ -86,7 +88,8 @@ public class StandardDistributedDataStructureService extends AbstractDependentSe
 	@Override
 	public <K, V> DMultiMap<K, V> getMultiMap(String name) {
 		final Map<K, Collection<V>> map = Maps.newHashMap();
-		final Multimap<K, V> multimap = Multimaps.newListMultimap(map, new ArrayListSupplier<V>());
+		final Multimap<K, V> multimap = Multimaps.synchronizedListMultimap(
+				Multimaps.newListMultimap(map, new ArrayListSupplier<V>()));
 		return new DMultiMapView<>(name, multimap);
 	}
 
@@ -99,7 +102,8 @@ public class StandardDistributedDataStructureService extends AbstractDependentSe
 		} else {
 			map = Maps.newTreeMap(comparator);
 		}
-		final Multimap<K, V> multimap = Multimaps.newListMultimap(map, new ArrayListSupplier<V>());
+		final Multimap<K, V> multimap = Multimaps.synchronizedListMultimap(
+				Multimaps.newListMultimap(map, new ArrayListSupplier<V>()));
 		return new DMultiMapView<>(name, multimap);
 	}
 
@@ -0,0 +1,201 @@
+/*
+ * $Id$
+ *
+ * SARL is an general-purpose agent programming language.
+ * More details on http://www.sarl.io
+ *
+ * Copyright (C) 2014-2016 the original authors or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.janusproject.kernel.services.jdk.executors;
+
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RunnableFuture;
+import java.util.concurrent.TimeUnit;
+
+import io.janusproject.util.ListenerCollection;
+
+/**
+ * Executor that runs its tasks with another executor, and that support uncaucht exceptions and
+ * interruptable threads.
+ *
+ * <p>The tasks are run with the same life-cycle as the tasks of {@link JdkThreadPoolExecutor}: the submitted tasks are
+ * {@link io.janusproject.services.executor.JanusFutureTask} that know the thread that is running them; the exceptions
+ * of the executed tasks are given to the uncaught exception handler of the running thread; and the
+ * {@link JdkTaskListener task listeners} are notified about the task terminations.
+ *
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ */
+public abstract class AbstractJdkExecutor extends AbstractExecutorService {
+
+	private final ExecutorService delegate;
+
+	private ListenerCollection<JdkTaskListener> listeners;
+
+	/**
+	 * @param delegate - the executor that is running the tasks.
+	 */
+	protected AbstractJdkExecutor(ExecutorService delegate) {
+		assert delegate != null;
+		this.delegate = delegate;
+	}
+
+	/**
+	 * Replies the executor that is running the tasks.
+	 *
+	 * @return the executor.
+	 */
+	protected ExecutorService getDelegate() {
+		return this.delegate;
+	}
+
+	/**
+	 * Add a listener on tasks.
+	 *
+	 * @param listener - the listener on task events.
+	 */
+	public synchronized void addTaskListener(JdkTaskListener listener) {
+		if (this.listeners == null) {
+			this.listeners = new ListenerCollection<>();
+		}
+		this.listeners.add(JdkTaskListener.class, listener);
+	}
+
+	/**
+	 * Remove a listener on tasks.
+	 *
+	 * @param listener - the listener on task events.
+	 */
+	public synchronized void removeTaskListener(JdkTaskListener listener) {
+		if (this.listeners != null) {
+			this.listeners.remove(JdkTaskListener.class, listener);
+			if (this.listeners.isEmpty()) {
+				this.listeners = null;
+			}
+		}
+	}
+
+	/**
+	 * Notify the listeners about a task termination.
+	 *
+	 * @param thread - the thread that was run the finished task.
+	 * @param task - the finished task.
+	 */
+	protected void fireTaskFinished(Thread thread, Runnable task) {
+		final JdkTaskListener[] iListeners;
+		synchronized (this) {
+			if (this.listeners == null) {
+				return;
+			}
+			iListeners = this.listeners.getListeners(JdkTaskListener.class);
+		}
+		for (final JdkTaskListener listener : iListeners) {
+			listener.taskFinished(thread, task);
+		}
+	}
+
+	@Override
+	protected <T> RunnableFuture<T> newTaskFor(Callable<T> callable) {
+		// This function is invoked when the task was submited
+		return new JdkJanusFutureTask<>(callable);
+	}
+
+	@Override
+	protected <T> RunnableFuture<T> newTaskFor(Runnable runnable, T value) {
+		// This function is invoked when the task was submited
+		return new JdkJanusFutureTask<>(runnable, value);
+	}
+
+	@Override
+	public void execute(Runnable command) {
+		if (command == null) {
+			throw new NullPointerException();
+		}
+		this.delegate.execute(new TaskWrapper(command));
+	}
+
+	@Override
+	public void shutdown() {
+		this.delegate.shutdown();
+	}
+
+	@Override
+	public List<Runnable> shutdownNow() {
+		return this.delegate.shutdownNow();
+	}
+
+	@Override
+	public boolean isShutdown() {
+		return this.delegate.isShutdown();
+	}
+
+	@Override
+	public boolean isTerminated() {
+		return this.delegate.isTerminated();
+	}
+
+	@Override
+	public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+		return this.delegate.awaitTermination(timeout, unit);
+	}
+
+	/**
+	 * Wrapper of the tasks that provides the same life-cycle as the tasks of {@link JdkThreadPoolExecutor}.
+	 *
+	 * @author $Author: sgalland$
+	 * @version $FullVersion$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 */
+	private class TaskWrapper implements Runnable {
+
+		private final Runnable task;
+
+		TaskWrapper(Runnable task) {
+			this.task = task;
+		}
+
+		@Override
+		public void run() {
+			final Thread thread = Thread.currentThread();
+			// Was the task submitted (if future task) or executed?
+			if (this.task instanceof JdkJanusFutureTask<?>) {
+				((JdkJanusFutureTask<?>) this.task).setThread(thread);
+			}
+			try {
+				this.task.run();
+			} catch (Throwable exception) {
+				// The thread pool executor gives the exception to the handler of the dying thread.
+				// The threads of the delegate executor may be reused, so the handler is directly invoked.
+				thread.getUncaughtExceptionHandler().uncaughtException(thread, exception);
+			} finally {
+				fireTaskFinished(thread, this.task);
+			}
+		}
+
+		@Override
+		public String toString() {
+			return this.task.toString();
+		}
+
+	}
+
+}
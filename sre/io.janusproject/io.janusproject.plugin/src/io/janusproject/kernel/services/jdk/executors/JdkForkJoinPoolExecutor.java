@@ -0,0 +1,148 @@
+/*
+ * $Id$
+ *
+ * SARL is an general-purpose agent programming language.
+ * More details on http://www.sarl.io
+ *
+ * Copyright (C) 2014-2016 the original authors or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.janusproject.kernel.services.jdk.executors;
+
+import java.lang.Thread.UncaughtExceptionHandler;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinPool.ForkJoinWorkerThreadFactory;
+import java.util.concurrent.ForkJoinWorkerThread;
+
+import com.google.inject.Inject;
+
+import io.janusproject.JanusConfig;
+
+/**
+ * Executor that is based on a work-stealing {@link ForkJoinPool}, and that support uncaucht exceptions and
+ * interruptable threads.
+ *
+ * <p>The pool is in asynchronous mode: the tasks that are never joined are scheduled in a first-in-first-out order.
+ * Each worker thread has its own queue of tasks, and idle workers steal the tasks of the busy workers. This executor
+ * is well suited to many small tasks, such as the event handlers of the agents. Contrary to {@link JdkThreadPoolExecutor},
+ * the number of threads is fixed and the tasks are never rejected because of the pool size.
+ *
+ * <p>The tasks have the same life-cycle as in {@link JdkThreadPoolExecutor} (see {@link AbstractJdkExecutor}).
+ *
+ * <p>Because the number of worker threads is fixed, a task must not block a worker while it is waiting for
+ * another task of the pool. The blocking operations that are run by the tasks must be done through
+ * {@link ForkJoinPool#managedBlock(java.util.concurrent.ForkJoinPool.ManagedBlocker)} for letting the pool
+ * compensate the blocked worker with a spare thread. The futures that are replied by this executor are
+ * already waiting in this way; the other waits may use the functions of {@link io.janusproject.util.ManagedBlocking}.
+ *
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ */
+public class JdkForkJoinPoolExecutor extends AbstractJdkExecutor {
+
+	private final ForkJoinPool pool;
+
+	/**
+	 * @param handler - the handler of the uncaught exceptions.
+	 */
+	@Inject
+	public JdkForkJoinPoolExecutor(UncaughtExceptionHandler handler) {
+		this(JanusConfig.getSystemPropertyAsInteger(JanusConfig.FORK_JOIN_PARALLELISM_NAME,
+				JanusConfig.FORK_JOIN_PARALLELISM_VALUE), handler);
+	}
+
+	/**
+	 * @param parallelism - number of worker threads. If it is not strictly positive, the number of available processors
+	 *     is used.
+	 * @param handler - the handler of the uncaught exceptions.
+	 */
+	public JdkForkJoinPoolExecutor(int parallelism, UncaughtExceptionHandler handler) {
+		this(new ForkJoinPool(
+				parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors(),
+				new WorkerThreadFactory(handler), handler, true));
+	}
+
+	private JdkForkJoinPoolExecutor(ForkJoinPool pool) {
+		super(pool);
+		this.pool = pool;
+	}
+
+	/**
+	 * Replies the number of worker threads of the pool.
+	 *
+	 * @return the parallelism level.
+	 */
+	public int getParallelism() {
+		return this.pool.getParallelism();
+	}
+
+	/**
+	 * Replies an estimation of the number of threads that are running tasks.
+	 *
+	 * @return the number of active threads.
+	 */
+	public int getActiveCount() {
+		return this.pool.getActiveThreadCount();
+	}
+
+	/**
+	 * Replies an estimation of the number of tasks that are waiting for being run.
+	 *
+	 * @return the number of queued tasks.
+	 */
+	public long getQueuedTaskCount() {
+		return this.pool.getQueuedTaskCount() + this.pool.getQueuedSubmissionCount();
+	}
+
+	/**
+	 * Replies an estimation of the number of tasks that were stolen by a worker thread from the queue of another worker.
+	 *
+	 * @return the number of stolen tasks.
+	 */
+	public long getStealCount() {
+		return this.pool.getStealCount();
+	}
+
+	/**
+	 * Factory of the worker threads.
+	 *
+	 * @author $Author: sgalland$
+	 * @version $FullVersion$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 */
+	private static class WorkerThreadFactory implements ForkJoinWorkerThreadFactory {
+
+		private final UncaughtExceptionHandler handler;
+
+		WorkerThreadFactory(UncaughtExceptionHandler handler) {
+			this.handler = handler;
+		}
+
+		@Override
+		public ForkJoinWorkerThread newThread(ForkJoinPool pool) {
+			final ForkJoinWorkerThread thread = new ForkJoinWorkerThread(pool) {
+				//
+			};
+			thread.setDaemon(false);
+			thread.setUncaughtExceptionHandler(this.handler);
+			return thread;
+		}
+
+	}
+
+}
@@ -23,7 +23,10 @@ package io.janusproject.kernel.services.jdk.executors;
 
 import java.lang.ref.WeakReference;
 import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinPool.ManagedBlocker;
 import java.util.concurrent.FutureTask;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
@@ -36,6 +39,9 @@ import io.janusproject.services.executor.JanusFutureTask;
  * A {@link FutureTask} that is {@link Runnable}. Successful execution of the <tt>run</tt> method causes completion of the
  * <tt>Future</tt> and allows access to its results.
  *
+ * <p>The function {@link #get()} waits for the termination of the task through
+ * {@link ForkJoinPool#managedBlock(ManagedBlocker)}, see {@link io.janusproject.util.ManagedBlocking}.
+ *
  * @param <V> The type of the return value.
  * @author $Author: sgalland$
  * @version $FullVersion$
@@ -102,6 +108,9 @@ class JdkJanusFutureTask<V> extends FutureTask<V> implements JanusFutureTask<V>
 
 	@Override
 	public V get() throws InterruptedException, ExecutionException {
+		if (!isDone()) {
+			ForkJoinPool.managedBlock(new TerminationBlocker());
+		}
 		try {
 			return super.get();
 		} catch (ExecutionException e) {
@@ -132,6 +141,19 @@ class JdkJanusFutureTask<V> extends FutureTask<V> implements JanusFutureTask<V>
 		}
 	}
 
+	/**
+	 * Wait for the termination of the task, without reporting its result.
+	 *
+	 * @throws InterruptedException - if the current thread is interrupted while waiting.
+	 */
+	private void awaitTermination() throws InterruptedException {
+		try {
+			super.get();
+		} catch (ExecutionException | CancellationException exception) {
+			// The exception is reported by get().
+		}
+	}
+
 	/**
 	 * Set the running thread.
 	 *
@@ -151,4 +173,31 @@ class JdkJanusFutureTask<V> extends FutureTask<V> implements JanusFutureTask<V>
 		return Thread.currentThread() == this.thread.get();
 	}
 
+	/**
+	 * Blocker that is waiting for the termination of the task.
+	 *
+	 * @author $Author: sgalland$
+	 * @version $FullVersion$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 */
+	private class TerminationBlocker implements ManagedBlocker {
+
+		TerminationBlocker() {
+			//
+		}
+
+		@Override
+		public boolean block() throws InterruptedException {
+			awaitTermination();
+			return true;
+		}
+
+		@Override
+		public boolean isReleasable() {
+			return isDone();
+		}
+
+	}
+
 }
@@ -34,6 +34,7 @@ import java.util.concurrent.atomic.AtomicBoolean;
 
 import io.janusproject.services.executor.ChuckNorrisException;
 import io.janusproject.services.executor.JanusScheduledFutureTask;
+import io.janusproject.util.ManagedBlocking;
 
 /**
  * A {@link ScheduledFuture} that is {@link Runnable}. Successful execution of the <tt>run</tt> method causes completion of the
@@ -137,7 +138,7 @@ class JdkJanusScheduledFutureTask<V> implements JanusScheduledFutureTask<V> {
 	@Override
 	public V get() throws InterruptedException, ExecutionException {
 		try {
-			return this.task.get();
+			return ManagedBlocking.get(this.task);
 		} catch (ExecutionException e) {
 			Throwable ex = e;
 			while (ex instanceof ExecutionException) {
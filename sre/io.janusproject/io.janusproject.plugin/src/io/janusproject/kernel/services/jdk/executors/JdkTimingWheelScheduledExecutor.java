@@ -0,0 +1,620 @@
+/*
+ * $Id$
+ *
+ * SARL is an general-purpose agent programming language.
+ * More details on http://www.sarl.io
+ *
+ * Copyright (C) 2014-2016 the original authors or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.janusproject.kernel.services.jdk.executors;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.google.inject.Inject;
+
+import io.janusproject.JanusConfig;
+import io.janusproject.services.executor.ChuckNorrisException;
+import io.janusproject.services.executor.JanusScheduledFutureTask;
+
+/**
+ * Scheduled executor that is based on a hashed timing wheel.
+ *
+ * <p>The wheel is an array of slots that is traversed by a dedicated thread, one slot per tick. A task is put in the slot
+ * that corresponds to its deadline, with the number of wheel rounds to wait before its expiration. The insertion and the
+ * cancelation of a task are done in constant time, without lock: the tasks are put in lock-free queues that are drained
+ * by the wheel thread at each tick. The deadlines of the tasks are rounded to the next tick, so that all the tasks of
+ * a slot expire together. The expired tasks are given, in one pass, to the executor of the tasks: the wheel thread
+ * never runs a task.
+ *
+ * <p>This executor is well suited to a large number of delayed or periodic tasks, e.g. the tasks of the agents,
+ * for which a precision of one tick is sufficient. When it is shut down, the tasks that are not yet expired are canceled.
+ *
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @see JanusConfig#TIMING_WHEEL_NAME
+ */
+public class JdkTimingWheelScheduledExecutor extends AbstractExecutorService implements ScheduledExecutorService {
+
+	private static final int MAX_TRANSFERS_PER_TICK = 100000;
+
+	private static final int MAX_WHEEL_SIZE = 1 << 20;
+
+	private static final int STATE_CREATED = 0;
+
+	private static final int STATE_STARTED = 1;
+
+	private static final int STATE_SHUTDOWN = 2;
+
+	private final ExecutorService executor;
+
+	private final ThreadFactory threadFactory;
+
+	private final long tickDuration;
+
+	private final WheelTask<?>[] wheel;
+
+	private final int mask;
+
+	private final Queue<WheelTask<?>> addedTasks = new ConcurrentLinkedQueue<>();
+
+	private final Queue<WheelTask<?>> canceledTasks = new ConcurrentLinkedQueue<>();
+
+	private final AtomicInteger state = new AtomicInteger(STATE_CREATED);
+
+	private final AtomicInteger taskCount = new AtomicInteger();
+
+	private final CountDownLatch termination = new CountDownLatch(1);
+
+	private final List<Runnable> unprocessedTasks = new ArrayList<>();
+
+	private volatile Thread wheelThread;
+
+	private volatile long startTime;
+
+	/** Index of the current tick. It is used only by the wheel thread.
+	 */
+	private long tick;
+
+	/**
+	 * @param threadFactory - the factory of the wheel thread.
+	 * @param executor - the executor that runs the expired tasks.
+	 */
+	@Inject
+	public JdkTimingWheelScheduledExecutor(ThreadFactory threadFactory, ExecutorService executor) {
+		this(JanusConfig.getSystemPropertyAsInteger(JanusConfig.TIMING_WHEEL_TICK_NAME, JanusConfig.TIMING_WHEEL_TICK_VALUE),
+				TimeUnit.MILLISECONDS,
+				JanusConfig.getSystemPropertyAsInteger(JanusConfig.TIMING_WHEEL_SIZE_NAME, JanusConfig.TIMING_WHEEL_SIZE_VALUE),
+				threadFactory, executor);
+	}
+
+	/**
+	 * @param tickDuration - the duration of a tick.
+	 * @param unit - the unit of the tick duration.
+	 * @param wheelSize - the number of slots in the wheel. It is rounded to the next power of two.
+	 * @param threadFactory - the factory of the wheel thread.
+	 * @param executor - the executor that runs the expired tasks.
+	 */
+	public JdkTimingWheelScheduledExecutor(long tickDuration, TimeUnit unit, int wheelSize,
+			ThreadFactory threadFactory, ExecutorService executor) {
+		assert executor != null;
+		this.executor = executor;
+		this.threadFactory = threadFactory == null ? Executors.defaultThreadFactory() : threadFactory;
+		this.tickDuration = Math.max(1, unit.toNanos(tickDuration));
+		int size = 1;
+		while (size < wheelSize && size < MAX_WHEEL_SIZE) {
+			size <<= 1;
+		}
+		this.wheel = new WheelTask<?>[size];
+		this.mask = size - 1;
+	}
+
+	/**
+	 * Replies the duration of a tick.
+	 *
+	 * @param unit - the unit of the replied duration.
+	 * @return the duration of a tick.
+	 */
+	public long getTickDuration(TimeUnit unit) {
+		return unit.convert(this.tickDuration, TimeUnit.NANOSECONDS);
+	}
+
+	/**
+	 * Replies the number of slots in the wheel.
+	 *
+	 * @return the size of the wheel.
+	 */
+	public int getWheelSize() {
+		return this.wheel.length;
+	}
+
+	/**
+	 * Replies the number of tasks that are waiting for their expiration.
+	 *
+	 * @return the number of scheduled tasks.
+	 */
+	public int getScheduledTaskCount() {
+		return this.taskCount.get();
+	}
+
+	private void start() {
+		if (this.state.get() == STATE_CREATED && this.state.compareAndSet(STATE_CREATED, STATE_STARTED)) {
+			this.startTime = System.nanoTime();
+			final Thread thread = this.threadFactory.newThread(new Worker());
+			thread.setName("Janus Timing Wheel"); //$NON-NLS-1$
+			this.wheelThread = thread;
+			thread.start();
+		}
+	}
+
+	private <V> WheelTask<V> add(WheelTask<V> task) {
+		start();
+		if (this.state.get() != STATE_STARTED) {
+			throw new RejectedExecutionException();
+		}
+		this.taskCount.incrementAndGet();
+		this.addedTasks.offer(task);
+		return task;
+	}
+
+	@Override
+	public ScheduledFuture<?> schedule(Runnable command, long delay, TimeUnit unit) {
+		if (command == null || unit == null) {
+			throw new NullPointerException();
+		}
+		return add(new WheelTask<Void>(command, null, triggerTime(delay, unit), 0));
+	}
+
+	@Override
+	public <V> ScheduledFuture<V> schedule(Callable<V> callable, long delay, TimeUnit unit) {
+		if (callable == null || unit == null) {
+			throw new NullPointerException();
+		}
+		return add(new WheelTask<>(callable, triggerTime(delay, unit)));
+	}
+
+	@Override
+	public ScheduledFuture<?> scheduleAtFixedRate(Runnable command, long initialDelay, long period, TimeUnit unit) {
+		if (command == null || unit == null) {
+			throw new NullPointerException();
+		}
+		if (period <= 0) {
+			throw new IllegalArgumentException();
+		}
+		return add(new WheelTask<Void>(command, null, triggerTime(initialDelay, unit), unit.toNanos(period)));
+	}
+
+	@Override
+	public ScheduledFuture<?> scheduleWithFixedDelay(Runnable command, long initialDelay, long delay, TimeUnit unit) {
+		if (command == null || unit == null) {
+			throw new NullPointerException();
+		}
+		if (delay <= 0) {
+			throw new IllegalArgumentException();
+		}
+		return add(new WheelTask<Void>(command, null, triggerTime(initialDelay, unit), -unit.toNanos(delay)));
+	}
+
+	private static long triggerTime(long delay, TimeUnit unit) {
+		return System.nanoTime() + unit.toNanos(Math.max(0, delay));
+	}
+
+	@Override
+	public void execute(Runnable command) {
+		if (command == null) {
+			throw new NullPointerException();
+		}
+		if (this.state.get() == STATE_SHUTDOWN) {
+			throw new RejectedExecutionException();
+		}
+		this.executor.execute(command);
+	}
+
+	@Override
+	public void shutdown() {
+		final int oldState = this.state.getAndSet(STATE_SHUTDOWN);
+		if (oldState == STATE_STARTED) {
+			final Thread thread = this.wheelThread;
+			if (thread != null) {
+				thread.interrupt();
+			}
+		} else if (oldState == STATE_CREATED) {
+			this.termination.countDown();
+		}
+	}
+
+	@Override
+	public List<Runnable> shutdownNow() {
+		shutdown();
+		try {
+			this.termination.await();
+		} catch (InterruptedException exception) {
+			Thread.currentThread().interrupt();
+		}
+		synchronized (this.unprocessedTasks) {
+			return new ArrayList<>(this.unprocessedTasks);
+		}
+	}
+
+	@Override
+	public boolean isShutdown() {
+		return this.state.get() == STATE_SHUTDOWN;
+	}
+
+	@Override
+	public boolean isTerminated() {
+		return this.termination.getCount() == 0;
+	}
+
+	@Override
+	public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+		return this.termination.await(timeout, unit);
+	}
+
+	/** Put the task in the slot that corresponds to its deadline. Invoked only by the wheel thread.
+	 */
+	private void insert(WheelTask<?> task) {
+		final long ticks = Math.max(0, (task.deadline - this.startTime) / this.tickDuration);
+		task.remainingRounds = Math.max(0, (ticks - this.tick) / this.wheel.length);
+		final int index = (int) (Math.max(ticks, this.tick) & this.mask);
+		task.slot = index;
+		final WheelTask<?> head = this.wheel[index];
+		task.next = head;
+		task.previous = null;
+		if (head != null) {
+			head.previous = task;
+		}
+		this.wheel[index] = task;
+	}
+
+	/** Remove the task from its slot. Invoked only by the wheel thread.
+	 */
+	private void unlink(WheelTask<?> task) {
+		final int index = task.slot;
+		if (index >= 0) {
+			if (task.previous == null) {
+				this.wheel[index] = task.next;
+			} else {
+				task.previous.next = task.next;
+			}
+			if (task.next != null) {
+				task.next.previous = task.previous;
+			}
+			task.next = null;
+			task.previous = null;
+			task.slot = -1;
+			this.taskCount.decrementAndGet();
+		}
+	}
+
+	/** Move the added and canceled tasks into the wheel. Invoked only by the wheel thread.
+	 */
+	private void processQueues() {
+		WheelTask<?> task = this.canceledTasks.poll();
+		while (task != null) {
+			unlink(task);
+			task = this.canceledTasks.poll();
+		}
+		for (int i = 0; i < MAX_TRANSFERS_PER_TICK; ++i) {
+			task = this.addedTasks.poll();
+			if (task == null) {
+				break;
+			}
+			if (task.isCancelled()) {
+				this.taskCount.decrementAndGet();
+			} else {
+				insert(task);
+			}
+		}
+	}
+
+	/** Collect the expired tasks of the current slot, and give them to the executor. Invoked only by the wheel thread.
+	 */
+	private void expireCurrentSlot() {
+		final int index = (int) (this.tick & this.mask);
+		final List<WheelTask<?>> expired = new ArrayList<>();
+		WheelTask<?> task = this.wheel[index];
+		while (task != null) {
+			final WheelTask<?> next = task.next;
+			if (task.remainingRounds <= 0 || task.isCancelled()) {
+				unlink(task);
+				if (!task.isCancelled()) {
+					expired.add(task);
+				}
+			} else {
+				--task.remainingRounds;
+			}
+			task = next;
+		}
+		for (final WheelTask<?> expiredTask : expired) {
+			try {
+				this.executor.execute(expiredTask);
+			} catch (RejectedExecutionException exception) {
+				expiredTask.cancel(false);
+			}
+		}
+	}
+
+	/** Cancel all the tasks that are not expired. Invoked only by the wheel thread at the end of its execution.
+	 */
+	private void cancelAll() {
+		final List<Runnable> unprocessed = new ArrayList<>();
+		WheelTask<?> task = this.addedTasks.poll();
+		while (task != null) {
+			unprocessed.add(task);
+			task = this.addedTasks.poll();
+		}
+		for (int i = 0; i < this.wheel.length; ++i) {
+			task = this.wheel[i];
+			while (task != null) {
+				unprocessed.add(task);
+				task = task.next;
+			}
+			this.wheel[i] = null;
+		}
+		this.canceledTasks.clear();
+		this.taskCount.set(0);
+		for (final Runnable unprocessedTask : unprocessed) {
+			((WheelTask<?>) unprocessedTask).cancel(false);
+		}
+		synchronized (this.unprocessedTasks) {
+			this.unprocessedTasks.addAll(unprocessed);
+		}
+	}
+
+	/**
+	 * Loop of the wheel thread.
+	 *
+	 * @author $Author: sgalland$
+	 * @version $FullVersion$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 */
+	private class Worker implements Runnable {
+
+		Worker() {
+			//
+		}
+
+		@Override
+		public void run() {
+			final JdkTimingWheelScheduledExecutor wheel = JdkTimingWheelScheduledExecutor.this;
+			try {
+				while (wheel.state.get() == STATE_STARTED) {
+					final long tickDeadline = wheel.startTime + (wheel.tick + 1) * wheel.tickDuration;
+					final long sleep = tickDeadline - System.nanoTime();
+					if (sleep > 0) {
+						try {
+							TimeUnit.NANOSECONDS.sleep(sleep);
+						} catch (InterruptedException exception) {
+							// The executor may be shut down
+							continue;
+						}
+					}
+					processQueues();
+					expireCurrentSlot();
+					++wheel.tick;
+				}
+			} finally {
+				cancelAll();
+				wheel.termination.countDown();
+			}
+		}
+
+		@Override
+		public String toString() {
+			return "Janus Timing Wheel"; //$NON-NLS-1$
+		}
+
+	}
+
+	/**
+	 * Task in the timing wheel.
+	 *
+	 * @param <V> - type of the values supported by the task.
+	 * @author $Author: sgalland$
+	 * @version $FullVersion$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 */
+	private final class WheelTask<V> extends FutureTask<V> implements JanusScheduledFutureTask<V> {
+
+		/** Deadline of the task, relative to {@link System#nanoTime()}.
+		 */
+		volatile long deadline;
+
+		/** Number of rounds of the wheel before the expiration. It is used only by the wheel thread.
+		 */
+		long remainingRounds;
+
+		/** Index of the slot that contains the task, or <code>-1</code>. It is used only by the wheel thread.
+		 */
+		int slot = -1;
+
+		/** Next task in the slot. It is used only by the wheel thread.
+		 */
+		WheelTask<?> next;
+
+		/** Previous task in the slot. It is used only by the wheel thread.
+		 */
+		WheelTask<?> previous;
+
+		/** Period of the task in nanoseconds: positive for a fixed rate, negative for a fixed delay,
+		 * zero for a task that is run once.
+		 */
+		private final long period;
+
+		private final AtomicBoolean treated = new AtomicBoolean(false);
+
+		private final Object source;
+
+		private volatile WeakReference<Thread> thread;
+
+		WheelTask(Runnable runnable, V result, long deadline, long period) {
+			super(runnable, result);
+			this.source = runnable;
+			this.deadline = deadline;
+			this.period = period;
+		}
+
+		WheelTask(Callable<V> callable, long deadline) {
+			super(callable);
+			this.source = callable;
+			this.deadline = deadline;
+			this.period = 0;
+		}
+
+		@Override
+		public String toString() {
+			return "[ " + this.source + " ] ON [ " //$NON-NLS-1$ //$NON-NLS-2$
+					+ getThread() + " ]"; //$NON-NLS-1$
+		}
+
+		@Override
+		public Thread getThread() {
+			final WeakReference<Thread> reference = this.thread;
+			return reference == null ? null : reference.get();
+		}
+
+		@Override
+		public boolean isCurrentThread() {
+			return Thread.currentThread() == getThread();
+		}
+
+		@Override
+		public boolean isPeriodic() {
+			return this.period != 0;
+		}
+
+		@Override
+		public long getDelay(TimeUnit unit) {
+			return unit.convert(this.deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+		}
+
+		@Override
+		public int compareTo(Delayed other) {
+			if (other == this) {
+				return 0;
+			}
+			final long diff = getDelay(TimeUnit.NANOSECONDS) - other.getDelay(TimeUnit.NANOSECONDS);
+			return (diff < 0) ? -1 : ((diff > 0) ? 1 : 0);
+		}
+
+		@Override
+		public boolean cancel(boolean mayInterruptIfRunning) {
+			final boolean canceled = super.cancel(mayInterruptIfRunning);
+			if (canceled) {
+				// The task is removed from its slot by the wheel thread.
+				JdkTimingWheelScheduledExecutor.this.canceledTasks.offer(this);
+			}
+			return canceled;
+		}
+
+		@Override
+		public void run() {
+			this.thread = new WeakReference<>(Thread.currentThread());
+			if (!isPeriodic()) {
+				super.run();
+			} else if (runAndReset()) {
+				if (this.period > 0) {
+					this.deadline += this.period;
+				} else {
+					this.deadline = System.nanoTime() - this.period;
+				}
+				try {
+					add(this);
+				} catch (RejectedExecutionException exception) {
+					super.cancel(false);
+				}
+			}
+			if (isDone()) {
+				reportException();
+			}
+		}
+
+		private void reportException() {
+			try {
+				super.get();
+			} catch (ExecutionException e) {
+				Throwable ex = e;
+				while (ex instanceof ExecutionException) {
+					ex = ex.getCause();
+				}
+				if (!(ex instanceof ChuckNorrisException) && !this.treated.getAndSet(true)) {
+					JdkExecutorUtil.log(Thread.currentThread(), ex);
+				}
+			} catch (InterruptedException | CancellationException e) {
+				//
+			}
+		}
+
+		@Override
+		public V get() throws InterruptedException, ExecutionException {
+			try {
+				return super.get();
+			} catch (ExecutionException e) {
+				Throwable ex = e;
+				while (ex instanceof ExecutionException) {
+					ex = ex.getCause();
+				}
+				if (ex instanceof ChuckNorrisException) {
+					return null;
+				}
+				throw e;
+			}
+		}
+
+		@Override
+		public V get(long timeout, TimeUnit unit) throws InterruptedException, ExecutionException, TimeoutException {
+			try {
+				return super.get(timeout, unit);
+			} catch (ExecutionException e) {
+				Throwable ex = e;
+				while (ex instanceof ExecutionException) {
+					ex = ex.getCause();
+				}
+				if (ex instanceof ChuckNorrisException) {
+					return null;
+				}
+				throw e;
+			}
+		}
+
+	}
+
+}
@@ -0,0 +1,121 @@
+/*
+ * $Id$
+ *
+ * SARL is an general-purpose agent programming language.
+ * More details on http://www.sarl.io
+ *
+ * Copyright (C) 2014-2016 the original authors or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.janusproject.kernel.services.jdk.executors;
+
+import java.lang.Thread.UncaughtExceptionHandler;
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+import com.google.inject.Inject;
+
+/**
+ * Executor that runs each task in a new virtual thread when the Java virtual machine supports them.
+ * Otherwise, the tasks are run by a {@link JdkThreadPoolExecutor}.
+ *
+ * <p>A virtual thread that is blocked, e.g. by an I/O operation or by a lock, does not block an operating system
+ * thread. This executor is well suited to the agents that have blocking behaviors. Note that a virtual thread
+ * that is blocked within a {@code synchronized} block may still block its carrier thread.
+ *
+ * <p>Because the Janus platform is compiled for Java 8, the virtual threads are created by reflection.
+ *
+ * <p>The tasks have the same life-cycle as in {@link JdkThreadPoolExecutor} (see {@link AbstractJdkExecutor}).
+ *
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ */
+public class JdkVirtualThreadExecutor extends AbstractJdkExecutor {
+
+	private static final String THREAD_NAME_PREFIX = "janus-virtual-"; //$NON-NLS-1$
+
+	private final boolean virtual;
+
+	/**
+	 * @param factory - the factory of the threads of the fallback executor.
+	 * @param handler - the handler of the uncaught exceptions in the virtual threads.
+	 */
+	@Inject
+	public JdkVirtualThreadExecutor(ThreadFactory factory, UncaughtExceptionHandler handler) {
+		this(newVirtualThreadExecutor(handler), factory);
+	}
+
+	private JdkVirtualThreadExecutor(ExecutorService virtualThreadExecutor, ThreadFactory factory) {
+		super(virtualThreadExecutor != null ? virtualThreadExecutor : new JdkThreadPoolExecutor(factory));
+		this.virtual = virtualThreadExecutor != null;
+	}
+
+	/**
+	 * Replies if the tasks are run by virtual threads.
+	 *
+	 * @return <code>true</code> if the virtual threads are used; <code>false</code> if the tasks are
+	 *     run by a pool of platform threads.
+	 */
+	public boolean isVirtual() {
+		return this.virtual;
+	}
+
+	/**
+	 * Replies if the virtual threads are supported by the Java virtual machine.
+	 *
+	 * @return <code>true</code> if the virtual threads are supported.
+	 */
+	public static boolean isVirtualThreadSupported() {
+		final ExecutorService executor = newVirtualThreadExecutor(null);
+		if (executor != null) {
+			executor.shutdown();
+			return true;
+		}
+		return false;
+	}
+
+	/**
+	 * Create an executor that is starting a new virtual thread for each task.
+	 *
+	 * @param handler - the handler of the uncaught exceptions, or <code>null</code>.
+	 * @return the executor, or <code>null</code> if the virtual threads are not supported.
+	 */
+	private static ExecutorService newVirtualThreadExecutor(UncaughtExceptionHandler handler) {
+		try {
+			// Equivalent to: Thread.ofVirtual().name(prefix, 0).uncaughtExceptionHandler(handler).factory()
+			final Class<?> builderType = Class.forName("java.lang.Thread$Builder"); //$NON-NLS-1$
+			Object builder = Thread.class.getMethod("ofVirtual").invoke(null); //$NON-NLS-1$
+			builder = builderType.getMethod("name", String.class, long.class).invoke(builder, //$NON-NLS-1$
+					THREAD_NAME_PREFIX, Long.valueOf(0));
+			if (handler != null) {
+				builder = builderType.getMethod("uncaughtExceptionHandler", //$NON-NLS-1$
+						UncaughtExceptionHandler.class).invoke(builder, handler);
+			}
+			final ThreadFactory virtualFactory = (ThreadFactory) builderType.getMethod("factory").invoke(builder); //$NON-NLS-1$
+			// Equivalent to: Executors.newThreadPerTaskExecutor(factory)
+			final Method executorFactory = Executors.class.getMethod("newThreadPerTaskExecutor", //$NON-NLS-1$
+					ThreadFactory.class);
+			return (ExecutorService) executorFactory.invoke(null, virtualFactory);
+		} catch (Exception | LinkageError exception) {
+			// The virtual threads are not supported, or they are a preview feature that is not enabled.
+			return null;
+		}
+	}
+
+}
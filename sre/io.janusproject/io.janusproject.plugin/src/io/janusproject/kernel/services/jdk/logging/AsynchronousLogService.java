@@ -0,0 +1,355 @@
+/*
+ * $Id$
+ *
+ * SARL is an general-purpose agent programming language.
+ * More details on http://www.sarl.io
+ *
+ * Copyright (C) 2014-2016 the original authors or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.janusproject.kernel.services.jdk.logging;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+import java.util.logging.Logger;
+
+import io.janusproject.JanusConfig;
+import io.janusproject.util.LoggerCreator;
+
+/**
+ * Log service that writes the messages in a background thread.
+ *
+ * <p>The thread that is logging only checks the level of the message, and captures the message, its parameters and
+ * its calling context. Because exploring the stack of the logging thread is expensive, the calling context is captured
+ * only if it is written in the messages (see {@link #setCallerCaptured(boolean)}). The captured messages are put into a bounded buffer. A background thread takes the messages
+ * from the buffer, formats them, determines their callers, and writes them with the logger.
+ * Because the formatting is delayed, the parameters of the messages should not be modified after being logged.
+ *
+ * <p>When the buffer is full, the thread that is logging waits for free space, so that the order of the messages is kept.
+ * When the service is not running, the message is written by the thread that is logging.
+ * The messages that are in the buffer when the service is stopped, or that are added to the buffer while the service is
+ * stopping, are written before the end of the stop.
+ *
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @see JanusConfig#ASYNC_LOGGING_NAME
+ */
+public class AsynchronousLogService extends StandardLogService {
+
+	private static final long IDLE_DELAY = 100;
+
+	private static final long JOIN_DELAY = 5000;
+
+	private final BlockingQueue<LogEntry> buffer;
+
+	private final int capacity;
+
+	private final AtomicLong overflowCount = new AtomicLong();
+
+	private volatile boolean running;
+
+	private volatile boolean callerCaptured = LoggerCreator.isSourceInMessageFormat();
+
+	private volatile Thread writer;
+
+	/**
+	 * Construct the service with the buffer capacity from the Janus configuration.
+	 */
+	public AsynchronousLogService() {
+		this(JanusConfig.getSystemPropertyAsInteger(JanusConfig.ASYNC_LOGGING_CAPACITY_NAME,
+				JanusConfig.ASYNC_LOGGING_CAPACITY_VALUE));
+	}
+
+	/**
+	 * Construct the service.
+	 *
+	 * @param capacity - the maximal number of messages that are waiting for being written.
+	 */
+	public AsynchronousLogService(int capacity) {
+		this.capacity = Math.max(1, capacity);
+		this.buffer = new ArrayBlockingQueue<>(this.capacity);
+	}
+
+	/**
+	 * Replies the maximal number of messages that are waiting for being written.
+	 *
+	 * @return the capacity of the buffer.
+	 */
+	public int getCapacity() {
+		return this.capacity;
+	}
+
+	/**
+	 * Replies the number of messages that are waiting for being written.
+	 *
+	 * @return the number of messages in the buffer.
+	 */
+	public int getPendingCount() {
+		return this.buffer.size();
+	}
+
+	/**
+	 * Replies the number of messages for which the logging threads had to wait because the buffer was full.
+	 *
+	 * @return the number of overflows.
+	 */
+	public long getOverflowCount() {
+		return this.overflowCount.get();
+	}
+
+	/**
+	 * Replies if the calling context of the messages is captured.
+	 *
+	 * @return <code>true</code> if the caller of the logging functions is determined.
+	 */
+	public boolean isCallerCaptured() {
+		return this.callerCaptured;
+	}
+
+	/**
+	 * Change the flag that indicates if the calling context of the messages is captured.
+	 *
+	 * <p>By default, the calling context is captured only if the format of the messages contains the source of the
+	 * messages.
+	 *
+	 * @param captured - <code>true</code> if the caller of the logging functions must be determined.
+	 * @see LoggerCreator#isSourceInMessageFormat()
+	 */
+	public void setCallerCaptured(boolean captured) {
+		this.callerCaptured = captured;
+	}
+
+	@Override
+	protected void write(Level level, boolean exception, String message, Object[] params) {
+		final LoggerCallerProvider provider = getLoggerCaller();
+		final LogEntry entry;
+		if (!this.callerCaptured) {
+			entry = new LogEntry(level, exception, message, params, null, null);
+		} else if (provider instanceof StackTraceLoggerCallerProvider) {
+			// The stack trace is explored by the writer.
+			entry = new LogEntry(level, exception, message, params, null, new Throwable());
+		} else {
+			entry = new LogEntry(level, exception, message, params, provider.getLoggerCaller(), null);
+		}
+		enqueue(entry);
+	}
+
+	@Override
+	public void log(LogRecord record) {
+		if (isLogEnabled()) {
+			enqueue(new LogEntry(record));
+		}
+	}
+
+	private void enqueue(LogEntry entry) {
+		if (this.writer == null) {
+			publish(entry);
+			return;
+		}
+		if (!this.buffer.offer(entry)) {
+			this.overflowCount.incrementAndGet();
+			try {
+				while (!this.buffer.offer(entry, IDLE_DELAY, TimeUnit.MILLISECONDS)) {
+					if (this.writer == null) {
+						publish(entry);
+						return;
+					}
+				}
+			} catch (InterruptedException exception) {
+				Thread.currentThread().interrupt();
+				publish(entry);
+				return;
+			}
+		}
+		// The buffer may be closed while the entry is added. If the entry was not drained by the stop, it is written here.
+		if (this.writer == null && this.buffer.remove(entry)) {
+			publish(entry);
+		}
+	}
+
+	/**
+	 * Format the given entry and give it to the logger.
+	 *
+	 * @param entry - the entry to write.
+	 */
+	private void publish(LogEntry entry) {
+		final Logger logger = getLogger();
+		if (logger != null) {
+			logger.log(entry.toLogRecord());
+		}
+	}
+
+	private void publishAll(List<LogEntry> entries) {
+		for (final LogEntry entry : entries) {
+			try {
+				publish(entry);
+			} catch (Throwable exception) {
+				// The writer must not stop because of an invalid message.
+			}
+		}
+		entries.clear();
+	}
+
+	@Override
+	protected void doStart() {
+		this.running = true;
+		final Thread thread = new Thread(new Writer(), "Janus Log Writer"); //$NON-NLS-1$
+		thread.setDaemon(true);
+		this.writer = thread;
+		thread.start();
+		super.doStart();
+	}
+
+	@Override
+	protected void doStop() {
+		this.running = false;
+		final Thread thread = this.writer;
+		if (thread != null) {
+			try {
+				thread.join(JOIN_DELAY);
+			} catch (InterruptedException exception) {
+				Thread.currentThread().interrupt();
+			}
+		}
+		// Close the buffer to the logging threads before the final drain.
+		this.writer = null;
+		// Write the messages that are still in the buffer.
+		final List<LogEntry> entries = new ArrayList<>();
+		this.buffer.drainTo(entries);
+		publishAll(entries);
+		super.doStop();
+	}
+
+	/**
+	 * Loop of the background writer.
+	 *
+	 * @author $Author: sgalland$
+	 * @version $FullVersion$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 */
+	private class Writer implements Runnable {
+
+		Writer() {
+			//
+		}
+
+		@Override
+		public void run() {
+			final AsynchronousLogService service = AsynchronousLogService.this;
+			final List<LogEntry> entries = new ArrayList<>();
+			while (service.running || !service.buffer.isEmpty()) {
+				try {
+					final LogEntry entry = service.buffer.poll(IDLE_DELAY, TimeUnit.MILLISECONDS);
+					if (entry != null) {
+						entries.add(entry);
+						service.buffer.drainTo(entries, service.capacity);
+						publishAll(entries);
+					}
+				} catch (InterruptedException exception) {
+					// Continue until the service is stopped
+				}
+			}
+		}
+
+	}
+
+	/**
+	 * Message that is captured by a logging thread.
+	 *
+	 * @author $Author: sgalland$
+	 * @version $FullVersion$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 */
+	private static final class LogEntry {
+
+		private final Level level;
+
+		private final boolean exception;
+
+		private final String message;
+
+		private final Object[] params;
+
+		private final LoggerCaller caller;
+
+		private final Throwable callerStack;
+
+		private final long millis;
+
+		private final int threadID;
+
+		private final LogRecord record;
+
+		LogEntry(Level level, boolean exception, String message, Object[] params, LoggerCaller caller, Throwable callerStack) {
+			this.level = level;
+			this.exception = exception;
+			this.message = message;
+			this.params = params;
+			this.caller = caller;
+			this.callerStack = callerStack;
+			this.millis = System.currentTimeMillis();
+			this.threadID = (int) Thread.currentThread().getId();
+			this.record = null;
+		}
+
+		LogEntry(LogRecord record) {
+			this.level = record.getLevel();
+			this.exception = false;
+			this.message = null;
+			this.params = null;
+			this.caller = null;
+			this.callerStack = null;
+			this.millis = record.getMillis();
+			this.threadID = record.getThreadID();
+			this.record = record;
+		}
+
+		/**
+		 * Build the record that corresponds to this entry.
+		 *
+		 * @return the record.
+		 */
+		@SuppressWarnings("deprecation")
+		public LogRecord toLogRecord() {
+			if (this.record != null) {
+				return this.record;
+			}
+			LoggerCaller rcaller = this.caller;
+			if (rcaller == null && this.callerStack != null) {
+				rcaller = StackTraceLoggerCallerProvider.getLoggerCaller(this.callerStack.getStackTrace(), 0);
+			}
+			final LogRecord logRecord = createLogRecord(this.level, rcaller, this.exception, this.message, this.params);
+			if (rcaller == null) {
+				// Avoid the exploration of the stack of the writer by the record.
+				logRecord.setSourceClassName(null);
+			}
+			logRecord.setMillis(this.millis);
+			logRecord.setThreadID(this.threadID);
+			return logRecord;
+		}
+
+	}
+
+}
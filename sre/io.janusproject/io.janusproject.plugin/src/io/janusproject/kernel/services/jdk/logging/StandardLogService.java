@@ -110,10 +110,21 @@ public class StandardLogService extends AbstractDependentService implements LogS
 		return state().ordinal() <= State.RUNNING.ordinal();
 	}
 
-	private static LogRecord createLogRecord(Level level, String text, boolean exception, Object... message) {
+	/**
+	 * Create the log record for the given message.
+	 *
+	 * @param level - the level of the message.
+	 * @param caller - the caller of the logger, or <code>null</code> if unknown.
+	 * @param exception - indicates if the first <code>Throwable</code> in the parameters must be attached to the record.
+	 * @param message - the message to format.
+	 * @param params - the parameters of the message.
+	 * @return the log record.
+	 */
+	protected static LogRecord createLogRecord(Level level, LoggerCaller caller, boolean exception, String message, Object... params) {
+		final String text = MessageFormat.format(message, params);
 		Throwable realException = null;
 		if (exception) {
-			for (final Object m : message) {
+			for (final Object m : params) {
 				if (m instanceof Throwable) {
 					realException = (Throwable) m;
 					break;
@@ -128,21 +139,36 @@ public class StandardLogService extends AbstractDependentService implements LogS
 		if (record.getLoggerName() == null) {
 		    record.setLoggerName(JanusConfig.JANUS_DEFAULT_PLATFORM_NAME);
 		}
-		return record;
-	}
 
-	private synchronized void writeInLog(Level level, boolean exception, String message, Object... params) {
-		if (isLogEnabled() && this.logger.isLoggable(level)) {
-			final LoggerCaller caller = this.loggerCallerProvider.getLoggerCaller();
-			final String text = MessageFormat.format(message, params);
-			final LogRecord record = createLogRecord(level, text, exception, params);
+		if (caller != null) {
 			record.setSourceClassName(caller.getTypeName());
 			final String methodName = caller.getMethod();
 			if (!Strings.isNullOrEmpty(methodName)) {
 				record.setSourceMethodName(methodName);
 			}
-			this.logger.log(record);
 		}
+		return record;
+	}
+
+	private void writeInLog(Level level, boolean exception, String message, Object... params) {
+		if (isLoggeable(level)) {
+			write(level, exception, message, params);
+		}
+	}
+
+	/**
+	 * Write the given message in the log.
+	 *
+	 * <p>This function is invoked only if the level of the message is loggeable.
+	 *
+	 * @param level - the level of the message.
+	 * @param exception - indicates if the first <code>Throwable</code> in the parameters must be attached to the record.
+	 * @param message - the message to format.
+	 * @param params - the parameters of the message.
+	 */
+	protected synchronized void write(Level level, boolean exception, String message, Object[] params) {
+		final LoggerCaller caller = this.loggerCallerProvider.getLoggerCaller();
+		this.logger.log(createLogRecord(level, caller, exception, message, params));
 	}
 
 	@Override
@@ -314,10 +340,8 @@ public class StandardLogService extends AbstractDependentService implements LogS
 			//
 		}
 
-		private static StackTraceElement getStackTraceElement() {
-			final StackTraceElement[] stackTrace = Thread.currentThread().getStackTrace();
-			// Start at 1 because the top of the stack corresponds to getStackTrace.
-			for (int i = 1; i < stackTrace.length; ++i) {
+		private static StackTraceElement getStackTraceElement(StackTraceElement[] stackTrace, int startIndex) {
+			for (int i = startIndex; i < stackTrace.length; ++i) {
 				final String className = stackTrace[i].getClassName();
 				final Class<?> type = ClassFinder.findClass(className);
 				if (type != null) {
@@ -329,7 +353,22 @@ public class StandardLogService extends AbstractDependentService implements LogS
 
 		@Override
 		public LoggerCaller getLoggerCaller() {
-			final StackTraceElement element = getStackTraceElement();
+			// Start at 1 because the top of the stack corresponds to getStackTrace.
+			return getLoggerCaller(Thread.currentThread().getStackTrace(), 1);
+		}
+
+		/**
+		 * Replies the logger caller that is described in the given stack trace.
+		 *
+		 * <p>This function permits to capture the stack trace in the thread of the logger caller,
+		 * e.g. with a <code>Throwable</code>, and to search for the caller later in another thread.
+		 *
+		 * @param stackTrace - the stack trace to explore.
+		 * @param startIndex - the index of the first element of the stack trace to consider.
+		 * @return the logger caller, or <code>null</code> if not found.
+		 */
+		public static LoggerCaller getLoggerCaller(StackTraceElement[] stackTrace, int startIndex) {
+			final StackTraceElement element = getStackTraceElement(stackTrace, startIndex);
 			if (element != null) {
 				return new LoggerCaller(element.getClassName(), element.getMethodName());
 			}
@@ -0,0 +1,172 @@
+/*
+ * $Id$
+ *
+ * SARL is an general-purpose agent programming language.
+ * More details on http://www.sarl.io
+ *
+ * Copyright (C) 2014-2016 the original authors or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.janusproject.kernel.services.jdk.metrics;
+
+import java.text.MessageFormat;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map.Entry;
+
+import javax.management.Attribute;
+import javax.management.AttributeList;
+import javax.management.AttributeNotFoundException;
+import javax.management.DynamicMBean;
+import javax.management.MBeanAttributeInfo;
+import javax.management.MBeanException;
+import javax.management.MBeanInfo;
+import javax.management.MBeanNotificationInfo;
+import javax.management.MBeanOperationInfo;
+import javax.management.ReflectionException;
+
+import io.janusproject.services.metrics.MetricCounter;
+import io.janusproject.services.metrics.MetricHistogram;
+import io.janusproject.services.metrics.MetricsSnapshot;
+
+/**
+ * JMX view of the metrics of a {@link StandardMetricsService}.
+ *
+ * <p>The attributes are read-only. The name of an attribute is the name of a counter or of a gauge;
+ * each histogram is exposed by the attributes {@code <name>.count}, {@code <name>.mean}, {@code <name>.p50},
+ * {@code <name>.p99} and {@code <name>.max}. Because the set of metrics changes at runtime, the attributes are
+ * computed each time the MBean is introspected.
+ *
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ */
+class MetricsMBean implements DynamicMBean {
+
+	private static final String COUNT = ".count"; //$NON-NLS-1$
+
+	private static final String MEAN = ".mean"; //$NON-NLS-1$
+
+	private static final String P50 = ".p50"; //$NON-NLS-1$
+
+	private static final String P99 = ".p99"; //$NON-NLS-1$
+
+	private static final String MAX = ".max"; //$NON-NLS-1$
+
+	private static final String[] HISTOGRAM_SUFFIXES = {COUNT, MEAN, P50, P99, MAX};
+
+	private static final double MEDIAN = 50.;
+
+	private static final double HIGH_PERCENTILE = 99.;
+
+	private final StandardMetricsService service;
+
+	/**
+	 * Construct the MBean.
+	 *
+	 * @param service - the service that contains the metrics.
+	 */
+	MetricsMBean(StandardMetricsService service) {
+		assert service != null;
+		this.service = service;
+	}
+
+	@Override
+	public Object getAttribute(String attribute) throws AttributeNotFoundException, MBeanException, ReflectionException {
+		final MetricCounter counter = this.service.getExistingCounter(attribute);
+		if (counter != null) {
+			return Long.valueOf(counter.get());
+		}
+		final Number gauge = this.service.getGaugeValue(attribute);
+		if (gauge != null) {
+			return Double.valueOf(gauge.doubleValue());
+		}
+		final int index = attribute.lastIndexOf('.');
+		if (index > 0) {
+			final MetricHistogram histogram = this.service.getExistingHistogram(attribute.substring(0, index));
+			if (histogram != null) {
+				final MetricHistogram.Snapshot snapshot = histogram.getSnapshot();
+				switch (attribute.substring(index)) {
+				case COUNT:
+					return Long.valueOf(snapshot.getCount());
+				case MEAN:
+					return Double.valueOf(snapshot.getMean());
+				case P50:
+					return Long.valueOf(snapshot.getPercentile(MEDIAN));
+				case P99:
+					return Long.valueOf(snapshot.getPercentile(HIGH_PERCENTILE));
+				case MAX:
+					return Long.valueOf(snapshot.getMax());
+				default:
+				}
+			}
+		}
+		throw new AttributeNotFoundException(attribute);
+	}
+
+	@Override
+	public AttributeList getAttributes(String[] attributes) {
+		final AttributeList list = new AttributeList();
+		for (final String attribute : attributes) {
+			try {
+				list.add(new Attribute(attribute, getAttribute(attribute)));
+			} catch (AttributeNotFoundException | MBeanException | ReflectionException exception) {
+				// The metric was removed: it is ignored as specified by the JMX API.
+			}
+		}
+		return list;
+	}
+
+	@Override
+	public void setAttribute(Attribute attribute) throws AttributeNotFoundException {
+		throw new AttributeNotFoundException(attribute.getName());
+	}
+
+	@Override
+	public AttributeList setAttributes(AttributeList attributes) {
+		return new AttributeList();
+	}
+
+	@Override
+	public Object invoke(String actionName, Object[] params, String[] signature) throws ReflectionException {
+		throw new ReflectionException(new NoSuchMethodException(actionName));
+	}
+
+	@Override
+	public MBeanInfo getMBeanInfo() {
+		final MetricsSnapshot snapshot = this.service.getSnapshot();
+		final List<MBeanAttributeInfo> attributes = new ArrayList<>();
+		for (final String name : snapshot.getCounters().keySet()) {
+			attributes.add(new MBeanAttributeInfo(name, Long.class.getName(),
+					MessageFormat.format(Messages.MetricsMBean_1, name), true, false, false));
+		}
+		for (final String name : snapshot.getGauges().keySet()) {
+			attributes.add(new MBeanAttributeInfo(name, Double.class.getName(),
+					MessageFormat.format(Messages.MetricsMBean_2, name), true, false, false));
+		}
+		for (final Entry<String, MetricHistogram.Snapshot> entry : snapshot.getHistograms().entrySet()) {
+			for (final String suffix : HISTOGRAM_SUFFIXES) {
+				final String type = MEAN.equals(suffix) ? Double.class.getName() : Long.class.getName();
+				attributes.add(new MBeanAttributeInfo(entry.getKey() + suffix, type,
+						MessageFormat.format(Messages.MetricsMBean_3, entry.getKey(), suffix.substring(1)), true, false, false));
+			}
+		}
+		return new MBeanInfo(getClass().getName(), Messages.MetricsMBean_0,
+				attributes.toArray(new MBeanAttributeInfo[attributes.size()]),
+				null, new MBeanOperationInfo[0], new MBeanNotificationInfo[0]);
+	}
+
+}
@@ -0,0 +1,352 @@
+/*
+ * $Id$
+ *
+ * SARL is an general-purpose agent programming language.
+ * More details on http://www.sarl.io
+ *
+ * Copyright (C) 2014-2016 the original authors or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.janusproject.kernel.services.jdk.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Map.Entry;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import com.google.common.util.concurrent.Service;
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+
+import io.janusproject.JanusConfig;
+import io.janusproject.kernel.services.jdk.executors.JdkForkJoinPoolExecutor;
+import io.janusproject.kernel.services.jdk.executors.JdkTimingWheelScheduledExecutor;
+import io.janusproject.kernel.services.jdk.logging.AsynchronousLogService;
+import io.janusproject.services.AbstractDependentService;
+import io.janusproject.services.executor.ExecutorService;
+import io.janusproject.services.logging.LogService;
+import io.janusproject.services.metrics.MetricCounter;
+import io.janusproject.services.metrics.MetricHistogram;
+import io.janusproject.services.metrics.MetricsListener;
+import io.janusproject.services.metrics.MetricsService;
+import io.janusproject.services.metrics.MetricsSnapshot;
+import io.janusproject.util.ListenerCollection;
+
+/**
+ * Metrics service that stores the metrics in memory, exposes them through JMX, and periodically gives
+ * snapshots of them to the listeners.
+ *
+ * <p>In addition to the metrics that are updated by the other services, this service registers the gauges
+ * of the executors and of the log service.
+ *
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @see JanusConfig#METRICS_ENABLED_NAME
+ * @see JanusConfig#METRICS_JMX_NAME
+ * @see JanusConfig#METRICS_SNAPSHOT_PERIOD_NAME
+ */
+@Singleton
+public class StandardMetricsService extends AbstractDependentService implements MetricsService {
+
+	/** Domain of the JMX names of the metrics.
+	 */
+	public static final String JMX_DOMAIN = "io.janusproject"; //$NON-NLS-1$
+
+	/** Gauge of the number of tasks that were run by the executor.
+	 */
+	public static final String EXECUTOR_COMPLETED_TASKS = "executor.completed"; //$NON-NLS-1$
+
+	/** Gauge of the number of tasks that were stolen by a worker of a fork-join executor.
+	 */
+	public static final String EXECUTOR_STOLEN_TASKS = "executor.steals"; //$NON-NLS-1$
+
+	/** Gauge of the number of log messages waiting for being written.
+	 */
+	public static final String LOGGING_PENDING_MESSAGES = "logging.pending"; //$NON-NLS-1$
+
+	/** Gauge of the number of times the logging threads waited for free space in the log buffer.
+	 */
+	public static final String LOGGING_OVERFLOWS = "logging.overflow"; //$NON-NLS-1$
+
+	private static final AtomicInteger INSTANCE_COUNT = new AtomicInteger();
+
+	private final ConcurrentMap<String, MetricCounter> counters = new ConcurrentHashMap<>();
+
+	private final ConcurrentMap<String, MetricHistogram> histograms = new ConcurrentHashMap<>();
+
+	private final ConcurrentMap<String, Supplier<? extends Number>> gauges = new ConcurrentHashMap<>();
+
+	private final ListenerCollection<MetricsListener> listeners = new ListenerCollection<>();
+
+	@Inject
+	private LogService logger;
+
+	@Inject
+	private ExecutorService executorService;
+
+	private ScheduledExecutorService scheduledExecutorService;
+
+	private ScheduledFuture<?> snapshotTask;
+
+	private ObjectName jmxName;
+
+	/**
+	 * Construct the service.
+	 */
+	public StandardMetricsService() {
+		//
+	}
+
+	/**
+	 * Change the JRE service for scheduled tasks, which is monitored by this service.
+	 *
+	 * @param service - the JRE service.
+	 */
+	@Inject(optional = true)
+	void setScheduledExecutorService(ScheduledExecutorService service) {
+		this.scheduledExecutorService = service;
+	}
+
+	@Override
+	public final Class<? extends Service> getServiceType() {
+		return MetricsService.class;
+	}
+
+	@Override
+	public Collection<Class<? extends Service>> getServiceDependencies() {
+		return Arrays.<Class<? extends Service>>asList(LogService.class, ExecutorService.class);
+	}
+
+	/**
+	 * Replies the name of this service in JMX.
+	 *
+	 * @return the name, or {@code null} if the metrics are not exposed through JMX.
+	 */
+	public ObjectName getJmxName() {
+		return this.jmxName;
+	}
+
+	@Override
+	public MetricCounter getCounter(String name) {
+		assert name != null;
+		MetricCounter counter = this.counters.get(name);
+		if (counter == null) {
+			counter = this.counters.computeIfAbsent(name, MetricCounter::new);
+		}
+		return counter;
+	}
+
+	@Override
+	public MetricHistogram getHistogram(String name) {
+		assert name != null;
+		MetricHistogram histogram = this.histograms.get(name);
+		if (histogram == null) {
+			histogram = this.histograms.computeIfAbsent(name, MetricHistogram::new);
+		}
+		return histogram;
+	}
+
+	@Override
+	public void registerGauge(String name, Supplier<? extends Number> gauge) {
+		assert name != null;
+		assert gauge != null;
+		this.gauges.put(name, gauge);
+	}
+
+	@Override
+	public void removeMetrics(String prefix) {
+		assert prefix != null;
+		this.counters.keySet().removeIf((name) -> name.startsWith(prefix));
+		this.histograms.keySet().removeIf((name) -> name.startsWith(prefix));
+		this.gauges.keySet().removeIf((name) -> name.startsWith(prefix));
+	}
+
+	/**
+	 * Replies the current value of the gauge with the given name.
+	 *
+	 * @param name - the name of the gauge.
+	 * @return the value, or {@code null} if the gauge is unknown or has no value.
+	 */
+	Number getGaugeValue(String name) {
+		final Supplier<? extends Number> gauge = this.gauges.get(name);
+		if (gauge != null) {
+			return gauge.get();
+		}
+		return null;
+	}
+
+	/**
+	 * Replies the counter with the given name, without creating it.
+	 *
+	 * @param name - the name of the counter.
+	 * @return the counter, or {@code null}.
+	 */
+	MetricCounter getExistingCounter(String name) {
+		return this.counters.get(name);
+	}
+
+	/**
+	 * Replies the histogram with the given name, without creating it.
+	 *
+	 * @param name - the name of the histogram.
+	 * @return the histogram, or {@code null}.
+	 */
+	MetricHistogram getExistingHistogram(String name) {
+		return this.histograms.get(name);
+	}
+
+	@Override
+	public MetricsSnapshot getSnapshot() {
+		final SortedMap<String, Long> counterValues = new TreeMap<>();
+		for (final Entry<String, MetricCounter> entry : this.counters.entrySet()) {
+			counterValues.put(entry.getKey(), Long.valueOf(entry.getValue().get()));
+		}
+		final SortedMap<String, Number> gaugeValues = new TreeMap<>();
+		for (final Entry<String, Supplier<? extends Number>> entry : this.gauges.entrySet()) {
+			final Number value = entry.getValue().get();
+			if (value != null) {
+				gaugeValues.put(entry.getKey(), value);
+			}
+		}
+		final SortedMap<String, MetricHistogram.Snapshot> histogramValues = new TreeMap<>();
+		for (final Entry<String, MetricHistogram> entry : this.histograms.entrySet()) {
+			histogramValues.put(entry.getKey(), entry.getValue().getSnapshot());
+		}
+		return new MetricsSnapshot(System.currentTimeMillis(), counterValues, gaugeValues, histogramValues);
+	}
+
+	@Override
+	public void addMetricsListener(MetricsListener listener) {
+		this.listeners.add(MetricsListener.class, listener);
+	}
+
+	@Override
+	public void removeMetricsListener(MetricsListener listener) {
+		this.listeners.remove(MetricsListener.class, listener);
+	}
+
+	/**
+	 * Notifies the listeners about the current values of the metrics.
+	 */
+	protected void fireMetricsUpdated() {
+		if (!this.listeners.isEmpty()) {
+			final MetricsSnapshot snapshot = getSnapshot();
+			for (final MetricsListener listener : this.listeners.getListeners(MetricsListener.class)) {
+				listener.metricsUpdated(snapshot);
+			}
+		}
+	}
+
+	private void registerExecutorGauges() {
+		final java.util.concurrent.ExecutorService exec = this.executorService.getExecutorService();
+		if (exec instanceof ThreadPoolExecutor) {
+			final ThreadPoolExecutor pool = (ThreadPoolExecutor) exec;
+			registerGauge(EXECUTOR_ACTIVE_TASKS, pool::getActiveCount);
+			registerGauge(EXECUTOR_QUEUED_TASKS, () -> pool.getQueue().size());
+			registerGauge(EXECUTOR_COMPLETED_TASKS, pool::getCompletedTaskCount);
+		} else if (exec instanceof JdkForkJoinPoolExecutor) {
+			final JdkForkJoinPoolExecutor pool = (JdkForkJoinPoolExecutor) exec;
+			registerGauge(EXECUTOR_ACTIVE_TASKS, pool::getActiveCount);
+			registerGauge(EXECUTOR_QUEUED_TASKS, pool::getQueuedTaskCount);
+			registerGauge(EXECUTOR_STOLEN_TASKS, pool::getStealCount);
+		} else if (exec instanceof ForkJoinPool) {
+			final ForkJoinPool pool = (ForkJoinPool) exec;
+			registerGauge(EXECUTOR_ACTIVE_TASKS, pool::getActiveThreadCount);
+			registerGauge(EXECUTOR_QUEUED_TASKS, () -> pool.getQueuedTaskCount() + pool.getQueuedSubmissionCount());
+			registerGauge(EXECUTOR_STOLEN_TASKS, pool::getStealCount);
+		}
+		final ScheduledExecutorService schedules = this.scheduledExecutorService;
+		if (schedules instanceof ThreadPoolExecutor) {
+			final ThreadPoolExecutor pool = (ThreadPoolExecutor) schedules;
+			registerGauge(SCHEDULER_QUEUED_TASKS, () -> pool.getQueue().size());
+		} else if (schedules instanceof JdkTimingWheelScheduledExecutor) {
+			registerGauge(SCHEDULER_QUEUED_TASKS, ((JdkTimingWheelScheduledExecutor) schedules)::getScheduledTaskCount);
+		}
+		// The log service cannot depend on the metrics service; its gauges are registered here.
+		if (this.logger instanceof AsynchronousLogService) {
+			final AsynchronousLogService log = (AsynchronousLogService) this.logger;
+			registerGauge(LOGGING_PENDING_MESSAGES, log::getPendingCount);
+			registerGauge(LOGGING_OVERFLOWS, log::getOverflowCount);
+		}
+	}
+
+	private void registerJmx() {
+		try {
+			final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+			final ObjectName name = new ObjectName(JMX_DOMAIN + ":type=Metrics,instance=" //$NON-NLS-1$
+					+ INSTANCE_COUNT.getAndIncrement());
+			server.registerMBean(new MetricsMBean(this), name);
+			this.jmxName = name;
+		} catch (JMException | SecurityException exception) {
+			this.logger.warning(Messages.StandardMetricsService_0, exception);
+		}
+	}
+
+	private void unregisterJmx() {
+		final ObjectName name = this.jmxName;
+		if (name != null) {
+			this.jmxName = null;
+			try {
+				ManagementFactory.getPlatformMBeanServer().unregisterMBean(name);
+			} catch (JMException | SecurityException exception) {
+				this.logger.warning(Messages.StandardMetricsService_0, exception);
+			}
+		}
+	}
+
+	@Override
+	protected void doStart() {
+		registerExecutorGauges();
+		if (JanusConfig.getSystemPropertyAsBoolean(JanusConfig.METRICS_JMX_NAME, JanusConfig.METRICS_JMX_VALUE.booleanValue())) {
+			registerJmx();
+		}
+		final int period = JanusConfig.getSystemPropertyAsInteger(JanusConfig.METRICS_SNAPSHOT_PERIOD_NAME,
+				JanusConfig.METRICS_SNAPSHOT_PERIOD_VALUE);
+		if (period > 0) {
+			this.snapshotTask = this.executorService.scheduleAtFixedRate(this::fireMetricsUpdated, period, period,
+					TimeUnit.MILLISECONDS);
+		}
+		notifyStarted();
+	}
+
+	@Override
+	protected void doStop() {
+		if (this.snapshotTask != null) {
+			this.snapshotTask.cancel(false);
+			this.snapshotTask = null;
+		}
+		unregisterJmx();
+		this.listeners.clear();
+		notifyStopped();
+	}
+
+}
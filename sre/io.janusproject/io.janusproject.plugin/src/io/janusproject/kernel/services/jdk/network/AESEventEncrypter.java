@@ -21,6 +21,7 @@
 
 package io.janusproject.kernel.services.jdk.network;
 
+import java.nio.ByteBuffer;
 import java.security.GeneralSecurityException;
 import java.util.UUID;
 
@@ -79,11 +80,11 @@ public class AESEventEncrypter extends AbstractEventEncrypter {
 		final Cipher cipher = Cipher.getInstance(ALGORITHM);
 		cipher.init(Cipher.ENCRYPT_MODE, this.skeySpec, new IvParameterSpec(new byte[16]));
 
-		envelope.setContextId(cipher.doFinal(envelope.getContextId()));
-		envelope.setSpaceId(cipher.doFinal(envelope.getSpaceId()));
-		envelope.setScope(cipher.doFinal(envelope.getScope()));
-		envelope.setCustomHeaders(cipher.doFinal(envelope.getCustomHeaders()));
-		envelope.setBody(cipher.doFinal(envelope.getBody()));
+		envelope.setContextId(doFinal(cipher, envelope.getContextIdBuffer()));
+		envelope.setSpaceId(doFinal(cipher, envelope.getSpaceIdBuffer()));
+		envelope.setScope(doFinal(cipher, envelope.getScopeBuffer()));
+		envelope.setCustomHeaders(doFinal(cipher, envelope.getCustomHeadersBuffer()));
+		envelope.setBody(doFinal(cipher, envelope.getBodyBuffer()));
 	}
 
 	@Override
@@ -93,11 +94,22 @@ public class AESEventEncrypter extends AbstractEventEncrypter {
 		final Cipher cipher = Cipher.getInstance(ALGORITHM);
 		cipher.init(Cipher.DECRYPT_MODE, this.skeySpec, new IvParameterSpec(new byte[16]));
 
-		envelope.setContextId(cipher.doFinal(envelope.getContextId()));
-		envelope.setSpaceId(cipher.doFinal(envelope.getSpaceId()));
-		envelope.setScope(cipher.doFinal(envelope.getScope()));
-		envelope.setCustomHeaders(cipher.doFinal(envelope.getCustomHeaders()));
-		envelope.setBody(cipher.doFinal(envelope.getBody()));
+		envelope.setContextId(doFinal(cipher, envelope.getContextIdBuffer()));
+		envelope.setSpaceId(doFinal(cipher, envelope.getSpaceIdBuffer()));
+		envelope.setScope(doFinal(cipher, envelope.getScopeBuffer()));
+		envelope.setCustomHeaders(doFinal(cipher, envelope.getCustomHeadersBuffer()));
+		envelope.setBody(doFinal(cipher, envelope.getBodyBuffer()));
+	}
+
+	/** Apply the cipher on the bytes of the given view, without copying them from the backing array.
+	 *
+	 * @param cipher - the cipher to apply.
+	 * @param input - the view on the input bytes.
+	 * @return the output bytes.
+	 * @throws GeneralSecurityException if the cipher cannot be applied.
+	 */
+	private static byte[] doFinal(Cipher cipher, ByteBuffer input) throws GeneralSecurityException {
+		return cipher.doFinal(input.array(), input.arrayOffset() + input.position(), input.remaining());
 	}
 
 	@Override
@@ -0,0 +1,57 @@
+/*
+ * $Id$
+ *
+ * SARL is an general-purpose agent programming language.
+ * More details on http://www.sarl.io
+ *
+ * Copyright (C) 2014-2016 the original authors or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.janusproject.kernel.services.jdk.network;
+
+import java.io.IOException;
+
+/**
+ * Encoder and decoder of the values of a given type for the {@link CompactEventSerializer}.
+ *
+ * <p>A codec is created once per type by the {@link CompactTypeRegistry}, and it is shared by all the threads.
+ * It does not write the type of the value, which is written by the registry.
+ *
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ */
+interface CompactCodec {
+
+	/** Write the given value.
+	 *
+	 * @param output - the output to write into.
+	 * @param value - the value to write, never <code>null</code>.
+	 * @param registry - the registry to use for writing the nested values.
+	 * @throws IOException - if the value cannot be written.
+	 */
+	void write(CompactOutput output, Object value, CompactTypeRegistry registry) throws IOException;
+
+	/** Read a value.
+	 *
+	 * @param input - the input to read from.
+	 * @param registry - the registry to use for reading the nested values.
+	 * @return the value.
+	 * @throws IOException - if the value cannot be read.
+	 */
+	Object read(CompactInput input, CompactTypeRegistry registry) throws IOException;
+
+}
@@ -0,0 +1,981 @@
+/*
+ * $Id$
+ *
+ * SARL is an general-purpose agent programming language.
+ * More details on http://www.sarl.io
+ *
+ * Copyright (C) 2014-2016 the original authors or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.janusproject.kernel.services.jdk.network;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Externalizable;
+import java.io.IOException;
+import java.io.InvalidObjectException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.lang.reflect.Array;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+import java.util.UUID;
+
+import io.sarl.lang.core.Address;
+import io.sarl.lang.core.SpaceID;
+import io.sarl.lang.core.SpaceSpecification;
+import io.sarl.util.AddressScope;
+import io.sarl.util.Scopes;
+
+/**
+ * Factory of the codecs that are used by the {@link CompactEventSerializer}.
+ *
+ * <p>The codecs are selected according to the type of the values:<ul>
+ * <li>the primitive wrappers, the strings, the identifiers, the classes and the enumerations have
+ *     a dedicated compact encoding;</li>
+ * <li>the SARL addresses, space identifiers and address scopes have a dedicated encoding;</li>
+ * <li>the arrays, and the standard lists, sets and maps are encoded element by element;</li>
+ * <li>the serializable classes with a no-argument constructor and without custom serialization methods are
+ *     encoded field by field, with accessors that are computed once for the class;</li>
+ * <li>the other serializable values are encoded with the Java serialization.</li>
+ * </ul>
+ *
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ */
+final class CompactCodecs {
+
+	private static final CompactCodec BOOLEAN = new CompactCodec() {
+		@Override
+		public void write(CompactOutput output, Object value, CompactTypeRegistry registry) {
+			output.writeByte(((Boolean) value).booleanValue() ? 1 : 0);
+		}
+
+		@Override
+		public Object read(CompactInput input, CompactTypeRegistry registry) throws IOException {
+			return Boolean.valueOf(input.readByte() != 0);
+		}
+	};
+
+	private static final CompactCodec BYTE = new CompactCodec() {
+		@Override
+		public void write(CompactOutput output, Object value, CompactTypeRegistry registry) {
+			output.writeByte(((Byte) value).byteValue());
+		}
+
+		@Override
+		public Object read(CompactInput input, CompactTypeRegistry registry) throws IOException {
+			return Byte.valueOf(input.readByte());
+		}
+	};
+
+	private static final CompactCodec SHORT = new CompactCodec() {
+		@Override
+		public void write(CompactOutput output, Object value, CompactTypeRegistry registry) {
+			output.writeSignedVarInt(((Short) value).shortValue());
+		}
+
+		@Override
+		public Object read(CompactInput input, CompactTypeRegistry registry) throws IOException {
+			return Short.valueOf((short) input.readSignedVarInt());
+		}
+	};
+
+	private static final CompactCodec CHARACTER = new CompactCodec() {
+		@Override
+		public void write(CompactOutput output, Object value, CompactTypeRegistry registry) {
+			output.writeVarInt(((Character) value).charValue());
+		}
+
+		@Override
+		public Object read(CompactInput input, CompactTypeRegistry registry) throws IOException {
+			return Character.valueOf((char) input.readVarInt());
+		}
+	};
+
+	private static final CompactCodec INTEGER = new CompactCodec() {
+		@Override
+		public void write(CompactOutput output, Object value, CompactTypeRegistry registry) {
+			output.writeSignedVarInt(((Integer) value).intValue());
+		}
+
+		@Override
+		public Object read(CompactInput input, CompactTypeRegistry registry) throws IOException {
+			return Integer.valueOf(input.readSignedVarInt());
+		}
+	};
+
+	private static final CompactCodec LONG = new CompactCodec() {
+		@Override
+		public void write(CompactOutput output, Object value, CompactTypeRegistry registry) {
+			output.writeSignedVarLong(((Long) value).longValue());
+		}
+
+		@Override
+		public Object read(CompactInput input, CompactTypeRegistry registry) throws IOException {
+			return Long.valueOf(input.readSignedVarLong());
+		}
+	};
+
+	private static final CompactCodec FLOAT = new CompactCodec() {
+		@Override
+		public void write(CompactOutput output, Object value, CompactTypeRegistry registry) {
+			output.writeFloat(((Float) value).floatValue());
+		}
+
+		@Override
+		public Object read(CompactInput input, CompactTypeRegistry registry) throws IOException {
+			return Float.valueOf(input.readFloat());
+		}
+	};
+
+	private static final CompactCodec DOUBLE = new CompactCodec() {
+		@Override
+		public void write(CompactOutput output, Object value, CompactTypeRegistry registry) {
+			output.writeDouble(((Double) value).doubleValue());
+		}
+
+		@Override
+		public Object read(CompactInput input, CompactTypeRegistry registry) throws IOException {
+			return Double.valueOf(input.readDouble());
+		}
+	};
+
+	private static final CompactCodec STRING = new CompactCodec() {
+		@Override
+		public void write(CompactOutput output, Object value, CompactTypeRegistry registry) {
+			output.writeString((String) value);
+		}
+
+		@Override
+		public Object read(CompactInput input, CompactTypeRegistry registry) throws IOException {
+			return input.readString();
+		}
+	};
+
+	private static final CompactCodec UUID_CODEC = new CompactCodec() {
+		@Override
+		public void write(CompactOutput output, Object value, CompactTypeRegistry registry) {
+			output.writeUUID((UUID) value);
+		}
+
+		@Override
+		public Object read(CompactInput input, CompactTypeRegistry registry) throws IOException {
+			return input.readUUID();
+		}
+	};
+
+	private static final CompactCodec CLASS = new CompactCodec() {
+		@Override
+		public void write(CompactOutput output, Object value, CompactTypeRegistry registry) throws IOException {
+			registry.writeType(output, (Class<?>) value);
+		}
+
+		@Override
+		public Object read(CompactInput input, CompactTypeRegistry registry) throws IOException {
+			return registry.readType(input);
+		}
+	};
+
+	private static final CompactCodec BYTES = new CompactCodec() {
+		@Override
+		public void write(CompactOutput output, Object value, CompactTypeRegistry registry) {
+			output.writeBytes((byte[]) value);
+		}
+
+		@Override
+		public Object read(CompactInput input, CompactTypeRegistry registry) throws IOException {
+			return input.readBytes();
+		}
+	};
+
+	private static final CompactCodec SPACE_ID = new CompactCodec() {
+		@Override
+		public void write(CompactOutput output, Object value, CompactTypeRegistry registry) throws IOException {
+			final SpaceID spaceID = (SpaceID) value;
+			output.writeUUID(spaceID.getContextID());
+			output.writeUUID(spaceID.getID());
+			registry.writeType(output, spaceID.getSpaceSpecification());
+		}
+
+		@SuppressWarnings("unchecked")
+		@Override
+		public Object read(CompactInput input, CompactTypeRegistry registry) throws IOException {
+			final UUID contextID = input.readUUID();
+			final UUID id = input.readUUID();
+			final Class<?> spaceSpec = registry.readType(input);
+			if (spaceSpec != null && !SpaceSpecification.class.isAssignableFrom(spaceSpec)) {
+				throw new InvalidObjectException(spaceSpec.getName());
+			}
+			return new SpaceID(contextID, id, (Class<? extends SpaceSpecification<?>>) spaceSpec);
+		}
+	};
+
+	private static final CompactCodec ADDRESS = new CompactCodec() {
+		@Override
+		public void write(CompactOutput output, Object value, CompactTypeRegistry registry) throws IOException {
+			final Address address = (Address) value;
+			SPACE_ID.write(output, address.getSpaceId(), registry);
+			output.writeUUID(address.getUUID());
+		}
+
+		@Override
+		public Object read(CompactInput input, CompactTypeRegistry registry) throws IOException {
+			final SpaceID spaceID = (SpaceID) SPACE_ID.read(input, registry);
+			return new Address(spaceID, input.readUUID());
+		}
+	};
+
+	private static final CompactCodec ADDRESS_SCOPE = new CompactCodec() {
+		@Override
+		public void write(CompactOutput output, Object value, CompactTypeRegistry registry) throws IOException {
+			final Set<Address> receivers = ((AddressScope) value).getReceivers();
+			output.writeVarInt(receivers.size());
+			for (final Address receiver : receivers) {
+				ADDRESS.write(output, receiver, registry);
+			}
+		}
+
+		@Override
+		public Object read(CompactInput input, CompactTypeRegistry registry) throws IOException {
+			final Address[] receivers = new Address[input.readVarInt()];
+			for (int i = 0; i < receivers.length; ++i) {
+				receivers[i] = (Address) ADDRESS.read(input, registry);
+			}
+			return Scopes.addresses(receivers);
+		}
+	};
+
+	private CompactCodecs() {
+		//
+	}
+
+	/** Create the codec for the given type.
+	 *
+	 * @param type - the type of the values to encode.
+	 * @return the codec.
+	 */
+	@SuppressWarnings({"checkstyle:returncount", "checkstyle:cyclomaticcomplexity", "checkstyle:npathcomplexity"})
+	static CompactCodec create(Class<?> type) {
+		if (type == Boolean.class) {
+			return BOOLEAN;
+		}
+		if (type == Byte.class) {
+			return BYTE;
+		}
+		if (type == Short.class) {
+			return SHORT;
+		}
+		if (type == Character.class) {
+			return CHARACTER;
+		}
+		if (type == Integer.class) {
+			return INTEGER;
+		}
+		if (type == Long.class) {
+			return LONG;
+		}
+		if (type == Float.class) {
+			return FLOAT;
+		}
+		if (type == Double.class) {
+			return DOUBLE;
+		}
+		if (type == String.class) {
+			return STRING;
+		}
+		if (type == UUID.class) {
+			return UUID_CODEC;
+		}
+		if (type == Class.class) {
+			return CLASS;
+		}
+		if (type == byte[].class) {
+			return BYTES;
+		}
+		if (type == SpaceID.class) {
+			return SPACE_ID;
+		}
+		if (type == Address.class) {
+			return ADDRESS;
+		}
+		if (type == AddressScope.class) {
+			return ADDRESS_SCOPE;
+		}
+		if (type.isArray()) {
+			return new ArrayCodec(type.getComponentType());
+		}
+		if (type.isEnum()) {
+			return new EnumCodec(type);
+		}
+		if (type == ArrayList.class || type == LinkedList.class || type == HashSet.class || type == LinkedHashSet.class) {
+			return new CollectionCodec(getDefaultConstructor(type));
+		}
+		if (type == HashMap.class || type == LinkedHashMap.class) {
+			return new MapCodec(getDefaultConstructor(type));
+		}
+		if (isReflectable(type)) {
+			return new ReflectiveCodec(type);
+		}
+		return JavaSerializationCodec.SINGLETON;
+	}
+
+	private static Constructor<?> getDefaultConstructor(Class<?> type) {
+		try {
+			final Constructor<?> constructor = type.getDeclaredConstructor();
+			constructor.setAccessible(true);
+			return constructor;
+		} catch (Exception exception) {
+			return null;
+		}
+	}
+
+	private static boolean hasMethod(Class<?> type, String name, Class<?>... parameters) {
+		try {
+			type.getDeclaredMethod(name, parameters);
+			return true;
+		} catch (NoSuchMethodException exception) {
+			return false;
+		}
+	}
+
+	/** Replies if the values of the given type could be encoded field by field.
+	 *
+	 * @param type - the type to test.
+	 * @return <code>true</code> if the fields of the values could be directly encoded.
+	 */
+	static boolean isReflectable(Class<?> type) {
+		if (!Serializable.class.isAssignableFrom(type) || Externalizable.class.isAssignableFrom(type)
+				|| type.isInterface() || Modifier.isAbstract(type.getModifiers())
+				|| getDefaultConstructor(type) == null) {
+			return false;
+		}
+		for (Class<?> t = type; t != null && t != Object.class; t = t.getSuperclass()) {
+			if (hasMethod(t, "writeObject", ObjectOutputStream.class) //$NON-NLS-1$
+					|| hasMethod(t, "readObject", ObjectInputStream.class) //$NON-NLS-1$
+					|| hasMethod(t, "readObjectNoData") //$NON-NLS-1$
+					|| hasMethod(t, "writeReplace") //$NON-NLS-1$
+					|| hasMethod(t, "readResolve")) { //$NON-NLS-1$
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static Object newInstance(Constructor<?> constructor) throws IOException {
+		try {
+			return constructor.newInstance();
+		} catch (Exception exception) {
+			throw new IOException(exception);
+		}
+	}
+
+	/** Codec for the enumeration literals.
+	 *
+	 * @author $Author: sgalland$
+	 * @version $FullVersion$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 */
+	private static final class EnumCodec implements CompactCodec {
+
+		private final Object[] literals;
+
+		EnumCodec(Class<?> type) {
+			this.literals = type.getEnumConstants();
+		}
+
+		@Override
+		public void write(CompactOutput output, Object value, CompactTypeRegistry registry) {
+			output.writeVarInt(((Enum<?>) value).ordinal());
+		}
+
+		@Override
+		public Object read(CompactInput input, CompactTypeRegistry registry) throws IOException {
+			final int ordinal = input.readVarInt();
+			if (ordinal < 0 || ordinal >= this.literals.length) {
+				throw new InvalidObjectException(Integer.toString(ordinal));
+			}
+			return this.literals[ordinal];
+		}
+
+	}
+
+	/** Codec for the arrays.
+	 *
+	 * @author $Author: sgalland$
+	 * @version $FullVersion$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 */
+	private static final class ArrayCodec implements CompactCodec {
+
+		private final Class<?> componentType;
+
+		private final CompactCodec primitiveCodec;
+
+		ArrayCodec(Class<?> componentType) {
+			this.componentType = componentType;
+			if (componentType.isPrimitive()) {
+				this.primitiveCodec = create(Array.get(Array.newInstance(componentType, 1), 0).getClass());
+			} else {
+				this.primitiveCodec = null;
+			}
+		}
+
+		@Override
+		public void write(CompactOutput output, Object value, CompactTypeRegistry registry) throws IOException {
+			final int length = Array.getLength(value);
+			output.writeVarInt(length);
+			if (this.primitiveCodec != null) {
+				for (int i = 0; i < length; ++i) {
+					this.primitiveCodec.write(output, Array.get(value, i), registry);
+				}
+			} else {
+				for (final Object element : (Object[]) value) {
+					registry.writeValue(output, element);
+				}
+			}
+		}
+
+		@Override
+		public Object read(CompactInput input, CompactTypeRegistry registry) throws IOException {
+			final int length = input.readVarInt();
+			final Object array = Array.newInstance(this.componentType, length);
+			try {
+				for (int i = 0; i < length; ++i) {
+					if (this.primitiveCodec != null) {
+						Array.set(array, i, this.primitiveCodec.read(input, registry));
+					} else {
+						Array.set(array, i, registry.readValue(input));
+					}
+				}
+			} catch (IllegalArgumentException exception) {
+				throw new InvalidObjectException(exception.getLocalizedMessage());
+			}
+			return array;
+		}
+
+	}
+
+	/** Codec for the standard collections.
+	 *
+	 * @author $Author: sgalland$
+	 * @version $FullVersion$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 */
+	private static final class CollectionCodec implements CompactCodec {
+
+		private final Constructor<?> constructor;
+
+		CollectionCodec(Constructor<?> constructor) {
+			this.constructor = constructor;
+		}
+
+		@Override
+		public void write(CompactOutput output, Object value, CompactTypeRegistry registry) throws IOException {
+			final Collection<?> collection = (Collection<?>) value;
+			output.writeVarInt(collection.size());
+			for (final Object element : collection) {
+				registry.writeValue(output, element);
+			}
+		}
+
+		@SuppressWarnings("unchecked")
+		@Override
+		public Object read(CompactInput input, CompactTypeRegistry registry) throws IOException {
+			final int size = input.readVarInt();
+			final Collection<Object> collection = (Collection<Object>) newInstance(this.constructor);
+			for (int i = 0; i < size; ++i) {
+				collection.add(registry.readValue(input));
+			}
+			return collection;
+		}
+
+	}
+
+	/** Codec for the standard maps.
+	 *
+	 * @author $Author: sgalland$
+	 * @version $FullVersion$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 */
+	private static final class MapCodec implements CompactCodec {
+
+		private final Constructor<?> constructor;
+
+		MapCodec(Constructor<?> constructor) {
+			this.constructor = constructor;
+		}
+
+		@Override
+		public void write(CompactOutput output, Object value, CompactTypeRegistry registry) throws IOException {
+			final Map<?, ?> map = (Map<?, ?>) value;
+			output.writeVarInt(map.size());
+			for (final Entry<?, ?> entry : map.entrySet()) {
+				registry.writeValue(output, entry.getKey());
+				registry.writeValue(output, entry.getValue());
+			}
+		}
+
+		@SuppressWarnings("unchecked")
+		@Override
+		public Object read(CompactInput input, CompactTypeRegistry registry) throws IOException {
+			final int size = input.readVarInt();
+			final Map<Object, Object> map = (Map<Object, Object>) newInstance(this.constructor);
+			for (int i = 0; i < size; ++i) {
+				final Object key = registry.readValue(input);
+				map.put(key, registry.readValue(input));
+			}
+			return map;
+		}
+
+	}
+
+	/** Codec that encodes the fields of the objects.
+	 *
+	 * <p>The fields are encoded in a deterministic order: from the top-most super type to the type itself, and
+	 * by name for each type.
+	 *
+	 * @author $Author: sgalland$
+	 * @version $FullVersion$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 */
+	private static final class ReflectiveCodec implements CompactCodec {
+
+		private final Constructor<?> constructor;
+
+		private final FieldCodec[] fields;
+
+		ReflectiveCodec(Class<?> type) {
+			this.constructor = getDefaultConstructor(type);
+			final List<Class<?>> hierarchy = new ArrayList<>();
+			for (Class<?> t = type; t != null && t != Object.class; t = t.getSuperclass()) {
+				hierarchy.add(0, t);
+			}
+			final List<FieldCodec> codecs = new ArrayList<>();
+			for (final Class<?> t : hierarchy) {
+				final Field[] declaredFields = t.getDeclaredFields();
+				Arrays.sort(declaredFields, FieldNameComparator.SINGLETON);
+				for (final Field field : declaredFields) {
+					final int modifiers = field.getModifiers();
+					if (!Modifier.isStatic(modifiers) && !Modifier.isTransient(modifiers)) {
+						field.setAccessible(true);
+						codecs.add(FieldCodec.create(field));
+					}
+				}
+			}
+			this.fields = codecs.toArray(new FieldCodec[codecs.size()]);
+		}
+
+		@Override
+		public void write(CompactOutput output, Object value, CompactTypeRegistry registry) throws IOException {
+			try {
+				for (final FieldCodec field : this.fields) {
+					field.write(output, value, registry);
+				}
+			} catch (IllegalAccessException exception) {
+				throw new IOException(exception);
+			}
+		}
+
+		@Override
+		public Object read(CompactInput input, CompactTypeRegistry registry) throws IOException {
+			final Object value = newInstance(this.constructor);
+			try {
+				for (final FieldCodec field : this.fields) {
+					field.read(input, value, registry);
+				}
+			} catch (IllegalAccessException | IllegalArgumentException exception) {
+				throw new IOException(exception);
+			}
+			return value;
+		}
+
+	}
+
+	/** Comparator of fields by name.
+	 *
+	 * @author $Author: sgalland$
+	 * @version $FullVersion$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 */
+	private static final class FieldNameComparator implements Comparator<Field>, Serializable {
+
+		static final FieldNameComparator SINGLETON = new FieldNameComparator();
+
+		private static final long serialVersionUID = -3520454524470454137L;
+
+		private FieldNameComparator() {
+			//
+		}
+
+		@Override
+		public int compare(Field field1, Field field2) {
+			return field1.getName().compareTo(field2.getName());
+		}
+
+	}
+
+	/** Encoder and decoder of a field.
+	 *
+	 * @author $Author: sgalland$
+	 * @version $FullVersion$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 */
+	private abstract static class FieldCodec {
+
+		/** The field.
+		 */
+		protected final Field field;
+
+		FieldCodec(Field field) {
+			this.field = field;
+		}
+
+		@SuppressWarnings({"checkstyle:returncount", "checkstyle:cyclomaticcomplexity"})
+		static FieldCodec create(Field field) {
+			final Class<?> type = field.getType();
+			if (type == int.class) {
+				return new IntFieldCodec(field);
+			}
+			if (type == long.class) {
+				return new LongFieldCodec(field);
+			}
+			if (type == boolean.class) {
+				return new BooleanFieldCodec(field);
+			}
+			if (type == double.class) {
+				return new DoubleFieldCodec(field);
+			}
+			if (type == float.class) {
+				return new FloatFieldCodec(field);
+			}
+			if (type == byte.class) {
+				return new ByteFieldCodec(field);
+			}
+			if (type == short.class) {
+				return new ShortFieldCodec(field);
+			}
+			if (type == char.class) {
+				return new CharFieldCodec(field);
+			}
+			return new ObjectFieldCodec(field);
+		}
+
+		abstract void write(CompactOutput output, Object instance, CompactTypeRegistry registry)
+				throws IOException, IllegalAccessException;
+
+		abstract void read(CompactInput input, Object instance, CompactTypeRegistry registry)
+				throws IOException, IllegalAccessException;
+
+	}
+
+	/** Codec of an object field.
+	 *
+	 * @author $Author: sgalland$
+	 * @version $FullVersion$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 */
+	private static final class ObjectFieldCodec extends FieldCodec {
+
+		ObjectFieldCodec(Field field) {
+			super(field);
+		}
+
+		@Override
+		void write(CompactOutput output, Object instance, CompactTypeRegistry registry)
+				throws IOException, IllegalAccessException {
+			registry.writeValue(output, this.field.get(instance));
+		}
+
+		@Override
+		void read(CompactInput input, Object instance, CompactTypeRegistry registry)
+				throws IOException, IllegalAccessException {
+			this.field.set(instance, registry.readValue(input));
+		}
+
+	}
+
+	/** Codec of an int field.
+	 *
+	 * @author $Author: sgalland$
+	 * @version $FullVersion$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 */
+	private static final class IntFieldCodec extends FieldCodec {
+
+		IntFieldCodec(Field field) {
+			super(field);
+		}
+
+		@Override
+		void write(CompactOutput output, Object instance, CompactTypeRegistry registry) throws IllegalAccessException {
+			output.writeSignedVarInt(this.field.getInt(instance));
+		}
+
+		@Override
+		void read(CompactInput input, Object instance, CompactTypeRegistry registry)
+				throws IOException, IllegalAccessException {
+			this.field.setInt(instance, input.readSignedVarInt());
+		}
+
+	}
+
+	/** Codec of a long field.
+	 *
+	 * @author $Author: sgalland$
+	 * @version $FullVersion$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 */
+	private static final class LongFieldCodec extends FieldCodec {
+
+		LongFieldCodec(Field field) {
+			super(field);
+		}
+
+		@Override
+		void write(CompactOutput output, Object instance, CompactTypeRegistry registry) throws IllegalAccessException {
+			output.writeSignedVarLong(this.field.getLong(instance));
+		}
+
+		@Override
+		void read(CompactInput input, Object instance, CompactTypeRegistry registry)
+				throws IOException, IllegalAccessException {
+			this.field.setLong(instance, input.readSignedVarLong());
+		}
+
+	}
+
+	/** Codec of a boolean field.
+	 *
+	 * @author $Author: sgalland$
+	 * @version $FullVersion$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 */
+	private static final class BooleanFieldCodec extends FieldCodec {
+
+		BooleanFieldCodec(Field field) {
+			super(field);
+		}
+
+		@Override
+		void write(CompactOutput output, Object instance, CompactTypeRegistry registry) throws IllegalAccessException {
+			output.writeByte(this.field.getBoolean(instance) ? 1 : 0);
+		}
+
+		@Override
+		void read(CompactInput input, Object instance, CompactTypeRegistry registry)
+				throws IOException, IllegalAccessException {
+			this.field.setBoolean(instance, input.readByte() != 0);
+		}
+
+	}
+
+	/** Codec of a double field.
+	 *
+	 * @author $Author: sgalland$
+	 * @version $FullVersion$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 */
+	private static final class DoubleFieldCodec extends FieldCodec {
+
+		DoubleFieldCodec(Field field) {
+			super(field);
+		}
+
+		@Override
+		void write(CompactOutput output, Object instance, CompactTypeRegistry registry) throws IllegalAccessException {
+			output.writeDouble(this.field.getDouble(instance));
+		}
+
+		@Override
+		void read(CompactInput input, Object instance, CompactTypeRegistry registry)
+				throws IOException, IllegalAccessException {
+			this.field.setDouble(instance, input.readDouble());
+		}
+
+	}
+
+	/** Codec of a float field.
+	 *
+	 * @author $Author: sgalland$
+	 * @version $FullVersion$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 */
+	private static final class FloatFieldCodec extends FieldCodec {
+
+		FloatFieldCodec(Field field) {
+			super(field);
+		}
+
+		@Override
+		void write(CompactOutput output, Object instance, CompactTypeRegistry registry) throws IllegalAccessException {
+			output.writeFloat(this.field.getFloat(instance));
+		}
+
+		@Override
+		void read(CompactInput input, Object instance, CompactTypeRegistry registry)
+				throws IOException, IllegalAccessException {
+			this.field.setFloat(instance, input.readFloat());
+		}
+
+	}
+
+	/** Codec of a byte field.
+	 *
+	 * @author $Author: sgalland$
+	 * @version $FullVersion$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 */
+	private static final class ByteFieldCodec extends FieldCodec {
+
+		ByteFieldCodec(Field field) {
+			super(field);
+		}
+
+		@Override
+		void write(CompactOutput output, Object instance, CompactTypeRegistry registry) throws IllegalAccessException {
+			output.writeByte(this.field.getByte(instance));
+		}
+
+		@Override
+		void read(CompactInput input, Object instance, CompactTypeRegistry registry)
+				throws IOException, IllegalAccessException {
+			this.field.setByte(instance, input.readByte());
+		}
+
+	}
+
+	/** Codec of a short field.
+	 *
+	 * @author $Author: sgalland$
+	 * @version $FullVersion$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 */
+	private static final class ShortFieldCodec extends FieldCodec {
+
+		ShortFieldCodec(Field field) {
+			super(field);
+		}
+
+		@Override
+		void write(CompactOutput output, Object instance, CompactTypeRegistry registry) throws IllegalAccessException {
+			output.writeSignedVarInt(this.field.getShort(instance));
+		}
+
+		@Override
+		void read(CompactInput input, Object instance, CompactTypeRegistry registry)
+				throws IOException, IllegalAccessException {
+			this.field.setShort(instance, (short) input.readSignedVarInt());
+		}
+
+	}
+
+	/** Codec of a char field.
+	 *
+	 * @author $Author: sgalland$
+	 * @version $FullVersion$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 */
+	private static final class CharFieldCodec extends FieldCodec {
+
+		CharFieldCodec(Field field) {
+			super(field);
+		}
+
+		@Override
+		void write(CompactOutput output, Object instance, CompactTypeRegistry registry) throws IllegalAccessException {
+			output.writeVarInt(this.field.getChar(instance));
+		}
+
+		@Override
+		void read(CompactInput input, Object instance, CompactTypeRegistry registry)
+				throws IOException, IllegalAccessException {
+			this.field.setChar(instance, (char) input.readVarInt());
+		}
+
+	}
+
+	/** Codec that uses the Java serialization.
+	 *
+	 * @author $Author: sgalland$
+	 * @version $FullVersion$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 */
+	private static final class JavaSerializationCodec implements CompactCodec {
+
+		static final JavaSerializationCodec SINGLETON = new JavaSerializationCodec();
+
+		private JavaSerializationCodec() {
+			//
+		}
+
+		@Override
+		public void write(CompactOutput output, Object value, CompactTypeRegistry registry) throws IOException {
+			try (ByteArrayOutputStream baos = new ByteArrayOutputStream()) {
+				try (ObjectOutputStream oos = new ObjectOutputStream(baos)) {
+					oos.writeObject(value);
+				}
+				output.writeBytes(baos.toByteArray());
+			}
+		}
+
+		@Override
+		public Object read(CompactInput input, CompactTypeRegistry registry) throws IOException {
+			try (ByteArrayInputStream bais = new ByteArrayInputStream(input.readBytes())) {
+				try (ObjectInputStream ois = new JavaBinaryEventSerializer.ClassLoaderObjectInputStream(bais)) {
+					return ois.readObject();
+				} catch (ClassNotFoundException exception) {
+					throw new IOException(exception);
+				}
+			}
+		}
+
+	}
+
+}
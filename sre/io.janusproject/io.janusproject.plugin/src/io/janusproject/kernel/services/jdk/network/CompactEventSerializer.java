@@ -0,0 +1,164 @@
+/*
+ * $Id$
+ *
+ * SARL is an general-purpose agent programming language.
+ * More details on http://www.sarl.io
+ *
+ * Copyright (C) 2014-2016 the original authors or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.janusproject.kernel.services.jdk.network;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.text.MessageFormat;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.UUID;
+
+import com.google.inject.Inject;
+
+import io.janusproject.services.distributeddata.DistributedDataStructureService;
+import io.janusproject.services.network.AbstractEventSerializer;
+import io.janusproject.services.network.EventDispatch;
+import io.janusproject.services.network.EventEncrypter;
+import io.janusproject.services.network.EventEnvelope;
+import io.janusproject.services.network.NetworkUtil;
+
+import io.sarl.lang.core.Event;
+import io.sarl.lang.core.Scope;
+import io.sarl.lang.core.SpaceID;
+import io.sarl.lang.core.SpaceSpecification;
+
+/**
+ * Serialize the {@link EventDispatch} content into a compact binary representation to generate the corresponding
+ * {@link EventEnvelope}.
+ *
+ * <p>In place of the type names, this serializer writes integer identifiers that are shared by all the kernels
+ * of the network through the {@link DistributedDataStructureService}. The fields of the events are directly written
+ * with encoders that are computed once per type and cached. The types that are not supported by these encoders
+ * are written with the Java serialization mechanism.
+ *
+ * <p>This implementation assumes that an {@link EventEncrypter} is injected.
+ *
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ */
+public class CompactEventSerializer extends AbstractEventSerializer {
+
+	private final CompactTypeRegistry registry;
+
+	private final ThreadLocal<CompactOutput> outputs = new ThreadLocal<CompactOutput>() {
+		@Override
+		protected CompactOutput initialValue() {
+			return new CompactOutput();
+		}
+	};
+
+	/**
+	 * Constructs a CompactEventSerializer. The {@link EventEncrypter} is injected.
+	 *
+	 * @param encrypter - the object that will permits to encrypt the events.
+	 * @param dataStructures - the service that permits to share the type identifiers with the other kernels.
+	 */
+	@Inject
+	public CompactEventSerializer(EventEncrypter encrypter, DistributedDataStructureService dataStructures) {
+		super(encrypter);
+		this.registry = new CompactTypeRegistry(dataStructures);
+	}
+
+	@Override
+	public EventEnvelope serialize(EventDispatch dispatch) throws Exception {
+		assert this.encrypter != null : "Invalid injection of the encrypter"; //$NON-NLS-1$
+		assert dispatch != null : "Parameter 'dispatch' must not be null"; //$NON-NLS-1$
+		final Event event = dispatch.getEvent();
+		assert event != null;
+		final SpaceID spaceID = dispatch.getSpaceID();
+		assert spaceID != null;
+		assert spaceID.getSpaceSpecification() != null;
+
+		final Map<String, String> headers = dispatch.getCustomHeaders();
+		assert headers != null;
+
+		final CompactOutput output = this.outputs.get();
+
+		output.reset();
+		this.registry.writeType(output, spaceID.getSpaceSpecification());
+		output.writeVarInt(headers.size());
+		for (final Entry<String, String> header : headers.entrySet()) {
+			output.writeString(header.getKey());
+			output.writeString(header.getValue());
+		}
+		final byte[] headerBytes = output.toByteArray();
+
+		output.reset();
+		this.registry.writeValue(output, dispatch.getScope());
+		final byte[] scopeBytes = output.toByteArray();
+
+		output.reset();
+		this.registry.writeValue(output, event);
+		final byte[] eventBytes = output.toByteArray();
+
+		final EventEnvelope envelope = new EventEnvelope(NetworkUtil.toByteArray(spaceID.getContextID()),
+				NetworkUtil.toByteArray(spaceID.getID()), scopeBytes, headerBytes, eventBytes);
+
+		this.encrypter.encrypt(envelope);
+
+		return envelope;
+	}
+
+	@SuppressWarnings("unchecked")
+	@Override
+	public EventDispatch deserialize(EventEnvelope envelope) throws Exception {
+		assert this.encrypter != null : "Invalid injection of the encrypter"; //$NON-NLS-1$
+		assert envelope != null : "Parameter 'envelope' must not be null"; //$NON-NLS-1$
+
+		this.encrypter.decrypt(envelope);
+
+		final CompactInput headerInput = new CompactInput(envelope.getCustomHeadersBuffer());
+		final Class<?> spaceSpec = this.registry.readType(headerInput);
+		if (spaceSpec == null || !SpaceSpecification.class.isAssignableFrom(spaceSpec)) {
+			throw new ClassCastException(MessageFormat.format(Messages.CompactEventSerializer_0, spaceSpec));
+		}
+		final int headerCount = headerInput.readVarInt();
+		final Map<String, String> headers = new HashMap<>();
+		for (int i = 0; i < headerCount; ++i) {
+			final String key = headerInput.readString();
+			headers.put(key, headerInput.readString());
+		}
+
+		final UUID contextId = NetworkUtil.fromByteBuffer(envelope.getContextIdBuffer());
+		final UUID spaceId = NetworkUtil.fromByteBuffer(envelope.getSpaceIdBuffer());
+
+		final SpaceID spaceID = new SpaceID(contextId, spaceId, (Class<? extends SpaceSpecification<?>>) spaceSpec);
+
+		final Event event = readValue(envelope.getBodyBuffer(), Event.class);
+		assert event != null;
+		final Scope<?> scope = readValue(envelope.getScopeBuffer(), Scope.class);
+		return new EventDispatch(spaceID, event, scope, headers);
+	}
+
+	private <T> T readValue(ByteBuffer data, Class<T> type) throws IOException {
+		final Object object = this.registry.readValue(new CompactInput(data));
+		if (object != null && type.isInstance(object)) {
+			return type.cast(object);
+		}
+		throw new ClassCastException(MessageFormat.format(Messages.CompactEventSerializer_0, type.getName()));
+	}
+
+}
@@ -0,0 +1,232 @@
+/*
+ * $Id$
+ *
+ * SARL is an general-purpose agent programming language.
+ * More details on http://www.sarl.io
+ *
+ * Copyright (C) 2014-2016 the original authors or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.janusproject.kernel.services.jdk.network;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.StreamCorruptedException;
+import java.nio.ByteBuffer;
+import java.util.UUID;
+
+import io.janusproject.services.network.NetworkConfig;
+
+/**
+ * Input buffer used by the {@link CompactEventSerializer}.
+ *
+ * <p>This input reads the values that were written by a {@link CompactOutput}.
+ *
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ */
+@SuppressWarnings("checkstyle:magicnumber")
+final class CompactInput {
+
+	private final byte[] data;
+
+	private final int limit;
+
+	private int position;
+
+	/** Construct an input on the given bytes.
+	 *
+	 * @param data - the bytes to read.
+	 */
+	CompactInput(byte[] data) {
+		this(data, 0, data.length);
+	}
+
+	/** Construct an input on a region of the given bytes.
+	 *
+	 * @param data - the array that contains the bytes to read.
+	 * @param offset - the index of the first byte to read.
+	 * @param length - the number of bytes to read.
+	 */
+	CompactInput(byte[] data, int offset, int length) {
+		this.data = data;
+		this.position = offset;
+		this.limit = offset + length;
+	}
+
+	/** Construct an input on the remaining bytes of the given view.
+	 *
+	 * @param data - the view on the bytes to read. It must be backed by an accessible array.
+	 */
+	CompactInput(ByteBuffer data) {
+		this(data.array(), data.arrayOffset() + data.position(), data.remaining());
+	}
+
+	/** Replies if there are still bytes to read.
+	 *
+	 * @return <code>true</code> if there are still bytes.
+	 */
+	boolean hasRemaining() {
+		return this.position < this.limit;
+	}
+
+	private void ensureAvailable(int bytes) throws EOFException {
+		if (bytes < 0 || this.position + bytes > this.limit) {
+			throw new EOFException();
+		}
+	}
+
+	/** Read a byte.
+	 *
+	 * @return the byte.
+	 * @throws IOException - if there is no more byte.
+	 */
+	byte readByte() throws IOException {
+		ensureAvailable(1);
+		return this.data[this.position++];
+	}
+
+	/** Read bytes that are prefixed by their length.
+	 *
+	 * @return the bytes.
+	 * @throws IOException - if the bytes cannot be read.
+	 */
+	byte[] readBytes() throws IOException {
+		final int length = readVarInt();
+		ensureAvailable(length);
+		final byte[] result = new byte[length];
+		System.arraycopy(this.data, this.position, result, 0, length);
+		this.position += length;
+		return result;
+	}
+
+	/** Read a positive integer with a variable-length encoding.
+	 *
+	 * @return the value.
+	 * @throws IOException - if the value cannot be read.
+	 */
+	int readVarInt() throws IOException {
+		int result = 0;
+		for (int shift = 0; shift < 32; shift += 7) {
+			final byte b = readByte();
+			result |= (b & 0x7F) << shift;
+			if ((b & 0x80) == 0) {
+				return result;
+			}
+		}
+		throw new StreamCorruptedException();
+	}
+
+	/** Read a positive long integer with a variable-length encoding.
+	 *
+	 * @return the value.
+	 * @throws IOException - if the value cannot be read.
+	 */
+	long readVarLong() throws IOException {
+		long result = 0;
+		for (int shift = 0; shift < 64; shift += 7) {
+			final byte b = readByte();
+			result |= ((long) (b & 0x7F)) << shift;
+			if ((b & 0x80) == 0) {
+				return result;
+			}
+		}
+		throw new StreamCorruptedException();
+	}
+
+	/** Read an integer with a zigzag and variable-length encoding.
+	 *
+	 * @return the value.
+	 * @throws IOException - if the value cannot be read.
+	 */
+	int readSignedVarInt() throws IOException {
+		final int value = readVarInt();
+		return (value >>> 1) ^ -(value & 1);
+	}
+
+	/** Read a long integer with a zigzag and variable-length encoding.
+	 *
+	 * @return the value.
+	 * @throws IOException - if the value cannot be read.
+	 */
+	long readSignedVarLong() throws IOException {
+		final long value = readVarLong();
+		return (value >>> 1) ^ -(value & 1);
+	}
+
+	/** Read a long integer on 8 bytes.
+	 *
+	 * @return the value.
+	 * @throws IOException - if the value cannot be read.
+	 */
+	long readFixedLong() throws IOException {
+		ensureAvailable(8);
+		long result = 0;
+		for (int i = 0; i < 8; ++i) {
+			result = (result << 8) | (this.data[this.position++] & 0xFF);
+		}
+		return result;
+	}
+
+	/** Read a float on 4 bytes.
+	 *
+	 * @return the value.
+	 * @throws IOException - if the value cannot be read.
+	 */
+	float readFloat() throws IOException {
+		ensureAvailable(4);
+		int bits = 0;
+		for (int i = 0; i < 4; ++i) {
+			bits = (bits << 8) | (this.data[this.position++] & 0xFF);
+		}
+		return Float.intBitsToFloat(bits);
+	}
+
+	/** Read a double on 8 bytes.
+	 *
+	 * @return the value.
+	 * @throws IOException - if the value cannot be read.
+	 */
+	double readDouble() throws IOException {
+		return Double.longBitsToDouble(readFixedLong());
+	}
+
+	/** Read a string that is prefixed by the length of its encoding.
+	 *
+	 * @return the value.
+	 * @throws IOException - if the value cannot be read.
+	 */
+	String readString() throws IOException {
+		final int length = readVarInt();
+		ensureAvailable(length);
+		final String result = new String(this.data, this.position, length, NetworkConfig.getStringEncodingCharset());
+		this.position += length;
+		return result;
+	}
+
+	/** Read an identifier on 16 bytes.
+	 *
+	 * @return the value.
+	 * @throws IOException - if the value cannot be read.
+	 */
+	UUID readUUID() throws IOException {
+		final long most = readFixedLong();
+		final long least = readFixedLong();
+		return new UUID(most, least);
+	}
+
+}
@@ -0,0 +1,198 @@
+/*
+ * $Id$
+ *
+ * SARL is an general-purpose agent programming language.
+ * More details on http://www.sarl.io
+ *
+ * Copyright (C) 2014-2016 the original authors or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.janusproject.kernel.services.jdk.network;
+
+import java.util.Arrays;
+import java.util.UUID;
+
+import io.janusproject.services.network.NetworkConfig;
+
+/**
+ * Growable output buffer used by the {@link CompactEventSerializer}.
+ *
+ * <p>The integers are written with a variable-length encoding: seven bits per byte, the highest bit
+ * of a byte indicating that another byte follows. The signed integers are zigzag-encoded before, so that
+ * the small negative values are also encoded with few bytes.
+ *
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ */
+@SuppressWarnings("checkstyle:magicnumber")
+final class CompactOutput {
+
+	private static final int DEFAULT_CAPACITY = 256;
+
+	private byte[] buffer;
+
+	private int size;
+
+	/** Construct an empty output.
+	 */
+	CompactOutput() {
+		this.buffer = new byte[DEFAULT_CAPACITY];
+	}
+
+	/** Clear the output for reusing it.
+	 */
+	void reset() {
+		this.size = 0;
+	}
+
+	/** Replies the written bytes.
+	 *
+	 * @return a copy of the written bytes.
+	 */
+	byte[] toByteArray() {
+		return Arrays.copyOf(this.buffer, this.size);
+	}
+
+	private void ensureCapacity(int additionalBytes) {
+		final int required = this.size + additionalBytes;
+		if (required > this.buffer.length) {
+			this.buffer = Arrays.copyOf(this.buffer, Math.max(required, this.buffer.length * 2));
+		}
+	}
+
+	/** Write a byte.
+	 *
+	 * @param value - the byte to write.
+	 */
+	void writeByte(int value) {
+		ensureCapacity(1);
+		this.buffer[this.size++] = (byte) value;
+	}
+
+	/** Write the given bytes, without their length.
+	 *
+	 * @param value - the bytes to write.
+	 */
+	void writeRawBytes(byte[] value) {
+		ensureCapacity(value.length);
+		System.arraycopy(value, 0, this.buffer, this.size, value.length);
+		this.size += value.length;
+	}
+
+	/** Write the given bytes, prefixed by their length.
+	 *
+	 * @param value - the bytes to write.
+	 */
+	void writeBytes(byte[] value) {
+		writeVarInt(value.length);
+		writeRawBytes(value);
+	}
+
+	/** Write a positive integer with a variable-length encoding.
+	 *
+	 * @param value - the value to write.
+	 */
+	void writeVarInt(int value) {
+		ensureCapacity(5);
+		int v = value;
+		while ((v & ~0x7F) != 0) {
+			this.buffer[this.size++] = (byte) ((v & 0x7F) | 0x80);
+			v >>>= 7;
+		}
+		this.buffer[this.size++] = (byte) v;
+	}
+
+	/** Write a positive long integer with a variable-length encoding.
+	 *
+	 * @param value - the value to write.
+	 */
+	void writeVarLong(long value) {
+		ensureCapacity(10);
+		long v = value;
+		while ((v & ~0x7FL) != 0) {
+			this.buffer[this.size++] = (byte) ((v & 0x7F) | 0x80);
+			v >>>= 7;
+		}
+		this.buffer[this.size++] = (byte) v;
+	}
+
+	/** Write an integer with a zigzag and variable-length encoding.
+	 *
+	 * @param value - the value to write.
+	 */
+	void writeSignedVarInt(int value) {
+		writeVarInt((value << 1) ^ (value >> 31));
+	}
+
+	/** Write a long integer with a zigzag and variable-length encoding.
+	 *
+	 * @param value - the value to write.
+	 */
+	void writeSignedVarLong(long value) {
+		writeVarLong((value << 1) ^ (value >> 63));
+	}
+
+	/** Write a long integer on 8 bytes.
+	 *
+	 * @param value - the value to write.
+	 */
+	void writeFixedLong(long value) {
+		ensureCapacity(8);
+		for (int shift = 56; shift >= 0; shift -= 8) {
+			this.buffer[this.size++] = (byte) (value >>> shift);
+		}
+	}
+
+	/** Write a float on 4 bytes.
+	 *
+	 * @param value - the value to write.
+	 */
+	void writeFloat(float value) {
+		final int bits = Float.floatToIntBits(value);
+		ensureCapacity(4);
+		for (int shift = 24; shift >= 0; shift -= 8) {
+			this.buffer[this.size++] = (byte) (bits >>> shift);
+		}
+	}
+
+	/** Write a double on 8 bytes.
+	 *
+	 * @param value - the value to write.
+	 */
+	void writeDouble(double value) {
+		writeFixedLong(Double.doubleToLongBits(value));
+	}
+
+	/** Write a string, prefixed by the length of its encoding.
+	 *
+	 * @param value - the value to write.
+	 * @see NetworkConfig#getStringEncodingCharset()
+	 */
+	void writeString(String value) {
+		writeBytes(value.getBytes(NetworkConfig.getStringEncodingCharset()));
+	}
+
+	/** Write an identifier on 16 bytes.
+	 *
+	 * @param value - the value to write.
+	 */
+	void writeUUID(UUID value) {
+		writeFixedLong(value.getMostSignificantBits());
+		writeFixedLong(value.getLeastSignificantBits());
+	}
+
+}
@@ -0,0 +1,266 @@
+/*
+ * $Id$
+ *
+ * SARL is an general-purpose agent programming language.
+ * More details on http://www.sarl.io
+ *
+ * Copyright (C) 2014-2016 the original authors or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.janusproject.kernel.services.jdk.network;
+
+import java.io.IOException;
+import java.io.InvalidClassException;
+import java.io.InvalidObjectException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.LinkedList;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import io.janusproject.services.distributeddata.DMap;
+import io.janusproject.services.distributeddata.DistributedDataStructureService;
+import io.janusproject.util.ClassFinder;
+
+import io.sarl.lang.core.Address;
+import io.sarl.lang.core.SpaceID;
+import io.sarl.util.AddressScope;
+
+/**
+ * Registry of the types that are encoded by the {@link CompactEventSerializer}.
+ *
+ * <p>The types are encoded with integer identifiers in place of their names. The identifiers of the most common
+ * types are predefined. The identifiers of the other types are negotiated between the kernels with two
+ * distributed maps: the first type that is encoded by a kernel is associated to an identifier that is shared by
+ * all the kernels of the network. The identifiers and the codecs are cached locally, so that the negotiation
+ * is done only once per type and per kernel.
+ *
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ */
+final class CompactTypeRegistry {
+
+	/** Name of the distributed map from the type names to the type identifiers.
+	 */
+	static final String NAMES_TO_IDS = "io.janusproject.network.compact.typeIdentifiers"; //$NON-NLS-1$
+
+	/** Name of the distributed map from the type identifiers to the type names.
+	 */
+	static final String IDS_TO_NAMES = "io.janusproject.network.compact.typeNames"; //$NON-NLS-1$
+
+	/** First identifier that could be negotiated. The identifiers below are reserved for the predefined types.
+	 */
+	static final int FIRST_DYNAMIC_ID = 64;
+
+	private static final Class<?>[] PREDEFINED_TYPES = {
+		Boolean.class, Byte.class, Short.class, Character.class, Integer.class, Long.class, Float.class, Double.class,
+		String.class, UUID.class, Class.class, byte[].class,
+		boolean.class, byte.class, short.class, char.class, int.class, long.class, float.class, double.class, void.class,
+		ArrayList.class, LinkedList.class, HashSet.class, LinkedHashSet.class, HashMap.class, LinkedHashMap.class,
+		Object[].class, String[].class, int[].class, long[].class, double[].class,
+		Address.class, SpaceID.class, AddressScope.class,
+	};
+
+	private final DistributedDataStructureService dataStructures;
+
+	private final ConcurrentMap<Class<?>, Integer> typeIds = new ConcurrentHashMap<>();
+
+	private final ConcurrentMap<Integer, Class<?>> types = new ConcurrentHashMap<>();
+
+	private final ConcurrentMap<Class<?>, CompactCodec> codecs = new ConcurrentHashMap<>();
+
+	private volatile DMap<String, Integer> namesToIds;
+
+	private volatile DMap<Integer, String> idsToNames;
+
+	/** Constructor.
+	 *
+	 * @param dataStructures - the service that permits to share the type identifiers with the other kernels.
+	 */
+	CompactTypeRegistry(DistributedDataStructureService dataStructures) {
+		assert dataStructures != null;
+		this.dataStructures = dataStructures;
+		for (int i = 0; i < PREDEFINED_TYPES.length; ++i) {
+			final Integer id = Integer.valueOf(i + 1);
+			this.typeIds.put(PREDEFINED_TYPES[i], id);
+			this.types.put(id, PREDEFINED_TYPES[i]);
+		}
+	}
+
+	private DMap<String, Integer> getNamesToIds() {
+		DMap<String, Integer> map = this.namesToIds;
+		if (map == null) {
+			map = this.dataStructures.getMap(NAMES_TO_IDS);
+			this.namesToIds = map;
+		}
+		return map;
+	}
+
+	private DMap<Integer, String> getIdsToNames() {
+		DMap<Integer, String> map = this.idsToNames;
+		if (map == null) {
+			map = this.dataStructures.getMap(IDS_TO_NAMES);
+			this.idsToNames = map;
+		}
+		return map;
+	}
+
+	/** Replies the identifier of the given type.
+	 *
+	 * <p>If the type has no identifier yet, an identifier is negotiated with the other kernels.
+	 *
+	 * @param type - the type.
+	 * @return the identifier of the type, always strictly positive.
+	 */
+	int getTypeId(Class<?> type) {
+		Integer id = this.typeIds.get(type);
+		if (id == null) {
+			id = Integer.valueOf(negotiateTypeId(type.getName()));
+			final Integer old = this.typeIds.putIfAbsent(type, id);
+			if (old != null) {
+				id = old;
+			}
+			this.types.putIfAbsent(id, type);
+		}
+		return id.intValue();
+	}
+
+	private int negotiateTypeId(String name) {
+		final DMap<String, Integer> names = getNamesToIds();
+		final Integer knownId = names.get(name);
+		if (knownId != null) {
+			return knownId.intValue();
+		}
+		final DMap<Integer, String> ids = getIdsToNames();
+		int candidate = FIRST_DYNAMIC_ID + ids.size();
+		while (true) {
+			final Integer candidateId = Integer.valueOf(candidate);
+			final String owner = ids.putIfAbsent(candidateId, name);
+			if (owner == null || owner.equals(name)) {
+				// The identifier is reserved for the name, but another kernel may have reserved another identifier.
+				final Integer winner = names.putIfAbsent(name, candidateId);
+				return winner == null ? candidate : winner.intValue();
+			}
+			++candidate;
+		}
+	}
+
+	/** Replies the type with the given identifier.
+	 *
+	 * @param id - the identifier of the type.
+	 * @return the type, never <code>null</code>.
+	 * @throws IOException if the identifier or the type is unknown.
+	 */
+	Class<?> getType(int id) throws IOException {
+		final Integer key = Integer.valueOf(id);
+		Class<?> type = this.types.get(key);
+		if (type == null) {
+			final String name = id >= FIRST_DYNAMIC_ID ? getIdsToNames().get(key) : null;
+			if (name == null) {
+				throw new InvalidObjectException(Integer.toString(id));
+			}
+			type = ClassFinder.findClass(name);
+			if (type == null) {
+				throw new InvalidClassException(name);
+			}
+			final Class<?> old = this.types.putIfAbsent(key, type);
+			if (old != null) {
+				type = old;
+			}
+			this.typeIds.putIfAbsent(type, key);
+		}
+		return type;
+	}
+
+	/** Replies the codec for the given type.
+	 *
+	 * @param type - the type.
+	 * @return the codec.
+	 */
+	CompactCodec getCodec(Class<?> type) {
+		CompactCodec codec = this.codecs.get(type);
+		if (codec == null) {
+			codec = CompactCodecs.create(type);
+			final CompactCodec old = this.codecs.putIfAbsent(type, codec);
+			if (old != null) {
+				codec = old;
+			}
+		}
+		return codec;
+	}
+
+	/** Write the identifier of the given type.
+	 *
+	 * @param output - the output.
+	 * @param type - the type, or <code>null</code>.
+	 * @throws IOException if the type cannot be written.
+	 */
+	void writeType(CompactOutput output, Class<?> type) throws IOException {
+		output.writeVarInt(type == null ? 0 : getTypeId(type));
+	}
+
+	/** Read a type identifier and reply the corresponding type.
+	 *
+	 * @param input - the input.
+	 * @return the type, or <code>null</code>.
+	 * @throws IOException if the type cannot be read.
+	 */
+	Class<?> readType(CompactInput input) throws IOException {
+		final int id = input.readVarInt();
+		return id == 0 ? null : getType(id);
+	}
+
+	/** Write the given value, prefixed by the identifier of its type.
+	 *
+	 * @param output - the output.
+	 * @param value - the value, or <code>null</code>.
+	 * @throws IOException if the value cannot be written.
+	 */
+	void writeValue(CompactOutput output, Object value) throws IOException {
+		if (value == null) {
+			output.writeVarInt(0);
+		} else {
+			final Class<?> type;
+			if (value instanceof Enum<?>) {
+				type = ((Enum<?>) value).getDeclaringClass();
+			} else {
+				type = value.getClass();
+			}
+			output.writeVarInt(getTypeId(type));
+			getCodec(type).write(output, value, this);
+		}
+	}
+
+	/** Read a value that is prefixed by the identifier of its type.
+	 *
+	 * @param input - the input.
+	 * @return the value, or <code>null</code>.
+	 * @throws IOException if the value cannot be read.
+	 */
+	Object readValue(CompactInput input) throws IOException {
+		final int id = input.readVarInt();
+		if (id == 0) {
+			return null;
+		}
+		return getCodec(getType(id)).read(input, this);
+	}
+
+}
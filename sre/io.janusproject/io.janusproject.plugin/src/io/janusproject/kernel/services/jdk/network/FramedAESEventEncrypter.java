@@ -0,0 +1,332 @@
+/*
+ * $Id$
+ *
+ * SARL is an general-purpose agent programming language.
+ * More details on http://www.sarl.io
+ *
+ * Copyright (C) 2014-2016 the original authors or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.janusproject.kernel.services.jdk.network;
+
+import java.nio.ByteBuffer;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.text.MessageFormat;
+import java.util.UUID;
+
+import javax.crypto.Cipher;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.IvParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+import javax.inject.Named;
+
+import com.google.inject.Inject;
+
+import io.janusproject.services.network.AbstractEventEncrypter;
+import io.janusproject.services.network.EventEnvelope;
+import io.janusproject.services.network.NetworkConfig;
+
+/**
+ * Encrypts the {@link EventEnvelope} content using the AES algorithm, in a single pass.
+ *
+ * <p>The context identifier is encrypted in a deterministic way, as by {@link AESEventEncrypter}, because it is
+ * used for filtering the messages on the network. The other parts of the envelope (space identifier, scope,
+ * headers and body) are framed into a single buffer that is encrypted with a random initialization vector, and
+ * stored in the body of the envelope. The space identifier, the scope and the headers are replaced by a one-byte
+ * placeholder.
+ *
+ * <p>Two cipher modes are supported (see {@link NetworkConfig#AES_MODE_NAME}): {@code GCM}, which is the default mode,
+ * authenticates the content and the context identifier of the envelope; {@code CBC} provides only the confidentiality.
+ *
+ * <p>The ciphers are created once per thread and key.
+ *
+ * <p>To define the key you need to specify the binding {@link NetworkConfig}.
+ *
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ */
+@SuppressWarnings("checkstyle:magicnumber")
+public class FramedAESEventEncrypter extends AbstractEventEncrypter {
+
+	/** Name of the authenticated encryption mode.
+	 */
+	public static final String GCM_MODE = "GCM"; //$NON-NLS-1$
+
+	/** Name of the non-authenticated encryption mode.
+	 */
+	public static final String CBC_MODE = "CBC"; //$NON-NLS-1$
+
+	private static final String IDENTIFIER_ALGORITHM = "AES/CBC/PKCS5Padding"; //$NON-NLS-1$
+
+	private static final String GCM_ALGORITHM = "AES/GCM/NoPadding"; //$NON-NLS-1$
+
+	private static final String CBC_ALGORITHM = "AES/CBC/PKCS5Padding"; //$NON-NLS-1$
+
+	private static final int GCM_IV_SIZE = 12;
+
+	private static final int GCM_TAG_SIZE = 128;
+
+	private static final int CBC_IV_SIZE = 16;
+
+	private static final byte[] PLACEHOLDER = new byte[] {0};
+
+	private static final SecureRandom RANDOM = new SecureRandom();
+
+	private volatile Ciphers ciphers;
+
+	private volatile boolean authenticated = true;
+
+	/**
+	 * Change the encryption key.
+	 *
+	 * @param key - injected encryption key.
+	 * @throws Exception - when the given key is invalid.
+	 */
+	@Inject
+	public void setKey(@Named(NetworkConfig.AES_KEY) String key) throws Exception {
+		final byte[] raw = key.getBytes(NetworkConfig.getStringEncodingCharset());
+		final int keySize = raw.length;
+		if (keySize == 16 || keySize == 24 || keySize == 32) {
+			this.ciphers = new Ciphers(new SecretKeySpec(raw, "AES")); //$NON-NLS-1$
+		} else {
+			throw new IllegalArgumentException(Messages.AESEventEncrypter_0);
+		}
+	}
+
+	/**
+	 * Change the cipher mode.
+	 *
+	 * @param mode - injected cipher mode, {@link #GCM_MODE} or {@link #CBC_MODE}.
+	 */
+	@Inject(optional = true)
+	public void setMode(@Named(NetworkConfig.AES_MODE_NAME) String mode) {
+		if (GCM_MODE.equalsIgnoreCase(mode)) {
+			this.authenticated = true;
+		} else if (CBC_MODE.equalsIgnoreCase(mode)) {
+			this.authenticated = false;
+		} else {
+			throw new IllegalArgumentException(MessageFormat.format(Messages.FramedAESEventEncrypter_0, mode));
+		}
+	}
+
+	/**
+	 * Replies if the content of the envelopes is authenticated.
+	 *
+	 * @return <code>true</code> if the {@link #GCM_MODE} is used.
+	 */
+	public boolean isAuthenticated() {
+		return this.authenticated;
+	}
+
+	private Ciphers getCiphers() {
+		final Ciphers cphs = this.ciphers;
+		assert cphs != null : "The AES key was not set"; //$NON-NLS-1$
+		return cphs;
+	}
+
+	@Override
+	public void encrypt(EventEnvelope envelope) throws Exception {
+		assert envelope != null : "Parameter 'envelope' must not be null"; //$NON-NLS-1$
+		final Ciphers cphs = getCiphers();
+
+		final ByteBuffer spaceId = envelope.getSpaceIdBuffer();
+		final ByteBuffer scope = envelope.getScopeBuffer();
+		final ByteBuffer headers = envelope.getCustomHeadersBuffer();
+		final ByteBuffer body = envelope.getBodyBuffer();
+		final ByteBuffer frame = ByteBuffer.allocate(12 + spaceId.remaining() + scope.remaining() + headers.remaining()
+				+ body.remaining());
+		frame.putInt(spaceId.remaining()).put(spaceId);
+		frame.putInt(scope.remaining()).put(scope);
+		frame.putInt(headers.remaining()).put(headers);
+		frame.put(body);
+		frame.flip();
+
+		final byte[] contextId = doFinal(cphs.getIdentifierCipher(), envelope.getContextIdBuffer());
+
+		final boolean gcm = this.authenticated;
+		final Cipher cipher = cphs.getContentCipher(gcm);
+		final byte[] iv = new byte[gcm ? GCM_IV_SIZE : CBC_IV_SIZE];
+		RANDOM.nextBytes(iv);
+		if (gcm) {
+			cipher.init(Cipher.ENCRYPT_MODE, cphs.getKey(), new GCMParameterSpec(GCM_TAG_SIZE, iv));
+			cipher.updateAAD(contextId);
+		} else {
+			cipher.init(Cipher.ENCRYPT_MODE, cphs.getKey(), new IvParameterSpec(iv));
+		}
+		final ByteBuffer output = ByteBuffer.allocate(iv.length + cipher.getOutputSize(frame.remaining()));
+		output.put(iv);
+		cipher.doFinal(frame, output);
+
+		envelope.setContextId(contextId);
+		envelope.setSpaceId(PLACEHOLDER);
+		envelope.setScope(PLACEHOLDER);
+		envelope.setCustomHeaders(PLACEHOLDER);
+		output.flip();
+		envelope.setBody(output);
+	}
+
+	@Override
+	public void decrypt(EventEnvelope envelope) throws Exception {
+		assert envelope != null : "Parameter 'envelope' must not be null"; //$NON-NLS-1$
+		final Ciphers cphs = getCiphers();
+
+		final ByteBuffer input = envelope.getBodyBuffer();
+		final byte[] inputArray = input.array();
+		final int inputOffset = input.arrayOffset() + input.position();
+		final int inputLength = input.remaining();
+
+		final boolean gcm = this.authenticated;
+		final int ivSize = gcm ? GCM_IV_SIZE : CBC_IV_SIZE;
+		if (inputLength <= ivSize) {
+			throw new GeneralSecurityException();
+		}
+		final Cipher cipher = cphs.getContentCipher(gcm);
+		if (gcm) {
+			cipher.init(Cipher.DECRYPT_MODE, cphs.getKey(), new GCMParameterSpec(GCM_TAG_SIZE, inputArray, inputOffset, ivSize));
+			cipher.updateAAD(envelope.getContextIdBuffer());
+		} else {
+			cipher.init(Cipher.DECRYPT_MODE, cphs.getKey(), new IvParameterSpec(inputArray, inputOffset, ivSize));
+		}
+		final ByteBuffer frame = ByteBuffer.wrap(cipher.doFinal(inputArray, inputOffset + ivSize, inputLength - ivSize));
+
+		// The parts are views on the decrypted frame
+		envelope.setContextId(doFinal(cphs.getIdentifierDecipher(), envelope.getContextIdBuffer()));
+		envelope.setSpaceId(readBlock(frame));
+		envelope.setScope(readBlock(frame));
+		envelope.setCustomHeaders(readBlock(frame));
+		envelope.setBody(frame);
+	}
+
+	private static ByteBuffer readBlock(ByteBuffer frame) throws GeneralSecurityException {
+		final int size = frame.getInt();
+		if (size < 0 || size > frame.remaining()) {
+			throw new GeneralSecurityException();
+		}
+		final ByteBuffer block = frame.slice();
+		block.limit(size);
+		frame.position(frame.position() + size);
+		return block;
+	}
+
+	private static byte[] doFinal(Cipher cipher, ByteBuffer input) throws GeneralSecurityException {
+		return cipher.doFinal(input.array(), input.arrayOffset() + input.position(), input.remaining());
+	}
+
+	@Override
+	public byte[] encryptUUID(UUID uuid) {
+		try {
+			return getCiphers().getIdentifierCipher().doFinal(super.encryptUUID(uuid));
+		} catch (GeneralSecurityException e) {
+			throw new RuntimeException(e);
+		}
+	}
+
+	/** Ciphers associated to a key, and created once per thread.
+	 *
+	 * <p>The ciphers for the identifiers use a constant initialization vector. They are initialized once, since
+	 * a cipher returns to its initialized state after a call to {@code doFinal}.
+	 *
+	 * @author $Author: sgalland$
+	 * @version $FullVersion$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 */
+	private static final class Ciphers {
+
+		private final SecretKeySpec key;
+
+		private final ThreadLocal<Cipher> identifierCiphers;
+
+		private final ThreadLocal<Cipher> identifierDeciphers;
+
+		private final ThreadLocal<Cipher> gcmCiphers;
+
+		private final ThreadLocal<Cipher> cbcCiphers;
+
+		Ciphers(SecretKeySpec key) {
+			this.key = key;
+			this.identifierCiphers = new CipherThreadLocal(IDENTIFIER_ALGORITHM, Cipher.ENCRYPT_MODE, key);
+			this.identifierDeciphers = new CipherThreadLocal(IDENTIFIER_ALGORITHM, Cipher.DECRYPT_MODE, key);
+			this.gcmCiphers = new CipherThreadLocal(GCM_ALGORITHM, 0, null);
+			this.cbcCiphers = new CipherThreadLocal(CBC_ALGORITHM, 0, null);
+			// Fail fast if the key is not supported by the platform.
+			getIdentifierCipher();
+		}
+
+		SecretKeySpec getKey() {
+			return this.key;
+		}
+
+		Cipher getIdentifierCipher() {
+			return this.identifierCiphers.get();
+		}
+
+		Cipher getIdentifierDecipher() {
+			return this.identifierDeciphers.get();
+		}
+
+		Cipher getContentCipher(boolean gcm) {
+			return gcm ? this.gcmCiphers.get() : this.cbcCiphers.get();
+		}
+
+	}
+
+	/** Thread-local cipher.
+	 *
+	 * @author $Author: sgalland$
+	 * @version $FullVersion$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 */
+	private static final class CipherThreadLocal extends ThreadLocal<Cipher> {
+
+		private final String algorithm;
+
+		private final int mode;
+
+		private final SecretKeySpec key;
+
+		/** Constructor.
+		 *
+		 * @param algorithm - the algorithm of the cipher.
+		 * @param mode - the mode in which the cipher is initialized, or <code>0</code> if the cipher is initialized
+		 *     by the caller.
+		 * @param key - the key for the initialization.
+		 */
+		CipherThreadLocal(String algorithm, int mode, SecretKeySpec key) {
+			this.algorithm = algorithm;
+			this.mode = mode;
+			this.key = key;
+		}
+
+		@Override
+		protected Cipher initialValue() {
+			try {
+				final Cipher cipher = Cipher.getInstance(this.algorithm);
+				if (this.mode != 0) {
+					cipher.init(this.mode, this.key, new IvParameterSpec(new byte[CBC_IV_SIZE]));
+				}
+				return cipher;
+			} catch (GeneralSecurityException exception) {
+				throw new RuntimeException(exception);
+			}
+		}
+
+	}
+
+}
@@ -30,6 +30,7 @@ import java.io.ObjectOutputStream;
 import java.io.ObjectStreamClass;
 import java.io.StreamCorruptedException;
 import java.lang.reflect.Proxy;
+import java.nio.ByteBuffer;
 import java.text.MessageFormat;
 import java.util.Map;
 import java.util.UUID;
@@ -113,7 +114,7 @@ public class JavaBinaryEventSerializer extends AbstractEventSerializer {
 
 		this.encrypter.decrypt(envelope);
 
-		final Map<String, String> headers = fromBytes(envelope.getCustomHeaders(), Map.class);
+		final Map<String, String> headers = fromBytes(envelope.getCustomHeadersBuffer(), Map.class);
 		assert headers != null;
 
 		Class<?> spaceSpec = null;
@@ -130,20 +131,21 @@ public class JavaBinaryEventSerializer extends AbstractEventSerializer {
 			throw new ClassCastException(MessageFormat.format(Messages.JavaBinaryEventSerializer_0, spaceSpec));
 		}
 
-		final UUID contextId = NetworkUtil.fromByteArray(envelope.getContextId());
-		final UUID spaceId = NetworkUtil.fromByteArray(envelope.getSpaceId());
+		final UUID contextId = NetworkUtil.fromByteBuffer(envelope.getContextIdBuffer());
+		final UUID spaceId = NetworkUtil.fromByteBuffer(envelope.getSpaceIdBuffer());
 
 		final SpaceID spaceID = new SpaceID(contextId, spaceId, (Class<? extends SpaceSpecification<?>>) spaceSpec);
 
-		final Event event = fromBytes(envelope.getBody(), Event.class);
+		final Event event = fromBytes(envelope.getBodyBuffer(), Event.class);
 		assert event != null;
-		final Scope<?> scope = fromBytes(envelope.getScope(), Scope.class);
+		final Scope<?> scope = fromBytes(envelope.getScopeBuffer(), Scope.class);
 		return new EventDispatch(spaceID, event, scope, headers);
 
 	}
 
-	private static <T> T fromBytes(byte[] data, Class<T> type) throws IOException, ClassNotFoundException {
-		try (ByteArrayInputStream bais = new ByteArrayInputStream(data)) {
+	private static <T> T fromBytes(ByteBuffer data, Class<T> type) throws IOException, ClassNotFoundException {
+		try (ByteArrayInputStream bais = new ByteArrayInputStream(data.array(), data.arrayOffset() + data.position(),
+				data.remaining())) {
 			try (ObjectInputStream oos = new ClassLoaderObjectInputStream(bais)) {
 				final Object object = oos.readObject();
 				if (object != null && type.isInstance(object)) {
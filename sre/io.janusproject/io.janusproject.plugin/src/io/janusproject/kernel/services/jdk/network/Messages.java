@@ -34,6 +34,8 @@ import org.eclipse.osgi.util.NLS;
 public class Messages extends NLS {
 	private static final String BUNDLE_NAME = "io.janusproject.kernel.services.jdk.network.messages"; //$NON-NLS-1$
 	public static String AESEventEncrypter_0;
+	public static String CompactEventSerializer_0;
+	public static String FramedAESEventEncrypter_0;
 	public static String JavaBinaryEventSerializer_0;
 	static {
 		// initialize resource bundle
@@ -24,26 +24,30 @@ package io.janusproject.kernel.services.jdk.spawn;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
 import java.text.MessageFormat;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import java.util.TreeMap;
 import java.util.UUID;
-
-import javax.inject.Inject;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import com.google.common.collect.ArrayListMultimap;
 import com.google.common.collect.Multimap;
 import com.google.common.util.concurrent.Service;
-import com.google.inject.AbstractModule;
+import com.google.inject.Inject;
 import com.google.inject.Injector;
-import com.google.inject.Provider;
 import com.google.inject.Singleton;
 
 import io.janusproject.kernel.bic.BuiltinCapacityUtil;
 import io.janusproject.services.AbstractDependentService;
 import io.janusproject.services.contextspace.ContextSpaceService;
+import io.janusproject.services.metrics.MetricCounter;
+import io.janusproject.services.metrics.MetricsService;
 import io.janusproject.services.spawn.KernelAgentSpawnListener;
 import io.janusproject.services.spawn.SpawnService;
 import io.janusproject.services.spawn.SpawnServiceListener;
@@ -64,6 +68,12 @@ import io.sarl.util.Collections3;
 /**
  * Implementation of a spawning service that is based on the other services of the Janus platform.
  *
+ * <p>The type of an agent is checked and its constructor is resolved the first time an agent of this type is spawned.
+ * This agent factory is reused for all the next agents of the same type.
+ *
+ * <p>The agents are stored in a concurrent map, and counted with an atomic counter. The spawning and the killing
+ * of agents, and the lookups of agents, are not serialized on a global lock.
+ *
  * @author $Author: srodriguez$
  * @author $Author: sgalland$
  * @version $FullVersion$
@@ -77,7 +87,15 @@ public class StandardSpawnService extends AbstractDependentService implements Sp
 
     private final Multimap<UUID, SpawnServiceListener> agentLifecycleListeners = ArrayListMultimap.create();
 
-    private final Map<UUID, Agent> agents = new TreeMap<>();
+    private final Map<UUID, Agent> agents = new ConcurrentHashMap<>();
+
+    private final AtomicInteger agentCount = new AtomicInteger();
+
+    private MetricCounter spawnedAgents;
+
+    private MetricCounter killedAgents;
+
+    private final ConcurrentMap<Class<? extends Agent>, AgentFactory> agentFactories = new ConcurrentHashMap<>();
 
     private final Injector injector;
 
@@ -97,6 +115,23 @@ public class StandardSpawnService extends AbstractDependentService implements Sp
         this.sarlSpecificationChecker = sarlSpecificationChecker;
     }
 
+    /**
+     * Change the service that collects the runtime metrics of the agent life-cycle.
+     *
+     * @param service - the metrics service.
+     */
+    @Inject(optional = true)
+    public void setMetricsService(MetricsService service) {
+        if (service == null) {
+            this.spawnedAgents = null;
+            this.killedAgents = null;
+        } else {
+            this.spawnedAgents = service.getCounter(MetricsService.SPAWNED_AGENTS);
+            this.killedAgents = service.getCounter(MetricsService.KILLED_AGENTS);
+            service.registerGauge(MetricsService.AGENT_COUNT, this.agentCount::get);
+        }
+    }
+
     @Override
     public final Class<? extends Service> getServiceType() {
         return SpawnService.class;
@@ -113,20 +148,38 @@ public class StandardSpawnService extends AbstractDependentService implements Sp
     	}
     }
 
+    /**
+     * Replies the factory of the agents of the given type.
+     *
+     * <p>The first invocation for a type checks the SARL specification version of the type, and resolves its constructor.
+     *
+     * @param agentClazz - the type of the agents.
+     * @return the factory.
+     * @throws NoSuchMethodException - if the agent type has no valid constructor.
+     */
+    private AgentFactory getAgentFactory(Class<? extends Agent> agentClazz) throws NoSuchMethodException {
+        AgentFactory factory = this.agentFactories.get(agentClazz);
+        if (factory == null) {
+            // Check if the version of the SARL agent class is compatible.
+            ensureSarlSpecificationVersion(agentClazz);
+            factory = new AgentFactory(agentClazz);
+            final AgentFactory oldFactory = this.agentFactories.putIfAbsent(agentClazz, factory);
+            if (oldFactory != null) {
+                factory = oldFactory;
+            }
+        }
+        return factory;
+    }
+
     @Override
     public UUID spawn(AgentContext parent, UUID agentID, Class<? extends Agent> agentClazz, Object... params) {
         if (isRunning()) {
             try {
-                // Check if the version of the SARL agent class is compatible.
-                ensureSarlSpecificationVersion(agentClazz);
-                final JustInTimeAgentInjectionModule agentInjectionModule = new JustInTimeAgentInjectionModule(this.injector, agentClazz,
-                        parent.getID(), agentID);
-                final Injector agentInjector = this.injector.createChildInjector(agentInjectionModule);
-                final Agent agent = agentInjector.getInstance(Agent.class);
+                final AgentFactory factory = getAgentFactory(agentClazz);
+                final BuiltinCapacitiesProvider capacityProvider = this.injector.getInstance(BuiltinCapacitiesProvider.class);
+                final Agent agent = factory.newInstance(capacityProvider, parent.getID(), agentID);
                 assert agent != null;
-                synchronized (this.agents) {
-                    this.agents.put(agent.getID(), agent);
-                }
+                registerAgent(agent);
                 fireAgentSpawned(parent, agent, params);
                 return agent.getID();
             } catch (Throwable e) {
@@ -136,6 +189,90 @@ public class StandardSpawnService extends AbstractDependentService implements Sp
         throw new SpawnDisabledException(parent.getID(), agentClazz);
     }
 
+    @Override
+    public List<UUID> spawn(int nbAgents, AgentContext parent, Class<? extends Agent> agentClazz, Object... params) {
+        if (isRunning()) {
+            if (nbAgents <= 0) {
+                return Collections.emptyList();
+            }
+            try {
+                final AgentFactory factory = getAgentFactory(agentClazz);
+                final Agent[] newAgents = createAgents(factory, parent.getID(), nbAgents);
+                final List<UUID> identifiers = new ArrayList<>(nbAgents);
+                for (final Agent agent : newAgents) {
+                    registerAgent(agent);
+                    identifiers.add(agent.getID());
+                }
+                fireAgentsSpawned(parent, newAgents, params);
+                return identifiers;
+            } catch (Throwable e) {
+                throw new CannotSpawnException(agentClazz, e);
+            }
+        }
+        throw new SpawnDisabledException(parent.getID(), agentClazz);
+    }
+
+    /**
+     * Register the given agent.
+     *
+     * <p>The agent is counted before it is published in the map of the agents, and it is uncounted after it is
+     * removed from this map when it is killed. In this way, the counter is never lower than the number of the
+     * registered agents, and it reaches zero only when no agent is registered.
+     *
+     * @param agent - the agent to register.
+     */
+    private void registerAgent(Agent agent) {
+        this.agentCount.incrementAndGet();
+        if (this.agents.put(agent.getID(), agent) != null) {
+            // The agent replaces an agent with the same identifier, which is already counted.
+            this.agentCount.decrementAndGet();
+        } else {
+            final MetricCounter counter = this.spawnedAgents;
+            if (counter != null) {
+                counter.increment();
+            }
+        }
+    }
+
+    /**
+     * Unregister the given agents, which were spawned but not notified about their creation.
+     *
+     * @param spawnedAgents - the spawned agents.
+     * @param start - the index of the first agent to unregister.
+     */
+    private void unregisterAgents(Agent[] spawnedAgents, int start) {
+        boolean isLast = false;
+        for (int i = start; i < spawnedAgents.length; ++i) {
+            final Agent agent = spawnedAgents[i];
+            if (this.agents.remove(agent.getID(), agent) && this.agentCount.decrementAndGet() == 0) {
+                isLast = true;
+            }
+            synchronized (this.agentLifecycleListeners) {
+                this.agentLifecycleListeners.removeAll(agent.getID());
+            }
+        }
+        if (isLast) {
+            fireKernelAgentDestroy();
+        }
+    }
+
+    /**
+     * Create the given number of agents.
+     *
+     * @param factory - the factory of agents.
+     * @param parentID - the identifier of the parent entity.
+     * @param nbAgents - the number of agents to create.
+     * @return the created agents.
+     */
+    private Agent[] createAgents(AgentFactory factory, UUID parentID, int nbAgents) {
+        final BuiltinCapacitiesProvider capacityProvider = this.injector.getInstance(BuiltinCapacitiesProvider.class);
+        final Agent[] newAgents = new Agent[nbAgents];
+        for (int i = 0; i < nbAgents; ++i) {
+            newAgents[i] = factory.newInstance(capacityProvider, parentID, null);
+        }
+        return newAgents;
+    }
+
     /**
      * Simple structure to store the result of various tests that must be done synchronously before killing agents.
      * @author $Author: ngaud$
@@ -158,22 +295,25 @@ public class StandardSpawnService extends AbstractDependentService implements Sp
 
     private KillAgentResultStructure $killAgent(UUID agentID) {
         // We should check if it is possible to kill the agent BEFORE killing it.
-        final KillAgentResultStructure k;
-        synchronized (this.agents) {
-            final Agent agent = this.agents.get(agentID);
-            if (agent != null) {
-                k = new KillAgentResultStructure();
-                if (canKillAgent(agent)) {
-                    this.agents.remove(agentID);
-                    k.isLast = Boolean.valueOf(this.agents.isEmpty());
-                    k.canKill = Boolean.TRUE;
-                    k.killAgent = agent;
-                    return k;
+        final Agent agent = this.agents.get(agentID);
+        if (agent != null) {
+            final KillAgentResultStructure k = new KillAgentResultStructure();
+            if (canKillAgent(agent)) {
+                // Only one of the concurrent killers of the agent is able to remove it.
+                if (!this.agents.remove(agentID, agent)) {
+                    return null;
+                }
+                k.isLast = Boolean.valueOf(this.agentCount.decrementAndGet() == 0);
+                final MetricCounter counter = this.killedAgents;
+                if (counter != null) {
+                    counter.increment();
                 }
-                return k;
+                k.canKill = Boolean.TRUE;
+                k.killAgent = agent;
             }
-            return null;
+            return k;
         }
+        return null;
     }
 
     @Override
@@ -201,9 +341,12 @@ public class StandardSpawnService extends AbstractDependentService implements Sp
     /**
      * Replies the registered agents.
      *
+     * <p>The replied set is a weakly consistent view on the registered agents: it reflects
+     * the spawns and the kills that occur while it is traversed, without failing.
+     *
      * @return the registered agents.
      */
-    public synchronized SynchronizedSet<UUID> getAgents() {
+    public SynchronizedSet<UUID> getAgents() {
         return Collections3.synchronizedSet(this.agents.keySet(), this);
     }
 
@@ -214,11 +357,20 @@ public class StandardSpawnService extends AbstractDependentService implements Sp
      *            is the identifier of the agent.
      * @return the registered agent, or <code>null</code>.
      */
-    synchronized Agent getAgent(UUID id) {
+    Agent getAgent(UUID id) {
         assert id != null;
         return this.agents.get(id);
     }
 
+    /**
+     * Replies the number of registered agents.
+     *
+     * @return the number of agents.
+     */
+    public int getAgentCount() {
+        return this.agentCount.get();
+    }
+
     @Override
     public void addKernelAgentSpawnListener(KernelAgentSpawnListener listener) {
         this.globalListeners.add(KernelAgentSpawnListener.class, listener);
@@ -282,36 +434,68 @@ public class StandardSpawnService extends AbstractDependentService implements Sp
      *            - list of the values to pass as initialization parameters.
      */
     protected void fireAgentSpawned(AgentContext context, Agent agent, Object[] initializationParameters) {
-        // Notify the listeners on the spawn events (not restricted to a
-        // single agent)
-        for (final SpawnServiceListener l : this.globalListeners.getListeners(SpawnServiceListener.class)) {
-            l.agentSpawned(context, agent, initializationParameters);
-        }
+        fireAgentsSpawned(context, new Agent[] {agent}, initializationParameters);
+    }
 
-        // Notify the listeners on the lifecycle events on
-        // the just spawned agent.
-        // Usually, only BICs and the AgentLifeCycleSupport in
-        // io.janusproject.kernel.bic.StandardBuiltinCapacitiesProvider
-        // is invoked.
-        final SpawnServiceListener[] agentListeners;
+    /**
+     * Notifies the listeners about the creation of several agents.
+     *
+     * <p>The listeners are retrieved once for all the agents. The agents are notified one after the other.
+     * If a listener fails, the agents that are not yet notified are unregistered, since they will never be
+     * initialized.
+     *
+     * @param context
+     *            - context in which the agents are spawn.
+     * @param spawnedAgents
+     *            - the spawn agents.
+     * @param initializationParameters
+     *            - list of the values to pass as initialization parameters to each agent.
+     */
+    protected void fireAgentsSpawned(AgentContext context, Agent[] spawnedAgents, Object[] initializationParameters) {
+        final SpawnServiceListener[] globalAgentListeners = this.globalListeners.getListeners(SpawnServiceListener.class);
+        final SpawnServiceListener[][] agentListeners = new SpawnServiceListener[spawnedAgents.length][];
         synchronized (this.agentLifecycleListeners) {
-            final Collection<SpawnServiceListener> list = this.agentLifecycleListeners.get(agent.getID());
-            agentListeners = new SpawnServiceListener[list.size()];
-            list.toArray(agentListeners);
-        }
-        for (final SpawnServiceListener l : agentListeners) {
-            l.agentSpawned(context, agent, initializationParameters);
+            for (int i = 0; i < spawnedAgents.length; ++i) {
+                final Collection<SpawnServiceListener> list = this.agentLifecycleListeners.get(spawnedAgents[i].getID());
+                agentListeners[i] = new SpawnServiceListener[list.size()];
+                list.toArray(agentListeners[i]);
+            }
         }
-
-        // Send the event in the default space.
-        final UUID agentID = agent.getID();
-        assert agentID != null : "Empty agent identifier"; //$NON-NLS-1$
         final EventSpace defSpace = context.getDefaultSpace();
         assert defSpace != null : "A context does not contain a default space"; //$NON-NLS-1$
-        final Address agentAddress = defSpace.getAddress(agentID);
-        // The address may be null is the agent has failed to be launched.
-        if (agentAddress != null) {
-        	defSpace.emit(new AgentSpawned(agentAddress, agentID, agent.getClass().getName()));
+
+        int i = 0;
+        try {
+            for (; i < spawnedAgents.length; ++i) {
+                final Agent agent = spawnedAgents[i];
+
+                // Notify the listeners on the spawn events (not restricted to a
+                // single agent)
+                for (final SpawnServiceListener l : globalAgentListeners) {
+                    l.agentSpawned(context, agent, initializationParameters);
+                }
+
+                // Notify the listeners on the lifecycle events on
+                // the just spawned agent.
+                // Usually, only BICs and the AgentLifeCycleSupport in
+                // io.janusproject.kernel.bic.StandardBuiltinCapacitiesProvider
+                // is invoked.
+                for (final SpawnServiceListener l : agentListeners[i]) {
+                    l.agentSpawned(context, agent, initializationParameters);
+                }
+
+                // Send the event in the default space.
+                final UUID agentID = agent.getID();
+                assert agentID != null : "Empty agent identifier"; //$NON-NLS-1$
+                final Address agentAddress = defSpace.getAddress(agentID);
+                // The address may be null is the agent has failed to be launched.
+                if (agentAddress != null) {
+                    defSpace.emit(new AgentSpawned(agentAddress, agentID, agent.getClass().getName()));
+                }
+            }
+        } catch (Throwable exception) {
+            unregisterAgents(spawnedAgents, i + 1);
+            throw exception;
         }
     }
 
@@ -323,7 +507,7 @@ public class StandardSpawnService extends AbstractDependentService implements Sp
      * @return <code>true</code> if the given agent can be killed, otherwise <code>false</code>.
      */
     @SuppressWarnings("static-method")
-    public synchronized boolean canKillAgent(Agent agent) {
+    public boolean canKillAgent(Agent agent) {
         try {
             final AgentContext ac = BuiltinCapacityUtil.getContextIn(agent);
             if (ac != null) {
@@ -485,46 +669,38 @@ public class StandardSpawnService extends AbstractDependentService implements Sp
     }
 
     /**
-     * An injection module that is able to inject the parent ID and agent ID when creating an agent.
+     * Factory of the agents of a given type. It is shared by all the agents of the same type.
      *
      * @author $Author: sgalland$
      * @version $FullVersion$
      * @mavengroupid $GroupId$
      * @mavenartifactid $ArtifactId$
      */
-    private static class JustInTimeAgentInjectionModule extends AbstractModule implements Provider<Agent> {
-
-        private final Injector injector;
+    private static class AgentFactory {
 
         private final Class<? extends Agent> agentType;
 
-        private final UUID parentID;
-
-        private final UUID agentID;
+        private final Constructor<? extends Agent> constructor;
 
-        JustInTimeAgentInjectionModule(Injector injector, Class<? extends Agent> agentType, UUID parentID, UUID agentID) {
-            assert injector != null;
+        AgentFactory(Class<? extends Agent> agentType) throws NoSuchMethodException {
             assert agentType != null;
-            assert parentID != null;
-            this.injector = injector;
             this.agentType = agentType;
-            this.parentID = parentID;
-            this.agentID = (agentID == null) ? UUID.randomUUID() : agentID;
+            this.constructor = agentType.getConstructor(BuiltinCapacitiesProvider.class, UUID.class, UUID.class);
         }
 
-        @Override
-        public void configure() {
-            bind(Agent.class).toProvider(this);
-        }
-
-        @Override
-        public Agent get() {
+        /**
+         * Create an agent.
+         *
+         * @param capacityProvider - the provider of the built-in capacities.
+         * @param parentID - the identifier of the parent entity.
+         * @param agentID - the identifier of the agent. If <code>null</code> the identifier is randomly selected.
+         * @return the agent.
+         */
+        Agent newInstance(BuiltinCapacitiesProvider capacityProvider, UUID parentID, UUID agentID) {
+            assert parentID != null;
             try {
-                final BuiltinCapacitiesProvider capacityProvider = this.injector.getInstance(BuiltinCapacitiesProvider.class);
-                final Constructor<? extends Agent> constructor = this.agentType.getConstructor(BuiltinCapacitiesProvider.class, UUID.class,
-                        UUID.class);
-                return constructor.newInstance(capacityProvider, this.parentID, this.agentID);
-            } catch (NoSuchMethodException | SecurityException | InstantiationException | IllegalAccessException | IllegalArgumentException
+                return this.constructor.newInstance(capacityProvider, parentID, (agentID == null) ? UUID.randomUUID() : agentID);
+            } catch (InstantiationException | IllegalAccessException | IllegalArgumentException
                     | InvocationTargetException exception) {
                 throw new CannotSpawnException(this.agentType, exception);
             }
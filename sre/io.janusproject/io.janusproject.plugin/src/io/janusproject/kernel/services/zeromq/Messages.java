@@ -41,6 +41,8 @@ public class Messages extends NLS {
 	public static String ZeroMQNetworkService_14;
 	public static String ZeroMQNetworkService_15;
 	public static String ZeroMQNetworkService_16;
+	public static String ZeroMQNetworkService_17;
+	public static String ZeroMQNetworkService_18;
 	public static String ZeroMQNetworkService_2;
 	public static String ZeroMQNetworkService_20;
 	public static String ZeroMQNetworkService_3;
@@ -50,6 +52,8 @@ public class Messages extends NLS {
 	public static String ZeroMQNetworkService_7;
 	public static String ZeroMQNetworkService_8;
 	public static String ZeroMQNetworkService_9;
+	public static String ZeroMQPublisher_0;
+	public static String ZeroMQReceivePipeline_0;
 	static {
 		// initialize resource bundle
 		NLS.initializeMessages(BUNDLE_NAME, Messages.class);
@@ -25,6 +25,7 @@ import java.io.EOFException;
 import java.io.IOException;
 import java.net.URI;
 import java.nio.ByteBuffer;
+import java.text.MessageFormat;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
@@ -32,6 +33,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.TreeMap;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
 import java.util.logging.Level;
 
 import com.google.common.primitives.Ints;
@@ -52,10 +54,14 @@ import io.janusproject.services.kerneldiscovery.KernelDiscoveryService;
 import io.janusproject.services.kerneldiscovery.KernelDiscoveryServiceListener;
 import io.janusproject.services.logging.LogService;
 import io.janusproject.services.logging.LogService.LogParam;
+import io.janusproject.services.metrics.MetricCounter;
+import io.janusproject.services.metrics.MetricHistogram;
+import io.janusproject.services.metrics.MetricsService;
 import io.janusproject.services.network.AbstractNetworkingExecutionThreadService;
 import io.janusproject.services.network.EventDispatch;
 import io.janusproject.services.network.EventEnvelope;
 import io.janusproject.services.network.EventSerializer;
+import io.janusproject.services.network.NetworkConfig;
 import io.janusproject.services.network.NetworkServiceListener;
 
 import io.sarl.lang.core.Event;
@@ -66,6 +72,10 @@ import io.sarl.lang.core.SpaceID;
 /**
  * Service that is providing the ZeroMQ network.
  *
+ * <p>The events are published by a {@link ZeroMQPublisher}, which batches them in a dedicated thread.
+ * The batching is configured with the properties {@link NetworkConfig#BATCH_LINGER_NAME},
+ * {@link NetworkConfig#BATCH_MAX_EVENTS_NAME} and {@link NetworkConfig#BATCH_MAX_BYTES_NAME}.
+ *
  * @author $Author: srodriguez$
  * @author $Author: sgalland$
  * @author $Author: ngaud$
@@ -78,6 +88,8 @@ public class ZeroMQNetworkService extends AbstractNetworkingExecutionThreadServi
 
     private static final long POLL_TIMEOUT = 1000;
 
+    private static final int RECEIVE_BATCH_SIZE = 64;
+
     private final Listener serviceListener = new Listener();
 
     @Inject
@@ -99,9 +111,21 @@ public class ZeroMQNetworkService extends AbstractNetworkingExecutionThreadServi
 
     private Socket sendingSocket;
 
+    private volatile ZeroMQPublisher publisher;
+
+    private volatile ZeroMQReceivePipeline receiver;
+
+    private MetricHistogram serializationTime;
+
+    private MetricHistogram deserializationTime;
+
+    private MetricCounter receivedBytes;
+
+    private MetricCounter receivedEvents;
+
     private Map<URI, Socket> receptionSocketsPerRemoteKernel = new ConcurrentHashMap<>();
 
-    private final Map<SpaceID, NetworkEventReceivingListener> messageRecvListeners = new TreeMap<>();
+    private final Map<SpaceID, NetworkEventReceivingListener> messageRecvListeners = new ConcurrentSkipListMap<>();
 
     // TODO Change poller that can be stopped properly.
     private Poller poller;
@@ -128,6 +152,49 @@ public class ZeroMQNetworkService extends AbstractNetworkingExecutionThreadServi
         this.uriCandidate = uri;
     }
 
+    /**
+     * Change the service that collects the runtime metrics of the network.
+     *
+     * <p>The metrics of the outbound pipeline are gauges that are read from the {@link #getPublisher() publisher}.
+     *
+     * @param service
+     *            - the metrics service.
+     */
+    @Inject(optional = true)
+    public void setMetricsService(MetricsService service) {
+        if (service == null) {
+            this.serializationTime = null;
+            this.deserializationTime = null;
+            this.receivedBytes = null;
+            this.receivedEvents = null;
+        } else {
+            this.serializationTime = service.getHistogram(MetricsService.SERIALIZATION_TIME);
+            this.deserializationTime = service.getHistogram(MetricsService.DESERIALIZATION_TIME);
+            this.receivedBytes = service.getCounter(MetricsService.NETWORK_BYTES_IN);
+            this.receivedEvents = service.getCounter(MetricsService.NETWORK_EVENTS_IN);
+            service.registerGauge(MetricsService.NETWORK_BYTES_OUT, () -> {
+                final ZeroMQPublisher pub = this.publisher;
+                return pub == null ? null : pub.getByteCount();
+            });
+            service.registerGauge(MetricsService.NETWORK_EVENTS_OUT, () -> {
+                final ZeroMQPublisher pub = this.publisher;
+                return pub == null ? null : pub.getEventCount();
+            });
+            service.registerGauge(MetricsService.NETWORK_QUEUE_SIZE, () -> {
+                final ZeroMQPublisher pub = this.publisher;
+                return pub == null ? null : pub.getQueueSize();
+            });
+            service.registerGauge(MetricsService.NETWORK_BATCHES, () -> {
+                final ZeroMQPublisher pub = this.publisher;
+                return pub == null ? null : pub.getBatchCount();
+            });
+            service.registerGauge(MetricsService.NETWORK_RECEIVE_QUEUE_SIZE, () -> {
+                final ZeroMQReceivePipeline rcv = this.receiver;
+                return rcv == null ? null : rcv.getQueueSize();
+            });
+        }
+    }
+
     @Override
     public Collection<Class<? extends Service>> getServiceDependencies() {
         return Arrays.<Class<? extends Service>>asList(LogService.class, ExecutorService.class);
@@ -231,102 +298,124 @@ public class ZeroMQNetworkService extends AbstractNetworkingExecutionThreadServi
         }
     }
 
-    private void send(EventEnvelope envelope) {
-        this.sendingSocket.sendMore(buildFilterableHeader(envelope.getContextId()));
-        this.sendingSocket.sendMore(Ints.toByteArray(envelope.getSpaceId().length));
-        this.sendingSocket.sendMore(envelope.getSpaceId());
-        this.sendingSocket.sendMore(Ints.toByteArray(envelope.getScope().length));
-        this.sendingSocket.sendMore(envelope.getScope());
-        this.sendingSocket.sendMore(Ints.toByteArray(envelope.getCustomHeaders().length));
-        this.sendingSocket.sendMore(envelope.getCustomHeaders());
-        this.sendingSocket.sendMore(Ints.toByteArray(envelope.getBody().length));
-        this.sendingSocket.send(envelope.getBody());
-    }
-
     /**
-     * Build the byte array that may be used for the ZeroMQ filtering associated with {@link Socket#subscribe(byte[])}. For a given contextID
-     * (translated into a byte array with an {@link EventSerializer}), this function must always reply the same sequence of bytes.
+     * Replies the publisher of the events, which provides the metrics of the outbound pipeline.
      *
-     * @param contextID
-     *            the identifier of the context.
-     * @return the header of the ZeroMQ message that may be used for filtering.
+     * @return the publisher, or <code>null</code> if the service is not running.
      */
-    private static byte[] buildFilterableHeader(byte[] contextID) {
-        final byte[] header = new byte[Ints.BYTES + contextID.length];
-        final byte[] length = Ints.toByteArray(contextID.length);
-        System.arraycopy(length, 0, header, 0, length.length);
-        System.arraycopy(contextID, 0, header, length.length, contextID.length);
-        return header;
+    public ZeroMQPublisher getPublisher() {
+        return this.publisher;
     }
 
     @Override
-    public synchronized void publish(Scope<?> scope, Event data) throws Exception {
-        if (this.validatedURI == null) {
+    public void publish(Scope<?> scope, Event data) throws Exception {
+        final ZeroMQPublisher pub = this.publisher;
+        if (pub == null) {
             this.logger.debug(Messages.ZeroMQNetworkService_0, data.getSource().getSpaceId(), scope, data);
         } else if (!this.receptionSocketsPerRemoteKernel.isEmpty()) {
             final SpaceID spaceID = data.getSource().getSpaceId();
+            final MetricHistogram histogram = this.serializationTime;
+            final long start = histogram == null ? 0 : System.nanoTime();
             final EventEnvelope env = this.serializer.serialize(new EventDispatch(spaceID, data, scope));
-            send(env);
+            if (histogram != null) {
+                histogram.recordSince(start);
+            }
+            pub.publish(env);
             this.logger.debug(Messages.ZeroMQNetworkService_1, spaceID, data);
         }
     }
 
-    private static byte[] readBuffer(ByteBuffer buffer, int size) throws IOException {
-        if (buffer.remaining() >= size) {
-            final byte[] result = new byte[size];
-            buffer.get(result);
-            return result;
-        }
-        throw new EOFException();
-    }
-
-    private static byte[] readBlock(ByteBuffer buffer) throws IOException {
-        final int length = Ints.fromByteArray(readBuffer(buffer, Ints.BYTES));
-        return readBuffer(buffer, length);
+    /**
+     * Read a block that is prefixed by its size.
+     *
+     * @param buffer - the buffer to read.
+     * @return the view on the content of the block. The content is not copied from the buffer.
+     * @throws IOException if the buffer does not contain the block.
+     */
+    private static ByteBuffer readBlock(ByteBuffer buffer) throws IOException {
+        if (buffer.remaining() < Ints.BYTES) {
+            throw new EOFException();
+        }
+        final int length = buffer.getInt();
+        if (length < 0 || buffer.remaining() < length) {
+            throw new EOFException();
+        }
+        final ByteBuffer block = buffer.slice();
+        block.limit(length);
+        buffer.position(buffer.position() + length);
+        return block;
     }
 
     /**
      * Receive data from the network.
      *
+     * <p>A message may contain several envelopes for the same context. See {@link ZeroMQPublisher} for details.
+     * The parts of the envelopes are views on the received data; they are not copied.
+     *
      * @param socket
      *            - network reader.
-     * @return the envelope received over the network.
+     * @return the envelopes received over the network.
      * @throws IOException
-     *             if the envelope cannot be read from the network.
+     *             if the envelopes cannot be read from the network.
      */
-    private static EventEnvelope extractEnvelope(Socket socket) throws IOException {
+    private static List<EventEnvelope> extractEnvelopes(Socket socket) throws IOException {
         // TODO: Read the ZeroMQ socket via a NIO wrapper to support large data:
         // indeed the arrays has a maximal size bounded by a native int value, and
         // the real data could be larger than this limit.
 
-        byte[] data = socket.recv(ZMQ.DONTWAIT);
-        byte[] cdata;
-        int oldSize = 0;
-        while (socket.hasReceiveMore()) {
-            cdata = socket.recv(ZMQ.DONTWAIT);
-            oldSize = data.length;
-            data = Arrays.copyOf(data, data.length + cdata.length);
-            System.arraycopy(cdata, 0, data, oldSize, cdata.length);
+        final byte[] data = socket.recv(ZMQ.DONTWAIT);
+        final ByteBuffer buffer;
+        if (socket.hasReceiveMore()) {
+            // Concatenate the frames with a single copy.
+            final List<byte[]> frames = new ArrayList<>();
+            frames.add(data);
+            int size = data.length;
+            while (socket.hasReceiveMore()) {
+                final byte[] frame = socket.recv(ZMQ.DONTWAIT);
+                frames.add(frame);
+                size += frame.length;
+            }
+            buffer = ByteBuffer.allocate(size);
+            for (final byte[] frame : frames) {
+                buffer.put(frame);
+            }
+            buffer.flip();
+        } else {
+            buffer = ByteBuffer.wrap(data);
         }
 
-        final ByteBuffer buffer = ByteBuffer.wrap(data);
+        final ByteBuffer contextId = readBlock(buffer);
+        assert contextId.hasRemaining();
 
-        final byte[] contextId = readBlock(buffer);
-        assert contextId != null && contextId.length > 0;
+        // A frame with several envelopes starts with a negative marker in place of the size of the first block.
+        final boolean batch = buffer.remaining() >= Ints.BYTES && buffer.getInt(buffer.position()) < 0;
+        if (batch) {
+            final int format = buffer.getInt();
+            if (format != ZeroMQPublisher.BATCH_FORMAT) {
+                throw new IOException(MessageFormat.format(Messages.ZeroMQNetworkService_17, Integer.valueOf(format)));
+            }
+        }
 
-        final byte[] spaceId = readBlock(buffer);
-        assert spaceId != null && spaceId.length > 0;
+        final List<EventEnvelope> envelopes = new ArrayList<>(1);
+        do {
+            final ByteBuffer spaceId = readBlock(buffer);
+            assert spaceId.hasRemaining();
 
-        final byte[] scope = readBlock(buffer);
-        assert scope != null && scope.length > 0;
+            final ByteBuffer scope = readBlock(buffer);
+            assert scope.hasRemaining();
 
-        final byte[] headers = readBlock(buffer);
-        assert headers != null && headers.length > 0;
+            final ByteBuffer headers = readBlock(buffer);
+            assert headers.hasRemaining();
 
-        final byte[] body = readBlock(buffer);
-        assert body != null && body.length > 0;
+            final ByteBuffer body = readBlock(buffer);
+            assert body.hasRemaining();
 
-        return new EventEnvelope(contextId, spaceId, scope, headers, body);
+            envelopes.add(new EventEnvelope(contextId, spaceId, scope, headers, body));
+        } while (batch && buffer.hasRemaining());
+        if (buffer.hasRemaining()) {
+            throw new IOException(MessageFormat.format(Messages.ZeroMQNetworkService_18, Integer.valueOf(buffer.remaining())));
+        }
+        return envelopes;
     }
 
     @SuppressWarnings("resource")
@@ -353,7 +442,7 @@ public class ZeroMQNetworkService extends AbstractNetworkingExecutionThreadServi
                 assert listener != null;
                 this.messageRecvListeners.put(space, listener);
             }
-            final byte[] header = buildFilterableHeader(this.serializer.serializeContextID(space.getContextID()));
+            final byte[] header = ZeroMQPublisher.buildFilterableHeader(this.serializer.serializeContextID(space.getContextID()));
             receptionSocket.subscribe(header);
             this.logger.debug(Messages.ZeroMQNetworkService_4, peerUri, space);
         }
@@ -365,7 +454,7 @@ public class ZeroMQNetworkService extends AbstractNetworkingExecutionThreadServi
         final Socket socket = this.receptionSocketsPerRemoteKernel.get(peer);
         if (socket != null) {
             this.logger.debug(Messages.ZeroMQNetworkService_5, peer, space);
-            final byte[] header = buildFilterableHeader(this.serializer.serializeContextID(space.getContextID()));
+            final byte[] header = ZeroMQPublisher.buildFilterableHeader(this.serializer.serializeContextID(space.getContextID()));
             socket.unsubscribe(header);
         }
     }
@@ -383,22 +472,55 @@ public class ZeroMQNetworkService extends AbstractNetworkingExecutionThreadServi
     }
 
     /**
-     * Extract data from a received envelope, and forwad it to the rest of the platform.
+     * Replies the inbound pipeline, which provides the metrics of the decoding workers.
+     *
+     * @return the pipeline, or <code>null</code> if the service is not running.
+     */
+    public ZeroMQReceivePipeline getReceivePipeline() {
+        return this.receiver;
+    }
+
+    /**
+     * Extract data from a received envelope.
+     *
+     * <p>This function is invoked by the decoding workers of the {@link ZeroMQReceivePipeline}, in parallel for
+     * the envelopes of a same space.
      *
      * @param env
      *            - the evenlope received over the network, and that must be deserialize.
+     * @return the deserialized event.
      * @throws Exception
      *             - if cannot deserialize the envelope.
      */
-    protected synchronized void receive(EventEnvelope env) throws Exception {
+    protected EventDispatch decode(EventEnvelope env) throws Exception {
         this.logger.debug(Messages.ZeroMQNetworkService_8, this.validatedURI, env);
+        final MetricHistogram histogram = this.deserializationTime;
+        final long start = histogram == null ? 0 : System.nanoTime();
         final EventDispatch dispatch = this.serializer.deserialize(env);
+        if (histogram != null) {
+            histogram.recordSince(start);
+            this.receivedEvents.increment();
+            this.receivedBytes.add(env.getSize());
+        }
         this.logger.debug(Messages.ZeroMQNetworkService_9, dispatch);
+        return dispatch;
+    }
 
+    /**
+     * Forward a received event to the rest of the platform.
+     *
+     * <p>This function is invoked by the lanes of the {@link ZeroMQReceivePipeline}. The events of a space
+     * are always given to the same lane, sequentially and in their reception order; the event is therefore given
+     * to the space in the current thread in order to keep this order.
+     *
+     * @param dispatch
+     *            - the deserialized event.
+     */
+    protected void dispatch(EventDispatch dispatch) {
         final SpaceID spaceID = dispatch.getSpaceID();
         final NetworkEventReceivingListener space = this.messageRecvListeners.get(spaceID);
         if (space != null) {
-            this.executorService.submit(new AsyncRunner(space, spaceID, dispatch.getScope(), dispatch.getEvent()));
+            space.eventReceived(spaceID, dispatch.getScope(), dispatch.getEvent());
         } else {
             this.logger.debug(Messages.ZeroMQNetworkService_10, spaceID, dispatch.getEvent());
         }
@@ -414,13 +536,13 @@ public class ZeroMQNetworkService extends AbstractNetworkingExecutionThreadServi
                         for (int i = 0; i < this.poller.getSize(); i++) {
                             if (this.poller.pollin(i)) {
                                 this.logger.debug(Messages.ZeroMQNetworkService_11, new Integer(i));
-                                final EventEnvelope ev = extractEnvelope(this.poller.getSocket(i));
-                                assert ev != null;
-
-                                try {
-                                    receive(ev);
-                                } catch (Throwable e) {
-                                    this.logger.log(Level.FINE, Messages.ZeroMQNetworkService_12, e);
+                                // Only the raw frames are read by this thread; the envelopes are decoded by the workers.
+                                final ZeroMQReceivePipeline pipeline = this.receiver;
+                                for (final EventEnvelope ev : extractEnvelopes(this.poller.getSocket(i))) {
+                                    assert ev != null;
+                                    if (pipeline == null || !pipeline.submit(ev)) {
+                                        this.logger.log(Level.FINE, Messages.ZeroMQNetworkService_12, ev);
+                                    }
                                 }
                             } else if (this.poller.pollerr(i)) {
                                 final int poolerIdx = i;
@@ -477,6 +599,18 @@ public class ZeroMQNetworkService extends AbstractNetworkingExecutionThreadServi
             this.bufferedConnections = null;
             this.poller = new Poller(1);
 
+            final ZeroMQPublisher pub = new ZeroMQPublisher(this.sendingSocket, this.logger,
+                    JanusConfig.getSystemPropertyAsInteger(NetworkConfig.BATCH_LINGER_NAME, NetworkConfig.BATCH_LINGER_VALUE),
+                    JanusConfig.getSystemPropertyAsInteger(NetworkConfig.BATCH_MAX_EVENTS_NAME, NetworkConfig.BATCH_MAX_EVENTS_VALUE),
+                    JanusConfig.getSystemPropertyAsInteger(NetworkConfig.BATCH_MAX_BYTES_NAME, NetworkConfig.BATCH_MAX_BYTES_VALUE));
+            pub.start();
+            this.publisher = pub;
+
+            this.receiver = new ZeroMQReceivePipeline(this.executorService::execute, this::decode, this::dispatch, this.logger,
+                    JanusConfig.getSystemPropertyAsInteger(NetworkConfig.RECEIVE_WORKERS_NAME, NetworkConfig.RECEIVE_WORKERS_VALUE),
+                    JanusConfig.getSystemPropertyAsInteger(NetworkConfig.RECEIVE_CAPACITY_NAME, NetworkConfig.RECEIVE_CAPACITY_VALUE),
+                    RECEIVE_BATCH_SIZE);
+
             this.kernelService.addKernelDiscoveryServiceListener(this.serviceListener);
             this.spaceService.addSpaceRepositoryListener(this.serviceListener);
         }
@@ -494,7 +628,19 @@ public class ZeroMQNetworkService extends AbstractNetworkingExecutionThreadServi
             // TODO this.poller.stop();
             // stopPoller();
 
-            // this.publisher.close();
+            // Discard the received envelopes that are not yet decoded.
+            final ZeroMQReceivePipeline rcv = this.receiver;
+            this.receiver = null;
+            if (rcv != null) {
+                rcv.stop();
+            }
+
+            // Send the queued events before closing the socket.
+            final ZeroMQPublisher pub = this.publisher;
+            this.publisher = null;
+            if (pub != null) {
+                pub.stop();
+            }
 
             this.context.destroy();
         }
@@ -598,37 +744,6 @@ public class ZeroMQNetworkService extends AbstractNetworkingExecutionThreadServi
 
     }
 
-    /**
-     * Asynchronous runner.
-     *
-     * @author $Author: sgalland$
-     * @version $FullVersion$
-     * @mavengroupid $GroupId$
-     * @mavenartifactid $ArtifactId$
-     */
-    private class AsyncRunner implements Runnable {
-
-        private final NetworkEventReceivingListener space;
-
-        private final SpaceID spaceID;
-
-        private final Scope<?> scope;
-
-        private final Event event;
-
-        AsyncRunner(NetworkEventReceivingListener space, SpaceID spaceID, Scope<?> scope, Event event) {
-            this.space = space;
-            this.spaceID = spaceID;
-            this.scope = scope;
-            this.event = event;
-        }
-
-        @Override
-        public void run() {
-            this.space.eventReceived(this.spaceID, this.scope, this.event);
-        }
-    }
-
     /**
      * Listener on platform events for updating the ZeroMQ service.
      *
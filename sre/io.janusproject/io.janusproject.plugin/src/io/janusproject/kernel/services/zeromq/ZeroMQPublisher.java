@@ -0,0 +1,403 @@
+/*
+ * $Id$
+ *
+ * SARL is an general-purpose agent programming language.
+ * More details on http://www.sarl.io
+ *
+ * Copyright (C) 2014-2016 the original authors or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.janusproject.kernel.services.zeromq;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.logging.Level;
+
+import com.google.common.primitives.Ints;
+import org.zeromq.ZMQ.Socket;
+
+import io.janusproject.services.logging.LogService;
+import io.janusproject.services.network.EventEnvelope;
+
+/**
+ * Outbound pipeline of the ZeroMQ network service.
+ *
+ * <p>The envelopes to publish are pushed into a lock-free queue by the emitting threads. A dedicated sender
+ * thread, which is the only one to use the ZeroMQ socket, drains the queue and coalesces the envelopes into batches.
+ * A batch is closed when it contains {@code maxEvents} envelopes, when its size reaches {@code maxBytes} bytes,
+ * or when no more envelope was received during the {@code linger} delay after the first envelope of the batch.
+ *
+ * <p>Because the subscribers are filtering the messages on the context identifier, the envelopes of a batch
+ * are grouped by context. Each group is sent as a ZeroMQ message of two frames: the filterable header of the context,
+ * and a frame containing the sequence of the blocks (space identifier, scope, headers and body) of the envelopes.
+ * A message with a single envelope has the same content as the messages that were sent before the batching.
+ * The frame of a message with several envelopes starts with the negative marker {@link #BATCH_FORMAT}, which
+ * cannot be the size of a block: the kernels that do not support the batches reject these messages instead of
+ * reading only their first envelopes. Because all the kernels must support this format, the batching is disabled
+ * by default (see {@link io.janusproject.services.network.NetworkConfig#BATCH_MAX_EVENTS_NAME}).
+ *
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ */
+public class ZeroMQPublisher implements Runnable {
+
+    /**
+     * Marker of the frames that contain several envelopes. It is written in place of the size of the first block.
+     */
+    public static final int BATCH_FORMAT = -1;
+
+    private static final int BLOCKS_PER_ENVELOPE = 4;
+
+    private static final long IDLE_DELAY = 100;
+
+    private static final long JOIN_DELAY = 5000;
+
+    private final Queue<EventEnvelope> queue = new ConcurrentLinkedQueue<>();
+
+    private final AtomicInteger queueSize = new AtomicInteger();
+
+    private final AtomicInteger maxQueueSize = new AtomicInteger();
+
+    private final AtomicLong batchCount = new AtomicLong();
+
+    private final AtomicLong eventCount = new AtomicLong();
+
+    private final AtomicLong byteCount = new AtomicLong();
+
+    private volatile int lastBatchSize;
+
+    private volatile int largestBatchSize;
+
+    private final Socket socket;
+
+    private final LogService logger;
+
+    private final long lingerDelay;
+
+    private final int maxEvents;
+
+    private final int maxBytes;
+
+    private volatile boolean running;
+
+    private volatile Thread thread;
+
+    /**
+     * Construct a publisher.
+     *
+     * @param socket - the ZeroMQ socket to write into. It must not be used by another thread.
+     * @param logger - the logger to use for reporting the sending errors.
+     * @param lingerDelay - the delay (in milliseconds) during which the sender is waiting for more envelopes
+     *     before sending an incomplete batch. If it is not strictly positive, the sender does not wait.
+     * @param maxEvents - the maximal number of envelopes in a batch.
+     * @param maxBytes - the maximal number of bytes in a batch. A batch may overflow this size with its last envelope.
+     */
+    public ZeroMQPublisher(Socket socket, LogService logger, long lingerDelay, int maxEvents, int maxBytes) {
+        assert socket != null;
+        this.socket = socket;
+        this.logger = logger;
+        this.lingerDelay = TimeUnit.MILLISECONDS.toNanos(Math.max(0, lingerDelay));
+        this.maxEvents = Math.max(1, maxEvents);
+        this.maxBytes = Math.max(1, maxBytes);
+    }
+
+    /**
+     * Start the sender thread.
+     */
+    public synchronized void start() {
+        if (this.thread == null) {
+            this.running = true;
+            final Thread senderThread = new Thread(this, getClass().getSimpleName());
+            senderThread.setDaemon(true);
+            this.thread = senderThread;
+            senderThread.start();
+        }
+    }
+
+    /**
+     * Stop the sender thread after it has sent the envelopes that are already queued.
+     *
+     * <p>If the envelopes are not sent after a delay, the sender thread is interrupted. In all the cases, this
+     * function returns when the sender thread has exited; then the socket may be closed.
+     *
+     * @throws InterruptedException - if the current thread was interrupted during the stop.
+     */
+    public synchronized void stop() throws InterruptedException {
+        final Thread senderThread = this.thread;
+        if (senderThread != null) {
+            this.running = false;
+            LockSupport.unpark(senderThread);
+            senderThread.join(JOIN_DELAY);
+            if (senderThread.isAlive()) {
+                senderThread.interrupt();
+                senderThread.join();
+            }
+            this.thread = null;
+        }
+    }
+
+    /**
+     * Queue the given envelope for being published.
+     *
+     * <p>This function never blocks.
+     *
+     * @param envelope - the envelope to publish.
+     */
+    public void publish(EventEnvelope envelope) {
+        assert envelope != null;
+        this.queue.offer(envelope);
+        final int previousSize = this.queueSize.getAndIncrement();
+        final int size = previousSize + 1;
+        int max = this.maxQueueSize.get();
+        while (size > max && !this.maxQueueSize.compareAndSet(max, size)) {
+            max = this.maxQueueSize.get();
+        }
+        if (previousSize <= 0) {
+            final Thread senderThread = this.thread;
+            if (senderThread != null) {
+                LockSupport.unpark(senderThread);
+            }
+        }
+    }
+
+    /**
+     * Replies the number of envelopes that are waiting for being sent.
+     *
+     * @return the depth of the sending queue.
+     */
+    public int getQueueSize() {
+        return Math.max(0, this.queueSize.get());
+    }
+
+    /**
+     * Replies the highest number of envelopes that were waiting for being sent at the same time.
+     *
+     * @return the highest depth of the sending queue.
+     */
+    public int getMaxQueueSize() {
+        return this.maxQueueSize.get();
+    }
+
+    /**
+     * Replies the number of batches that were sent.
+     *
+     * @return the number of batches.
+     */
+    public long getBatchCount() {
+        return this.batchCount.get();
+    }
+
+    /**
+     * Replies the number of envelopes that were sent.
+     *
+     * @return the number of envelopes.
+     */
+    public long getEventCount() {
+        return this.eventCount.get();
+    }
+
+    /**
+     * Replies the number of bytes that were sent, excluding the ZeroMQ headers.
+     *
+     * @return the number of bytes.
+     */
+    public long getByteCount() {
+        return this.byteCount.get();
+    }
+
+    /**
+     * Replies the number of envelopes in the last sent batch.
+     *
+     * @return the size of the last batch.
+     */
+    public int getLastBatchSize() {
+        return this.lastBatchSize;
+    }
+
+    /**
+     * Replies the highest number of envelopes in a sent batch.
+     *
+     * @return the size of the largest batch.
+     */
+    public int getLargestBatchSize() {
+        return this.largestBatchSize;
+    }
+
+    /**
+     * Replies the average number of envelopes in the sent batches.
+     *
+     * @return the average size of the batches.
+     */
+    public double getAverageBatchSize() {
+        final long batches = this.batchCount.get();
+        if (batches <= 0) {
+            return 0.;
+        }
+        return ((double) this.eventCount.get()) / batches;
+    }
+
+    private EventEnvelope poll() {
+        final EventEnvelope envelope = this.queue.poll();
+        if (envelope != null) {
+            this.queueSize.decrementAndGet();
+        }
+        return envelope;
+    }
+
+    @Override
+    public void run() {
+        final Map<ByteBuffer, List<EventEnvelope>> batch = new LinkedHashMap<>();
+        while ((this.running || !this.queue.isEmpty()) && !Thread.currentThread().isInterrupted()) {
+            EventEnvelope envelope = poll();
+            if (envelope == null) {
+                LockSupport.parkNanos(this, TimeUnit.MILLISECONDS.toNanos(IDLE_DELAY));
+            } else {
+                final long deadline = System.nanoTime() + this.lingerDelay;
+                int events = 0;
+                int bytes = 0;
+                do {
+                    final ByteBuffer contextId = envelope.getContextIdBuffer();
+                    List<EventEnvelope> group = batch.get(contextId);
+                    if (group == null) {
+                        group = new ArrayList<>();
+                        batch.put(contextId, group);
+                    }
+                    group.add(envelope);
+                    ++events;
+                    bytes += getPayloadSize(envelope);
+                    if (events >= this.maxEvents || bytes >= this.maxBytes) {
+                        envelope = null;
+                    } else {
+                        envelope = poll();
+                        long remaining = deadline - System.nanoTime();
+                        while (envelope == null && remaining > 0 && this.running
+                                && !Thread.currentThread().isInterrupted()) {
+                            LockSupport.parkNanos(this, remaining);
+                            envelope = poll();
+                            remaining = deadline - System.nanoTime();
+                        }
+                    }
+                } while (envelope != null);
+                send(batch, events);
+                batch.clear();
+            }
+        }
+    }
+
+    private void send(Map<ByteBuffer, List<EventEnvelope>> batch, int events) {
+        for (final Entry<ByteBuffer, List<EventEnvelope>> entry : batch.entrySet()) {
+            final List<EventEnvelope> group = entry.getValue();
+            try {
+                final byte[] payload = buildPayload(group);
+                this.socket.sendMore(buildFilterableHeader(entry.getKey()));
+                this.socket.send(payload);
+                this.byteCount.addAndGet(payload.length);
+                this.eventCount.addAndGet(group.size());
+            } catch (Throwable exception) {
+                if (exception instanceof InterruptedException) {
+                    // Keep the interruption for stopping the sender thread.
+                    Thread.currentThread().interrupt();
+                }
+                if (this.logger != null) {
+                    this.logger.log(Level.SEVERE, Messages.ZeroMQPublisher_0, Integer.valueOf(group.size()), exception);
+                }
+            }
+        }
+        this.batchCount.incrementAndGet();
+        this.lastBatchSize = events;
+        if (events > this.largestBatchSize) {
+            this.largestBatchSize = events;
+        }
+    }
+
+    private static int getPayloadSize(EventEnvelope envelope) {
+        return Ints.BYTES * BLOCKS_PER_ENVELOPE + envelope.getSize() - envelope.getContextIdBuffer().remaining();
+    }
+
+    /**
+     * Build the frame that contains the given envelopes, excluding their context identifiers.
+     *
+     * <p>For each envelope, the frame contains the blocks of the space identifier, of the scope, of the custom headers
+     * and of the body. Each block is prefixed by its size. If there is more than one envelope, the frame starts
+     * with {@link #BATCH_FORMAT}.
+     *
+     * @param envelopes - the envelopes to put in the frame. They must have the same context identifier.
+     * @return the content of the frame.
+     */
+    public static byte[] buildPayload(Iterable<EventEnvelope> envelopes) {
+        int size = 0;
+        int count = 0;
+        for (final EventEnvelope envelope : envelopes) {
+            size += getPayloadSize(envelope);
+            ++count;
+        }
+        if (count > 1) {
+            size += Ints.BYTES;
+        }
+        final ByteBuffer buffer = ByteBuffer.allocate(size);
+        if (count > 1) {
+            buffer.putInt(BATCH_FORMAT);
+        }
+        for (final EventEnvelope envelope : envelopes) {
+            writeBlock(buffer, envelope.getSpaceIdBuffer());
+            writeBlock(buffer, envelope.getScopeBuffer());
+            writeBlock(buffer, envelope.getCustomHeadersBuffer());
+            writeBlock(buffer, envelope.getBodyBuffer());
+        }
+        return buffer.array();
+    }
+
+    private static void writeBlock(ByteBuffer buffer, ByteBuffer block) {
+        buffer.putInt(block.remaining());
+        buffer.put(block);
+    }
+
+    /**
+     * Build the byte array that may be used for the ZeroMQ filtering associated with {@link Socket#subscribe(byte[])}.
+     * For a given contextID, this function must always reply the same sequence of bytes.
+     *
+     * @param contextID - the identifier of the context.
+     * @return the header of the ZeroMQ message that may be used for filtering.
+     */
+    public static byte[] buildFilterableHeader(byte[] contextID) {
+        return buildFilterableHeader(ByteBuffer.wrap(contextID));
+    }
+
+    /**
+     * Build the byte array that may be used for the ZeroMQ filtering associated with {@link Socket#subscribe(byte[])}.
+     * For a given contextID, this function must always reply the same sequence of bytes.
+     *
+     * @param contextID - the view on the identifier of the context. Its position is not changed.
+     * @return the header of the ZeroMQ message that may be used for filtering.
+     */
+    public static byte[] buildFilterableHeader(ByteBuffer contextID) {
+        final ByteBuffer header = ByteBuffer.allocate(Ints.BYTES + contextID.remaining());
+        writeBlock(header, contextID.duplicate());
+        return header.array();
+    }
+
+}
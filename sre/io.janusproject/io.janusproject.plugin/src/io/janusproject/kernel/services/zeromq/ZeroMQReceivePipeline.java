@@ -0,0 +1,442 @@
+/*
+ * $Id$
+ *
+ * SARL is an general-purpose agent programming language.
+ * More details on http://www.sarl.io
+ *
+ * Copyright (C) 2014-2016 the original authors or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.janusproject.kernel.services.zeromq;
+
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+
+import io.janusproject.services.logging.LogService;
+import io.janusproject.services.network.EventDispatch;
+import io.janusproject.services.network.EventEnvelope;
+
+import io.sarl.lang.core.SpaceID;
+
+/**
+ * Inbound pipeline of the ZeroMQ network service.
+ *
+ * <p>The thread that is polling the ZeroMQ sockets only extracts the raw envelopes, and gives them to this pipeline.
+ * The pipeline has two stages, which are run by tasks of the executor service:
+ * <ol>
+ * <li>the envelopes are decrypted and deserialized by a bounded number of decoding workers. Any worker decodes any
+ * envelope, whatever its context or its space, so that the envelopes of a single context are decoded in parallel;</li>
+ * <li>the decoded events are dispatched by lanes. The lane of an event is selected from its space identifier, which is
+ * known only after the decoding. Each lane is drained by at most one task at a time, so that the events of a space are
+ * dispatched sequentially.</li>
+ * </ol>
+ * Each envelope is numbered when it is submitted. The decoded events are given to their lanes in this reception order,
+ * after the envelopes received before them are decoded. The order of the events in a space is therefore preserved,
+ * and the events of different spaces are dispatched in parallel.
+ *
+ * <p>When the pipeline contains the maximal number of envelopes, the polling thread waits for free space: the ZeroMQ
+ * sockets are not read until the workers have caught up.
+ *
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ */
+public class ZeroMQReceivePipeline {
+
+    private static final long IDLE_DELAY = 100;
+
+    private static final int SHIFT = 16;
+
+    private final Executor executor;
+
+    private final EnvelopeDecoder decoder;
+
+    private final EventDispatchHandler handler;
+
+    private final LogService logger;
+
+    private final int workers;
+
+    private final int capacity;
+
+    private final int batchSize;
+
+    /** Number of envelopes that could be added into the pipeline.
+     */
+    private final Semaphore freeSlots;
+
+    /** Next reception number of a submitted envelope.
+     */
+    private final AtomicLong receptionCounter = new AtomicLong();
+
+    /** Envelopes that are waiting for being decoded by any worker.
+     */
+    private final Queue<Slot> decodingQueue = new ConcurrentLinkedQueue<>();
+
+    private final AtomicInteger activeDecoders = new AtomicInteger();
+
+    private final Runnable decodingTask = this::decodeEnvelopes;
+
+    /** Decoded envelopes that are waiting for the decoding of the envelopes received before them.
+     * The keys are the reception numbers.
+     */
+    private final Map<Long, Slot> decodedSlots = new ConcurrentHashMap<>();
+
+    private final AtomicBoolean releasing = new AtomicBoolean();
+
+    /** Reception number of the next envelope to give to its lane. It is changed only by the releasing thread.
+     */
+    private volatile long nextRelease;
+
+    private final Lane[] lanes;
+
+    private volatile boolean running = true;
+
+    /**
+     * Construct a pipeline.
+     *
+     * @param executor - the executor that is running the workers.
+     * @param decoder - the decoder of the envelopes, invoked by the decoding workers.
+     * @param handler - the handler of the decoded events, invoked by the lanes.
+     * @param logger - the logger to use for reporting the errors of the decoder and of the handler.
+     * @param workers - the number of decoding workers, and of lanes. If it is not strictly positive, the number of
+     *     available processors is used.
+     * @param capacity - the maximal number of envelopes in the pipeline, from their submission to their dispatching.
+     * @param batchSize - the maximal number of envelopes that are handled by a single task of a worker or of a lane.
+     */
+    public ZeroMQReceivePipeline(Executor executor, EnvelopeDecoder decoder, EventDispatchHandler handler,
+            LogService logger, int workers, int capacity, int batchSize) {
+        assert executor != null;
+        assert decoder != null;
+        assert handler != null;
+        this.executor = executor;
+        this.decoder = decoder;
+        this.handler = handler;
+        this.logger = logger;
+        this.batchSize = Math.max(1, batchSize);
+        this.workers = workers > 0 ? workers : Runtime.getRuntime().availableProcessors();
+        this.capacity = Math.max(1, capacity);
+        this.freeSlots = new Semaphore(this.capacity);
+        this.lanes = new Lane[this.workers];
+        for (int i = 0; i < this.workers; ++i) {
+            this.lanes[i] = new Lane();
+        }
+    }
+
+    /**
+     * Replies the number of decoding workers.
+     *
+     * @return the number of workers.
+     */
+    public int getWorkerCount() {
+        return this.workers;
+    }
+
+    /**
+     * Replies the number of envelopes that are waiting for being decoded or dispatched.
+     *
+     * @return the number of envelopes in the pipeline.
+     */
+    public int getQueueSize() {
+        return this.capacity - this.freeSlots.availablePermits();
+    }
+
+    /**
+     * Replies the index of the lane that is dispatching the events of the given space.
+     *
+     * @param spaceID - the identifier of the space.
+     * @return the index of the lane.
+     */
+    public int getLaneIndex(SpaceID spaceID) {
+        int hash = spaceID.hashCode();
+        hash ^= hash >>> SHIFT;
+        return (hash & Integer.MAX_VALUE) % this.lanes.length;
+    }
+
+    /**
+     * Give the given envelope to the pipeline.
+     *
+     * <p>This function blocks while the pipeline is full. The envelopes of a space must be submitted by a single
+     * thread, in their reception order.
+     *
+     * @param envelope - the received envelope.
+     * @return {@code true} if the envelope will be handled; {@code false} if the pipeline is stopped.
+     * @throws InterruptedException - if the current thread was interrupted during the waiting for free space.
+     */
+    public boolean submit(EventEnvelope envelope) throws InterruptedException {
+        assert envelope != null;
+        while (this.running) {
+            if (this.freeSlots.tryAcquire(IDLE_DELAY, TimeUnit.MILLISECONDS)) {
+                this.decodingQueue.offer(new Slot(this.receptionCounter.getAndIncrement(), envelope));
+                scheduleDecoder();
+                return true;
+            }
+            // The tasks may have been rejected by the executor; retry their scheduling.
+            scheduleDecoder();
+            for (final Lane lane : this.lanes) {
+                if (!lane.queue.isEmpty()) {
+                    lane.schedule();
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Stop the pipeline. The envelopes that are not yet handled are discarded.
+     */
+    public void stop() {
+        this.running = false;
+        discard(this.decodingQueue);
+        for (final Long reception : this.decodedSlots.keySet()) {
+            if (this.decodedSlots.remove(reception) != null) {
+                this.freeSlots.release();
+            }
+        }
+        for (final Lane lane : this.lanes) {
+            discard(lane.queue);
+        }
+    }
+
+    private void discard(Queue<Slot> queue) {
+        while (queue.poll() != null) {
+            this.freeSlots.release();
+        }
+    }
+
+    private void log(Throwable exception) {
+        final LogService log = this.logger;
+        if (log != null) {
+            log.log(Level.FINE, Messages.ZeroMQReceivePipeline_0, exception);
+        }
+    }
+
+    /** Start a decoding worker if the maximal number of workers is not reached.
+     */
+    private void scheduleDecoder() {
+        int active = this.activeDecoders.get();
+        while (active < this.workers) {
+            if (this.activeDecoders.compareAndSet(active, active + 1)) {
+                try {
+                    this.executor.execute(this.decodingTask);
+                } catch (RuntimeException exception) {
+                    this.activeDecoders.decrementAndGet();
+                    throw exception;
+                }
+                return;
+            }
+            active = this.activeDecoders.get();
+        }
+    }
+
+    /** Decode a bounded number of envelopes. This function is the task of the decoding workers.
+     */
+    private void decodeEnvelopes() {
+        try {
+            Slot slot;
+            int count = 0;
+            while (count < this.batchSize && this.running && (slot = this.decodingQueue.poll()) != null) {
+                ++count;
+                try {
+                    slot.dispatch = this.decoder.decode(slot.envelope);
+                } catch (Throwable exception) {
+                    slot.error = exception;
+                }
+                this.decodedSlots.put(Long.valueOf(slot.reception), slot);
+                releaseDecodedSlots();
+            }
+        } finally {
+            this.activeDecoders.decrementAndGet();
+            // An envelope may be added after the last poll and before the decrement of the active workers.
+            if (this.running && !this.decodingQueue.isEmpty()) {
+                scheduleDecoder();
+            }
+        }
+    }
+
+    /** Give the decoded envelopes to their lanes in their reception order.
+     *
+     * <p>The envelopes are released by a single thread at a time. When another thread is releasing, the envelope
+     * that was just decoded is released by this other thread, which checks for it after it has stopped releasing.
+     */
+    private void releaseDecodedSlots() {
+        do {
+            if (!this.releasing.compareAndSet(false, true)) {
+                return;
+            }
+            try {
+                Slot slot;
+                while ((slot = this.decodedSlots.remove(Long.valueOf(this.nextRelease))) != null) {
+                    ++this.nextRelease;
+                    if (slot.error != null) {
+                        log(slot.error);
+                        this.freeSlots.release();
+                    } else {
+                        final Lane lane = this.lanes[getLaneIndex(slot.dispatch.getSpaceID())];
+                        lane.queue.offer(slot);
+                        lane.schedule();
+                    }
+                }
+            } finally {
+                this.releasing.set(false);
+            }
+        } while (this.decodedSlots.containsKey(Long.valueOf(this.nextRelease)));
+    }
+
+    /**
+     * Decoder of the envelopes received by the network.
+     *
+     * @author $Author: sgalland$
+     * @version $FullVersion$
+     * @mavengroupid $GroupId$
+     * @mavenartifactid $ArtifactId$
+     */
+    @FunctionalInterface
+    public interface EnvelopeDecoder {
+
+        /**
+         * Decrypt and deserialize the given envelope.
+         *
+         * @param envelope - the received envelope.
+         * @return the decoded event.
+         * @throws Exception - if the envelope cannot be decoded.
+         */
+        EventDispatch decode(EventEnvelope envelope) throws Exception;
+
+    }
+
+    /**
+     * Handler of the events received by the network.
+     *
+     * @author $Author: sgalland$
+     * @version $FullVersion$
+     * @mavengroupid $GroupId$
+     * @mavenartifactid $ArtifactId$
+     */
+    @FunctionalInterface
+    public interface EventDispatchHandler {
+
+        /**
+         * Dispatch the given event to the platform.
+         *
+         * @param dispatch - the decoded event.
+         * @throws Exception - if the event cannot be dispatched.
+         */
+        void dispatch(EventDispatch dispatch) throws Exception;
+
+    }
+
+    /**
+     * Envelope in the pipeline.
+     *
+     * @author $Author: sgalland$
+     * @version $FullVersion$
+     * @mavengroupid $GroupId$
+     * @mavenartifactid $ArtifactId$
+     */
+    private static class Slot {
+
+        final long reception;
+
+        final EventEnvelope envelope;
+
+        EventDispatch dispatch;
+
+        Throwable error;
+
+        /** Constructor.
+         *
+         * @param reception the reception number of the envelope.
+         * @param envelope the envelope.
+         */
+        Slot(long reception, EventEnvelope envelope) {
+            this.reception = reception;
+            this.envelope = envelope;
+        }
+
+    }
+
+    /**
+     * Lane of the pipeline. The decoded events are stored into a queue, which is drained by at most one task
+     * of the executor at a time. Each task dispatches a bounded number of events, and reschedules itself if the
+     * queue is not empty, in order to let the other tasks access to the executor.
+     *
+     * @author $Author: sgalland$
+     * @version $FullVersion$
+     * @mavengroupid $GroupId$
+     * @mavenartifactid $ArtifactId$
+     */
+    private class Lane implements Runnable {
+
+        final Queue<Slot> queue = new ConcurrentLinkedQueue<>();
+
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+
+        @SuppressWarnings("synthetic-access")
+        void schedule() {
+            if (this.scheduled.compareAndSet(false, true)) {
+                try {
+                    ZeroMQReceivePipeline.this.executor.execute(this);
+                } catch (RuntimeException exception) {
+                    this.scheduled.set(false);
+                    throw exception;
+                }
+            }
+        }
+
+        @SuppressWarnings("synthetic-access")
+        @Override
+        public void run() {
+            try {
+                Slot slot;
+                int count = 0;
+                while (count < ZeroMQReceivePipeline.this.batchSize && ZeroMQReceivePipeline.this.running
+                        && (slot = this.queue.poll()) != null) {
+                    ++count;
+                    try {
+                        ZeroMQReceivePipeline.this.handler.dispatch(slot.dispatch);
+                    } catch (Throwable exception) {
+                        log(exception);
+                    } finally {
+                        ZeroMQReceivePipeline.this.freeSlots.release();
+                    }
+                }
+            } finally {
+                this.scheduled.set(false);
+                // An event may be added after the last poll and before the scheduling flag was reset.
+                if (ZeroMQReceivePipeline.this.running && !this.queue.isEmpty()) {
+                    schedule();
+                }
+            }
+        }
+
+        @Override
+        public String toString() {
+            return "[receive lane; size=" + this.queue.size() + "]"; //$NON-NLS-1$ //$NON-NLS-2$
+        }
+
+    }
+
+}
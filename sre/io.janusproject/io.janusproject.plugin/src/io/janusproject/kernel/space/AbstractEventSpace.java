@@ -21,6 +21,9 @@
 
 package io.janusproject.kernel.space;
 
+import java.text.MessageFormat;
+import java.util.Map;
+import java.util.Map.Entry;
 import java.util.UUID;
 
 import com.google.inject.Inject;
@@ -29,6 +32,8 @@ import io.janusproject.kernel.repository.UniqueAddressParticipantRepository;
 import io.janusproject.services.distributeddata.DistributedDataStructureService;
 import io.janusproject.services.executor.ExecutorService;
 import io.janusproject.services.logging.LogService;
+import io.janusproject.services.metrics.MetricCounter;
+import io.janusproject.services.metrics.MetricsService;
 import io.janusproject.services.network.NetworkService;
 
 import io.sarl.lang.core.Address;
@@ -38,7 +43,9 @@ import io.sarl.lang.core.Scope;
 import io.sarl.lang.core.SpaceID;
 import io.sarl.lang.util.SynchronizedSet;
 import io.sarl.util.Collections3;
+import io.sarl.util.EnumerableScope;
 import io.sarl.util.Scopes;
+import io.sarl.util.SpaceSpecificScope;
 
 /**
  * Abstract implementation of an event space.
@@ -75,6 +82,10 @@ public abstract class AbstractEventSpace extends SpaceBase {
 	@Inject
 	private NetworkService network;
 
+	private MetricCounter emittedEvents;
+
+	private MetricCounter deliveredEvents;
+
 	/**
 	 * Constructs an event space.
 	 *
@@ -87,6 +98,23 @@ public abstract class AbstractEventSpace extends SpaceBase {
 				factory);
 	}
 
+	/**
+	 * Change the service that collects the runtime metrics of this space.
+	 *
+	 * @param service - the metrics service.
+	 */
+	@Inject(optional = true)
+	public void setMetricsService(MetricsService service) {
+		if (service == null) {
+			this.emittedEvents = null;
+			this.deliveredEvents = null;
+		} else {
+			final String prefix = MetricsService.SPACE_PREFIX + getSpaceID().getID();
+			this.emittedEvents = service.getCounter(prefix + MetricsService.SPACE_EMITTED_EVENTS_SUFFIX);
+			this.deliveredEvents = service.getCounter(prefix + MetricsService.SPACE_DELIVERED_EVENTS_SUFFIX);
+		}
+	}
+
 	/**
 	 * Replies the address associated to the given participant.
 	 *
@@ -104,9 +132,7 @@ public abstract class AbstractEventSpace extends SpaceBase {
 	 * @return the address.
 	 */
 	public Address getAddress(UUID id) {
-		synchronized (this.participants) {
-			return this.participants.getAddress(id);
-		}
+		return this.participants.getAddress(id);
 	}
 
 	/**
@@ -116,13 +142,22 @@ public abstract class AbstractEventSpace extends SpaceBase {
 	 *
 	 * @param event - the event to emit.
 	 * @param scope - description of the scope of the event, i.e. the receivers of the event.
+	 * @throws IllegalArgumentException - if the scope is not supported by this space.
 	 * @see #emit(Event)
+	 * @see #isSupportedScope(Scope)
 	 */
 	public final void emit(Event event, Scope<Address> scope) {
 		assert event != null;
 		assert event.getSource() != null : "Every event must have a source"; //$NON-NLS-1$
 		assert this.getSpaceID().equals(event.getSource().getSpaceId()) : "The source address must belong to this space"; //$NON-NLS-1$
+		if (!isSupportedScope(scope)) {
+			throw new IllegalArgumentException(MessageFormat.format(Messages.AbstractEventSpace_2, scope, getSpaceID()));
+		}
 
+		final MetricCounter counter = this.emittedEvents;
+		if (counter != null) {
+			counter.increment();
+		}
 		try {
 			this.network.publish(scope, event);
 			doEmit(event, scope);
@@ -144,30 +179,70 @@ public abstract class AbstractEventSpace extends SpaceBase {
 		emit(event, Scopes.<Address>allParticipants());
 	}
 
+	/**
+	 * Replies if the given scope could be evaluated by this space.
+	 *
+	 * <p>A {@link SpaceSpecificScope} never matches a participant: it is evaluated only by the space that is
+	 * dedicated to it, which overrides this function. These scopes are not supported by the other spaces, in which
+	 * the events would be silently dropped.
+	 *
+	 * @param scope - the scope to test.
+	 * @return <code>true</code> if the scope is supported by this space.
+	 */
+	protected boolean isSupportedScope(Scope<?> scope) {
+		return !(scope instanceof SpaceSpecificScope);
+	}
+
 	/**
 	 * Do the emission of the event.
 	 *
 	 * <p>This function emits the event <strong>only on the internal event bus</strong> of the agents.
 	 *
+	 * <p>If the scope is an {@link EnumerableScope}, the event is delivered to the enumerated receivers that are
+	 * participating to this space, without testing the other participants. Otherwise, all the participants
+	 * are tested against the scope. In both cases, the participants are read without locking the repository.
+	 *
 	 * @param event - the event to emit.
 	 * @param scope - description of the scope of the event, i.e. the receivers of the event.
 	 */
 	protected void doEmit(Event event, Scope<? super Address> scope) {
-		synchronized (this.participants) {
-			for (final EventListener agent : this.participants.getListeners()) {
-				if (scope.matches(getAddress(agent))) {
-					// TODO Verify the agent is still alive and running
-					this.executorService.submit(new AsyncRunner(agent, event));
+		final Map<Address, EventListener> listeners = this.participants.getListenersView();
+		if (scope instanceof EnumerableScope<?>) {
+			for (final Object receiver : ((EnumerableScope<?>) scope).getReceivers()) {
+				if (receiver instanceof Address) {
+					final EventListener agent = listeners.get(receiver);
+					if (agent != null) {
+						deliver(agent, event);
+					}
+				}
+			}
+		} else {
+			for (final Entry<Address, EventListener> entry : listeners.entrySet()) {
+				if (scope.matches(entry.getKey())) {
+					deliver(entry.getValue(), event);
 				}
 			}
 		}
 	}
 
+	/**
+	 * Deliver the event to the given participant asynchronously.
+	 *
+	 * @param agent - the participant that must receive the event.
+	 * @param event - the event to deliver.
+	 */
+	protected void deliver(EventListener agent, Event event) {
+		// TODO Verify the agent is still alive and running
+		final MetricCounter counter = this.deliveredEvents;
+		if (counter != null) {
+			counter.increment();
+		}
+		this.executorService.submit(new AsyncRunner(agent, event));
+	}
+
 	@Override
 	public SynchronizedSet<UUID> getParticipants() {
-		synchronized (this.participants) {
-			return Collections3.unmodifiableSynchronizedSet(this.participants.getParticipantIDs());
-		}
+		return Collections3.unmodifiableSynchronizedSet(this.participants.getParticipantIDs());
 	}
 
 	@Override
@@ -53,16 +53,12 @@ public class EventSpaceImpl extends AbstractEventSpace implements OpenEventSpace
 	@Override
 	public Address register(EventListener entity) {
 		final Address a = new Address(getSpaceID(), entity.getID());
-		synchronized (this.participants) {
-			return this.participants.registerParticipant(a, entity);
-		}
+		return this.participants.registerParticipant(a, entity);
 	}
 
 	@Override
 	public Address unregister(EventListener entity) {
-		synchronized (this.participants) {
-			return this.participants.unregisterParticipant(entity);
-		}
+		return this.participants.unregisterParticipant(entity);
 	}
 
 }
@@ -35,6 +35,8 @@ public class Messages extends NLS {
 	private static final String BUNDLE_NAME = "io.janusproject.kernel.space.messages"; //$NON-NLS-1$
 	public static String AbstractEventSpace_0;
 	public static String AbstractEventSpace_1;
+	public static String AbstractEventSpace_2;
+	public static String SpatialGrid_0;
 	static {
 		// initialize resource bundle
 		NLS.initializeMessages(BUNDLE_NAME, Messages.class);
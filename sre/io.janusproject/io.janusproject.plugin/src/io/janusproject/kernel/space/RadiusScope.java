@@ -0,0 +1,121 @@
+/*
+ * $Id$
+ *
+ * SARL is an general-purpose agent programming language.
+ * More details on http://www.sarl.io
+ *
+ * Copyright (C) 2014-2016 the original authors or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.janusproject.kernel.space;
+
+import java.util.Objects;
+
+import io.sarl.lang.core.Address;
+import io.sarl.util.SpaceSpecificScope;
+
+/**
+ * Scope that is restricted to the participants of a {@link SpatialEventSpace} that are located
+ * inside a disc.
+ *
+ * <p>The positions of the participants are known by the spatial space only. Consequently, this scope
+ * is evaluated by {@link SpatialEventSpace} with its spatial index, and {@link #matches(Address)} replies
+ * always <code>false</code>. The other event spaces are rejecting this scope.
+ *
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ */
+public class RadiusScope implements SpaceSpecificScope<Address> {
+
+	private static final long serialVersionUID = -3580154532960137826L;
+
+	private static final String SCOPE_ID = "radius://"; //$NON-NLS-1$
+
+	private final double x;
+
+	private final double y;
+
+	private final double radius;
+
+	/**
+	 * Construct a scope.
+	 *
+	 * @param x - the x coordinate of the center of the disc.
+	 * @param y - the y coordinate of the center of the disc.
+	 * @param radius - the radius of the disc.
+	 */
+	public RadiusScope(double x, double y, double radius) {
+		this.x = x;
+		this.y = y;
+		this.radius = radius;
+	}
+
+	/**
+	 * Replies the x coordinate of the center of the disc.
+	 *
+	 * @return the x coordinate.
+	 */
+	public double getX() {
+		return this.x;
+	}
+
+	/**
+	 * Replies the y coordinate of the center of the disc.
+	 *
+	 * @return the y coordinate.
+	 */
+	public double getY() {
+		return this.y;
+	}
+
+	/**
+	 * Replies the radius of the disc.
+	 *
+	 * @return the radius.
+	 */
+	public double getRadius() {
+		return this.radius;
+	}
+
+	@Override
+	public boolean matches(Address element) {
+		return false;
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj) {
+			return true;
+		}
+		if (obj instanceof RadiusScope) {
+			final RadiusScope scope = (RadiusScope) obj;
+			return Double.compare(this.x, scope.x) == 0 && Double.compare(this.y, scope.y) == 0
+					&& Double.compare(this.radius, scope.radius) == 0;
+		}
+		return false;
+	}
+
+	@Override
+	public int hashCode() {
+		return Objects.hash(Double.valueOf(this.x), Double.valueOf(this.y), Double.valueOf(this.radius));
+	}
+
+	@Override
+	public String toString() {
+		return SCOPE_ID + this.x + "," + this.y + "," + this.radius; //$NON-NLS-1$ //$NON-NLS-2$
+	}
+
+}
@@ -87,9 +87,7 @@ public class RestrictedAccessEventSpaceImpl extends AbstractEventSpace implement
 	public Address register(EventListener entity, Principal principal) {
 		if (this.acl.checkPermission(principal, this.accessPermission)) {
 			final Address a = new Address(getSpaceID(), entity.getID());
-			synchronized (this.participants) {
-				return this.participants.registerParticipant(a, entity);
-			}
+			return this.participants.registerParticipant(a, entity);
 		}
 		return null;
 	}
@@ -101,9 +99,7 @@ public class RestrictedAccessEventSpaceImpl extends AbstractEventSpace implement
 
 	@Override
 	public Address unregister(EventListener entity) {
-		synchronized (this.participants) {
-			return this.participants.unregisterParticipant(entity);
-		}
+		return this.participants.unregisterParticipant(entity);
 	}
 
 }
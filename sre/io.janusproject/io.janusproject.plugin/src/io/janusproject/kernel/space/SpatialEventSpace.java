@@ -0,0 +1,155 @@
+/*
+ * $Id$
+ *
+ * SARL is an general-purpose agent programming language.
+ * More details on http://www.sarl.io
+ *
+ * Copyright (C) 2014-2016 the original authors or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.janusproject.kernel.space;
+
+import java.util.UUID;
+
+import io.janusproject.services.distributeddata.DistributedDataStructureService;
+
+import io.sarl.lang.core.Address;
+import io.sarl.lang.core.Event;
+import io.sarl.lang.core.EventListener;
+import io.sarl.lang.core.EventSpace;
+import io.sarl.lang.core.Scope;
+import io.sarl.lang.core.SpaceID;
+
+/**
+ * Event space in which the participants are located in a 2D environment.
+ *
+ * <p>The positions of the participants are stored into a {@link SpatialGrid}. An event that is emitted with a
+ * {@link RadiusScope} is delivered to the participants inside the disc of the scope, without scanning all the
+ * participants of the space. The other scopes are evaluated as in the other event spaces.
+ *
+ * <p>The positions are local to the kernel: each kernel evaluates the radius scopes against the positions
+ * of its own participants.
+ *
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ */
+public class SpatialEventSpace extends AbstractEventSpace implements EventSpace {
+
+	private final SpatialGrid<EventListener> grid;
+
+	/**
+	 * Constructs an event space.
+	 *
+	 * @param id - identifier of the space.
+	 * @param cellSize - the size of the cells of the spatial index.
+	 * @param factory - factory that is used to create the internal data structure.
+	 */
+	public SpatialEventSpace(SpaceID id, double cellSize, DistributedDataStructureService factory) {
+		super(id, factory);
+		this.grid = new SpatialGrid<>(cellSize);
+	}
+
+	/**
+	 * Replies the size of the cells of the spatial index.
+	 *
+	 * @return the size of the cells.
+	 */
+	public double getCellSize() {
+		return this.grid.getCellSize();
+	}
+
+	/**
+	 * Registers the entity inside this space at the given position.
+	 *
+	 * <p>If the agent is already registered the address is return, the listener is not replaced,
+	 * and the agent is moved to the given position.
+	 *
+	 * @param entity - the event listener to register.
+	 * @param x - the x coordinate of the entity.
+	 * @param y - the y coordinate of the entity.
+	 * @return the entity's address in this space
+	 */
+	public Address register(EventListener entity, double x, double y) {
+		final Address a = new Address(getSpaceID(), entity.getID());
+		final Address address = this.participants.registerParticipant(a, entity);
+		// The listener of an agent that is already registered is not replaced.
+		if (!this.grid.move(entity.getID(), x, y)) {
+			this.grid.put(entity.getID(), entity, x, y);
+		}
+		return address;
+	}
+
+	/**
+	 * Unregisters the entity inside this space.
+	 *
+	 * @param entity - the event listener to unregister.
+	 * @return the former entity's address
+	 */
+	public Address unregister(EventListener entity) {
+		this.grid.remove(entity.getID());
+		return this.participants.unregisterParticipant(entity);
+	}
+
+	/**
+	 * Move the participant with the given identifier.
+	 *
+	 * @param id - the identifier of the participant.
+	 * @param x - the new x coordinate of the participant.
+	 * @param y - the new y coordinate of the participant.
+	 * @return <code>true</code> if the participant was moved; <code>false</code> if it is not registered in this space.
+	 */
+	public boolean move(UUID id, double x, double y) {
+		return this.grid.move(id, x, y);
+	}
+
+	/**
+	 * Replies the position of the participant with the given identifier.
+	 *
+	 * @param id - the identifier of the participant.
+	 * @return the x and y coordinates of the participant, or <code>null</code> if it is not registered in this space.
+	 */
+	public double[] getPosition(UUID id) {
+		return this.grid.getPosition(id);
+	}
+
+	/**
+	 * Replies the scope that is restricted to the participants inside the given disc.
+	 *
+	 * @param x - the x coordinate of the center of the disc.
+	 * @param y - the y coordinate of the center of the disc.
+	 * @param radius - the radius of the disc.
+	 * @return the scope.
+	 */
+	public static Scope<Address> range(double x, double y, double radius) {
+		return new RadiusScope(x, y, radius);
+	}
+
+	@Override
+	protected boolean isSupportedScope(Scope<?> scope) {
+		return scope instanceof RadiusScope || super.isSupportedScope(scope);
+	}
+
+	@Override
+	protected void doEmit(Event event, Scope<? super Address> scope) {
+		if (scope instanceof RadiusScope) {
+			final RadiusScope range = (RadiusScope) scope;
+			this.grid.forEachInRange(range.getX(), range.getY(), range.getRadius(), (agent) -> deliver(agent, event));
+		} else {
+			super.doEmit(event, scope);
+		}
+	}
+
+}
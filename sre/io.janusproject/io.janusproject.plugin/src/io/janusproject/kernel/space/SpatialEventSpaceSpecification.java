@@ -0,0 +1,67 @@
+/*
+ * $Id$
+ *
+ * SARL is an general-purpose agent programming language.
+ * More details on http://www.sarl.io
+ *
+ * Copyright (C) 2014-2016 the original authors or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.janusproject.kernel.space;
+
+import com.google.inject.Inject;
+import com.google.inject.Injector;
+
+import io.janusproject.services.distributeddata.DistributedDataStructureService;
+
+import io.sarl.lang.core.SpaceID;
+import io.sarl.lang.core.SpaceSpecification;
+
+/**
+ * Specification of a {@link SpatialEventSpace}.
+ *
+ * <p>The first parameter of {@link #create(SpaceID, Object...)} that is a {@link Number} is the size of the
+ * cells of the spatial index. If there is no such parameter, the size is {@link #DEFAULT_CELL_SIZE}.
+ *
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ */
+public class SpatialEventSpaceSpecification implements SpaceSpecification<SpatialEventSpace> {
+
+	/**
+	 * Default size of the cells of the spatial index.
+	 */
+	public static final double DEFAULT_CELL_SIZE = 10.;
+
+	@Inject
+	private Injector injector;
+
+	@Override
+	public SpatialEventSpace create(SpaceID id, Object... params) {
+		double cellSize = DEFAULT_CELL_SIZE;
+		for (final Object o : params) {
+			if (o instanceof Number) {
+				cellSize = ((Number) o).doubleValue();
+				break;
+			}
+		}
+		final SpatialEventSpace space = new SpatialEventSpace(id, cellSize,
+				this.injector.getInstance(DistributedDataStructureService.class));
+		this.injector.injectMembers(space);
+		return space;
+	}
+
+}
@@ -0,0 +1,315 @@
+/*
+ * $Id$
+ *
+ * SARL is an general-purpose agent programming language.
+ * More details on http://www.sarl.io
+ *
+ * Copyright (C) 2014-2016 the original authors or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.janusproject.kernel.space;
+
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Consumer;
+
+/**
+ * Spatial index that is based on a uniform grid of square cells.
+ *
+ * <p>Each element is located at a 2D position, and it is stored into the cell that contains this position.
+ * The search of the elements in a disc only scans the cells that are intersecting the bounding box of the
+ * disc: its cost is proportional to the number of elements in the neighbourhood, not to the total number
+ * of elements in the grid. When the bounding box contains more cells than the occupied cells of the grid,
+ * e.g. for a huge radius, the occupied cells are scanned instead.
+ *
+ * <p>The grid is thread-safe. The searches are not blocking. The changes of a cell are atomic;
+ * an element that is moving concurrently to a search may be missed by this search.
+ *
+ * @param <T> - the type of the elements in the grid.
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ */
+public class SpatialGrid<T> {
+
+	private static final long INT_MASK = 0xFFFFFFFFL;
+
+	private final double cellSize;
+
+	private final ConcurrentMap<UUID, Element<T>> elements = new ConcurrentHashMap<>();
+
+	private final ConcurrentMap<Long, ConcurrentMap<UUID, Element<T>>> cells = new ConcurrentHashMap<>();
+
+	/**
+	 * Construct a grid.
+	 *
+	 * @param cellSize - the size of the side of a cell. It should be close to the radius of the usual searches.
+	 */
+	public SpatialGrid(double cellSize) {
+		if (cellSize <= 0. || Double.isNaN(cellSize) || Double.isInfinite(cellSize)) {
+			throw new IllegalArgumentException(Messages.SpatialGrid_0);
+		}
+		this.cellSize = cellSize;
+	}
+
+	/**
+	 * Replies the size of the side of a cell.
+	 *
+	 * @return the size of a cell.
+	 */
+	public double getCellSize() {
+		return this.cellSize;
+	}
+
+	/**
+	 * Replies the number of elements in the grid.
+	 *
+	 * @return the number of elements.
+	 */
+	public int size() {
+		return this.elements.size();
+	}
+
+	/**
+	 * Replies the number of cells that are containing at least one element.
+	 *
+	 * @return the number of cells.
+	 */
+	public int getCellCount() {
+		return this.cells.size();
+	}
+
+	/**
+	 * Add an element into the grid. If an element with the same identifier is already inside the grid,
+	 * it is replaced by the given element at the given position.
+	 *
+	 * @param id - the identifier of the element.
+	 * @param value - the element.
+	 * @param x - the x coordinate of the element.
+	 * @param y - the y coordinate of the element.
+	 */
+	public void put(UUID id, T value, double x, double y) {
+		assert id != null;
+		assert value != null;
+		final Element<T> element = new Element<>(id, value, x, y, cellKey(x, y));
+		boolean stored;
+		do {
+			final Element<T> old;
+			// The lock is taken before the publication of the element for ensuring that
+			// it is inside its cell before any other change.
+			synchronized (element) {
+				old = this.elements.putIfAbsent(id, element);
+				if (old == null) {
+					addToCell(element.cell, element);
+				}
+			}
+			// When the old element is removed concurrently, it is no more in the grid and the put is retried.
+			stored = old == null || update(old, value, x, y);
+		} while (!stored);
+	}
+
+	/**
+	 * Move the element with the given identifier.
+	 *
+	 * @param id - the identifier of the element.
+	 * @param x - the new x coordinate of the element.
+	 * @param y - the new y coordinate of the element.
+	 * @return <code>true</code> if the element was moved; <code>false</code> if it is not inside the grid.
+	 */
+	public boolean move(UUID id, double x, double y) {
+		final Element<T> element = this.elements.get(id);
+		return element != null && update(element, null, x, y);
+	}
+
+	/**
+	 * Change the value and the position of the given element.
+	 *
+	 * @param element - the element to change.
+	 * @param value - the new value, or <code>null</code> for keeping the current value.
+	 * @param x - the new x coordinate of the element.
+	 * @param y - the new y coordinate of the element.
+	 * @return <code>true</code> if the element was changed; <code>false</code> if it was removed from the grid.
+	 */
+	private boolean update(Element<T> element, T value, double x, double y) {
+		synchronized (element) {
+			if (element.removed) {
+				return false;
+			}
+			final long newCell = cellKey(x, y);
+			if (newCell != element.cell) {
+				removeFromCell(element.cell, element.id);
+				addToCell(newCell, element);
+				element.cell = newCell;
+			}
+			if (value != null) {
+				element.value = value;
+			}
+			element.x = x;
+			element.y = y;
+			return true;
+		}
+	}
+
+	/**
+	 * Remove the element with the given identifier.
+	 *
+	 * @param id - the identifier of the element.
+	 * @return the removed element, or <code>null</code> if it is not inside the grid.
+	 */
+	public T remove(UUID id) {
+		final Element<T> element = this.elements.remove(id);
+		if (element != null) {
+			synchronized (element) {
+				element.removed = true;
+				removeFromCell(element.cell, element.id);
+			}
+			return element.value;
+		}
+		return null;
+	}
+
+	/**
+	 * Replies the position of the element with the given identifier.
+	 *
+	 * @param id - the identifier of the element.
+	 * @return the x and y coordinates of the element, or <code>null</code> if it is not inside the grid.
+	 */
+	public double[] getPosition(UUID id) {
+		final Element<T> element = this.elements.get(id);
+		if (element != null) {
+			synchronized (element) {
+				return new double[] {element.x, element.y};
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Invoke the given consumer on each element that is inside the given disc.
+	 *
+	 * @param x - the x coordinate of the center of the disc.
+	 * @param y - the y coordinate of the center of the disc.
+	 * @param radius - the radius of the disc.
+	 * @param consumer - the consumer of the elements.
+	 */
+	public void forEachInRange(double x, double y, double radius, Consumer<? super T> consumer) {
+		assert consumer != null;
+		if (radius < 0. || Double.isNaN(radius)) {
+			return;
+		}
+		// The cell indexes are saturated for huge coordinates: the counters are long for avoiding overflows.
+		final long minX = cellIndex(x - radius);
+		final long maxX = cellIndex(x + radius);
+		final long minY = cellIndex(y - radius);
+		final long maxY = cellIndex(y + radius);
+		final double squaredRadius = radius * radius;
+		final double boxCellCount = (double) (maxX - minX + 1) * (double) (maxY - minY + 1);
+		if (boxCellCount > this.cells.size()) {
+			for (final ConcurrentMap<UUID, Element<T>> cell : this.cells.values()) {
+				forEachInRange(cell, x, y, squaredRadius, consumer);
+			}
+		} else {
+			for (long cx = minX; cx <= maxX; ++cx) {
+				for (long cy = minY; cy <= maxY; ++cy) {
+					final ConcurrentMap<UUID, Element<T>> cell = this.cells.get(Long.valueOf(cellKey((int) cx, (int) cy)));
+					if (cell != null) {
+						forEachInRange(cell, x, y, squaredRadius, consumer);
+					}
+				}
+			}
+		}
+	}
+
+	private static <T> void forEachInRange(ConcurrentMap<UUID, Element<T>> cell, double x, double y, double squaredRadius,
+			Consumer<? super T> consumer) {
+		for (final Element<T> element : cell.values()) {
+			final double dx = element.x - x;
+			final double dy = element.y - y;
+			if (dx * dx + dy * dy <= squaredRadius) {
+				consumer.accept(element.value);
+			}
+		}
+	}
+
+	private void addToCell(long key, Element<T> element) {
+		this.cells.compute(Long.valueOf(key), (cellId, cell) -> {
+			final ConcurrentMap<UUID, Element<T>> content = cell == null ? new ConcurrentHashMap<>() : cell;
+			content.put(element.id, element);
+			return content;
+		});
+	}
+
+	private void removeFromCell(long key, UUID id) {
+		this.cells.computeIfPresent(Long.valueOf(key), (cellId, cell) -> {
+			cell.remove(id);
+			return cell.isEmpty() ? null : cell;
+		});
+	}
+
+	private int cellIndex(double coordinate) {
+		return (int) Math.floor(coordinate / this.cellSize);
+	}
+
+	private long cellKey(double x, double y) {
+		return cellKey(cellIndex(x), cellIndex(y));
+	}
+
+	private static long cellKey(int cx, int cy) {
+		return (((long) cx) << Integer.SIZE) | (cy & INT_MASK);
+	}
+
+	/**
+	 * Element in the grid.
+	 *
+	 * @param <T> - the type of the element.
+	 * @author $Author: sgalland$
+	 * @version $FullVersion$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 */
+	private static class Element<T> {
+
+		final UUID id;
+
+		volatile T value;
+
+		volatile double x;
+
+		volatile double y;
+
+		long cell;
+
+		boolean removed;
+
+		/**
+		 * @param id - the identifier of the element.
+		 * @param value - the element.
+		 * @param x - the x coordinate of the element.
+		 * @param y - the y coordinate of the element.
+		 * @param cell - the key of the cell that contains the element.
+		 */
+		Element(UUID id, T value, double x, double y, long cell) {
+			this.id = id;
+			this.value = value;
+			this.x = x;
+			this.y = y;
+			this.cell = cell;
+		}
+
+	}
+
+}
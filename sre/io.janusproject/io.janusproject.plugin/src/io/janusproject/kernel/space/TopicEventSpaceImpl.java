@@ -0,0 +1,203 @@
+/*
+ * $Id$
+ *
+ * SARL is an general-purpose agent programming language.
+ * More details on http://www.sarl.io
+ *
+ * Copyright (C) 2014-2016 the original authors or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.janusproject.kernel.space;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import io.janusproject.services.distributeddata.DistributedDataStructureService;
+
+import io.sarl.lang.core.Address;
+import io.sarl.lang.core.Event;
+import io.sarl.lang.core.EventListener;
+import io.sarl.lang.core.Scope;
+import io.sarl.lang.core.SpaceID;
+import io.sarl.util.Scopes;
+import io.sarl.util.TopicEventSpace;
+import io.sarl.util.TopicScope;
+
+/**
+ * Default implementation of a topic-based event space.
+ *
+ * <p>The subscribers of each topic are stored into an array that is replaced on each change of the subscriptions
+ * (copy-on-write). An event that is emitted with a {@link TopicScope} is delivered by iterating on the array
+ * of the topic, without locking and without testing the other participants. The other scopes are evaluated as
+ * in the other event spaces.
+ *
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ */
+public class TopicEventSpaceImpl extends AbstractEventSpace implements TopicEventSpace {
+
+	/**
+	 * Subscribers of each topic. The arrays must never be changed after their insertion into this map.
+	 */
+	private final ConcurrentMap<String, EventListener[]> subscribers = new ConcurrentHashMap<>();
+
+	/**
+	 * Topics of each subscriber. The topics of a subscriber are changed when the subscriber array of the topic is changed.
+	 */
+	private final ConcurrentMap<UUID, Set<String>> subscriptions = new ConcurrentHashMap<>();
+
+	/**
+	 * Constructs an event space.
+	 *
+	 * @param id - identifier of the space.
+	 * @param factory - factory that is used to create the internal data structure.
+	 */
+	public TopicEventSpaceImpl(SpaceID id, DistributedDataStructureService factory) {
+		super(id, factory);
+	}
+
+	@Override
+	public Address subscribe(EventListener entity, String topic) {
+		assert topic != null;
+		final UUID id = entity.getID();
+		final Address address = this.participants.registerParticipant(new Address(getSpaceID(), id), entity);
+		final EventListener registeredListener = this.participants.getListenersView().get(address);
+		final EventListener listener = registeredListener == null ? entity : registeredListener;
+		this.subscribers.compute(topic, (key, array) -> {
+			if (array == null) {
+				getTopicsOf(id, true).add(key);
+				return new EventListener[] {listener};
+			}
+			if (indexOf(array, id) >= 0) {
+				return array;
+			}
+			getTopicsOf(id, true).add(key);
+			final EventListener[] newArray = Arrays.copyOf(array, array.length + 1);
+			newArray[array.length] = listener;
+			return newArray;
+		});
+		// The participant may be unregistered concurrently, after its registration above and before the
+		// subscription is visible to the unregistration. Because the unregistration removes the participant
+		// before its subscriptions, one of the two threads sees the other and removes the subscription.
+		if (!this.participants.getListenersView().containsKey(address)) {
+			unsubscribe(entity, topic);
+		}
+		return address;
+	}
+
+	@Override
+	public boolean unsubscribe(EventListener entity, String topic) {
+		assert topic != null;
+		final UUID id = entity.getID();
+		final boolean[] removed = new boolean[1];
+		this.subscribers.computeIfPresent(topic, (key, array) -> {
+			final int index = indexOf(array, id);
+			if (index < 0) {
+				return array;
+			}
+			removed[0] = true;
+			final Set<String> topics = getTopicsOf(id, false);
+			if (topics != null) {
+				topics.remove(key);
+			}
+			if (array.length == 1) {
+				return null;
+			}
+			final EventListener[] newArray = new EventListener[array.length - 1];
+			System.arraycopy(array, 0, newArray, 0, index);
+			System.arraycopy(array, index + 1, newArray, index, newArray.length - index);
+			return newArray;
+		});
+		return removed[0];
+	}
+
+	@Override
+	public Address unregister(EventListener entity) {
+		// The participant is removed before its subscriptions for detecting the concurrent subscriptions.
+		final Address address = this.participants.unregisterParticipant(entity);
+		final Set<String> topics = this.subscriptions.remove(entity.getID());
+		if (topics != null) {
+			for (final String topic : topics) {
+				unsubscribe(entity, topic);
+			}
+		}
+		return address;
+	}
+
+	@Override
+	public Set<UUID> getSubscribers(String topic) {
+		final EventListener[] array = this.subscribers.get(topic);
+		if (array == null) {
+			return Collections.emptySet();
+		}
+		final Set<UUID> ids = new HashSet<>();
+		for (final EventListener listener : array) {
+			ids.add(listener.getID());
+		}
+		return Collections.unmodifiableSet(ids);
+	}
+
+	@Override
+	public Set<String> getTopics() {
+		return Collections.unmodifiableSet(this.subscribers.keySet());
+	}
+
+	@Override
+	public void emit(Event event, String topic) {
+		emit(event, Scopes.topic(topic));
+	}
+
+	@Override
+	protected boolean isSupportedScope(Scope<?> scope) {
+		return scope instanceof TopicScope || super.isSupportedScope(scope);
+	}
+
+	@Override
+	protected void doEmit(Event event, Scope<? super Address> scope) {
+		if (scope instanceof TopicScope) {
+			final EventListener[] array = this.subscribers.get(((TopicScope) scope).getTopic());
+			if (array != null) {
+				for (final EventListener listener : array) {
+					deliver(listener, event);
+				}
+			}
+		} else {
+			super.doEmit(event, scope);
+		}
+	}
+
+	private Set<String> getTopicsOf(UUID id, boolean create) {
+		if (create) {
+			return this.subscriptions.computeIfAbsent(id, (key) -> ConcurrentHashMap.newKeySet());
+		}
+		return this.subscriptions.get(id);
+	}
+
+	private static int indexOf(EventListener[] array, UUID id) {
+		for (int i = 0; i < array.length; ++i) {
+			if (id.equals(array[i].getID())) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+}
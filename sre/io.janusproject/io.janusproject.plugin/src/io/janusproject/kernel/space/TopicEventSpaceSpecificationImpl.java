@@ -0,0 +1,52 @@
+/*
+ * $Id$
+ *
+ * SARL is an general-purpose agent programming language.
+ * More details on http://www.sarl.io
+ *
+ * Copyright (C) 2014-2016 the original authors or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.janusproject.kernel.space;
+
+import com.google.inject.Inject;
+import com.google.inject.Injector;
+
+import io.janusproject.services.distributeddata.DistributedDataStructureService;
+
+import io.sarl.lang.core.SpaceID;
+import io.sarl.util.TopicEventSpace;
+import io.sarl.util.TopicEventSpaceSpecification;
+
+/**
+ * Default implementation of the specification of a topic-based event space.
+ *
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ */
+public class TopicEventSpaceSpecificationImpl implements TopicEventSpaceSpecification {
+
+	@Inject
+	private Injector injector;
+
+	@Override
+	public TopicEventSpace create(SpaceID id, Object... params) {
+		final TopicEventSpaceImpl space = new TopicEventSpaceImpl(id, this.injector.getInstance(DistributedDataStructureService.class));
+		this.injector.injectMembers(space);
+		return space;
+	}
+
+}
@@ -26,8 +26,11 @@ import com.google.inject.AbstractModule;
 import com.google.inject.Singleton;
 import com.google.inject.multibindings.Multibinder;
 
+import io.janusproject.JanusConfig;
 import io.janusproject.kernel.services.jdk.contextspace.StandardContextSpaceService;
+import io.janusproject.kernel.services.jdk.logging.AsynchronousLogService;
 import io.janusproject.kernel.services.jdk.logging.StandardLogService;
+import io.janusproject.kernel.services.jdk.metrics.StandardMetricsService;
 import io.janusproject.kernel.services.jdk.spawn.StandardSpawnService;
 import io.janusproject.modules.executors.JdkExecutorModule;
 import io.janusproject.modules.kernel.MandatoryKernelModule;
@@ -36,6 +39,7 @@ import io.janusproject.services.distributeddata.DistributedDataStructureService;
 import io.janusproject.services.executor.ExecutorService;
 import io.janusproject.services.kerneldiscovery.KernelDiscoveryService;
 import io.janusproject.services.logging.LogService;
+import io.janusproject.services.metrics.MetricsService;
 import io.janusproject.services.network.NetworkService;
 import io.janusproject.services.spawn.SpawnService;
 
@@ -53,9 +57,19 @@ public class StandardCoreModule extends AbstractModule {
 
 	@Override
 	protected void configure() {
-		bind(LogService.class).to(StandardLogService.class).in(Singleton.class);
+		if (JanusConfig.getSystemPropertyAsBoolean(JanusConfig.ASYNC_LOGGING_NAME, JanusConfig.ASYNC_LOGGING_VALUE.booleanValue())) {
+			bind(LogService.class).to(AsynchronousLogService.class).in(Singleton.class);
+		} else {
+			bind(LogService.class).to(StandardLogService.class).in(Singleton.class);
+		}
 		bind(ContextSpaceService.class).to(StandardContextSpaceService.class).in(Singleton.class);
 		bind(SpawnService.class).to(StandardSpawnService.class).in(Singleton.class);
+		// The metrics are collected on demand: without metrics service, the other services are not updating any metric.
+		final boolean metricsEnabled = JanusConfig.getSystemPropertyAsBoolean(JanusConfig.METRICS_ENABLED_NAME,
+				JanusConfig.METRICS_ENABLED_VALUE.booleanValue());
+		if (metricsEnabled) {
+			bind(MetricsService.class).to(StandardMetricsService.class).in(Singleton.class);
+		}
 
 		install(new JdkExecutorModule());
 
@@ -80,6 +94,9 @@ public class StandardCoreModule extends AbstractModule {
 		serviceSetBinder.addBinding().to(KernelDiscoveryService.class);
 		serviceSetBinder.addBinding().to(SpawnService.class);
 		serviceSetBinder.addBinding().to(DistributedDataStructureService.class);
+		if (metricsEnabled) {
+			serviceSetBinder.addBinding().to(MetricsService.class);
+		}
 	}
 
 }
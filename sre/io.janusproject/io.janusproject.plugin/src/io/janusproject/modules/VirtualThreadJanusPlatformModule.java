@@ -0,0 +1,48 @@
+/*
+ * $Id$
+ *
+ * SARL is an general-purpose agent programming language.
+ * More details on http://www.sarl.io
+ *
+ * Copyright (C) 2014-2016 the original authors or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.janusproject.modules;
+
+import com.google.inject.Module;
+
+import io.janusproject.modules.executors.VirtualThreadExecutorModule;
+
+/**
+ * The module configures Janus as {@link StandardJanusPlatformModule}, except that the tasks are run by virtual
+ * threads when they are supported by the Java virtual machine. The virtual threads are scheduled by the
+ * work-stealing pool of the Java virtual machine.
+ *
+ * <p>This module may be selected with the property {@link io.janusproject.JanusConfig#INJECTION_MODULE_NAME}.
+ *
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @see VirtualThreadExecutorModule
+ */
+public class VirtualThreadJanusPlatformModule extends WorkStealingJanusPlatformModule {
+
+	@Override
+	protected Module createExecutorModule() {
+		return new VirtualThreadExecutorModule();
+	}
+
+}
@@ -0,0 +1,58 @@
+/*
+ * $Id$
+ *
+ * SARL is an general-purpose agent programming language.
+ * More details on http://www.sarl.io
+ *
+ * Copyright (C) 2014-2016 the original authors or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.janusproject.modules;
+
+import com.google.inject.AbstractModule;
+import com.google.inject.Module;
+import com.google.inject.util.Modules;
+
+import io.janusproject.modules.executors.ForkJoinExecutorModule;
+
+/**
+ * The module configures Janus as {@link StandardJanusPlatformModule}, except that the tasks are run by a work-stealing
+ * executor.
+ *
+ * <p>This module may be selected with the property {@link io.janusproject.JanusConfig#INJECTION_MODULE_NAME}.
+ *
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @see ForkJoinExecutorModule
+ */
+public class WorkStealingJanusPlatformModule extends AbstractModule {
+
+	@Override
+	protected void configure() {
+		install(Modules.override(new StandardJanusPlatformModule()).with(createExecutorModule()));
+	}
+
+	/**
+	 * Create the module that is binding the executor service.
+	 *
+	 * @return the module of the executor service.
+	 */
+	protected Module createExecutorModule() {
+		return new ForkJoinExecutorModule();
+	}
+
+}
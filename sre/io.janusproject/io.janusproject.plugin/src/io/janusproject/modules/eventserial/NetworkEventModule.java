@@ -32,6 +32,7 @@ import com.google.inject.Provides;
 import io.janusproject.JanusConfig;
 import io.janusproject.kernel.services.gson.GsonEventSerializer;
 import io.janusproject.kernel.services.jdk.network.AESEventEncrypter;
+import io.janusproject.kernel.services.jdk.network.CompactEventSerializer;
 import io.janusproject.kernel.services.jdk.network.PlainTextEventEncrypter;
 import io.janusproject.services.network.EventEncrypter;
 import io.janusproject.services.network.EventSerializer;
@@ -40,6 +41,10 @@ import io.janusproject.services.network.NetworkConfig;
 /**
  * Module that provides the network events.
  *
+ * <p>The serializer is selected with the property {@link NetworkConfig#SERIALIZER_CLASSNAME}. The default
+ * serializer is {@link GsonEventSerializer}. The {@link CompactEventSerializer} provides a smaller and faster binary
+ * encoding; it must be selected by all the kernels of the network.
+ *
  * @author $Author: srodriguez$
  * @author $Author: sgalland$
  * @version $FullVersion$
@@ -28,10 +28,12 @@ import java.util.concurrent.ThreadFactory;
 import com.google.inject.AbstractModule;
 import com.google.inject.Singleton;
 
+import io.janusproject.JanusConfig;
 import io.janusproject.kernel.services.jdk.executors.JdkExecutorService;
 import io.janusproject.kernel.services.jdk.executors.JdkScheduledThreadPoolExecutor;
 import io.janusproject.kernel.services.jdk.executors.JdkThreadFactory;
 import io.janusproject.kernel.services.jdk.executors.JdkThreadPoolExecutor;
+import io.janusproject.kernel.services.jdk.executors.JdkTimingWheelScheduledExecutor;
 import io.janusproject.kernel.services.jdk.executors.JdkUncaughtExceptionHandler;
 import io.janusproject.services.executor.ExecutorService;
 
@@ -53,11 +55,33 @@ public class JdkExecutorModule extends AbstractModule {
 
 		// Bind the background objects
 		bind(ThreadFactory.class).to(JdkThreadFactory.class).in(Singleton.class);
-		bind(java.util.concurrent.ExecutorService.class).to(JdkThreadPoolExecutor.class).in(Singleton.class);
-		bind(ScheduledExecutorService.class).to(JdkScheduledThreadPoolExecutor.class).in(Singleton.class);
+		bind(java.util.concurrent.ExecutorService.class).to(getTaskExecutorType()).in(Singleton.class);
+		bind(ScheduledExecutorService.class).to(getScheduledExecutorType()).in(Singleton.class);
 
 		// Bind the service
 		bind(ExecutorService.class).to(JdkExecutorService.class).in(Singleton.class);
 	}
 
+	/**
+	 * Replies the type of the executor that is running the tasks.
+	 *
+	 * @return the type of the executor.
+	 */
+	protected Class<? extends java.util.concurrent.ExecutorService> getTaskExecutorType() {
+		return JdkThreadPoolExecutor.class;
+	}
+
+	/**
+	 * Replies the type of the executor that is running the scheduled tasks.
+	 *
+	 * @return the type of the executor.
+	 * @see JanusConfig#TIMING_WHEEL_NAME
+	 */
+	protected Class<? extends ScheduledExecutorService> getScheduledExecutorType() {
+		if (JanusConfig.getSystemPropertyAsBoolean(JanusConfig.TIMING_WHEEL_NAME, JanusConfig.TIMING_WHEEL_VALUE)) {
+			return JdkTimingWheelScheduledExecutor.class;
+		}
+		return JdkScheduledThreadPoolExecutor.class;
+	}
+
 }
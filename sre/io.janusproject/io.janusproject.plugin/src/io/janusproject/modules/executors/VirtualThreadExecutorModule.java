@@ -0,0 +1,45 @@
+/*
+ * $Id$
+ *
+ * SARL is an general-purpose agent programming language.
+ * More details on http://www.sarl.io
+ *
+ * Copyright (C) 2014-2016 the original authors or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.janusproject.modules.executors;
+
+import io.janusproject.kernel.services.jdk.executors.JdkVirtualThreadExecutor;
+
+/**
+ * Configure the module for the {@code ExecutorService} based on the virtual threads of the JDK.
+ *
+ * <p>This module differs from {@link JdkExecutorModule} by the binding of the executor of the tasks to
+ * {@link JdkVirtualThreadExecutor}. The scheduled tasks are run by the same executor as in {@link JdkExecutorModule}.
+ *
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @see io.janusproject.modules.VirtualThreadJanusPlatformModule
+ */
+public class VirtualThreadExecutorModule extends JdkExecutorModule {
+
+	@Override
+	protected Class<? extends java.util.concurrent.ExecutorService> getTaskExecutorType() {
+		return JdkVirtualThreadExecutor.class;
+	}
+
+}
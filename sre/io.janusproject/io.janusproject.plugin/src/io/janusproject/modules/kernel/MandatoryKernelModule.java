@@ -40,6 +40,7 @@ import io.janusproject.kernel.bic.internaleventdispatching.AgentInternalEventsDi
 import io.janusproject.kernel.space.EventSpaceSpecificationImpl;
 import io.janusproject.kernel.space.OpenEventSpaceSpecificationImpl;
 import io.janusproject.kernel.space.RestrictedAccessEventSpaceSpecificationImpl;
+import io.janusproject.kernel.space.TopicEventSpaceSpecificationImpl;
 import io.janusproject.services.GoogleServiceManager;
 import io.janusproject.services.IServiceManager;
 import io.janusproject.services.contextspace.ContextSpaceService;
@@ -50,6 +51,7 @@ import io.sarl.lang.core.BuiltinCapacitiesProvider;
 import io.sarl.lang.core.EventSpaceSpecification;
 import io.sarl.util.OpenEventSpaceSpecification;
 import io.sarl.util.RestrictedAccessEventSpaceSpecification;
+import io.sarl.util.TopicEventSpaceSpecification;
 
 /**
  * Configure the mandatory elements of the Janus kernel.
@@ -76,6 +78,7 @@ public class MandatoryKernelModule extends AbstractModule {
 		bind(OpenEventSpaceSpecification.class).to(OpenEventSpaceSpecificationImpl.class).in(Singleton.class);
 		bind(RestrictedAccessEventSpaceSpecification.class).to(RestrictedAccessEventSpaceSpecificationImpl.class)
 				.in(Singleton.class);
+		bind(TopicEventSpaceSpecification.class).to(TopicEventSpaceSpecificationImpl.class).in(Singleton.class);
 	}
 
 	@Provides
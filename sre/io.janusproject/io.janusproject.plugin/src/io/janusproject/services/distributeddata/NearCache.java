@@ -0,0 +1,231 @@
+/*
+ * $Id$
+ *
+ * SARL is an general-purpose agent programming language.
+ * More details on http://www.sarl.io
+ *
+ * Copyright (C) 2014-2016 the original authors or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.janusproject.services.distributeddata;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+import io.janusproject.services.metrics.MetricCounter;
+
+/**
+ * Local cache of the values of a distributed data structure.
+ *
+ * <p>The cache is a {@link DMapListener} that must be registered on the distributed data structure: the cached
+ * values are invalidated when the entry events are received. Because these events may be received after a lookup
+ * was started, a value that was read during an invalidation of its key is removed from the cache.
+ * The entries are also evicted when the cache is full, and when they are older than the time-to-live.
+ *
+ * @param <K> - type of the keys.
+ * @param <V> - type of the cached values.
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @see NearCachedDMap
+ * @see NearCachedDMultiMap
+ */
+public class NearCache<K, V> implements DMapListener<Object, Object> {
+
+	private final Cache<K, V> cache;
+
+	// Versions of the keys for which a lookup is running; they are incremented by the invalidations.
+	private final ConcurrentMap<Object, KeyVersion> versions = new ConcurrentHashMap<>();
+
+	private final MetricCounter hits;
+
+	private final MetricCounter misses;
+
+	/**
+	 * Construct a cache.
+	 *
+	 * @param maximumSize - the maximal number of entries in the cache.
+	 * @param timeToLive - the duration (in milliseconds) after which an entry is evicted from the cache. If it
+	 *     is lower or equal to zero, the entries are evicted only when the cache is full or invalidated.
+	 * @param hits - the counter of the lookups that are served by the cache.
+	 * @param misses - the counter of the lookups that are given to the distributed data structure.
+	 */
+	public NearCache(long maximumSize, long timeToLive, MetricCounter hits, MetricCounter misses) {
+		assert hits != null;
+		assert misses != null;
+		final CacheBuilder<Object, Object> builder = CacheBuilder.newBuilder().maximumSize(maximumSize);
+		if (timeToLive > 0) {
+			builder.expireAfterWrite(timeToLive, TimeUnit.MILLISECONDS);
+		}
+		this.cache = builder.build();
+		this.hits = hits;
+		this.misses = misses;
+	}
+
+	/**
+	 * Replies the value associated to the given key, from the cache or from the given loader.
+	 *
+	 * @param key - the key.
+	 * @param loader - the function that reads the value in the distributed data structure. It may reply
+	 *     {@code null} for indicating that the value must not be cached.
+	 * @return the value, or {@code null}.
+	 */
+	public V get(K key, Function<? super K, ? extends V> loader) {
+		final V cached = this.cache.getIfPresent(key);
+		if (cached != null) {
+			this.hits.increment();
+			return cached;
+		}
+		this.misses.increment();
+		final long version = startLookup(key);
+		try {
+			final V value = loader.apply(key);
+			if (value != null) {
+				this.cache.put(key, value);
+			}
+			return value;
+		} finally {
+			// The value is put before the version is checked: an invalidation that is not seen
+			// by the check is done after the put, and it removes the value by itself.
+			if (endLookup(key, version)) {
+				this.cache.invalidate(key);
+			}
+		}
+	}
+
+	private long startLookup(Object key) {
+		final long[] version = new long[1];
+		this.versions.compute(key, (k, current) -> {
+			final KeyVersion keyVersion = current == null ? new KeyVersion() : current;
+			++keyVersion.lookups;
+			version[0] = keyVersion.version;
+			return keyVersion;
+		});
+		return version[0];
+	}
+
+	private boolean endLookup(Object key, long version) {
+		final boolean[] invalidated = new boolean[1];
+		this.versions.computeIfPresent(key, (k, current) -> {
+			invalidated[0] = current.version != version;
+			--current.lookups;
+			return current.lookups > 0 ? current : null;
+		});
+		return invalidated[0];
+	}
+
+	private void incrementVersion(Object key) {
+		this.versions.computeIfPresent(key, (k, current) -> {
+			++current.version;
+			return current;
+		});
+	}
+
+	/**
+	 * Remove the value associated to the given key from the cache.
+	 *
+	 * @param key - the key.
+	 */
+	public void invalidate(Object key) {
+		incrementVersion(key);
+		this.cache.invalidate(key);
+	}
+
+	/**
+	 * Remove all the values from the cache.
+	 */
+	public void invalidateAll() {
+		for (final Object key : this.versions.keySet()) {
+			incrementVersion(key);
+		}
+		this.cache.invalidateAll();
+	}
+
+	/**
+	 * Replies the number of values in the cache.
+	 *
+	 * @return the number of values.
+	 */
+	public long size() {
+		return this.cache.size();
+	}
+
+	/**
+	 * Replies the number of lookups that were served by the cache.
+	 *
+	 * @return the number of hits.
+	 */
+	public long getHitCount() {
+		return this.hits.get();
+	}
+
+	/**
+	 * Replies the number of lookups that were given to the distributed data structure.
+	 *
+	 * @return the number of misses.
+	 */
+	public long getMissCount() {
+		return this.misses.get();
+	}
+
+	@Override
+	public void entryAdded(Object key, Object value) {
+		invalidate(key);
+	}
+
+	@Override
+	public void entryUpdated(Object key, Object value) {
+		invalidate(key);
+	}
+
+	@Override
+	public void entryRemoved(Object key, Object value) {
+		invalidate(key);
+	}
+
+	@Override
+	public void mapCleared(boolean localClearing) {
+		invalidateAll();
+	}
+
+	/**
+	 * Version of a key for which lookups are running.
+	 *
+	 * <p>The fields are changed only in the functions given to the concurrent map of the versions.
+	 *
+	 * @author $Author: sgalland$
+	 * @version $FullVersion$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 */
+	private static final class KeyVersion {
+
+		long version;
+
+		int lookups;
+
+		KeyVersion() {
+			//
+		}
+
+	}
+
+}
@@ -0,0 +1,191 @@
+/*
+ * $Id$
+ *
+ * SARL is an general-purpose agent programming language.
+ * More details on http://www.sarl.io
+ *
+ * Copyright (C) 2014-2016 the original authors or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.janusproject.services.distributeddata;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A {@link DMap} that serves the lookups of the keys from a local {@link NearCache}.
+ *
+ * <p>The function {@link #get(Object)} is served by the cache when the value of the key was already read.
+ * The values that are changed through this map are invalidated when the change is done; the values that are
+ * changed by the other nodes are invalidated when the entry events are received.
+ * The absent keys and the other functions are always given to the distributed map.
+ *
+ * @param <K> - type of the keys.
+ * @param <V> - type of the values.
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ */
+public class NearCachedDMap<K, V> implements DMap<K, V> {
+
+	private final DMap<K, V> map;
+
+	private final NearCache<Object, V> cache;
+
+	/**
+	 * Construct the map.
+	 *
+	 * @param map - the distributed map.
+	 * @param cache - the local cache of the values. It is registered as listener on the distributed map.
+	 */
+	public NearCachedDMap(DMap<K, V> map, NearCache<Object, V> cache) {
+		assert map != null;
+		assert cache != null;
+		this.map = map;
+		this.cache = cache;
+		map.addDMapListener(cache);
+	}
+
+	/**
+	 * Replies the local cache of the values.
+	 *
+	 * @return the cache.
+	 */
+	public NearCache<Object, V> getNearCache() {
+		return this.cache;
+	}
+
+	/**
+	 * Unregister the cache from the distributed map, and remove all the values from the cache.
+	 * The distributed map is not changed.
+	 */
+	public void destroy() {
+		this.map.removeDMapListener(this.cache);
+		this.cache.invalidateAll();
+	}
+
+	@Override
+	public String getName() {
+		return this.map.getName();
+	}
+
+	@Override
+	public boolean isBackedCollection() {
+		return this.map.isBackedCollection();
+	}
+
+	@Override
+	public void addDMapListener(DMapListener<? super K, ? super V> listener) {
+		this.map.addDMapListener(listener);
+	}
+
+	@Override
+	public void removeDMapListener(DMapListener<? super K, ? super V> listener) {
+		this.map.removeDMapListener(listener);
+	}
+
+	@Override
+	public V get(Object key) {
+		return this.cache.get(key, this.map::get);
+	}
+
+	@Override
+	public boolean containsKey(Object key) {
+		return this.map.containsKey(key);
+	}
+
+	@Override
+	public boolean containsValue(Object value) {
+		return this.map.containsValue(value);
+	}
+
+	@Override
+	public int size() {
+		return this.map.size();
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return this.map.isEmpty();
+	}
+
+	@Override
+	public V put(K key, V value) {
+		final V old = this.map.put(key, value);
+		this.cache.invalidate(key);
+		return old;
+	}
+
+	@Override
+	public V putIfAbsent(K key, V value) {
+		final V old = this.map.putIfAbsent(key, value);
+		this.cache.invalidate(key);
+		return old;
+	}
+
+	@Override
+	public void putAll(Map<? extends K, ? extends V> map) {
+		this.map.putAll(map);
+		for (final Object key : map.keySet()) {
+			this.cache.invalidate(key);
+		}
+	}
+
+	@Override
+	public V remove(Object key) {
+		final V old = this.map.remove(key);
+		this.cache.invalidate(key);
+		return old;
+	}
+
+	@Override
+	public void clear() {
+		this.map.clear();
+		this.cache.invalidateAll();
+	}
+
+	@Override
+	public Set<K> keySet() {
+		return this.map.keySet();
+	}
+
+	@Override
+	public Collection<V> values() {
+		return this.map.values();
+	}
+
+	@Override
+	public Set<Entry<K, V>> entrySet() {
+		return this.map.entrySet();
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		return this.map.equals(obj);
+	}
+
+	@Override
+	public int hashCode() {
+		return this.map.hashCode();
+	}
+
+	@Override
+	public String toString() {
+		return this.map.toString();
+	}
+
+}
@@ -0,0 +1,257 @@
+/*
+ * $Id$
+ *
+ * SARL is an general-purpose agent programming language.
+ * More details on http://www.sarl.io
+ *
+ * Copyright (C) 2014-2016 the original authors or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.janusproject.services.distributeddata;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+
+import com.google.common.collect.Multimap;
+import com.google.common.collect.Multiset;
+
+/**
+ * A {@link DMultiMap} that serves the lookups of the keys from a local {@link NearCache}.
+ *
+ * <p>The functions {@link #get(Object)}, {@link #containsEntry(Object, Object)} and {@link #valueCount(Object)}
+ * are served by the cache when the values of the key were already read.
+ * The values that are changed through this multimap are invalidated when the change is done; the values that
+ * are changed by the other nodes are invalidated when the entry events are received.
+ * The absent keys and the other functions are always given to the distributed multimap.
+ *
+ * <p>The collections replied by {@link #get(Object)} are unmodifiable snapshots of the values.
+ *
+ * @param <K> - type of the keys.
+ * @param <V> - type of the values.
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ */
+public class NearCachedDMultiMap<K, V> implements DMultiMap<K, V> {
+
+	private final DMultiMap<K, V> map;
+
+	private final NearCache<Object, Collection<V>> cache;
+
+	/**
+	 * Construct the multimap.
+	 *
+	 * @param map - the distributed multimap.
+	 * @param cache - the local cache of the values. It is registered as listener on the distributed multimap.
+	 */
+	public NearCachedDMultiMap(DMultiMap<K, V> map, NearCache<Object, Collection<V>> cache) {
+		assert map != null;
+		assert cache != null;
+		this.map = map;
+		this.cache = cache;
+		map.addDMapListener(cache);
+	}
+
+	/**
+	 * Replies the local cache of the values.
+	 *
+	 * @return the cache.
+	 */
+	public NearCache<Object, Collection<V>> getNearCache() {
+		return this.cache;
+	}
+
+	@SuppressWarnings("unchecked")
+	private Collection<V> load(Object key) {
+		final Collection<V> values;
+		try {
+			values = this.map.get((K) key);
+		} catch (ClassCastException exception) {
+			return null;
+		}
+		if (values == null || values.isEmpty()) {
+			return null;
+		}
+		return Collections.unmodifiableList(new ArrayList<>(values));
+	}
+
+	private Collection<V> getCachedValues(Object key) {
+		final Collection<V> values = this.cache.get(key, this::load);
+		if (values == null) {
+			return Collections.emptyList();
+		}
+		return values;
+	}
+
+	/**
+	 * Unregister the cache from the distributed multimap, and remove all the values from the cache.
+	 * The distributed multimap is not changed.
+	 */
+	public void destroy() {
+		this.map.removeDMapListener(this.cache);
+		this.cache.invalidateAll();
+	}
+
+	@Override
+	public String getName() {
+		return this.map.getName();
+	}
+
+	@Override
+	public boolean isBackedCollection() {
+		return this.map.isBackedCollection();
+	}
+
+	@Override
+	public void addDMapListener(DMapListener<? super K, ? super V> listener) {
+		this.map.addDMapListener(listener);
+	}
+
+	@Override
+	public void removeDMapListener(DMapListener<? super K, ? super V> listener) {
+		this.map.removeDMapListener(listener);
+	}
+
+	@Override
+	public Collection<V> get(K key) {
+		return getCachedValues(key);
+	}
+
+	@Override
+	public boolean containsKey(Object key) {
+		return this.map.containsKey(key);
+	}
+
+	@Override
+	public boolean containsEntry(Object key, Object value) {
+		return getCachedValues(key).contains(value);
+	}
+
+	@Override
+	public int valueCount(K key) {
+		return getCachedValues(key).size();
+	}
+
+	@Override
+	public boolean containsValue(Object value) {
+		return this.map.containsValue(value);
+	}
+
+	@Override
+	public int size() {
+		return this.map.size();
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return this.map.isEmpty();
+	}
+
+	@Override
+	public boolean put(K key, V value) {
+		final boolean changed = this.map.put(key, value);
+		this.cache.invalidate(key);
+		return changed;
+	}
+
+	@Override
+	public boolean putAll(K key, Iterable<? extends V> values) {
+		final boolean changed = this.map.putAll(key, values);
+		this.cache.invalidate(key);
+		return changed;
+	}
+
+	@Override
+	public boolean putAll(Multimap<? extends K, ? extends V> multimap) {
+		final boolean changed = this.map.putAll(multimap);
+		for (final Object key : multimap.keySet()) {
+			this.cache.invalidate(key);
+		}
+		return changed;
+	}
+
+	@Override
+	public Collection<V> replaceValues(K key, Iterable<? extends V> values) {
+		final Collection<V> old = this.map.replaceValues(key, values);
+		this.cache.invalidate(key);
+		return old;
+	}
+
+	@Override
+	public boolean remove(Object key, Object value) {
+		final boolean changed = this.map.remove(key, value);
+		this.cache.invalidate(key);
+		return changed;
+	}
+
+	@Override
+	public Collection<V> removeAll(Object key) {
+		final Collection<V> old = this.map.removeAll(key);
+		this.cache.invalidate(key);
+		return old;
+	}
+
+	@Override
+	public void clear() {
+		this.map.clear();
+		this.cache.invalidateAll();
+	}
+
+	@Override
+	public Set<K> keySet() {
+		return this.map.keySet();
+	}
+
+	@Override
+	public Multiset<K> keys() {
+		return this.map.keys();
+	}
+
+	@Override
+	public Collection<V> values() {
+		return this.map.values();
+	}
+
+	@Override
+	public Collection<Entry<K, V>> entries() {
+		return this.map.entries();
+	}
+
+	@Override
+	public Map<K, Collection<V>> asMap() {
+		return this.map.asMap();
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		return this.map.equals(obj);
+	}
+
+	@Override
+	public int hashCode() {
+		return this.map.hashCode();
+	}
+
+	@Override
+	public String toString() {
+		return this.map.toString();
+	}
+
+}
@@ -0,0 +1,92 @@
+/*
+ * $Id$
+ *
+ * SARL is an general-purpose agent programming language.
+ * More details on http://www.sarl.io
+ *
+ * Copyright (C) 2014-2016 the original authors or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.janusproject.services.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counter of occurrences.
+ *
+ * <p>The counter is designed for being updated by many threads with a low contention. Reading its value is
+ * more expensive than updating it.
+ *
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ */
+public final class MetricCounter {
+
+	private final String name;
+
+	private final LongAdder value = new LongAdder();
+
+	/**
+	 * Construct a counter.
+	 *
+	 * @param name - the name of the counter.
+	 */
+	public MetricCounter(String name) {
+		assert name != null;
+		this.name = name;
+	}
+
+	/**
+	 * Replies the name of the counter.
+	 *
+	 * @return the name.
+	 */
+	public String getName() {
+		return this.name;
+	}
+
+	/**
+	 * Increment the counter.
+	 */
+	public void increment() {
+		this.value.increment();
+	}
+
+	/**
+	 * Add the given amount to the counter.
+	 *
+	 * @param amount - the amount to add.
+	 */
+	public void add(long amount) {
+		this.value.add(amount);
+	}
+
+	/**
+	 * Replies the value of the counter.
+	 *
+	 * @return the value.
+	 */
+	public long get() {
+		return this.value.sum();
+	}
+
+	@Override
+	public String toString() {
+		return this.name + "=" + get(); //$NON-NLS-1$
+	}
+
+}
@@ -0,0 +1,244 @@
+/*
+ * $Id$
+ *
+ * SARL is an general-purpose agent programming language.
+ * More details on http://www.sarl.io
+ *
+ * Copyright (C) 2014-2016 the original authors or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.janusproject.services.metrics;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Histogram of durations.
+ *
+ * <p>The durations are recorded in nanoseconds into buckets that have a power-of-two width, i.e. the bucket
+ * {@code i} contains the values in {@code [2^(i-1), 2^i)}. Recording a value is lock-free and does not allocate;
+ * the percentiles that are computed from a {@link Snapshot} are upper bounds with a precision of factor two,
+ * which is enough for spotting where the kernel spends time.
+ *
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ */
+public final class MetricHistogram {
+
+	private static final int BUCKET_COUNT = Long.SIZE + 1;
+
+	private static final double PERCENT = 100.;
+
+	private static final double P99 = 99.;
+
+	private final String name;
+
+	private final LongAdder[] buckets;
+
+	private final LongAdder sum = new LongAdder();
+
+	private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+	/**
+	 * Construct a histogram.
+	 *
+	 * @param name - the name of the histogram.
+	 */
+	public MetricHistogram(String name) {
+		assert name != null;
+		this.name = name;
+		this.buckets = new LongAdder[BUCKET_COUNT];
+		for (int i = 0; i < BUCKET_COUNT; ++i) {
+			this.buckets[i] = new LongAdder();
+		}
+	}
+
+	/**
+	 * Replies the name of the histogram.
+	 *
+	 * @return the name.
+	 */
+	public String getName() {
+		return this.name;
+	}
+
+	/**
+	 * Record a duration.
+	 *
+	 * @param nanos - the duration in nanoseconds. Negative values are recorded as zero.
+	 */
+	public void record(long nanos) {
+		final long value = Math.max(0, nanos);
+		this.buckets[Long.SIZE - Long.numberOfLeadingZeros(value)].increment();
+		this.sum.add(value);
+		this.max.accumulate(value);
+	}
+
+	/**
+	 * Record the duration since the given start time.
+	 *
+	 * @param startNanos - the start time replied by {@link System#nanoTime()}.
+	 */
+	public void recordSince(long startNanos) {
+		record(System.nanoTime() - startNanos);
+	}
+
+	/**
+	 * Replies the number of recorded durations.
+	 *
+	 * @return the number of durations.
+	 */
+	public long getCount() {
+		long count = 0;
+		for (final LongAdder bucket : this.buckets) {
+			count += bucket.sum();
+		}
+		return count;
+	}
+
+	/**
+	 * Replies a snapshot of the histogram.
+	 *
+	 * <p>The snapshot is not atomic: durations that are recorded during the call may be partly taken into account.
+	 *
+	 * @return the snapshot.
+	 */
+	public Snapshot getSnapshot() {
+		final long[] counts = new long[BUCKET_COUNT];
+		long count = 0;
+		for (int i = 0; i < BUCKET_COUNT; ++i) {
+			counts[i] = this.buckets[i].sum();
+			count += counts[i];
+		}
+		return new Snapshot(counts, count, this.sum.sum(), this.max.get());
+	}
+
+	@Override
+	public String toString() {
+		return this.name + "=" + getSnapshot(); //$NON-NLS-1$
+	}
+
+	/**
+	 * Immutable state of a histogram.
+	 *
+	 * @author $Author: sgalland$
+	 * @version $FullVersion$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 */
+	public static final class Snapshot {
+
+		private final long[] buckets;
+
+		private final long count;
+
+		private final long sum;
+
+		private final long max;
+
+		/**
+		 * Construct a snapshot.
+		 *
+		 * @param buckets - the counts per bucket.
+		 * @param count - the total count.
+		 * @param sum - the sum of the recorded durations.
+		 * @param max - the largest recorded duration.
+		 */
+		Snapshot(long[] buckets, long count, long sum, long max) {
+			this.buckets = buckets;
+			this.count = count;
+			this.sum = sum;
+			this.max = max;
+		}
+
+		/**
+		 * Replies the number of recorded durations.
+		 *
+		 * @return the number of durations.
+		 */
+		public long getCount() {
+			return this.count;
+		}
+
+		/**
+		 * Replies the sum of the recorded durations.
+		 *
+		 * @return the sum in nanoseconds.
+		 */
+		public long getSum() {
+			return this.sum;
+		}
+
+		/**
+		 * Replies the largest recorded duration.
+		 *
+		 * @return the largest duration in nanoseconds.
+		 */
+		public long getMax() {
+			return this.max;
+		}
+
+		/**
+		 * Replies the mean of the recorded durations.
+		 *
+		 * @return the mean in nanoseconds, or zero if nothing was recorded.
+		 */
+		public double getMean() {
+			if (this.count == 0) {
+				return 0.;
+			}
+			return ((double) this.sum) / this.count;
+		}
+
+		/**
+		 * Replies an upper bound of the given percentile.
+		 *
+		 * @param percentile - the percentile in {@code [0, 100]}.
+		 * @return the upper bound of the percentile in nanoseconds, or zero if nothing was recorded.
+		 */
+		public long getPercentile(double percentile) {
+			if (this.count == 0) {
+				return 0;
+			}
+			final double rank = Math.min(PERCENT, Math.max(0., percentile)) * this.count / PERCENT;
+			final long threshold = Math.max(1, (long) Math.ceil(rank));
+			long seen = 0;
+			for (int i = 0; i < this.buckets.length; ++i) {
+				seen += this.buckets[i];
+				if (seen >= threshold) {
+					if (i == 0) {
+						return 0;
+					}
+					final long upper = (i >= Long.SIZE) ? Long.MAX_VALUE : ((1L << i) - 1);
+					return Math.min(upper, this.max);
+				}
+			}
+			return this.max;
+		}
+
+		@Override
+		public String toString() {
+			return "count=" + this.count //$NON-NLS-1$
+					+ ", mean=" + TimeUnit.NANOSECONDS.toMicros((long) getMean()) //$NON-NLS-1$
+					+ "us, p99=" + TimeUnit.NANOSECONDS.toMicros(getPercentile(P99)) //$NON-NLS-1$
+					+ "us, max=" + TimeUnit.NANOSECONDS.toMicros(this.max) + "us"; //$NON-NLS-1$ //$NON-NLS-2$
+		}
+
+	}
+
+}
@@ -0,0 +1,197 @@
+/*
+ * $Id$
+ *
+ * SARL is an general-purpose agent programming language.
+ * More details on http://www.sarl.io
+ *
+ * Copyright (C) 2014-2016 the original authors or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.janusproject.services.metrics;
+
+import java.util.function.Supplier;
+
+import io.janusproject.services.DependentService;
+
+/**
+ * This service collects the runtime metrics of the kernel services: counters, gauges and histograms of durations.
+ *
+ * <p>The metrics are designed for being updated on the hot paths of the kernel: the metric objects should be
+ * retrieved once, e.g. at injection time, and updated without any lookup. The metrics are exposed through
+ * {@link #getSnapshot()}, the periodic notifications of the {@link MetricsListener listeners}, and JMX.
+ *
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ */
+public interface MetricsService extends DependentService {
+
+	/** Prefix of the names of the metrics that are related to a space.
+	 * The full name is {@code space.<id>.<metric>}.
+	 */
+	String SPACE_PREFIX = "space."; //$NON-NLS-1$
+
+	/** Suffix of the counter of the events emitted in a space.
+	 */
+	String SPACE_EMITTED_EVENTS_SUFFIX = ".events.emitted"; //$NON-NLS-1$
+
+	/** Suffix of the counter of the events delivered to the agents by a space.
+	 */
+	String SPACE_DELIVERED_EVENTS_SUFFIX = ".events.delivered"; //$NON-NLS-1$
+
+	/** Counter of the events that are dispatched to the behaviors of the agents.
+	 */
+	String DISPATCHED_EVENTS = "dispatch.events"; //$NON-NLS-1$
+
+	/** Histogram of the durations of the guard evaluations.
+	 */
+	String GUARD_EVALUATION_TIME = "dispatch.guards"; //$NON-NLS-1$
+
+	/** Histogram of the durations of the behavior executions.
+	 */
+	String BEHAVIOR_EXECUTION_TIME = "dispatch.behaviors"; //$NON-NLS-1$
+
+	/** Gauge of the number of threads that are running tasks.
+	 */
+	String EXECUTOR_ACTIVE_TASKS = "executor.active"; //$NON-NLS-1$
+
+	/** Gauge of the number of tasks waiting for a thread.
+	 */
+	String EXECUTOR_QUEUED_TASKS = "executor.queued"; //$NON-NLS-1$
+
+	/** Gauge of the number of tasks waiting for their scheduled time.
+	 */
+	String SCHEDULER_QUEUED_TASKS = "scheduler.queued"; //$NON-NLS-1$
+
+	/** Counter of the bytes received from the network.
+	 */
+	String NETWORK_BYTES_IN = "network.bytes.in"; //$NON-NLS-1$
+
+	/** Gauge of the bytes sent to the network.
+	 */
+	String NETWORK_BYTES_OUT = "network.bytes.out"; //$NON-NLS-1$
+
+	/** Counter of the events received from the network.
+	 */
+	String NETWORK_EVENTS_IN = "network.events.in"; //$NON-NLS-1$
+
+	/** Gauge of the events sent to the network.
+	 */
+	String NETWORK_EVENTS_OUT = "network.events.out"; //$NON-NLS-1$
+
+	/** Gauge of the events waiting for being sent to the network.
+	 */
+	String NETWORK_QUEUE_SIZE = "network.queue.size"; //$NON-NLS-1$
+
+	/** Gauge of the batches of events sent to the network.
+	 */
+	String NETWORK_BATCHES = "network.batches"; //$NON-NLS-1$
+
+	/** Gauge of the received envelopes waiting for being decoded.
+	 */
+	String NETWORK_RECEIVE_QUEUE_SIZE = "network.receive.queue.size"; //$NON-NLS-1$
+
+	/** Histogram of the durations of the event serializations.
+	 */
+	String SERIALIZATION_TIME = "network.serialization"; //$NON-NLS-1$
+
+	/** Histogram of the durations of the event deserializations.
+	 */
+	String DESERIALIZATION_TIME = "network.deserialization"; //$NON-NLS-1$
+
+	/** Counter of the spawned agents.
+	 */
+	String SPAWNED_AGENTS = "agents.spawned"; //$NON-NLS-1$
+
+	/** Counter of the killed agents.
+	 */
+	String KILLED_AGENTS = "agents.killed"; //$NON-NLS-1$
+
+	/** Gauge of the number of living agents.
+	 */
+	String AGENT_COUNT = "agents.count"; //$NON-NLS-1$
+
+	/** Prefix of the names of the metrics that are related to the near-cache of a distributed map.
+	 * The full name is {@code nearcache.<map name>.<metric>}.
+	 */
+	String NEAR_CACHE_PREFIX = "nearcache."; //$NON-NLS-1$
+
+	/** Suffix of the counter of the lookups that are served by a near-cache.
+	 */
+	String NEAR_CACHE_HITS_SUFFIX = ".hits"; //$NON-NLS-1$
+
+	/** Suffix of the counter of the lookups that are given to the distributed map.
+	 */
+	String NEAR_CACHE_MISSES_SUFFIX = ".misses"; //$NON-NLS-1$
+
+	/** Suffix of the gauge of the number of keys in a near-cache.
+	 */
+	String NEAR_CACHE_SIZE_SUFFIX = ".size"; //$NON-NLS-1$
+
+	/**
+	 * Replies the counter with the given name. The counter is created if it does not exist.
+	 *
+	 * @param name - the name of the counter.
+	 * @return the counter.
+	 */
+	MetricCounter getCounter(String name);
+
+	/**
+	 * Replies the histogram with the given name. The histogram is created if it does not exist.
+	 *
+	 * @param name - the name of the histogram.
+	 * @return the histogram.
+	 */
+	MetricHistogram getHistogram(String name);
+
+	/**
+	 * Register a gauge, i.e. a value that is computed when the metrics are read.
+	 * The gauge replaces any gauge with the same name.
+	 *
+	 * @param name - the name of the gauge.
+	 * @param gauge - the provider of the value of the gauge.
+	 */
+	void registerGauge(String name, Supplier<? extends Number> gauge);
+
+	/**
+	 * Remove the metrics with a name starting with the given prefix.
+	 *
+	 * @param prefix - the prefix of the names.
+	 */
+	void removeMetrics(String prefix);
+
+	/**
+	 * Replies the current values of the metrics.
+	 *
+	 * @return the snapshot of the metrics.
+	 */
+	MetricsSnapshot getSnapshot();
+
+	/**
+	 * Add a listener on the periodic snapshots.
+	 *
+	 * @param listener - the listener.
+	 */
+	void addMetricsListener(MetricsListener listener);
+
+	/**
+	 * Remove a listener on the periodic snapshots.
+	 *
+	 * @param listener - the listener.
+	 */
+	void removeMetricsListener(MetricsListener listener);
+
+}
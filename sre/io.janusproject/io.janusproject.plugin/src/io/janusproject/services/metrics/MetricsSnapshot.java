@@ -0,0 +1,134 @@
+/*
+ * $Id$
+ *
+ * SARL is an general-purpose agent programming language.
+ * More details on http://www.sarl.io
+ *
+ * Copyright (C) 2014-2016 the original authors or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.janusproject.services.metrics;
+
+import java.util.Collections;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+/**
+ * Immutable view of the metrics at a given time.
+ *
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ */
+public final class MetricsSnapshot {
+
+	private static final double MS_PER_S = 1000.;
+
+	private final long timestamp;
+
+	private final SortedMap<String, Long> counters;
+
+	private final SortedMap<String, Number> gauges;
+
+	private final SortedMap<String, MetricHistogram.Snapshot> histograms;
+
+	/**
+	 * Construct a snapshot.
+	 *
+	 * @param timestamp - the time of the snapshot, in milliseconds since the epoch.
+	 * @param counters - the values of the counters.
+	 * @param gauges - the values of the gauges.
+	 * @param histograms - the states of the histograms.
+	 */
+	public MetricsSnapshot(long timestamp, SortedMap<String, Long> counters, SortedMap<String, Number> gauges,
+			SortedMap<String, MetricHistogram.Snapshot> histograms) {
+		this.timestamp = timestamp;
+		this.counters = Collections.unmodifiableSortedMap(new TreeMap<>(counters));
+		this.gauges = Collections.unmodifiableSortedMap(new TreeMap<>(gauges));
+		this.histograms = Collections.unmodifiableSortedMap(new TreeMap<>(histograms));
+	}
+
+	/**
+	 * Replies the time of the snapshot.
+	 *
+	 * @return the time in milliseconds since the epoch.
+	 */
+	public long getTimestamp() {
+		return this.timestamp;
+	}
+
+	/**
+	 * Replies the values of the counters.
+	 *
+	 * @return the unmodifiable map from the counter names to their values.
+	 */
+	public SortedMap<String, Long> getCounters() {
+		return this.counters;
+	}
+
+	/**
+	 * Replies the values of the gauges.
+	 *
+	 * @return the unmodifiable map from the gauge names to their values.
+	 */
+	public SortedMap<String, Number> getGauges() {
+		return this.gauges;
+	}
+
+	/**
+	 * Replies the states of the histograms.
+	 *
+	 * @return the unmodifiable map from the histogram names to their states.
+	 */
+	public SortedMap<String, MetricHistogram.Snapshot> getHistograms() {
+		return this.histograms;
+	}
+
+	/**
+	 * Replies the value of a counter.
+	 *
+	 * @param name - the name of the counter.
+	 * @return the value, or zero if the counter is unknown.
+	 */
+	public long getCounter(String name) {
+		final Long value = this.counters.get(name);
+		return value == null ? 0 : value.longValue();
+	}
+
+	/**
+	 * Replies the rate of a counter between the given snapshot and this snapshot.
+	 *
+	 * @param name - the name of the counter.
+	 * @param previous - the previous snapshot.
+	 * @return the number of occurrences per second, or zero if the two snapshots have the same timestamp.
+	 */
+	public double getRate(String name, MetricsSnapshot previous) {
+		assert previous != null;
+		final long duration = this.timestamp - previous.timestamp;
+		if (duration <= 0) {
+			return 0.;
+		}
+		return (getCounter(name) - previous.getCounter(name)) * MS_PER_S / duration;
+	}
+
+	@Override
+	public String toString() {
+		return "counters=" + this.counters //$NON-NLS-1$
+				+ "; gauges=" + this.gauges //$NON-NLS-1$
+				+ "; histograms=" + this.histograms; //$NON-NLS-1$
+	}
+
+}
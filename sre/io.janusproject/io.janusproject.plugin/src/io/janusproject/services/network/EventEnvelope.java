@@ -19,9 +19,15 @@
  * limitations under the License.
  */
 
+
 package io.janusproject.services.network;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamField;
 import java.io.Serializable;
+import java.nio.ByteBuffer;
 import java.util.Arrays;
 
 /**
@@ -29,6 +35,13 @@ import java.util.Arrays;
  *
  * <p>A {@link EventEnvelope} can be transformed into/from a {@link EventDispatch} with a {@link EventSerializer}.
  *
+ * <p>Each part of the envelope is a view on a region of a byte array. Several parts may share the same
+ * array, e.g. the message that was received from the network, without being copied. The functions
+ * {@code getXXXBuffer()} reply the views; the functions {@code getXXX()} reply a byte array that contains
+ * exactly the part, and that is copied from the backing array only when the view does not cover all of it.
+ * The getters never change the envelope: a getter that is invoked twice on a partial view copies the part twice.
+ * The content of the views must not be changed.
+ *
  * @author $Author: srodriguez$
  * @author $Author: ngaud$
  * @author $Author: sgalland$
@@ -42,15 +55,25 @@ public class EventEnvelope implements Serializable {
 
 	private static final long serialVersionUID = 3618628129423203542L;
 
-	private byte[] contextId;
+	/** The serialized form of the envelope is the same as when the parts were stored in byte arrays.
+	 */
+	private static final ObjectStreamField[] serialPersistentFields = {
+		new ObjectStreamField("contextId", byte[].class), //$NON-NLS-1$
+		new ObjectStreamField("spaceId", byte[].class), //$NON-NLS-1$
+		new ObjectStreamField("scope", byte[].class), //$NON-NLS-1$
+		new ObjectStreamField("customHeaders", byte[].class), //$NON-NLS-1$
+		new ObjectStreamField("body", byte[].class), //$NON-NLS-1$
+	};
+
+	private transient ByteBuffer contextId;
 
-	private byte[] spaceId;
+	private transient ByteBuffer spaceId;
 
-	private byte[] scope;
+	private transient ByteBuffer scope;
 
-	private byte[] customHeaders;
+	private transient ByteBuffer customHeaders;
 
-	private byte[] body;
+	private transient ByteBuffer body;
 
 	/**
 	 * Construct an envelope.
@@ -69,11 +92,68 @@ public class EventEnvelope implements Serializable {
 		assert headers != null && headers.length > 0 : "Parameter 'headers' must not be null or zero-length"; //$NON-NLS-1$
 		assert body != null && body.length > 0 : "Parameter 'body' must not be null or zero-length"; //$NON-NLS-1$
 
-		this.contextId = contextId;
-		this.spaceId = spaceID;
-		this.scope = scope;
-		this.customHeaders = headers;
-		this.body = body;
+		this.contextId = ByteBuffer.wrap(contextId);
+		this.spaceId = ByteBuffer.wrap(spaceID);
+		this.scope = ByteBuffer.wrap(scope);
+		this.customHeaders = ByteBuffer.wrap(headers);
+		this.body = ByteBuffer.wrap(body);
+	}
+
+	/**
+	 * Construct an envelope from views on byte buffers.
+	 *
+	 * <p>The parts are the remaining bytes of the given buffers. The buffers are not copied, except the direct
+	 * buffers that are copied into the heap.
+	 *
+	 * @param contextId - identifier of the context in which the event occurs.
+	 * @param spaceID - identifier of the space in which the event occurs.
+	 * @param scope - scope for the event.
+	 * @param headers - custom header associated to the event.
+	 * @param body - body of the event.
+	 */
+	public EventEnvelope(ByteBuffer contextId, ByteBuffer spaceID, ByteBuffer scope, ByteBuffer headers, ByteBuffer body) {
+
+		assert contextId != null && contextId.hasRemaining() : "Parameter 'contextId' must not be null or empty"; //$NON-NLS-1$
+		assert spaceID != null && spaceID.hasRemaining() : "Parameter 'spaceID' must not be null or empty"; //$NON-NLS-1$
+		assert scope != null && scope.hasRemaining() : "Parameter 'scope' must not be null or empty"; //$NON-NLS-1$
+		assert headers != null && headers.hasRemaining() : "Parameter 'headers' must not be null or empty"; //$NON-NLS-1$
+		assert body != null && body.hasRemaining() : "Parameter 'body' must not be null or empty"; //$NON-NLS-1$
+
+		this.contextId = view(contextId);
+		this.spaceId = view(spaceID);
+		this.scope = view(scope);
+		this.customHeaders = view(headers);
+		this.body = view(body);
+	}
+
+	/** Replies a view on the remaining bytes of the given buffer, backed by an accessible array.
+	 *
+	 * @param buffer - the buffer.
+	 * @return the view.
+	 */
+	private static ByteBuffer view(ByteBuffer buffer) {
+		if (buffer.hasArray()) {
+			return buffer.slice();
+		}
+		final ByteBuffer copy = ByteBuffer.allocate(buffer.remaining());
+		copy.put(buffer.duplicate());
+		copy.flip();
+		return copy;
+	}
+
+	/** Replies the bytes of the given view.
+	 *
+	 * @param buffer - the view.
+	 * @return the backing array if the view covers all of it; or a copy of the bytes of the view.
+	 */
+	private static byte[] toArray(ByteBuffer buffer) {
+		final byte[] array = buffer.array();
+		final int offset = buffer.arrayOffset() + buffer.position();
+		final int length = buffer.remaining();
+		if (offset == 0 && length == array.length) {
+			return array;
+		}
+		return Arrays.copyOfRange(array, offset, offset + length);
 	}
 
 	/**
@@ -82,7 +162,16 @@ public class EventEnvelope implements Serializable {
 	 * @return the custom header.
 	 */
 	public byte[] getCustomHeaders() {
-		return this.customHeaders;
+		return toArray(this.customHeaders);
+	}
+
+	/**
+	 * Replies a view on the custom header.
+	 *
+	 * @return the view on the custom header, backed by an accessible array.
+	 */
+	public ByteBuffer getCustomHeadersBuffer() {
+		return this.customHeaders.duplicate();
 	}
 
 	/**
@@ -91,7 +180,16 @@ public class EventEnvelope implements Serializable {
 	 * @return the body.
 	 */
 	public byte[] getBody() {
-		return this.body;
+		return toArray(this.body);
+	}
+
+	/**
+	 * Replies a view on the body of the event.
+	 *
+	 * @return the view on the body, backed by an accessible array.
+	 */
+	public ByteBuffer getBodyBuffer() {
+		return this.body.duplicate();
 	}
 
 	/**
@@ -100,7 +198,18 @@ public class EventEnvelope implements Serializable {
 	 * @return the content identifier.
 	 */
 	public byte[] getContextId() {
-		return this.contextId;
+		return toArray(this.contextId);
+	}
+
+	/**
+	 * Replies a view on the identifier of the context in which the event occurs.
+	 *
+	 * <p>Two views on the same identifier are equal and have the same hash code.
+	 *
+	 * @return the view on the content identifier, backed by an accessible array.
+	 */
+	public ByteBuffer getContextIdBuffer() {
+		return this.contextId.duplicate();
 	}
 
 	/**
@@ -109,7 +218,16 @@ public class EventEnvelope implements Serializable {
 	 * @return the space identifier.
 	 */
 	public byte[] getSpaceId() {
-		return this.spaceId;
+		return toArray(this.spaceId);
+	}
+
+	/**
+	 * Replies a view on the identifier of the space in which the event occurs.
+	 *
+	 * @return the view on the space identifier, backed by an accessible array.
+	 */
+	public ByteBuffer getSpaceIdBuffer() {
+		return this.spaceId.duplicate();
 	}
 
 	/**
@@ -118,7 +236,26 @@ public class EventEnvelope implements Serializable {
 	 * @return the scope.
 	 */
 	public byte[] getScope() {
-		return this.scope;
+		return toArray(this.scope);
+	}
+
+	/**
+	 * Replies a view on the scope of the event.
+	 *
+	 * @return the view on the scope, backed by an accessible array.
+	 */
+	public ByteBuffer getScopeBuffer() {
+		return this.scope.duplicate();
+	}
+
+	/**
+	 * Replies the number of bytes in all the parts of the envelope.
+	 *
+	 * @return the size of the envelope.
+	 */
+	public int getSize() {
+		return this.contextId.remaining() + this.spaceId.remaining() + this.scope.remaining()
+				+ this.customHeaders.remaining() + this.body.remaining();
 	}
 
 	/**
@@ -128,7 +265,17 @@ public class EventEnvelope implements Serializable {
 	 */
 	public void setCustomHeaders(byte[] headers) {
 		assert headers != null && headers.length > 0 : "Parameter 'headers' must not be null or zero-length"; //$NON-NLS-1$
-		this.customHeaders = headers;
+		this.customHeaders = ByteBuffer.wrap(headers);
+	}
+
+	/**
+	 * Change the custom header.
+	 *
+	 * @param headers - the view on the serialized header for the message
+	 */
+	public void setCustomHeaders(ByteBuffer headers) {
+		assert headers != null && headers.hasRemaining() : "Parameter 'headers' must not be null or empty"; //$NON-NLS-1$
+		this.customHeaders = view(headers);
 	}
 
 	/**
@@ -138,7 +285,17 @@ public class EventEnvelope implements Serializable {
 	 */
 	public void setBody(byte[] body) {
 		assert body != null && body.length > 0 : "Parameter 'body' must not be null or zero-length"; //$NON-NLS-1$
-		this.body = body;
+		this.body = ByteBuffer.wrap(body);
+	}
+
+	/**
+	 * Change the body of the event.
+	 *
+	 * @param body - the view on the serialized message content
+	 */
+	public void setBody(ByteBuffer body) {
+		assert body != null && body.hasRemaining() : "Parameter 'body' must not be null or empty"; //$NON-NLS-1$
+		this.body = view(body);
 	}
 
 	/**
@@ -148,7 +305,17 @@ public class EventEnvelope implements Serializable {
 	 */
 	public void setContextId(byte[] contextID) {
 		assert contextID != null && contextID.length > 0 : "Parameter 'contextID' must not be null or zero-length"; //$NON-NLS-1$
-		this.contextId = contextID;
+		this.contextId = ByteBuffer.wrap(contextID);
+	}
+
+	/**
+	 * Change the identifier of the context in which the event occurs.
+	 *
+	 * @param contextID - the view on the serialized context identifier
+	 */
+	public void setContextId(ByteBuffer contextID) {
+		assert contextID != null && contextID.hasRemaining() : "Parameter 'contextID' must not be null or empty"; //$NON-NLS-1$
+		this.contextId = view(contextID);
 	}
 
 	/**
@@ -158,7 +325,17 @@ public class EventEnvelope implements Serializable {
 	 */
 	public void setSpaceId(byte[] spaceID) {
 		assert spaceID != null && spaceID.length > 0 : "Parameter 'spaceID' must not be null or zero-length"; //$NON-NLS-1$
-		this.spaceId = spaceID;
+		this.spaceId = ByteBuffer.wrap(spaceID);
+	}
+
+	/**
+	 * Change the identifier of the space in which the event occurs.
+	 *
+	 * @param spaceID - the view on the serialized space identifier
+	 */
+	public void setSpaceId(ByteBuffer spaceID) {
+		assert spaceID != null && spaceID.hasRemaining() : "Parameter 'spaceID' must not be null or empty"; //$NON-NLS-1$
+		this.spaceId = view(spaceID);
 	}
 
 	/**
@@ -168,17 +345,46 @@ public class EventEnvelope implements Serializable {
 	 */
 	public void setScope(byte[] scope) {
 		assert scope != null && scope.length > 0 : "Parameter 'scope' must not be null or zero-length"; //$NON-NLS-1$
-		this.scope = scope;
+		this.scope = ByteBuffer.wrap(scope);
+	}
+
+	/**
+	 * Change the scope of the event.
+	 *
+	 * @param scope - the view on the serialized scope
+	 */
+	public void setScope(ByteBuffer scope) {
+		assert scope != null && scope.hasRemaining() : "Parameter 'scope' must not be null or empty"; //$NON-NLS-1$
+		this.scope = view(scope);
+	}
+
+	private void writeObject(ObjectOutputStream stream) throws IOException {
+		final ObjectOutputStream.PutField fields = stream.putFields();
+		fields.put("contextId", toArray(this.contextId)); //$NON-NLS-1$
+		fields.put("spaceId", toArray(this.spaceId)); //$NON-NLS-1$
+		fields.put("scope", toArray(this.scope)); //$NON-NLS-1$
+		fields.put("customHeaders", toArray(this.customHeaders)); //$NON-NLS-1$
+		fields.put("body", toArray(this.body)); //$NON-NLS-1$
+		stream.writeFields();
+	}
+
+	private void readObject(ObjectInputStream stream) throws IOException, ClassNotFoundException {
+		final ObjectInputStream.GetField fields = stream.readFields();
+		this.contextId = ByteBuffer.wrap((byte[]) fields.get("contextId", null)); //$NON-NLS-1$
+		this.spaceId = ByteBuffer.wrap((byte[]) fields.get("spaceId", null)); //$NON-NLS-1$
+		this.scope = ByteBuffer.wrap((byte[]) fields.get("scope", null)); //$NON-NLS-1$
+		this.customHeaders = ByteBuffer.wrap((byte[]) fields.get("customHeaders", null)); //$NON-NLS-1$
+		this.body = ByteBuffer.wrap((byte[]) fields.get("body", null)); //$NON-NLS-1$
 	}
 
 	@Override
 	public String toString() {
 		return "EventEnvelope {\n  context=" //$NON-NLS-1$
-				+ Arrays.toString(this.contextId) + "\n  scope=" //$NON-NLS-1$
-				+ Arrays.toString(this.scope) + ",\n  spaceID=" //$NON-NLS-1$
-				+ Arrays.toString(this.spaceId) + ",\n  headers=" //$NON-NLS-1$
-				+ Arrays.toString(this.customHeaders) + ",\n  body=" //$NON-NLS-1$
-				+ Arrays.toString(this.body) + "\n}"; //$NON-NLS-1$
+				+ Arrays.toString(toArray(this.contextId)) + "\n  scope=" //$NON-NLS-1$
+				+ Arrays.toString(toArray(this.scope)) + ",\n  spaceID=" //$NON-NLS-1$
+				+ Arrays.toString(toArray(this.spaceId)) + ",\n  headers=" //$NON-NLS-1$
+				+ Arrays.toString(toArray(this.customHeaders)) + ",\n  body=" //$NON-NLS-1$
+				+ Arrays.toString(toArray(this.body)) + "\n}"; //$NON-NLS-1$
 
 	}
 
@@ -72,6 +72,101 @@ public final class NetworkConfig {
 	 */
 	public static final Charset BYTE_ARRAY_STRING_CHARSET_VALUE = Charsets.UTF_8;
 
+	/**
+	 * Name of the property for the delay (in milliseconds) during which the network service is waiting for more events
+	 * before publishing an incomplete batch.
+	 *
+	 * @see #BATCH_LINGER_VALUE
+	 */
+	public static final String BATCH_LINGER_NAME = "network.batch.linger"; //$NON-NLS-1$
+
+	/**
+	 * Default delay (in milliseconds) during which the network service is waiting for more events
+	 * before publishing an incomplete batch.
+	 *
+	 * @see #BATCH_LINGER_NAME
+	 */
+	public static final int BATCH_LINGER_VALUE = 1;
+
+	/**
+	 * Name of the property for the maximal number of events in a batch published by the network service.
+	 *
+	 * <p>A kernel without the support of the batches rejects the messages that contain several events.
+	 * This value must be greater than one only if all the kernels of the network support the batches.
+	 *
+	 * @see #BATCH_MAX_EVENTS_VALUE
+	 */
+	public static final String BATCH_MAX_EVENTS_NAME = "network.batch.maxEvents"; //$NON-NLS-1$
+
+	/**
+	 * Default maximal number of events in a batch published by the network service.
+	 * By default, the events are not batched.
+	 *
+	 * @see #BATCH_MAX_EVENTS_NAME
+	 */
+	public static final int BATCH_MAX_EVENTS_VALUE = 1;
+
+	/**
+	 * Name of the property for the maximal number of bytes in a batch published by the network service.
+	 *
+	 * @see #BATCH_MAX_BYTES_VALUE
+	 */
+	public static final String BATCH_MAX_BYTES_NAME = "network.batch.maxBytes"; //$NON-NLS-1$
+
+	/**
+	 * Default maximal number of bytes in a batch published by the network service.
+	 *
+	 * @see #BATCH_MAX_BYTES_NAME
+	 */
+	public static final int BATCH_MAX_BYTES_VALUE = 65536;
+
+	/**
+	 * Name of the property for the number of workers that are decrypting and deserializing in parallel the envelopes
+	 * received by the network service. A value lower or equal to zero means the number of available processors.
+	 *
+	 * @see #RECEIVE_WORKERS_VALUE
+	 */
+	public static final String RECEIVE_WORKERS_NAME = "network.receive.workers"; //$NON-NLS-1$
+
+	/**
+	 * Default number of workers that are decoding the received envelopes. Zero means the number of available processors.
+	 *
+	 * @see #RECEIVE_WORKERS_NAME
+	 */
+	public static final int RECEIVE_WORKERS_VALUE = 0;
+
+	/**
+	 * Name of the property for the maximal number of received envelopes that are waiting for being decoded by a worker
+	 * or dispatched to their space. When this number is reached, the network service stops reading the sockets until
+	 * the workers have caught up.
+	 *
+	 * @see #RECEIVE_CAPACITY_VALUE
+	 */
+	public static final String RECEIVE_CAPACITY_NAME = "network.receive.capacity"; //$NON-NLS-1$
+
+	/**
+	 * Default maximal number of received envelopes that are waiting for being decoded by a worker or dispatched
+	 * to their space.
+	 *
+	 * @see #RECEIVE_CAPACITY_NAME
+	 */
+	public static final int RECEIVE_CAPACITY_VALUE = 1024;
+
+	/**
+	 * Name of the property for the cipher mode of the {@code FramedAESEventEncrypter}. The supported modes
+	 * are {@code GCM} (authenticated encryption) and {@code CBC}.
+	 *
+	 * @see #AES_MODE_VALUE
+	 */
+	public static final String AES_MODE_NAME = "network.encrypter.aes.mode"; //$NON-NLS-1$
+
+	/**
+	 * Default cipher mode of the {@code FramedAESEventEncrypter}.
+	 *
+	 * @see #AES_MODE_NAME
+	 */
+	public static final String AES_MODE_VALUE = "GCM"; //$NON-NLS-1$
+
 	private static Charset currentStringEncoding;
 
 	private NetworkConfig() {
@@ -86,7 +181,13 @@ public final class NetworkConfig {
 	public static void getDefaultValues(Properties defaultValues) {
 		NetworkEventModule.getDefaultValues(defaultValues);
 		defaultValues.put(AES_KEY, ""); //$NON-NLS-1$
+		defaultValues.put(AES_MODE_NAME, AES_MODE_VALUE);
 		defaultValues.put(BYTE_ARRAY_STRING_CHARSET_NAME, BYTE_ARRAY_STRING_CHARSET_VALUE.name());
+		defaultValues.put(BATCH_LINGER_NAME, Integer.toString(BATCH_LINGER_VALUE));
+		defaultValues.put(BATCH_MAX_EVENTS_NAME, Integer.toString(BATCH_MAX_EVENTS_VALUE));
+		defaultValues.put(BATCH_MAX_BYTES_NAME, Integer.toString(BATCH_MAX_BYTES_VALUE));
+		defaultValues.put(RECEIVE_WORKERS_NAME, Integer.toString(RECEIVE_WORKERS_VALUE));
+		defaultValues.put(RECEIVE_CAPACITY_NAME, Integer.toString(RECEIVE_CAPACITY_VALUE));
 	}
 
 	/**
@@ -30,6 +30,7 @@ import java.net.SocketException;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.net.UnknownHostException;
+import java.nio.ByteBuffer;
 import java.util.Enumeration;
 import java.util.UUID;
 
@@ -138,6 +139,30 @@ public final class NetworkUtil {
 		return UUID.fromString(new String(id, NetworkConfig.getStringEncodingCharset()));
 	}
 
+	/**
+	 * Replies the id from the given view on a byte-array representation.
+	 *
+	 * @param id - the view on the bytes to convert to UUID. It must be backed by an accessible array.
+	 * @return the UUID.
+	 */
+	public static UUID fromByteBuffer(ByteBuffer id) {
+		return UUID.fromString(toString(id));
+	}
+
+	/**
+	 * Replies the string that is encoded in the given view on a byte array.
+	 *
+	 * <p>The bytes are decoded with the {@link NetworkConfig#getStringEncodingCharset() network charset},
+	 * without being copied from the backing array.
+	 *
+	 * @param bytes - the view on the bytes to decode. It must be backed by an accessible array.
+	 * @return the string.
+	 */
+	public static String toString(ByteBuffer bytes) {
+		return new String(bytes.array(), bytes.arrayOffset() + bytes.position(), bytes.remaining(),
+				NetworkConfig.getStringEncodingCharset());
+	}
+
 	/**
 	 * Convert a string URI to an object URI.
 	 *
@@ -22,6 +22,7 @@
 package io.janusproject.services.spawn;
 
 import java.text.MessageFormat;
+import java.util.List;
 import java.util.UUID;
 
 import io.janusproject.services.DependentService;
@@ -51,6 +52,20 @@ public interface SpawnService extends DependentService {
 	 */
 	UUID spawn(AgentContext parent, UUID agentId, Class<? extends Agent> agentClazz, Object... params);
 
+	/**
+	 * Spawn several agents of the given type, and pass the parameters to their initialization functions.
+	 *
+	 * <p>The type of the agents is checked once, and the agents are created and registered in bulk.
+	 * The identifiers of the agents are randomly selected.
+	 *
+	 * @param nbAgents - the number of agents to spawn.
+	 * @param parent - the parent entity that is creating the agents.
+	 * @param agentClazz - the type of the agents to spawn.
+	 * @param params - the list of the parameters to pass to the initialization function of each agent.
+	 * @return the identifiers of the agents, never <code>null</code>.
+	 */
+	List<UUID> spawn(int nbAgents, AgentContext parent, Class<? extends Agent> agentClazz, Object... params);
+
 	/**
 	 * Kill the agent with the given identifier.
 	 *
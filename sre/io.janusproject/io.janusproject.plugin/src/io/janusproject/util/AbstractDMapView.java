@@ -162,12 +162,11 @@ public abstract class AbstractDMapView<K, V> extends AbstractMapView<K, V> imple
 
     @Override
     public V putIfAbsent(K key, V value) {
-        if (!getDelegatedObject().containsKey(key)) {
-            final V old = getDelegatedObject().put(key, value);
+        final V old = getDelegatedObject().putIfAbsent(key, value);
+        if (old == null) {
             fireEntryAdded(key, value);
-            return old;
         }
-        return getDelegatedObject().get(key);
+        return old;
     }
 
     /**
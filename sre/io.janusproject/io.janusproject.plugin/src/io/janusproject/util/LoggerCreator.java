@@ -22,6 +22,7 @@
 package io.janusproject.util;
 
 import java.util.logging.Level;
+import java.util.logging.LogManager;
 import java.util.logging.Logger;
 
 import io.janusproject.JanusConfig;
@@ -38,6 +39,8 @@ public final class LoggerCreator {
 
     private static final String FORMAT_PROPERTY_KEY = "java.util.logging.SimpleFormatter.format"; //$NON-NLS-1$
 
+    private static final String SOURCE_FORMAT_PARAMETER = "%2$"; //$NON-NLS-1$
+
     /**
      * The parameters for the format string are:
      * <ul>
@@ -67,6 +70,22 @@ public final class LoggerCreator {
         }
     }
 
+    /**
+     * Replies if the format of the messages contains the name of the calling function.
+     *
+     * <p>If no format is specified, the default format of the {@link java.util.logging.SimpleFormatter} is used, and
+     * it contains the name of the calling function.
+     *
+     * @return <code>true</code> if the calling function is written in the messages.
+     */
+    public static boolean isSourceInMessageFormat() {
+        String format = System.getProperty(FORMAT_PROPERTY_KEY, null);
+        if (format == null || format.isEmpty()) {
+            format = LogManager.getLogManager().getProperty(FORMAT_PROPERTY_KEY);
+        }
+        return format == null || format.isEmpty() || format.contains(SOURCE_FORMAT_PARAMETER);
+    }
+
     /**
      * Create a logger with the given name.
      *
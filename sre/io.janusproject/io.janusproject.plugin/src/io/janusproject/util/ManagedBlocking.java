@@ -0,0 +1,210 @@
+/*
+ * $Id$
+ *
+ * SARL is an general-purpose agent programming language.
+ * More details on http://www.sarl.io
+ *
+ * Copyright (C) 2014-2016 the original authors or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.janusproject.util;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinPool.ManagedBlocker;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import io.janusproject.services.executor.JanusFutureTask;
+
+/**
+ * Utilities for the blocking operations that are run by the tasks of an executor.
+ *
+ * <p>The number of worker threads of a fork-join executor is fixed. A task that is blocked while it
+ * is waiting for another task of the same pool holds one of these workers, and the pool may starve or deadlock
+ * when all the workers are blocked. The functions of this class are waiting through
+ * {@link ForkJoinPool#managedBlock(ManagedBlocker)}: when they are invoked from a worker thread of a fork-join pool,
+ * the pool may activate a spare thread for compensating the blocked worker. When they are invoked from another
+ * thread, they are equivalent to the standard blocking functions.
+ *
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ */
+public final class ManagedBlocking {
+
+	private ManagedBlocking() {
+		//
+	}
+
+	/**
+	 * Wait until the given latch has counted down to zero.
+	 *
+	 * @param latch - the latch to wait for.
+	 * @throws InterruptedException - if the current thread is interrupted while waiting.
+	 * @see CountDownLatch#await()
+	 */
+	public static void await(CountDownLatch latch) throws InterruptedException {
+		if (latch.getCount() > 0) {
+			ForkJoinPool.managedBlock(new LatchBlocker(latch));
+		}
+	}
+
+	/**
+	 * Wait until the given future is done, and reply its result.
+	 *
+	 * @param <V> - the type of the result.
+	 * @param future - the future to wait for.
+	 * @return the result of the future.
+	 * @throws InterruptedException - if the current thread is interrupted while waiting.
+	 * @throws ExecutionException - if the computation of the future has thrown an exception.
+	 * @see Future#get()
+	 */
+	public static <V> V get(Future<V> future) throws InterruptedException, ExecutionException {
+		// The futures of the Janus executors are already waiting through a managed blocker.
+		if (!future.isDone() && !(future instanceof JanusFutureTask<?>)) {
+			ForkJoinPool.managedBlock(new FutureBlocker(future));
+		}
+		return future.get();
+	}
+
+	/**
+	 * Wait until the given condition is true, or until the timeout is elapsed.
+	 *
+	 * <p>The waiting thread is woken up by a notification on the given monitor. The code that may change the
+	 * value of the condition must notify the monitor.
+	 *
+	 * @param monitor - the object on which the waiting thread is notified.
+	 * @param condition - the condition to wait for.
+	 * @param timeout - the maximal duration of the wait.
+	 * @param unit - the unit of the timeout.
+	 * @throws InterruptedException - if the current thread is interrupted while waiting.
+	 * @see Object#wait(long)
+	 */
+	public static void await(Object monitor, BooleanSupplier condition, long timeout, TimeUnit unit)
+			throws InterruptedException {
+		if (!condition.getAsBoolean() && timeout > 0) {
+			ForkJoinPool.managedBlock(new ConditionBlocker(monitor, condition, System.nanoTime() + unit.toNanos(timeout)));
+		}
+	}
+
+	/**
+	 * Blocker on a latch.
+	 *
+	 * @author $Author: sgalland$
+	 * @version $FullVersion$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 */
+	private static class LatchBlocker implements ManagedBlocker {
+
+		private final CountDownLatch latch;
+
+		LatchBlocker(CountDownLatch latch) {
+			this.latch = latch;
+		}
+
+		@Override
+		public boolean block() throws InterruptedException {
+			this.latch.await();
+			return true;
+		}
+
+		@Override
+		public boolean isReleasable() {
+			return this.latch.getCount() == 0;
+		}
+
+	}
+
+	/**
+	 * Blocker on a future.
+	 *
+	 * @author $Author: sgalland$
+	 * @version $FullVersion$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 */
+	private static class FutureBlocker implements ManagedBlocker {
+
+		private final Future<?> future;
+
+		FutureBlocker(Future<?> future) {
+			this.future = future;
+		}
+
+		@Override
+		public boolean block() throws InterruptedException {
+			try {
+				this.future.get();
+			} catch (ExecutionException | CancellationException exception) {
+				// The exception is reported by the caller when it gets the result of the future.
+			}
+			return true;
+		}
+
+		@Override
+		public boolean isReleasable() {
+			return this.future.isDone();
+		}
+
+	}
+
+	/**
+	 * Blocker on a condition that is notified on a monitor.
+	 *
+	 * @author $Author: sgalland$
+	 * @version $FullVersion$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 */
+	private static class ConditionBlocker implements ManagedBlocker {
+
+		private final Object monitor;
+
+		private final BooleanSupplier condition;
+
+		private final long deadline;
+
+		ConditionBlocker(Object monitor, BooleanSupplier condition, long deadline) {
+			this.monitor = monitor;
+			this.condition = condition;
+			this.deadline = deadline;
+		}
+
+		@Override
+		public boolean block() throws InterruptedException {
+			synchronized (this.monitor) {
+				long delay = this.deadline - System.nanoTime();
+				while (delay > 0 && !this.condition.getAsBoolean()) {
+					TimeUnit.NANOSECONDS.timedWait(this.monitor, delay);
+					delay = this.deadline - System.nanoTime();
+				}
+			}
+			return true;
+		}
+
+		@Override
+		public boolean isReleasable() {
+			return this.condition.getAsBoolean() || System.nanoTime() - this.deadline >= 0;
+		}
+
+	}
+
+}
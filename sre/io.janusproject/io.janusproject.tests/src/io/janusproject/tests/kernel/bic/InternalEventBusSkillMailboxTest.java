@@ -0,0 +1,166 @@
+/*
+ * $Id$
+ * 
+ * Janus platform is an open-source multiagent platform.
+ * More details on http://www.janusproject.io
+ * 
+ * Copyright (C) 2014-2015 Sebastian RODRIGUEZ, Nicolas GAUD, Stéphane GALLAND.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.janusproject.tests.kernel.bic;
+
+import static org.junit.Assert.assertSame;
+
+import java.util.List;
+
+import io.janusproject.JanusConfig;
+import io.janusproject.kernel.bic.InternalEventBusSkill;
+import io.janusproject.kernel.bic.internaleventdispatching.AgentInternalEventsDispatcher;
+import io.janusproject.services.executor.ExecutorService;
+import io.janusproject.services.logging.LogService;
+import io.janusproject.tests.testutils.AbstractJanusTest;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+
+import io.sarl.core.Initialize;
+import io.sarl.lang.core.Address;
+import io.sarl.lang.core.Agent;
+import io.sarl.lang.core.Event;
+
+/**
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ */
+@SuppressWarnings("all")
+public class InternalEventBusSkillMailboxTest extends AbstractJanusTest {
+
+	static {
+		System.setProperty(JanusConfig.AGENT_MAILBOX_NAME, Boolean.TRUE.toString());
+		System.setProperty(JanusConfig.AGENT_MAILBOX_CAPACITY_NAME, Integer.toString(2));
+		System.setProperty(JanusConfig.AGENT_MAILBOX_BATCH_SIZE_NAME, Integer.toString(1));
+		System.setProperty(JanusConfig.AGENT_MAILBOX_OFFER_TIMEOUT_NAME, Integer.toString(100));
+	}
+
+	@Mock
+	private AgentInternalEventsDispatcher eventBus;
+
+	@Mock
+	private LogService logger;
+
+	@Mock
+	private ExecutorService executor;
+
+	@Mock
+	private Agent agent;
+
+	@Mock
+	private Address innerAddress;
+
+	@InjectMocks
+	private InternalEventBusSkill skill;
+
+	@AfterClass
+	public static void tearDownClass() {
+		System.clearProperty(JanusConfig.AGENT_MAILBOX_NAME);
+		System.clearProperty(JanusConfig.AGENT_MAILBOX_CAPACITY_NAME);
+		System.clearProperty(JanusConfig.AGENT_MAILBOX_BATCH_SIZE_NAME);
+		System.clearProperty(JanusConfig.AGENT_MAILBOX_OFFER_TIMEOUT_NAME);
+	}
+
+	@Before
+	public void setUp() {
+		this.skill.selfEvent(Mockito.mock(Initialize.class));
+	}
+
+	@Test
+	public void selfEvent_drainedByExecutor() {
+		Mockito.doAnswer((it) -> {
+			((Runnable) it.getArgument(0)).run();
+			return null;
+		}).when(this.executor).execute(Mockito.any(Runnable.class));
+		Event event1 = Mockito.mock(Event.class);
+		Event event2 = Mockito.mock(Event.class);
+		this.skill.selfEvent(event1);
+		this.skill.selfEvent(event2);
+		Mockito.verify(this.eventBus, Mockito.never()).asyncDispatch(Mockito.any(Event.class));
+		ArgumentCaptor<Event> argument = ArgumentCaptor.forClass(Event.class);
+		Mockito.verify(this.eventBus, Mockito.times(2)).asyncDispatchInCurrentThread(argument.capture());
+		List<Event> events = argument.getAllValues();
+		assertSame(event1, events.get(0));
+		assertSame(event2, events.get(1));
+	}
+
+	@Test
+	public void selfEvent_singleDrainingTask() {
+		this.skill.selfEvent(Mockito.mock(Event.class));
+		this.skill.selfEvent(Mockito.mock(Event.class));
+		Mockito.verify(this.executor, Mockito.times(1)).execute(Mockito.any(Runnable.class));
+		Mockito.verify(this.eventBus, Mockito.never()).asyncDispatchInCurrentThread(Mockito.any(Event.class));
+	}
+
+	@Test
+	public void selfEvent_fullMailbox_order() {
+		Event event1 = Mockito.mock(Event.class);
+		Event event2 = Mockito.mock(Event.class);
+		Event event3 = Mockito.mock(Event.class);
+		this.skill.selfEvent(event1);
+		this.skill.selfEvent(event2);
+		// The mailbox is full and never drained: the event is added after the offer timeout.
+		this.skill.selfEvent(event3);
+		Mockito.verify(this.eventBus, Mockito.never()).asyncDispatchInCurrentThread(Mockito.any(Event.class));
+
+		ArgumentCaptor<Runnable> task = ArgumentCaptor.forClass(Runnable.class);
+		Mockito.verify(this.executor).execute(task.capture());
+		for (int i = 0; i < 3; ++i) {
+			task.getValue().run();
+		}
+		ArgumentCaptor<Event> argument = ArgumentCaptor.forClass(Event.class);
+		Mockito.verify(this.eventBus, Mockito.times(3)).asyncDispatchInCurrentThread(argument.capture());
+		List<Event> events = argument.getAllValues();
+		assertSame(event1, events.get(0));
+		assertSame(event2, events.get(1));
+		assertSame(event3, events.get(2));
+	}
+
+	@Test
+	public void selfEvent_fullMailbox_waitForRoom() throws Exception {
+		Event event1 = Mockito.mock(Event.class);
+		Event event2 = Mockito.mock(Event.class);
+		Event event3 = Mockito.mock(Event.class);
+		this.skill.selfEvent(event1);
+		this.skill.selfEvent(event2);
+		ArgumentCaptor<Runnable> task = ArgumentCaptor.forClass(Runnable.class);
+		Mockito.verify(this.executor).execute(task.capture());
+		Thread producer = new Thread(() -> this.skill.selfEvent(event3));
+		producer.start();
+		// Make room in the mailbox while the producer is waiting.
+		task.getValue().run();
+		producer.join(5000);
+		task.getValue().run();
+		task.getValue().run();
+		ArgumentCaptor<Event> argument = ArgumentCaptor.forClass(Event.class);
+		Mockito.verify(this.eventBus, Mockito.times(3)).asyncDispatchInCurrentThread(argument.capture());
+		List<Event> events = argument.getAllValues();
+		assertSame(event1, events.get(0));
+		assertSame(event2, events.get(1));
+		assertSame(event3, events.get(2));
+	}
+
+}
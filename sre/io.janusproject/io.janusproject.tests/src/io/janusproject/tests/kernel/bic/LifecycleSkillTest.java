@@ -130,6 +130,23 @@ public class LifecycleSkillTest extends AbstractJanusTest {
 		assertArrayEquals(new Object[] { 1, "String" }, argument4.getAllValues().toArray()); //$NON-NLS-1$
 	}
 
+	@Test
+	public void spawnInContext_bulk() {
+		Class type = Agent.class;
+		AgentContext context = mock(AgentContext.class);
+		this.skill.spawnInContext(5, type, context, 1, "String"); //$NON-NLS-1$
+		ArgumentCaptor<Integer> argument1 = ArgumentCaptor.forClass(Integer.class);
+		ArgumentCaptor<AgentContext> argument2 = ArgumentCaptor.forClass(AgentContext.class);
+		ArgumentCaptor<Class> argument3 = ArgumentCaptor.forClass(Class.class);
+		ArgumentCaptor<Object> argument4 = ArgumentCaptor.forClass(Object.class);
+		verify(this.spawnService, times(1)).spawn(argument1.capture(), argument2.capture(), argument3.capture(),
+				argument4.capture());
+		assertEquals(5, argument1.getValue());
+		assertSame(context, argument2.getValue());
+		assertEquals(Agent.class, argument3.getValue());
+		assertArrayEquals(new Object[] { 1, "String" }, argument4.getAllValues().toArray()); //$NON-NLS-1$
+	}
+
 	@Test
 	public void killMe() throws Exception {
 		try {
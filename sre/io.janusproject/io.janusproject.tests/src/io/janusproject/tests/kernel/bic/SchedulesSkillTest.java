@@ -27,7 +27,9 @@ import static org.junit.Assert.assertTrue;
 
 import java.util.Collection;
 import java.util.UUID;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 
 import io.janusproject.kernel.bic.SchedulesSkill;
@@ -133,6 +135,55 @@ public class SchedulesSkillTest extends AbstractJanusTest {
 		assertSame(TimeUnit.MILLISECONDS, argument3.getValue());
 	}
 
+	@Test
+	public void inLongProcedure1_finishedBeforeRegistration() throws Exception {
+		Mockito.when(this.executorService.schedule(ArgumentMatchers.any(Runnable.class), ArgumentMatchers.any(long.class),
+				ArgumentMatchers.any(TimeUnit.class))).thenAnswer(new Answer<ScheduledFuture>() {
+					@Override
+					public ScheduledFuture answer(InvocationOnMock invocation) throws Throwable {
+						// The task is run before its future is marked as done and before it is registered.
+						((Runnable) invocation.getArgument(0)).run();
+						ScheduledFuture f = Mockito.mock(ScheduledFuture.class);
+						Mockito.when(f.isDone()).thenReturn(false);
+						Mockito.when(f.isCancelled()).thenReturn(false);
+						return f;
+					}
+				});
+		Procedure1 procedure = Mockito.mock(Procedure1.class);
+		this.skill.in(0, procedure);
+		Mockito.verify(procedure, new Times(1)).apply(ArgumentMatchers.any());
+		Collection<ScheduledFuture<?>> futures = (Collection<ScheduledFuture<?>>) this.reflect.invoke(this.skill, "getActiveFutures");
+		assertTrue(futures.isEmpty());
+		Collection<String> activeTasks = (Collection<String>) this.reflect.invoke(this.skill, "getActiveTasks");
+		assertTrue(activeTasks.isEmpty());
+	}
+
+	@Test
+	public void inLongProcedure1_concurrentZeroDelay() throws Exception {
+		final ScheduledExecutorService realService = new ScheduledThreadPoolExecutor(4);
+		try {
+			Mockito.when(this.executorService.schedule(ArgumentMatchers.any(Runnable.class), ArgumentMatchers.any(long.class),
+					ArgumentMatchers.any(TimeUnit.class))).thenAnswer(new Answer<ScheduledFuture>() {
+						@Override
+						public ScheduledFuture answer(InvocationOnMock invocation) throws Throwable {
+							return realService.schedule((Runnable) invocation.getArgument(0),
+									(Long) invocation.getArgument(1), (TimeUnit) invocation.getArgument(2));
+						}
+					});
+			Procedure1 procedure = Mockito.mock(Procedure1.class);
+			for (int i = 0; i < 500; ++i) {
+				this.skill.in(0, procedure);
+			}
+		} finally {
+			realService.shutdown();
+			assertTrue(realService.awaitTermination(10, TimeUnit.SECONDS));
+		}
+		Collection<ScheduledFuture<?>> futures = (Collection<ScheduledFuture<?>>) this.reflect.invoke(this.skill, "getActiveFutures");
+		assertTrue(futures.isEmpty());
+		Collection<String> activeTasks = (Collection<String>) this.reflect.invoke(this.skill, "getActiveTasks");
+		assertTrue(activeTasks.isEmpty());
+	}
+
 	@Test
 	public void inAgentTaskLongProcedure1() {
 		AgentTask task = Mockito.mock(AgentTask.class);
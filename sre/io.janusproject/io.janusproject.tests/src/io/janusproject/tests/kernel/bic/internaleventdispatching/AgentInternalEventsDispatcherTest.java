@@ -19,12 +19,22 @@
  */
 package io.janusproject.tests.kernel.bic.internaleventdispatching;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.UUID;
-
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.google.inject.AbstractModule;
+import com.google.inject.Guice;
+import com.google.inject.Injector;
 import org.junit.Before;
 import org.junit.Test;
 import org.mockito.ArgumentCaptor;
@@ -65,6 +75,17 @@ public class AgentInternalEventsDispatcherTest extends AbstractSarlTest {
 		this.dispatcher = new AgentInternalEventsDispatcher(this.executorService);
 	}
 
+	@Test
+	public void injection_withoutMetricsService() {
+		Injector injector = Guice.createInjector(new AbstractModule() {
+			@Override
+			protected void configure() {
+				bind(ExecutorService.class).toInstance(AgentInternalEventsDispatcherTest.this.executorService);
+			}
+		});
+		assertNotNull(injector.getInstance(AgentInternalEventsDispatcher.class));
+	}
+
 	@Test
 	public void immediateDispatch_noRegister_event() {
 		this.dispatcher.immediateDispatch(new Event() { });
@@ -162,6 +183,85 @@ public class AgentInternalEventsDispatcherTest extends AbstractSarlTest {
 		Mockito.verify(this.executorService, Mockito.never()).execute(argument.capture());
 	}
 
+	@Test
+	public void immediateDispatch_parallelGuardEvaluation() {
+		AgentInternalEventsDispatcher dispatcher = new AgentInternalEventsDispatcher(this.executorService, 1);
+		MyAgent3 agent = new MyAgent3();
+		dispatcher.register(agent);
+		dispatcher.immediateDispatch(new MyEvent(1));
+		assertEquals(2, agent.calls.get());
+		dispatcher.immediateDispatch(new MyEvent(0));
+		assertEquals(3, agent.calls.get());
+	}
+
+	@Test
+	public void asyncDispatch_parallelGuardEvaluation() {
+		AgentInternalEventsDispatcher dispatcher = new AgentInternalEventsDispatcher(this.executorService, 1);
+		MyAgent3 agent = new MyAgent3();
+		dispatcher.register(agent);
+		dispatcher.asyncDispatch(new MyEvent(1));
+		assertEquals(2, agent.calls.get());
+		dispatcher.asyncDispatch(new MyEvent(0));
+		assertEquals(3, agent.calls.get());
+	}
+
+	@Test
+	public void immediateDispatch_sequentialGuardEvaluation() {
+		AgentInternalEventsDispatcher dispatcher = new AgentInternalEventsDispatcher(this.executorService, 0);
+		MyAgent3 agent = new MyAgent3();
+		dispatcher.register(agent);
+		dispatcher.immediateDispatch(new MyEvent(1));
+		assertEquals(2, agent.calls.get());
+		ArgumentCaptor<Runnable> argument = ArgumentCaptor.forClass(Runnable.class);
+		Mockito.verify(this.executorService, Mockito.times(2)).execute(argument.capture());
+	}
+
+	@Test
+	public void immediateDispatch_parallelGuardEvaluation_parallelism1() throws Exception {
+		java.util.concurrent.ExecutorService pool = Executors.newSingleThreadExecutor();
+		try {
+			ExecutorService executorService = Mockito.mock(ExecutorService.class);
+			Mockito.doAnswer((it) -> {
+				pool.execute((Runnable) it.getArgument(0));
+				return null;
+			}).when(executorService).execute(Mockito.any(Runnable.class));
+			AgentInternalEventsDispatcher dispatcher = new AgentInternalEventsDispatcher(executorService, 1);
+			MyAgent3 agent1 = new MyAgent3();
+			MyAgent3 agent2 = new MyAgent3();
+			dispatcher.register(agent1);
+			dispatcher.register(agent2);
+			// The dispatching thread is the only thread of the pool: it must not wait for the tasks queued behind it.
+			Future<?> dispatch = pool.submit(() -> dispatcher.immediateDispatch(new MyEvent(1)));
+			dispatch.get(30, TimeUnit.SECONDS);
+			assertEquals(2, agent1.calls.get());
+			assertEquals(2, agent2.calls.get());
+		} finally {
+			pool.shutdownNow();
+		}
+	}
+
+	@Test
+	public void immediateDispatch_inlineFailuresAreLogged() {
+		// The executor service does not run the tasks: all the behaviors are run by the current thread.
+		ExecutorService executorService = Mockito.mock(ExecutorService.class);
+		AgentInternalEventsDispatcher dispatcher = new AgentInternalEventsDispatcher(executorService);
+		dispatcher.register(new MyAgent4());
+		dispatcher.register(new MyAgent4());
+		Thread thread = Thread.currentThread();
+		Thread.UncaughtExceptionHandler previousHandler = thread.getUncaughtExceptionHandler();
+		Thread.UncaughtExceptionHandler handler = Mockito.mock(Thread.UncaughtExceptionHandler.class);
+		thread.setUncaughtExceptionHandler(handler);
+		try {
+			dispatcher.immediateDispatch(new MyEvent(0));
+			fail("Expecting an exception");
+		} catch (RuntimeException exception) {
+			//
+		} finally {
+			thread.setUncaughtExceptionHandler(previousHandler);
+		}
+		Mockito.verify(handler, Mockito.times(2)).uncaughtException(Mockito.same(thread), Mockito.any(IllegalStateException.class));
+	}
+
 	public static class MyEvent extends Event {
 		public final int n;
 		public MyEvent(int n) {
@@ -219,4 +319,51 @@ public class AgentInternalEventsDispatcherTest extends AbstractSarlTest {
 
 	}
 
+	public static class MyAgent4 extends Agent {
+
+		public MyAgent4() {
+			super(null, UUID.randomUUID(), UUID.randomUUID());
+		}
+
+		@PerceptGuardEvaluator
+		private void $perception$guard$evaluator1(Event event, Collection<Runnable> runners) {
+			runners.add(() -> $perception$guard$callback1(event, event));
+		}
+
+		private void $perception$guard$callback1(Event occurrence, Event it) {
+			throw new IllegalStateException();
+		}
+
+	}
+
+	public static class MyAgent3 extends Agent {
+
+		public final AtomicInteger calls = new AtomicInteger();
+
+		public MyAgent3() {
+			super(null, UUID.randomUUID(), UUID.randomUUID());
+		}
+
+		@PerceptGuardEvaluator
+		private void $perception$guard$evaluator1(Event event, Collection<Runnable> runners) {
+			runners.add(() -> $perception$guard$callback1(event, event));
+		}
+
+		private void $perception$guard$callback1(Event occurrence, Event it) {
+			this.calls.incrementAndGet();
+		}
+
+		@PerceptGuardEvaluator
+		private void $perception$guard$evaluator2(MyEvent event, Collection<Runnable> runners) {
+			if (event.n > 0) {
+				runners.add(() -> $perception$guard$callback2(event, event));
+			}
+		}
+
+		private void $perception$guard$callback2(MyEvent occurrence, MyEvent it) {
+			this.calls.incrementAndGet();
+		}
+
+	}
+
 }
@@ -192,4 +192,17 @@ public class MultipleAddressParticipantRepositoryTest extends AbstractJanusTest
 		assertTrue(col.contains(this.id2));
 	}
 
+	@Test
+	public void getParticipantIDs_snapshot() {
+		this.repository.registerParticipant("a", this.listener1); //$NON-NLS-1$
+		Collection<UUID> col = this.repository.getParticipantIDs();
+		Collection<String> adrs = this.repository.getParticipantAddresses();
+		this.repository.registerParticipant("b", this.listener2); //$NON-NLS-1$
+		this.repository.unregisterParticipant("a", this.listener1); //$NON-NLS-1$
+		assertEquals(1, col.size());
+		assertTrue(col.contains(this.id1));
+		assertEquals(1, adrs.size());
+		assertTrue(adrs.contains("a")); //$NON-NLS-1$
+	}
+
 }
@@ -215,4 +215,36 @@ public class ParticipantRepositoryTest extends AbstractJanusTest {
 		assertEquals(5, list.size());
 	}
 
+	@Test
+	public void getListenersView() throws Exception {
+		Map<String, EventListener> view = this.repository.getListenersView();
+		assertNotNull(view);
+		assertTrue(view.isEmpty());
+		//
+		addListenerMocks();
+		//
+		assertEquals(5, view.size());
+		for (Entry<String, EventListener> l : this.listeners.entrySet()) {
+			assertSame(l.getValue(), view.get(l.getKey()));
+		}
+	}
+
+	@Test(expected = UnsupportedOperationException.class)
+	public void getListenersView_unmodifiable() throws Exception {
+		this.repository.getListenersView().put("f", Mockito.mock(EventListener.class)); //$NON-NLS-1$
+	}
+
+	@Test
+	public void getListenersView_removeWhileIterating() throws Exception {
+		addListenerMocks();
+		//
+		int count = 0;
+		for (String key : this.repository.getListenersView().keySet()) {
+			this.reflect.invoke(this.repository, "removeListener", key);
+			++count;
+		}
+		assertEquals(5, count);
+		assertTrue(this.repository.getListenersView().isEmpty());
+	}
+
 }
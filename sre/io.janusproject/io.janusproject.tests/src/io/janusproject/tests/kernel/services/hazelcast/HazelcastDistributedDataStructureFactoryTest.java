@@ -24,13 +24,18 @@ import static org.junit.Assert.assertNotNull;
 import java.util.Comparator;
 import java.util.UUID;
 
+import com.hazelcast.core.EntryListener;
 import com.hazelcast.core.HazelcastInstance;
 import com.hazelcast.core.IMap;
 import com.hazelcast.core.MultiMap;
+import com.hazelcast.map.listener.MapListener;
+import io.janusproject.JanusConfig;
 import io.janusproject.kernel.services.hazelcast.HazelcastDistributedDataStructureService;
 import io.janusproject.services.distributeddata.DMap;
 import io.janusproject.services.distributeddata.DMultiMap;
 import io.janusproject.services.distributeddata.DistributedDataStructureService;
+import io.janusproject.services.metrics.MetricCounter;
+import io.janusproject.services.metrics.MetricsService;
 import io.janusproject.tests.testutils.AbstractDependentServiceTest;
 import io.janusproject.tests.testutils.StartServiceForTest;
 import org.junit.Before;
@@ -163,6 +168,34 @@ public class HazelcastDistributedDataStructureFactoryTest
 		assertEquals("b", argument2.getValue()); //$NON-NLS-1$
 	}
 
+	@Test
+	public void stop_nearCache() {
+		System.setProperty(JanusConfig.DMAP_NEAR_CACHE_NAME, Boolean.TRUE.toString());
+		try {
+			MetricsService metrics = Mockito.mock(MetricsService.class);
+			Mockito.when(metrics.getCounter(Mockito.any())).thenAnswer((it) -> new MetricCounter((String) it.getArguments()[0]));
+			Mockito.when(this.imap.addEntryListener(Mockito.any(MapListener.class), Mockito.anyBoolean())).thenReturn("mapListener"); //$NON-NLS-1$
+			Mockito.when(this.multimap.addEntryListener(Mockito.any(EntryListener.class), Mockito.anyBoolean())).thenReturn("multimapListener"); //$NON-NLS-1$
+			this.factory.setMetricsService(metrics);
+			this.factory.startAsync().awaitRunning();
+			this.factory.getMap("a"); //$NON-NLS-1$
+			this.factory.getMultiMap("b"); //$NON-NLS-1$
+			//
+			this.factory.stopAsync().awaitTerminated();
+			//
+			Mockito.verify(this.imap).removeEntryListener("mapListener"); //$NON-NLS-1$
+			Mockito.verify(this.multimap).removeEntryListener("multimapListener"); //$NON-NLS-1$
+			Mockito.verify(metrics).removeMetrics("nearcache.a.hits"); //$NON-NLS-1$
+			Mockito.verify(metrics).removeMetrics("nearcache.a.misses"); //$NON-NLS-1$
+			Mockito.verify(metrics).removeMetrics("nearcache.a.size"); //$NON-NLS-1$
+			Mockito.verify(metrics).removeMetrics("nearcache.b.hits"); //$NON-NLS-1$
+			Mockito.verify(metrics).removeMetrics("nearcache.b.misses"); //$NON-NLS-1$
+			Mockito.verify(metrics).removeMetrics("nearcache.b.size"); //$NON-NLS-1$
+		} finally {
+			System.clearProperty(JanusConfig.DMAP_NEAR_CACHE_NAME);
+		}
+	}
+
 	/**
 	 * @author $Author: sgalland$
 	 * @version $FullVersion$
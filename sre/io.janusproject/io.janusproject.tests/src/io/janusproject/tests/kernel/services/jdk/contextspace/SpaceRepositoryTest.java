@@ -39,6 +39,7 @@ import io.janusproject.kernel.services.jdk.contextspace.SpaceRepository;
 import io.janusproject.services.contextspace.SpaceRepositoryListener;
 import io.janusproject.services.distributeddata.DMap;
 import io.janusproject.services.distributeddata.DistributedDataStructureService;
+import io.janusproject.services.metrics.MetricsService;
 import io.janusproject.tests.testutils.AbstractJanusTest;
 import io.janusproject.util.TwoStepConstruction;
 import javassist.Modifier;
@@ -211,6 +212,20 @@ public class SpaceRepositoryTest extends AbstractJanusTest {
 		assertTrue(argument4.getValue());
 	}
 
+	@Test
+	public void removeSpaceDefinition_metrics() throws Exception {
+		MetricsService metrics = Mockito.mock(MetricsService.class);
+		this.reflect.invoke(this.repository, "setMetricsService", metrics);
+		initRepository();
+		Mockito.when(this.space.getParticipants()).thenReturn(Collections3.<UUID> emptySynchronizedSet());
+		Mockito.when(this.spaceIDs.containsKey(this.spaceID)).thenReturn(false);
+		//
+		this.reflect.invoke(this.repository, "removeLocalSpaceDefinition", this.spaceID, true);
+		//
+		Mockito.verify(metrics, new Times(1)).removeMetrics(MetricsService.SPACE_PREFIX + this.spaceID.getID() + '.');
+		Mockito.verify(this.injector, new Times(0)).getExistingBinding(ArgumentMatchers.any());
+	}
+
 	@Test
 	public void getSpaces() throws Exception {
 		initRepository();
@@ -33,6 +33,7 @@ import java.util.Collection;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
 
 import com.google.inject.Injector;
 import io.janusproject.kernel.services.jdk.contextspace.Context;
@@ -57,6 +58,7 @@ import org.junit.Before;
 import org.junit.Test;
 import org.mockito.ArgumentCaptor;
 import org.mockito.ArgumentMatchers;
+import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.internal.verification.Times;
@@ -230,6 +232,81 @@ public class StandardContextSpaceServiceTest extends AbstractDependentServiceTes
 		assertSame(ctx, argument.getValue());
 	}
 
+	@Test
+	public void createContext_concurrent() throws Exception {
+		final UUID cid = UUID.randomUUID();
+		final UUID sid = UUID.randomUUID();
+		final int nbThreads = 8;
+		final CountDownLatch startSignal = new CountDownLatch(1);
+		final AgentContext[] results = new AgentContext[nbThreads];
+		final Thread[] threads = new Thread[nbThreads];
+		for (int i = 0; i < nbThreads; ++i) {
+			final int index = i;
+			threads[i] = new Thread(() -> {
+				try {
+					startSignal.await();
+					results[index] = this.service.createContext(cid, sid);
+				} catch (InterruptedException exception) {
+					//
+				}
+			});
+			threads[i].start();
+		}
+		startSignal.countDown();
+		for (final Thread thread : threads) {
+			thread.join();
+		}
+		//
+		assertNotNull(results[0]);
+		for (final AgentContext result : results) {
+			assertSame(results[0], result);
+		}
+		assertEquals(1, this.service.getNumberOfContexts());
+		Mockito.verify(this.contextListener, new Times(1)).contextCreated(ArgumentMatchers.any());
+	}
+
+	@Test
+	public void createContext_publicationAndNotificationOrder() throws Exception {
+		final UUID cid = UUID.randomUUID();
+		final UUID sid = UUID.randomUUID();
+		final Context ctx = Mockito.mock(Context.class);
+		final OpenEventSpace space = Mockito.mock(OpenEventSpace.class);
+		Mockito.when(ctx.getID()).thenReturn(cid);
+		Mockito.when(space.getSpaceID()).thenReturn(new SpaceID(cid, sid, OpenEventSpaceSpecification.class));
+		final SpaceRepositoryListener[] spaceEventProxy = new SpaceRepositoryListener[1];
+		Mockito.when(this.contextFactory.newInstance(ArgumentMatchers.any(), ArgumentMatchers.any(),
+				ArgumentMatchers.any(), ArgumentMatchers.any())).thenAnswer((it) -> {
+					spaceEventProxy[0] = (SpaceRepositoryListener) it.getArguments()[3];
+					return ctx;
+				});
+		Mockito.when(this.reflect.invoke(ctx, "postConstruction")).thenAnswer((it) -> {
+			// The context is not visible before the end of its construction.
+			assertNull(this.service.getContext(cid));
+			spaceEventProxy[0].spaceCreated(space, true);
+			return space;
+		});
+		final boolean[] lockedDuringNotification = new boolean[2];
+		Mockito.doAnswer((it) -> {
+			lockedDuringNotification[0] = Thread.holdsLock(this.service.mutex());
+			return null;
+		}).when(this.contextListener).contextCreated(ArgumentMatchers.any());
+		final SpaceRepositoryListener spaceListener = Mockito.mock(SpaceRepositoryListener.class);
+		Mockito.doAnswer((it) -> {
+			lockedDuringNotification[1] = Thread.holdsLock(this.service.mutex());
+			return null;
+		}).when(spaceListener).spaceCreated(ArgumentMatchers.any(), ArgumentMatchers.anyBoolean());
+		this.service.addSpaceRepositoryListener(spaceListener);
+		//
+		assertSame(ctx, this.service.createContext(cid, sid));
+		//
+		assertSame(ctx, this.service.getContext(cid));
+		InOrder order = Mockito.inOrder(this.contextListener, spaceListener);
+		order.verify(this.contextListener).contextCreated(ArgumentMatchers.same(ctx));
+		order.verify(spaceListener).spaceCreated(ArgumentMatchers.same(space), ArgumentMatchers.eq(true));
+		assertFalse(lockedDuringNotification[0]);
+		assertFalse(lockedDuringNotification[1]);
+	}
+
 	@Test
 	public void ensureDefaultSpaceDefinition() throws Exception {
 		SpaceID spaceId = new SpaceID(UUID.randomUUID(), UUID.randomUUID(), OpenEventSpaceSpecification.class);
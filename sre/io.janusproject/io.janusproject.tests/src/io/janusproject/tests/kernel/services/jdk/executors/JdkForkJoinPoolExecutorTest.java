@@ -0,0 +1,339 @@
+/*
+ * $Id$
+ * 
+ * Janus platform is an open-source multiagent platform.
+ * More details on http://www.janusproject.io
+ * 
+ * Copyright (C) 2014-2015 Sebastian RODRIGUEZ, Nicolas GAUD, Stéphane GALLAND.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.janusproject.tests.kernel.services.jdk.executors;
+
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.Thread.UncaughtExceptionHandler;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import io.janusproject.kernel.services.jdk.executors.JdkForkJoinPoolExecutor;
+import io.janusproject.kernel.services.jdk.executors.JdkTaskListener;
+import io.janusproject.services.executor.ChuckNorrisException;
+import io.janusproject.services.executor.JanusFutureTask;
+import io.janusproject.tests.testutils.AbstractJanusTest;
+import io.janusproject.tests.testutils.FutureExceptionMatcher;
+import io.janusproject.util.ManagedBlocking;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import org.mockito.exceptions.base.MockitoException;
+
+import io.sarl.tests.api.Nullable;
+
+/**
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ */
+@SuppressWarnings("all")
+public class JdkForkJoinPoolExecutorTest extends AbstractJanusTest {
+
+	static final Object VALUE = new Object();
+
+	@Nullable
+	private TerminationListener termListener;
+
+	@Nullable
+	private JdkForkJoinPoolExecutor executor;
+
+	@Nullable
+	private UncaughtExceptionHandler handler;
+
+	@Before
+	public void setUp() throws Exception {
+		this.termListener = new TerminationListener();
+		this.handler = Mockito.mock(UncaughtExceptionHandler.class);
+		this.executor = new JdkForkJoinPoolExecutor(4, this.handler);
+		this.reflect.invoke(this.executor, "addTaskListener", this.termListener);
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		this.executor.shutdownNow();
+		this.reflect.invoke(this.executor, "removeTaskListener", this.termListener);
+	}
+
+	@Test
+	public void getParallelism() {
+		assertEquals(4, this.executor.getParallelism());
+	}
+
+	@Test
+	public void submitCallable_threadTracking() throws Exception {
+		final AtomicReference<Thread> runningThread = new AtomicReference<>();
+		Future<?> f = this.executor.submit(new Callable<Object>() {
+			@Override
+			public Object call() throws Exception {
+				runningThread.set(Thread.currentThread());
+				return VALUE;
+			}
+		});
+		waitTaskTermination();
+		assertTrue(f instanceof JanusFutureTask);
+		assertSame(VALUE, f.get());
+		assertSame(runningThread.get(), ((JanusFutureTask<?>) f).getThread());
+	}
+
+	@Test
+	public void submitRunnable_succeed() throws Exception {
+		Runnable mock = new RunnableMock(0);
+		Future<?> f = this.executor.submit(mock);
+		waitTaskTermination();
+		assertNotNull(f);
+		assertNull(f.get());
+		Mockito.verifyZeroInteractions(this.handler);
+	}
+
+	@Test
+	public void submitRunnableObject_succeed() throws Exception {
+		Runnable mock = new RunnableMock(0);
+		Future<?> f = this.executor.submit(mock, VALUE);
+		waitTaskTermination();
+		assertNotNull(f);
+		assertSame(VALUE, f.get());
+		Mockito.verifyZeroInteractions(this.handler);
+	}
+
+	@Test
+	public void submitCallable_succeed() throws Exception {
+		Callable<?> mock = new RunnableMock(0);
+		Future<?> f = this.executor.submit(mock);
+		waitTaskTermination();
+		assertNotNull(f);
+		assertSame(VALUE, f.get());
+		Mockito.verifyZeroInteractions(this.handler);
+	}
+
+	@Test
+	public void executeRunnable_succeed() throws Exception {
+		Runnable mock = new RunnableMock(0);
+		this.executor.execute(mock);
+		waitTaskTermination();
+		Mockito.verifyZeroInteractions(this.handler);
+	}
+
+	@Test
+	public void submitRunnable_chucknorris() throws Exception {
+		Runnable mock = new RunnableMock(2);
+		Future<?> f = this.executor.submit(mock);
+		waitTaskTermination();
+		assertNotNull(f);
+		assertNull(f.get());
+		Mockito.verifyZeroInteractions(this.handler);
+	}
+
+	@Test
+	public void submitCallable_chucknorris() throws Exception {
+		Callable<?> mock = new RunnableMock(2);
+		Future<?> f = this.executor.submit(mock);
+		waitTaskTermination();
+		assertNotNull(f);
+		assertNull(f.get());
+		Mockito.verifyZeroInteractions(this.handler);
+	}
+
+	@Test
+	public void executeRunnable_chucknorris() throws Exception {
+		Runnable mock = new RunnableMock(2);
+		this.executor.execute(mock);
+		waitTaskTermination();
+
+		ArgumentCaptor<Thread> argument1 = ArgumentCaptor.forClass(Thread.class);
+		ArgumentCaptor<Throwable> argument2 = ArgumentCaptor.forClass(Throwable.class);
+		Mockito.verify(this.handler).uncaughtException(argument1.capture(), argument2.capture());
+		assertTrue(argument2.getValue() instanceof ChuckNorrisException);
+	}
+
+	@Test
+	public void submitRunnable_exception() throws Exception {
+		Runnable mock = new RunnableMock(1);
+		Future<?> f = this.executor.submit(mock);
+		waitTaskTermination();
+
+		assertNotNull(f);
+		assertThat(f, new FutureExceptionMatcher(MockitoException.class));
+
+		ArgumentCaptor<Thread> argument1 = ArgumentCaptor.forClass(Thread.class);
+		ArgumentCaptor<Throwable> argument2 = ArgumentCaptor.forClass(Throwable.class);
+		Mockito.verify(this.handler).uncaughtException(argument1.capture(), argument2.capture());
+		assertTrue(argument2.getValue() instanceof MockitoException);
+	}
+
+	@Test
+	public void submitCallable_exception() throws Exception {
+		Callable<?> mock = new RunnableMock(1);
+		Future<?> f = this.executor.submit(mock);
+		waitTaskTermination();
+
+		assertNotNull(f);
+		assertThat(f, new FutureExceptionMatcher(MockitoException.class));
+
+		ArgumentCaptor<Thread> argument1 = ArgumentCaptor.forClass(Thread.class);
+		ArgumentCaptor<Throwable> argument2 = ArgumentCaptor.forClass(Throwable.class);
+		Mockito.verify(this.handler).uncaughtException(argument1.capture(), argument2.capture());
+		assertTrue(argument2.getValue() instanceof MockitoException);
+	}
+
+	@Test
+	public void executeRunnable_exception() throws Exception {
+		RunnableMock mock = new RunnableMock(1);
+		this.executor.execute(mock);
+		waitTaskTermination();
+
+		ArgumentCaptor<Thread> argument1 = ArgumentCaptor.forClass(Thread.class);
+		ArgumentCaptor<Throwable> argument2 = ArgumentCaptor.forClass(Throwable.class);
+		Mockito.verify(this.handler).uncaughtException(argument1.capture(), argument2.capture());
+		assertTrue(argument2.getValue() instanceof MockitoException);
+	}
+
+	@Test
+	public void submitCallable_waitForSubtask_parallelism1() throws Exception {
+		JdkForkJoinPoolExecutor executor = new JdkForkJoinPoolExecutor(1, this.handler);
+		try {
+			Future<?> f = executor.submit(() -> executor.submit(() -> VALUE).get());
+			assertSame(VALUE, f.get(30, TimeUnit.SECONDS));
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	@Test
+	public void executeRunnable_awaitSubtask_parallelism1() throws Exception {
+		JdkForkJoinPoolExecutor executor = new JdkForkJoinPoolExecutor(1, this.handler);
+		try {
+			CountDownLatch subtask = new CountDownLatch(1);
+			CountDownLatch task = new CountDownLatch(1);
+			executor.execute(() -> {
+				executor.execute(() -> subtask.countDown());
+				try {
+					ManagedBlocking.await(subtask);
+				} catch (InterruptedException exception) {
+					throw new RuntimeException(exception);
+				}
+				task.countDown();
+			});
+			assertTrue(task.await(30, TimeUnit.SECONDS));
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	private void waitTaskTermination() throws Exception {
+		this.termListener.waitForTermination();
+		this.executor.shutdown();
+		this.executor.awaitTermination(30, TimeUnit.SECONDS);
+		assertEquals(0, this.executor.getActiveCount());
+		Thread.sleep(250);
+	}
+
+	/**
+	 * @author $Author: sgalland$
+	 * @version $FullVersion$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 */
+	private static class RunnableMock implements Runnable, Callable<Object> {
+
+		private final int state;
+
+		/**
+		 * @param state
+		 */
+		RunnableMock(int state) {
+			this.state = state;
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public void run() {
+			switch (this.state) {
+			case 1:
+				throw new MockitoException(""); //$NON-NLS-1$
+			case 2:
+				throw new ChuckNorrisException();
+			default:
+			}
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public Object call() {
+			switch (this.state) {
+			case 1:
+				throw new MockitoException(""); //$NON-NLS-1$
+			case 2:
+				throw new ChuckNorrisException();
+			default:
+			}
+			return VALUE;
+		}
+
+	}
+
+	/**
+	 * @author $Author: sgalland$
+	 * @version $FullVersion$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 */
+	private static class TerminationListener implements JdkTaskListener {
+
+		private final AtomicBoolean finished = new AtomicBoolean(false);
+
+		/**
+		 */
+		TerminationListener() {
+			//
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public void taskFinished(Thread thread, Runnable task) {
+			this.finished.set(true);
+		}
+
+		public void waitForTermination() {
+			while (!this.finished.get()) {
+				Thread.yield();
+			}
+		}
+
+	}
+
+}
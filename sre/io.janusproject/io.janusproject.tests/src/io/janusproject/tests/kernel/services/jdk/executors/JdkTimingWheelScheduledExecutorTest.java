@@ -0,0 +1,159 @@
+/*
+ * $Id$
+ * 
+ * Janus platform is an open-source multiagent platform.
+ * More details on http://www.janusproject.io
+ * 
+ * Copyright (C) 2014-2015 Sebastian RODRIGUEZ, Nicolas GAUD, Stéphane GALLAND.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.janusproject.tests.kernel.services.jdk.executors;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.janusproject.kernel.services.jdk.executors.JdkTimingWheelScheduledExecutor;
+import io.janusproject.services.executor.ChuckNorrisException;
+import io.janusproject.services.executor.JanusScheduledFutureTask;
+import io.janusproject.tests.testutils.AbstractJanusTest;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import io.sarl.tests.api.Nullable;
+
+/**
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ */
+@SuppressWarnings("all")
+public class JdkTimingWheelScheduledExecutorTest extends AbstractJanusTest {
+
+	@Nullable
+	private ExecutorService workers;
+
+	@Nullable
+	private JdkTimingWheelScheduledExecutor executor;
+
+	@Before
+	public void setUp() throws Exception {
+		this.workers = Executors.newFixedThreadPool(2);
+		this.executor = new JdkTimingWheelScheduledExecutor(5, TimeUnit.MILLISECONDS, 100, null, this.workers);
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		this.executor.shutdownNow();
+		this.workers.shutdownNow();
+	}
+
+	@Test
+	public void getWheelSize() {
+		assertEquals(128, this.executor.getWheelSize());
+	}
+
+	@Test
+	public void getTickDuration() {
+		assertEquals(5l, this.executor.getTickDuration(TimeUnit.MILLISECONDS));
+	}
+
+	@Test
+	public void scheduleRunnable() throws Exception {
+		final CountDownLatch latch = new CountDownLatch(1);
+		final long start = System.nanoTime();
+		ScheduledFuture<?> future = this.executor.schedule(() -> latch.countDown(), 50, TimeUnit.MILLISECONDS);
+		assertTrue(future instanceof JanusScheduledFutureTask);
+		assertFalse(future.isPeriodic());
+		assertTrue(latch.await(5, TimeUnit.SECONDS));
+		assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(50));
+		future.get(5, TimeUnit.SECONDS);
+		assertTrue(future.isDone());
+	}
+
+	@Test
+	public void scheduleCallable() throws Exception {
+		ScheduledFuture<Integer> future = this.executor.schedule(() -> 42, 10, TimeUnit.MILLISECONDS);
+		assertEquals(42, future.get(5, TimeUnit.SECONDS));
+	}
+
+	@Test
+	public void scheduleCallable_nestedChuckNorris() throws Exception {
+		ScheduledFuture<Object> future = this.executor.schedule(() -> {
+			throw new ExecutionException(new ChuckNorrisException());
+		}, 10, TimeUnit.MILLISECONDS);
+		assertNull(future.get(5, TimeUnit.SECONDS));
+		assertNull(future.get());
+	}
+
+	@Test
+	public void scheduleBeyondOneRound() throws Exception {
+		// 128 slots of 5 ms: the delay is greater than one round of the wheel
+		final CountDownLatch latch = new CountDownLatch(1);
+		final long start = System.nanoTime();
+		this.executor.schedule(() -> latch.countDown(), 800, TimeUnit.MILLISECONDS);
+		assertTrue(latch.await(5, TimeUnit.SECONDS));
+		assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(800));
+	}
+
+	@Test
+	public void cancel() throws Exception {
+		final AtomicInteger counter = new AtomicInteger();
+		ScheduledFuture<?> future = this.executor.schedule(() -> counter.incrementAndGet(), 50, TimeUnit.MILLISECONDS);
+		assertTrue(future.cancel(false));
+		assertTrue(future.isCancelled());
+		Thread.sleep(200);
+		assertEquals(0, counter.get());
+		assertEquals(0, this.executor.getScheduledTaskCount());
+	}
+
+	@Test
+	public void scheduleAtFixedRate() throws Exception {
+		final CountDownLatch latch = new CountDownLatch(5);
+		ScheduledFuture<?> future = this.executor.scheduleAtFixedRate(() -> latch.countDown(), 0, 10, TimeUnit.MILLISECONDS);
+		assertTrue(future.isPeriodic());
+		assertTrue(latch.await(5, TimeUnit.SECONDS));
+		assertTrue(future.cancel(false));
+		assertFalse(future.isDone() && !future.isCancelled());
+	}
+
+	@Test
+	public void scheduleWithFixedDelay() throws Exception {
+		final CountDownLatch latch = new CountDownLatch(5);
+		ScheduledFuture<?> future = this.executor.scheduleWithFixedDelay(() -> latch.countDown(), 0, 10, TimeUnit.MILLISECONDS);
+		assertTrue(latch.await(5, TimeUnit.SECONDS));
+		assertTrue(future.cancel(false));
+	}
+
+	@Test
+	public void shutdownNow() throws Exception {
+		ScheduledFuture<?> future = this.executor.schedule(() -> { }, 10, TimeUnit.SECONDS);
+		List<Runnable> pending = this.executor.shutdownNow();
+		assertEquals(1, pending.size());
+		assertTrue(future.isCancelled());
+		assertTrue(this.executor.isShutdown());
+		assertTrue(this.executor.isTerminated());
+	}
+
+}
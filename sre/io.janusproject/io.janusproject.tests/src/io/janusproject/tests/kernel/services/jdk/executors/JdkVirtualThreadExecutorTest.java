@@ -0,0 +1,114 @@
+/*
+ * $Id$
+ * 
+ * Janus platform is an open-source multiagent platform.
+ * More details on http://www.janusproject.io
+ * 
+ * Copyright (C) 2014-2015 Sebastian RODRIGUEZ, Nicolas GAUD, Stéphane GALLAND.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.janusproject.tests.kernel.services.jdk.executors;
+
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.Thread.UncaughtExceptionHandler;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import io.janusproject.kernel.services.jdk.executors.JdkThreadFactory;
+import io.janusproject.kernel.services.jdk.executors.JdkVirtualThreadExecutor;
+import io.janusproject.services.executor.JanusFutureTask;
+import io.janusproject.tests.testutils.AbstractJanusTest;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import org.mockito.exceptions.base.MockitoException;
+
+import io.sarl.tests.api.Nullable;
+
+/**
+ * The tests that are common to all the executors are in {@link JdkThreadPoolExecutorTest}. The tests of this
+ * class are about the selection of the virtual threads or of the fallback pool of platform threads.
+ *
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ */
+@SuppressWarnings("all")
+public class JdkVirtualThreadExecutorTest extends AbstractJanusTest {
+
+	static final Object VALUE = new Object();
+
+	@Nullable
+	private JdkVirtualThreadExecutor executor;
+
+	@Nullable
+	private UncaughtExceptionHandler handler;
+
+	@Before
+	public void setUp() throws Exception {
+		this.handler = Mockito.mock(UncaughtExceptionHandler.class);
+		this.executor = new JdkVirtualThreadExecutor(new JdkThreadFactory(this.handler), this.handler);
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		this.executor.shutdownNow();
+	}
+
+	/** The virtual threads are final features since Java 21.
+	 */
+	private static boolean isJava21OrHigher() {
+		final String version = System.getProperty("java.specification.version"); //$NON-NLS-1$
+		if (version.startsWith("1.")) { //$NON-NLS-1$
+			return false;
+		}
+		return Integer.parseInt(version) >= 21;
+	}
+
+	@Test
+	public void isVirtual() {
+		assertEquals(isJava21OrHigher(), this.executor.isVirtual());
+		assertEquals(isJava21OrHigher(), JdkVirtualThreadExecutor.isVirtualThreadSupported());
+	}
+
+	@Test
+	public void submitCallable_runningThread() throws Exception {
+		final AtomicReference<Thread> runningThread = new AtomicReference<>();
+		Future<?> f = this.executor.submit(() -> {
+			runningThread.set(Thread.currentThread());
+			return VALUE;
+		});
+		assertSame(VALUE, f.get(30, TimeUnit.SECONDS));
+		assertTrue(f instanceof JanusFutureTask);
+		assertSame(runningThread.get(), ((JanusFutureTask<?>) f).getThread());
+		// The virtual threads are named by the executor; the threads of the fallback pool are not.
+		assertEquals(this.executor.isVirtual(), runningThread.get().getName().startsWith("janus-virtual-")); //$NON-NLS-1$
+	}
+
+	@Test
+	public void executeRunnable_exception() throws Exception {
+		this.executor.execute(() -> {
+			throw new MockitoException(""); //$NON-NLS-1$
+		});
+		ArgumentCaptor<Throwable> argument = ArgumentCaptor.forClass(Throwable.class);
+		Mockito.verify(this.handler, Mockito.timeout(30000)).uncaughtException(Mockito.any(Thread.class), argument.capture());
+		assertTrue(argument.getValue() instanceof MockitoException);
+	}
+
+}
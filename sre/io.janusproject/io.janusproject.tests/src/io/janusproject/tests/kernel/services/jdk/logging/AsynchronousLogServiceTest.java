@@ -0,0 +1,173 @@
+/*
+ * $Id$
+ * 
+ * Janus platform is an open-source multiagent platform.
+ * More details on http://www.janusproject.io
+ * 
+ * Copyright (C) 2014-2015 Sebastian RODRIGUEZ, Nicolas GAUD, Stéphane GALLAND.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.janusproject.tests.kernel.services.jdk.logging;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.logging.Handler;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+import java.util.logging.Logger;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import io.janusproject.kernel.services.jdk.logging.AsynchronousLogService;
+import io.janusproject.tests.testutils.AbstractJanusTest;
+
+import io.sarl.tests.api.Nullable;
+
+/**
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ */
+@SuppressWarnings("all")
+public class AsynchronousLogServiceTest extends AbstractJanusTest {
+
+	@Nullable
+	private List<LogRecord> records;
+
+	@Nullable
+	private AsynchronousLogService service;
+
+	@Before
+	public void setUp() {
+		this.records = Collections.synchronizedList(new ArrayList<>());
+		Logger logger = Logger.getAnonymousLogger();
+		logger.setUseParentHandlers(false);
+		logger.setLevel(Level.INFO);
+		logger.addHandler(new Handler() {
+			@Override
+			public void publish(LogRecord record) {
+				AsynchronousLogServiceTest.this.records.add(record);
+			}
+			@Override
+			public void flush() {
+				//
+			}
+			@Override
+			public void close() {
+				//
+			}
+		});
+		this.service = new AsynchronousLogService(4);
+		this.service.setLogger(logger);
+		this.service.startAsync().awaitRunning();
+	}
+
+	@After
+	public void tearDown() {
+		if (this.service.isRunning()) {
+			this.service.stopAsync().awaitTerminated();
+		}
+	}
+
+	@Test
+	public void getCapacity() {
+		assertEquals(4, this.service.getCapacity());
+	}
+
+	@Test
+	public void info() {
+		this.service.setCallerCaptured(true);
+		for (int i = 0; i < 20; ++i) {
+			this.service.info("message {0}", i); //$NON-NLS-1$
+		}
+		this.service.stopAsync().awaitTerminated();
+		assertEquals(20, this.records.size());
+		for (int i = 0; i < 20; ++i) {
+			LogRecord record = this.records.get(i);
+			assertEquals(Level.INFO, record.getLevel());
+			assertEquals("message " + i, record.getMessage()); //$NON-NLS-1$
+			assertEquals(getClass().getName(), record.getSourceClassName());
+			assertEquals("info", record.getSourceMethodName()); //$NON-NLS-1$
+		}
+		assertEquals(0, this.service.getPendingCount());
+	}
+
+	@Test
+	public void info_callerNotCaptured() {
+		this.service.setCallerCaptured(false);
+		assertFalse(this.service.isCallerCaptured());
+		this.service.info("message"); //$NON-NLS-1$
+		this.service.stopAsync().awaitTerminated();
+		assertEquals(1, this.records.size());
+		LogRecord record = this.records.get(0);
+		assertEquals("message", record.getMessage()); //$NON-NLS-1$
+		assertNull(record.getSourceClassName());
+		assertNull(record.getSourceMethodName());
+	}
+
+	@Test
+	public void info_whileStopping() throws Exception {
+		Thread[] threads = new Thread[4];
+		for (int i = 0; i < threads.length; ++i) {
+			threads[i] = new Thread(() -> {
+				for (int j = 0; j < 500; ++j) {
+					this.service.info("message"); //$NON-NLS-1$
+				}
+			});
+			threads[i].start();
+		}
+		this.service.stopAsync().awaitTerminated();
+		for (Thread thread : threads) {
+			thread.join();
+		}
+		// The messages that are logged after the start of the stop are ignored, but none remains in the buffer.
+		assertEquals(0, this.service.getPendingCount());
+	}
+
+	@Test
+	public void fineInfo_notLoggeable() {
+		this.service.fineInfo("message"); //$NON-NLS-1$
+		this.service.stopAsync().awaitTerminated();
+		assertEquals(0, this.records.size());
+	}
+
+	@Test
+	public void error() {
+		Exception exception = new Exception();
+		this.service.error("error {0}", exception); //$NON-NLS-1$
+		this.service.stopAsync().awaitTerminated();
+		assertEquals(1, this.records.size());
+		LogRecord record = this.records.get(0);
+		assertEquals(Level.SEVERE, record.getLevel());
+		assertSame(exception, record.getThrown());
+	}
+
+	@Test
+	public void logRecord() {
+		LogRecord record = new LogRecord(Level.WARNING, "message"); //$NON-NLS-1$
+		this.service.log(record);
+		this.service.stopAsync().awaitTerminated();
+		assertEquals(1, this.records.size());
+		assertSame(record, this.records.get(0));
+	}
+
+}
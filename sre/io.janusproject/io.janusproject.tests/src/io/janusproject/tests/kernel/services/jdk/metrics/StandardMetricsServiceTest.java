@@ -0,0 +1,184 @@
+/*
+ * $Id$
+ * 
+ * Janus platform is an open-source multiagent platform.
+ * More details on http://www.janusproject.io
+ * 
+ * Copyright (C) 2014-2015 Sebastian RODRIGUEZ, Nicolas GAUD, Stéphane GALLAND.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.janusproject.tests.kernel.services.jdk.metrics;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import io.janusproject.kernel.services.jdk.metrics.StandardMetricsService;
+import io.janusproject.services.executor.ExecutorService;
+import io.janusproject.services.logging.LogService;
+import io.janusproject.services.metrics.MetricCounter;
+import io.janusproject.services.metrics.MetricHistogram;
+import io.janusproject.services.metrics.MetricsListener;
+import io.janusproject.services.metrics.MetricsService;
+import io.janusproject.services.metrics.MetricsSnapshot;
+import io.janusproject.tests.testutils.AbstractDependentServiceTest;
+import io.janusproject.tests.testutils.AvoidServiceStartForTest;
+import io.janusproject.tests.testutils.StartServiceForTest;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+
+/**
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ */
+@SuppressWarnings("all")
+@StartServiceForTest
+public class StandardMetricsServiceTest extends AbstractDependentServiceTest<StandardMetricsService> {
+
+	@Mock
+	private LogService logger;
+
+	@Mock
+	private ExecutorService executorService;
+
+	public StandardMetricsServiceTest() {
+		super(MetricsService.class);
+	}
+
+	@Override
+	public StandardMetricsService newService() {
+		return new StandardMetricsService();
+	}
+
+	@Override
+	public void getServiceDependencies() {
+		assertContains(this.service.getServiceDependencies(), LogService.class, ExecutorService.class);
+	}
+
+	@Override
+	public void getServiceWeakDependencies() {
+		assertContains(this.service.getServiceWeakDependencies());
+	}
+
+	@Test
+	public void getCounter() {
+		MetricCounter counter = this.service.getCounter("a.b"); //$NON-NLS-1$
+		assertNotNull(counter);
+		assertEquals("a.b", counter.getName()); //$NON-NLS-1$
+		assertSame(counter, this.service.getCounter("a.b")); //$NON-NLS-1$
+		counter.increment();
+		counter.add(4);
+		assertEquals(5L, this.service.getSnapshot().getCounter("a.b")); //$NON-NLS-1$
+	}
+
+	@Test
+	public void getHistogram() {
+		MetricHistogram histogram = this.service.getHistogram("h"); //$NON-NLS-1$
+		assertNotNull(histogram);
+		assertSame(histogram, this.service.getHistogram("h")); //$NON-NLS-1$
+		histogram.record(100);
+		MetricHistogram.Snapshot snapshot = this.service.getSnapshot().getHistograms().get("h"); //$NON-NLS-1$
+		assertNotNull(snapshot);
+		assertEquals(1L, snapshot.getCount());
+		assertEquals(100L, snapshot.getMax());
+	}
+
+	@Test
+	public void registerGauge() {
+		this.service.registerGauge("g1", () -> 12); //$NON-NLS-1$
+		this.service.registerGauge("g2", () -> null); //$NON-NLS-1$
+		MetricsSnapshot snapshot = this.service.getSnapshot();
+		assertEquals(12, snapshot.getGauges().get("g1")); //$NON-NLS-1$
+		assertFalse(snapshot.getGauges().containsKey("g2")); //$NON-NLS-1$
+	}
+
+	@Test
+	public void removeMetrics() {
+		this.service.getCounter("space.1.events.emitted").increment(); //$NON-NLS-1$
+		this.service.getHistogram("space.1.time"); //$NON-NLS-1$
+		this.service.registerGauge("space.1.gauge", () -> 1); //$NON-NLS-1$
+		this.service.getCounter("space.10.events.emitted").increment(); //$NON-NLS-1$
+		this.service.removeMetrics("space.1."); //$NON-NLS-1$
+		MetricsSnapshot snapshot = this.service.getSnapshot();
+		assertEquals(0L, snapshot.getCounter("space.1.events.emitted")); //$NON-NLS-1$
+		assertEquals(1L, snapshot.getCounter("space.10.events.emitted")); //$NON-NLS-1$
+		assertTrue(snapshot.getHistograms().isEmpty());
+		assertTrue(snapshot.getGauges().isEmpty());
+	}
+
+	@Test
+	public void jmx() throws Exception {
+		ObjectName name = this.service.getJmxName();
+		assertNotNull(name);
+		this.service.getCounter("c").add(3); //$NON-NLS-1$
+		this.service.getHistogram("h").record(1000); //$NON-NLS-1$
+		MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+		assertTrue(server.isRegistered(name));
+		assertEquals(3L, server.getAttribute(name, "c")); //$NON-NLS-1$
+		assertEquals(1L, server.getAttribute(name, "h.count")); //$NON-NLS-1$
+		assertEquals(1000L, server.getAttribute(name, "h.max")); //$NON-NLS-1$
+		assertEquals(6, server.getMBeanInfo(name).getAttributes().length);
+		this.service.stopAsync().awaitTerminated();
+		assertNull(this.service.getJmxName());
+		assertFalse(server.isRegistered(name));
+	}
+
+	@Test
+	public void periodicSnapshot() {
+		ArgumentCaptor<Runnable> task = ArgumentCaptor.forClass(Runnable.class);
+		Mockito.verify(this.executorService).scheduleAtFixedRate(task.capture(), Mockito.anyLong(), Mockito.anyLong(),
+				Mockito.eq(TimeUnit.MILLISECONDS));
+		MetricsListener listener = Mockito.mock(MetricsListener.class);
+		this.service.addMetricsListener(listener);
+		this.service.getCounter("c").increment(); //$NON-NLS-1$
+		task.getValue().run();
+		ArgumentCaptor<MetricsSnapshot> snapshot = ArgumentCaptor.forClass(MetricsSnapshot.class);
+		Mockito.verify(listener).metricsUpdated(snapshot.capture());
+		assertEquals(1L, snapshot.getValue().getCounter("c")); //$NON-NLS-1$
+		this.service.removeMetricsListener(listener);
+		task.getValue().run();
+		Mockito.verifyNoMoreInteractions(listener);
+	}
+
+	@Test
+	@AvoidServiceStartForTest
+	public void executorGauges() {
+		ThreadPoolExecutor pool = new ThreadPoolExecutor(1, 1, 1, TimeUnit.SECONDS, new LinkedBlockingQueue<>());
+		try {
+			Mockito.when(this.executorService.getExecutorService()).thenReturn(pool);
+			startService();
+			MetricsSnapshot snapshot = this.service.getSnapshot();
+			assertEquals(0, snapshot.getGauges().get(MetricsService.EXECUTOR_ACTIVE_TASKS));
+			assertEquals(0, snapshot.getGauges().get(MetricsService.EXECUTOR_QUEUED_TASKS));
+			assertEquals(0L, snapshot.getGauges().get(StandardMetricsService.EXECUTOR_COMPLETED_TASKS));
+		} finally {
+			pool.shutdownNow();
+		}
+	}
+
+}
@@ -0,0 +1,315 @@
+/*
+ * $Id$
+ * 
+ * Janus platform is an open-source multiagent platform.
+ * More details on http://www.janusproject.io
+ * 
+ * Copyright (C) 2014-2015 Sebastian RODRIGUEZ, Nicolas GAUD, Stéphane GALLAND.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.janusproject.tests.kernel.services.jdk.network;
+package io.janusproject.tests.kernel.services.jdk.network;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+
+import io.janusproject.kernel.services.jdk.distributeddata.DMapView;
+import io.janusproject.kernel.services.jdk.network.CompactEventSerializer;
+import io.janusproject.kernel.services.jdk.network.JavaBinaryEventSerializer;
+import io.janusproject.kernel.services.jdk.network.PlainTextEventEncrypter;
+import io.janusproject.services.distributeddata.DMap;
+import io.janusproject.services.distributeddata.DistributedDataStructureService;
+import io.janusproject.services.network.EventDispatch;
+import io.janusproject.services.network.EventEnvelope;
+import io.janusproject.services.network.NetworkUtil;
+import io.janusproject.tests.testutils.AbstractJanusTest;
+import org.arakhne.afc.vmutil.ClassLoaderFinder;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+
+import io.sarl.lang.core.Address;
+import io.sarl.lang.core.Event;
+import io.sarl.lang.core.Scope;
+import io.sarl.lang.core.SpaceID;
+import io.sarl.tests.api.Nullable;
+import io.sarl.util.AddressScope;
+import io.sarl.util.OpenEventSpaceSpecification;
+import io.sarl.util.Scopes;
+
+/**
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ */
+@SuppressWarnings("all")
+public class CompactEventSerializerTest extends AbstractJanusTest {
+
+	@Mock
+	private DistributedDataStructureService dds;
+
+	@Nullable
+	private Map<String, DMap<?, ?>> maps;
+
+	@Nullable
+	private CompactEventSerializer serializer;
+
+	@Nullable
+	private CompactEventSerializer remoteSerializer;
+
+	@Nullable
+	private SpaceID spaceID;
+
+	@Nullable
+	private Address source;
+
+	@Before
+	public void setUp() throws Exception {
+		ClassLoaderFinder.setPreferredClassLoader(getClass().getClassLoader());
+		this.maps = new HashMap<>();
+		Mockito.when(this.dds.getMap(ArgumentMatchers.anyString())).thenAnswer(new Answer<DMap<?, ?>>() {
+			@Override
+			public DMap<?, ?> answer(InvocationOnMock invocation) throws Throwable {
+				String name = invocation.getArgument(0);
+				DMap<?, ?> map = maps.get(name);
+				if (map == null) {
+					map = new DMapView<>(name, new HashMap<>());
+					maps.put(name, map);
+				}
+				return map;
+			}
+		});
+		this.serializer = new CompactEventSerializer(new PlainTextEventEncrypter(), this.dds);
+		this.remoteSerializer = new CompactEventSerializer(new PlainTextEventEncrypter(), this.dds);
+		this.spaceID = new SpaceID(UUID.randomUUID(), UUID.randomUUID(), OpenEventSpaceSpecification.class);
+		this.source = new Address(this.spaceID, UUID.randomUUID());
+	}
+
+	@After
+	public void tearDown() {
+		ClassLoaderFinder.popPreferredClassLoader();
+	}
+
+	private EventMock createEvent() {
+		EventMock event = new EventMock(this.source);
+		event.number = -123;
+		event.big = 1L << 40;
+		event.value = 3.5;
+		event.flag = true;
+		event.letter = 'z';
+		event.text = "hello"; //$NON-NLS-1$
+		event.identifier = UUID.randomUUID();
+		event.kind = Kind.SECOND;
+		event.names = new ArrayList<>(Arrays.asList("a", null, "b")); //$NON-NLS-1$ //$NON-NLS-2$
+		event.values = new int[] {1, -2, 3};
+		event.properties = new HashMap<>();
+		event.properties.put("key", Integer.valueOf(5)); //$NON-NLS-1$
+		event.custom = new CustomSerialization("custom"); //$NON-NLS-1$
+		event.skipped = "transient"; //$NON-NLS-1$
+		return event;
+	}
+
+	@Test
+	public void serialize() throws Exception {
+		EventDispatch dispatch = new EventDispatch(this.spaceID, createEvent(), Scopes.addresses(this.source));
+		dispatch.getCustomHeaders().put("a", "b"); //$NON-NLS-1$ //$NON-NLS-2$
+		EventEnvelope e = this.serializer.serialize(dispatch);
+		assertNotNull(e);
+		assertArrayEquals(NetworkUtil.toByteArray(this.spaceID.getContextID()), e.getContextId());
+		assertArrayEquals(NetworkUtil.toByteArray(this.spaceID.getID()), e.getSpaceId());
+		assertNotNull(e.getScope());
+		assertNotNull(e.getCustomHeaders());
+		assertNotNull(e.getBody());
+	}
+
+	@Test
+	public void deserialize() throws Exception {
+		EventMock event = createEvent();
+		EventDispatch dispatch = new EventDispatch(this.spaceID, event, Scopes.addresses(this.source));
+		dispatch.getCustomHeaders().put("a", "b"); //$NON-NLS-1$ //$NON-NLS-2$
+		EventEnvelope e = this.serializer.serialize(dispatch);
+
+		EventDispatch d = this.remoteSerializer.deserialize(e);
+		assertNotNull(d);
+		assertEquals(this.spaceID, d.getSpaceID());
+		assertEquals(OpenEventSpaceSpecification.class, d.getSpaceID().getSpaceSpecification());
+		assertEquals(dispatch.getCustomHeaders(), d.getCustomHeaders());
+		assertTrue(d.getScope() instanceof AddressScope);
+		assertEquals(((AddressScope) dispatch.getScope()).getReceivers(), ((AddressScope) d.getScope()).getReceivers());
+		assertEquals(event, d.getEvent());
+		assertEquals(this.source, d.getEvent().getSource());
+		assertNull(((EventMock) d.getEvent()).skipped);
+	}
+
+	@Test
+	public void serialize_smallerThanJavaSerialization() throws Exception {
+		EventDispatch dispatch = new EventDispatch(this.spaceID, createEvent(), Scopes.addresses(this.source));
+		EventEnvelope compact = this.serializer.serialize(dispatch);
+		EventEnvelope binary = new JavaBinaryEventSerializer(new PlainTextEventEncrypter()).serialize(dispatch);
+		assertTrue(compact.getBody().length < binary.getBody().length);
+		assertTrue(compact.getScope().length < binary.getScope().length);
+	}
+
+	@Test
+	public void serialize_sharedTypeIdentifiers() throws Exception {
+		EventDispatch dispatch = new EventDispatch(this.spaceID, createEvent(), Scopes.addresses(this.source));
+		EventEnvelope e1 = this.serializer.serialize(dispatch);
+		EventEnvelope e2 = this.remoteSerializer.serialize(dispatch);
+		assertArrayEquals(e1.getBody(), e2.getBody());
+		assertArrayEquals(e1.getScope(), e2.getScope());
+		assertArrayEquals(e1.getCustomHeaders(), e2.getCustomHeaders());
+	}
+
+	@Test(expected = IOException.class)
+	public void deserialize_unknownType() throws Exception {
+		EventEnvelope e = this.serializer.serialize(new EventDispatch(this.spaceID, createEvent(), Scopes.addresses(this.source)));
+		e.setBody(new byte[] {127});
+		this.remoteSerializer.deserialize(e);
+	}
+
+	/**
+	 * @author $Author: sgalland$
+	 * @version $FullVersion$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 */
+	public enum Kind {
+		FIRST, SECOND {
+			@Override
+			public String toString() {
+				return "second"; //$NON-NLS-1$
+			}
+		};
+	}
+
+	/**
+	 * @author $Author: sgalland$
+	 * @version $FullVersion$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 */
+	public static class CustomSerialization implements Serializable {
+
+		private static final long serialVersionUID = -1519634880138542916L;
+
+		private transient String value;
+
+		public CustomSerialization(String value) {
+			this.value = value;
+		}
+
+		private void writeObject(ObjectOutputStream stream) throws IOException {
+			stream.writeUTF(this.value);
+		}
+
+		private void readObject(ObjectInputStream stream) throws IOException {
+			this.value = stream.readUTF();
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			return obj instanceof CustomSerialization && Objects.equals(this.value, ((CustomSerialization) obj).value);
+		}
+
+		@Override
+		public int hashCode() {
+			return Objects.hashCode(this.value);
+		}
+
+	}
+
+	/**
+	 * @author $Author: sgalland$
+	 * @version $FullVersion$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 */
+	public static class EventMock extends Event {
+
+		private static final long serialVersionUID = 2305405472914582183L;
+
+		int number;
+
+		long big;
+
+		double value;
+
+		boolean flag;
+
+		char letter;
+
+		String text;
+
+		UUID identifier;
+
+		Kind kind;
+
+		List<String> names;
+
+		int[] values;
+
+		Map<String, Object> properties;
+
+		CustomSerialization custom;
+
+		transient String skipped;
+
+		EventMock() {
+			//
+		}
+
+		EventMock(Address source) {
+			super(source);
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (!super.equals(obj)) {
+				return false;
+			}
+			EventMock other = (EventMock) obj;
+			return this.number == other.number && this.big == other.big && this.value == other.value
+					&& this.flag == other.flag && this.letter == other.letter && Objects.equals(this.text, other.text)
+					&& Objects.equals(this.identifier, other.identifier) && this.kind == other.kind
+					&& Objects.equals(this.names, other.names) && Arrays.equals(this.values, other.values)
+					&& Objects.equals(this.properties, other.properties) && Objects.equals(this.custom, other.custom);
+		}
+
+		@Override
+		public int hashCode() {
+			return Objects.hash(super.hashCode(), this.number, this.text);
+		}
+
+	}
+
+}
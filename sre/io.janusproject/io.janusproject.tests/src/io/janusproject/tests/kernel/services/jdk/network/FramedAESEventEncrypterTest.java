@@ -0,0 +1,164 @@
+/*
+ * $Id$
+ * 
+ * Janus platform is an open-source multiagent platform.
+ * More details on http://www.janusproject.io
+ * 
+ * Copyright (C) 2014-2015 Sebastian RODRIGUEZ, Nicolas GAUD, Stéphane GALLAND.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.janusproject.tests.kernel.services.jdk.network;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.security.GeneralSecurityException;
+import java.util.Arrays;
+import java.util.UUID;
+
+import io.janusproject.kernel.services.jdk.network.AESEventEncrypter;
+import io.janusproject.kernel.services.jdk.network.FramedAESEventEncrypter;
+import io.janusproject.services.network.EventEnvelope;
+import io.janusproject.tests.testutils.AbstractJanusTest;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ */
+@SuppressWarnings({ "javadoc" })
+public class FramedAESEventEncrypterTest extends AbstractJanusTest {
+
+	private FramedAESEventEncrypter encrypter;
+
+	@Before
+	public void setUp() throws Exception {
+		this.encrypter = new FramedAESEventEncrypter();
+		this.encrypter.setKey("abcdefghijklmnop"); //$NON-NLS-1$
+	}
+
+	@After
+	public void tearDown() {
+		this.encrypter = null;
+	}
+
+	private static EventEnvelope createEnvelope() {
+		byte[] contextId = new byte[] {1, 2, 3, 4, 5 };
+		byte[] spaceId = new byte[] {6, 7, 8, 9, 10 };
+		byte[] event = new byte[] {11, 12, 13, 14 };
+		byte[] scope = new byte[] {15, 16, 17 };
+		byte[] headers = new byte[] {18, 19, 20, 21 };
+		return new EventEnvelope(contextId, spaceId, scope, headers, event);
+	}
+
+	private static void assertDecrypted(EventEnvelope envelope) {
+		assertArrayEquals(new byte[] {1, 2, 3, 4, 5 }, envelope.getContextId());
+		assertArrayEquals(new byte[] {6, 7, 8, 9, 10 }, envelope.getSpaceId());
+		assertArrayEquals(new byte[] {15, 16, 17 }, envelope.getScope());
+		assertArrayEquals(new byte[] {18, 19, 20, 21 }, envelope.getCustomHeaders());
+		assertArrayEquals(new byte[] {11, 12, 13, 14 }, envelope.getBody());
+	}
+
+	@Test
+	public void isAuthenticated() {
+		assertTrue(this.encrypter.isAuthenticated());
+		this.encrypter.setMode(FramedAESEventEncrypter.CBC_MODE);
+		assertFalse(this.encrypter.isAuthenticated());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void setMode_invalid() {
+		this.encrypter.setMode("ECB"); //$NON-NLS-1$
+	}
+
+	@Test
+	public void encrypt() throws Exception {
+		EventEnvelope envelope = createEnvelope();
+
+		this.encrypter.encrypt(envelope);
+
+		// The context identifier is encrypted as by AESEventEncrypter for enabling the network filtering.
+		assertArrayEquals(new byte[] {76, 85, 9, -83, -86, -108, 17, 119, 91, 121, -32, 98, 19, 58, 74, -6 },
+				envelope.getContextId());
+		assertArrayEquals(new byte[] {0 }, envelope.getSpaceId());
+		assertArrayEquals(new byte[] {0 }, envelope.getScope());
+		assertArrayEquals(new byte[] {0 }, envelope.getCustomHeaders());
+		// IV + encrypted frame + tag
+		assertEquals(12 + 28 + 16, envelope.getBody().length);
+	}
+
+	@Test
+	public void encrypt_randomIV() throws Exception {
+		EventEnvelope envelope1 = createEnvelope();
+		EventEnvelope envelope2 = createEnvelope();
+
+		this.encrypter.encrypt(envelope1);
+		this.encrypter.encrypt(envelope2);
+
+		assertArrayEquals(envelope1.getContextId(), envelope2.getContextId());
+		assertFalse(Arrays.equals(envelope1.getBody(), envelope2.getBody()));
+	}
+
+	@Test
+	public void encryptUUID() throws Exception {
+		AESEventEncrypter reference = new AESEventEncrypter();
+		reference.setKey("abcdefghijklmnop"); //$NON-NLS-1$
+		UUID id = UUID.randomUUID();
+		assertArrayEquals(reference.encryptUUID(id), this.encrypter.encryptUUID(id));
+	}
+
+	@Test
+	public void decrypt_gcm() throws Exception {
+		EventEnvelope envelope = createEnvelope();
+		this.encrypter.encrypt(envelope);
+
+		this.encrypter.decrypt(envelope);
+
+		assertDecrypted(envelope);
+	}
+
+	@Test
+	public void decrypt_cbc() throws Exception {
+		this.encrypter.setMode(FramedAESEventEncrypter.CBC_MODE);
+		EventEnvelope envelope = createEnvelope();
+		this.encrypter.encrypt(envelope);
+
+		this.encrypter.decrypt(envelope);
+
+		assertDecrypted(envelope);
+	}
+
+	@Test(expected = GeneralSecurityException.class)
+	public void decrypt_gcm_tamperedBody() throws Exception {
+		EventEnvelope envelope = createEnvelope();
+		this.encrypter.encrypt(envelope);
+		envelope.getBody()[20] ^= 1;
+
+		this.encrypter.decrypt(envelope);
+	}
+
+	@Test(expected = GeneralSecurityException.class)
+	public void decrypt_gcm_tamperedContext() throws Exception {
+		EventEnvelope envelope = createEnvelope();
+		this.encrypter.encrypt(envelope);
+		envelope.getContextId()[0] ^= 1;
+
+		this.encrypter.decrypt(envelope);
+	}
+
+}
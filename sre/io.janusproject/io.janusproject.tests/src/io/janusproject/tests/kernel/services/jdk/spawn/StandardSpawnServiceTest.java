@@ -30,9 +30,16 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import com.google.inject.AbstractModule;
 import com.google.inject.Guice;
@@ -239,6 +246,76 @@ public class StandardSpawnServiceTest extends AbstractDependentServiceTest<Stand
 		assertEquals(ag.getClass().getName(), ((AgentSpawned) argument4.getValue()).agentType);
 	}
 
+	@Test
+	public void spawn_bulk() throws Exception {
+		List<UUID> agentIds = this.service.spawn(3, this.agentContext, Agent.class, "a", "b"); //$NON-NLS-1$//$NON-NLS-2$
+		//
+		assertNotNull(agentIds);
+		assertEquals(3, agentIds.size());
+		assertEquals(3, new HashSet<>(agentIds).size());
+		Set<UUID> agents = this.service.getAgents();
+		assertEquals(3, agents.size());
+		for (UUID agentId : agentIds) {
+			assertTrue(agents.contains(agentId));
+			Agent spawnedAgent = (Agent) this.reflect.invoke(this.service, "getAgent", agentId);
+			assertNotNull(spawnedAgent);
+			assertEquals(this.agentContext.getID(), spawnedAgent.getParentID());
+		}
+		//
+		ArgumentCaptor<Agent> argument1 = ArgumentCaptor.forClass(Agent.class);
+		ArgumentCaptor<Object[]> argument2 = ArgumentCaptor.forClass(Object[].class);
+		Mockito.verify(this.serviceListener, new Times(3)).agentSpawned(ArgumentMatchers.same(this.agentContext), argument1.capture(),
+				argument2.capture());
+		for (int i = 0; i < 3; ++i) {
+			assertEquals(agentIds.get(i), argument1.getAllValues().get(i).getID());
+			assertEquals("a", argument2.getAllValues().get(i)[0]); //$NON-NLS-1$
+			assertEquals("b", argument2.getAllValues().get(i)[1]); //$NON-NLS-1$
+		}
+		//
+		ArgumentCaptor<Event> argument3 = ArgumentCaptor.forClass(Event.class);
+		Mockito.verify(this.defaultSpace, new Times(3)).emit(argument3.capture());
+		for (int i = 0; i < 3; ++i) {
+			assertTrue(argument3.getAllValues().get(i) instanceof AgentSpawned);
+			assertEquals(agentIds.get(i), ((AgentSpawned) argument3.getAllValues().get(i)).agentID);
+		}
+	}
+
+	@Test
+	public void spawn_bulk_listenerFailure() throws Exception {
+		final AtomicInteger notifications = new AtomicInteger();
+		Mockito.doAnswer((it) -> {
+			if (notifications.incrementAndGet() == 2) {
+				throw new IllegalStateException();
+			}
+			return null;
+		}).when(this.serviceListener).agentSpawned(ArgumentMatchers.any(), ArgumentMatchers.any(), ArgumentMatchers.any());
+		try {
+			this.service.spawn(3, this.agentContext, Agent.class);
+			fail("Expecting CannotSpawnException"); //$NON-NLS-1$
+		} catch (StandardSpawnService.CannotSpawnException exception) {
+			// Expected exception
+		}
+		// The third agent is not notified: it must not stay registered.
+		ArgumentCaptor<Agent> argument = ArgumentCaptor.forClass(Agent.class);
+		Mockito.verify(this.serviceListener, new Times(2)).agentSpawned(ArgumentMatchers.same(this.agentContext), argument.capture(),
+				ArgumentMatchers.any());
+		assertEquals(2, this.service.getAgentCount());
+		Set<UUID> agents = this.service.getAgents();
+		assertEquals(2, agents.size());
+		for (Agent agent : argument.getAllValues()) {
+			assertTrue(agents.contains(agent.getID()));
+		}
+		Mockito.verify(this.kernelListener, new Times(0)).kernelAgentDestroy();
+	}
+
+	@Test
+	public void spawn_bulk_none() throws Exception {
+		List<UUID> agentIds = this.service.spawn(0, this.agentContext, Agent.class);
+		assertTrue(agentIds.isEmpty());
+		assertTrue(this.service.getAgents().isEmpty());
+		Mockito.verify(this.defaultSpace, new Times(0)).emit(ArgumentMatchers.any());
+	}
+
 	@AvoidServiceStartForTest
 	@Test
 	public void canKillAgent_oneagentinsideinnercontext() throws Exception {
@@ -292,6 +369,78 @@ public class StandardSpawnServiceTest extends AbstractDependentServiceTest<Stand
 		Mockito.verify(this.kernelListener, new Times(1)).kernelAgentDestroy();
 	}
 
+	@Test
+	public void getAgentCount() throws Exception {
+		assertEquals(0, this.service.getAgentCount());
+		UUID agentId = this.service.spawn(this.agentContext, this.agentId, Agent.class, "a", "b"); //$NON-NLS-1$//$NON-NLS-2$
+		assertEquals(1, this.service.getAgentCount());
+		this.service.spawn(2, this.agentContext, Agent.class);
+		assertEquals(3, this.service.getAgentCount());
+		this.service.killAgent(agentId);
+		assertEquals(2, this.service.getAgentCount());
+		Mockito.verify(this.kernelListener, new Times(0)).kernelAgentDestroy();
+	}
+
+	@Test
+	public void killAgent_twice() throws Exception {
+		UUID agentId = this.service.spawn(this.agentContext, this.agentId, Agent.class, "a", "b"); //$NON-NLS-1$//$NON-NLS-2$
+		this.service.killAgent(agentId);
+		try {
+			this.service.killAgent(agentId);
+			fail("Expecting AgentKillException"); //$NON-NLS-1$
+		} catch (SpawnService.AgentKillException exception) {
+			// Expected exception
+		}
+		assertEquals(0, this.service.getAgentCount());
+		Mockito.verify(this.kernelListener, new Times(1)).kernelAgentDestroy();
+	}
+
+	@Test
+	public void spawnAndKill_concurrently() throws Exception {
+		// All the agents could be killed.
+		Mockito.when(this.innerSpace.getParticipants()).thenReturn(Collections3.synchronizedSet(Collections.emptySet(), this));
+		final AtomicInteger destroyWithUncountedAgents = new AtomicInteger();
+		this.service.addKernelAgentSpawnListener(new KernelAgentSpawnListener() {
+			@Override
+			public void kernelAgentSpawn() {
+				//
+			}
+
+			@Override
+			public void kernelAgentDestroy() {
+				// The number of agents is read first: an agent that is registered must be already counted.
+				final int nbAgents = StandardSpawnServiceTest.this.service.getAgents().size();
+				if (nbAgents > StandardSpawnServiceTest.this.service.getAgentCount()) {
+					destroyWithUncountedAgents.incrementAndGet();
+				}
+			}
+		});
+		final ExecutorService realService = Executors.newFixedThreadPool(2);
+		try {
+			final CyclicBarrier barrier = new CyclicBarrier(2);
+			UUID agentId = this.service.spawn(this.agentContext, null, Agent.class);
+			for (int i = 0; i < 1000; ++i) {
+				final UUID killedAgentId = agentId;
+				Future<UUID> spawned = realService.submit(() -> {
+					barrier.await();
+					return this.service.spawn(this.agentContext, null, Agent.class);
+				});
+				Future<?> killed = realService.submit(() -> {
+					barrier.await();
+					this.service.killAgent(killedAgentId);
+					return null;
+				});
+				agentId = spawned.get(10, TimeUnit.SECONDS);
+				killed.get(10, TimeUnit.SECONDS);
+				assertEquals(1, this.service.getAgentCount());
+			}
+			assertEquals(0, destroyWithUncountedAgents.get());
+			assertEquals(1, this.service.getAgents().size());
+		} finally {
+			realService.shutdownNow();
+		}
+	}
+
 	@AvoidServiceStartForTest
 	@Test
 	public void doStart() throws Exception {
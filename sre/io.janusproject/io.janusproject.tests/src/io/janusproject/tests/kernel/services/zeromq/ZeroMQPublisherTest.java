@@ -0,0 +1,190 @@
+/*
+ * $Id$
+ * 
+ * Janus platform is an open-source multiagent platform.
+ * More details on http://www.janusproject.io
+ * 
+ * Copyright (C) 2014-2015 Sebastian RODRIGUEZ, Nicolas GAUD, Stéphane GALLAND.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.janusproject.tests.kernel.services.zeromq;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertFalse;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicReference;
+
+import io.janusproject.kernel.services.zeromq.ZeroMQPublisher;
+import io.janusproject.services.logging.LogService;
+import io.janusproject.services.network.EventEnvelope;
+import io.janusproject.tests.testutils.AbstractJanusTest;
+import org.junit.After;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.zeromq.ZMQ.Socket;
+
+/**
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ */
+@SuppressWarnings("all")
+public class ZeroMQPublisherTest extends AbstractJanusTest {
+
+	@Mock
+	private Socket socket;
+
+	@Mock
+	private LogService logger;
+
+	private ZeroMQPublisher publisher;
+
+	@After
+	public void tearDown() throws Exception {
+		if (this.publisher != null) {
+			this.publisher.stop();
+		}
+	}
+
+	private static EventEnvelope envelope(int context, int body) {
+		return new EventEnvelope(new byte[] {(byte) context}, new byte[] {2}, new byte[] {3}, new byte[] {4},
+				new byte[] {(byte) body});
+	}
+
+	private void flush(EventEnvelope... envelopes) throws Exception {
+		for (EventEnvelope envelope : envelopes) {
+			this.publisher.publish(envelope);
+		}
+		assertEquals(envelopes.length, this.publisher.getQueueSize());
+		this.publisher.start();
+		this.publisher.stop();
+		assertEquals(0, this.publisher.getQueueSize());
+	}
+
+	@Test
+	public void buildFilterableHeader() {
+		assertArrayEquals(new byte[] {0, 0, 0, 2, 5, 6}, ZeroMQPublisher.buildFilterableHeader(new byte[] {5, 6}));
+	}
+
+	@Test
+	public void buildPayload() {
+		byte[] payload = ZeroMQPublisher.buildPayload(Arrays.asList(envelope(1, 5), envelope(1, 6)));
+		ByteBuffer buffer = ByteBuffer.wrap(payload);
+		assertEquals(ZeroMQPublisher.BATCH_FORMAT, buffer.getInt());
+		for (int body = 5; body <= 6; ++body) {
+			for (int block = 2; block <= 4; ++block) {
+				assertEquals(1, buffer.getInt());
+				assertEquals((byte) block, buffer.get());
+			}
+			assertEquals(1, buffer.getInt());
+			assertEquals((byte) body, buffer.get());
+		}
+		assertFalse(buffer.hasRemaining());
+	}
+
+	@Test
+	public void buildPayload_singleEnvelope() {
+		byte[] payload = ZeroMQPublisher.buildPayload(Arrays.asList(envelope(1, 5)));
+		ByteBuffer buffer = ByteBuffer.wrap(payload);
+		for (int block = 2; block <= 4; ++block) {
+			assertEquals(1, buffer.getInt());
+			assertEquals((byte) block, buffer.get());
+		}
+		assertEquals(1, buffer.getInt());
+		assertEquals((byte) 5, buffer.get());
+		assertFalse(buffer.hasRemaining());
+	}
+
+	@Test
+	public void stop_blockedSender() throws Exception {
+		CountDownLatch sending = new CountDownLatch(1);
+		AtomicReference<Thread> sender = new AtomicReference<>();
+		Mockito.doAnswer((it) -> {
+			sender.set(Thread.currentThread());
+			sending.countDown();
+			Thread.sleep(Long.MAX_VALUE);
+			return Boolean.TRUE;
+		}).when(this.socket).send(Mockito.any(byte[].class));
+		this.publisher = new ZeroMQPublisher(this.socket, this.logger, 0, 10, 1024);
+		this.publisher.publish(envelope(1, 5));
+		this.publisher.start();
+		sending.await();
+		this.publisher.stop();
+		assertFalse(sender.get().isAlive());
+	}
+
+	@Test
+	public void publish_sameContext() throws Exception {
+		this.publisher = new ZeroMQPublisher(this.socket, this.logger, 0, 10, 1024);
+		EventEnvelope env1 = envelope(1, 5);
+		EventEnvelope env2 = envelope(1, 6);
+		EventEnvelope env3 = envelope(1, 7);
+		flush(env1, env2, env3);
+
+		Mockito.verify(this.socket).sendMore(ZeroMQPublisher.buildFilterableHeader(new byte[] {1}));
+		ArgumentCaptor<byte[]> payload = ArgumentCaptor.forClass(byte[].class);
+		Mockito.verify(this.socket).send(payload.capture());
+		assertArrayEquals(ZeroMQPublisher.buildPayload(Arrays.asList(env1, env2, env3)), payload.getValue());
+		assertEquals(1L, this.publisher.getBatchCount());
+		assertEquals(3L, this.publisher.getEventCount());
+		assertEquals(3, this.publisher.getLargestBatchSize());
+		assertEquals(3, this.publisher.getMaxQueueSize());
+	}
+
+	@Test
+	public void publish_differentContexts() throws Exception {
+		this.publisher = new ZeroMQPublisher(this.socket, this.logger, 0, 10, 1024);
+		EventEnvelope env1 = envelope(1, 5);
+		EventEnvelope env2 = envelope(2, 6);
+		EventEnvelope env3 = envelope(1, 7);
+		flush(env1, env2, env3);
+
+		Mockito.verify(this.socket).sendMore(ZeroMQPublisher.buildFilterableHeader(new byte[] {1}));
+		Mockito.verify(this.socket).sendMore(ZeroMQPublisher.buildFilterableHeader(new byte[] {2}));
+		ArgumentCaptor<byte[]> payload = ArgumentCaptor.forClass(byte[].class);
+		Mockito.verify(this.socket, Mockito.times(2)).send(payload.capture());
+		assertArrayEquals(ZeroMQPublisher.buildPayload(Arrays.asList(env1, env3)), payload.getAllValues().get(0));
+		assertArrayEquals(ZeroMQPublisher.buildPayload(Arrays.asList(env2)), payload.getAllValues().get(1));
+		assertEquals(1L, this.publisher.getBatchCount());
+		assertEquals(3L, this.publisher.getEventCount());
+	}
+
+	@Test
+	public void publish_maxEvents() throws Exception {
+		this.publisher = new ZeroMQPublisher(this.socket, this.logger, 0, 2, 1024);
+		flush(envelope(1, 5), envelope(1, 6), envelope(1, 7), envelope(1, 8), envelope(1, 9));
+
+		Mockito.verify(this.socket, Mockito.times(3)).send(Mockito.any(byte[].class));
+		assertEquals(3L, this.publisher.getBatchCount());
+		assertEquals(5L, this.publisher.getEventCount());
+		assertEquals(2, this.publisher.getLargestBatchSize());
+		assertEquals(1, this.publisher.getLastBatchSize());
+	}
+
+	@Test
+	public void publish_maxBytes() throws Exception {
+		this.publisher = new ZeroMQPublisher(this.socket, this.logger, 0, 10, 1);
+		flush(envelope(1, 5), envelope(1, 6));
+
+		Mockito.verify(this.socket, Mockito.times(2)).send(Mockito.any(byte[].class));
+		assertEquals(2L, this.publisher.getBatchCount());
+		assertEquals(1, this.publisher.getLargestBatchSize());
+	}
+
+}
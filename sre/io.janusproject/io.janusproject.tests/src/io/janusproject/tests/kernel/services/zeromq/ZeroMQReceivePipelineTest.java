@@ -0,0 +1,301 @@
+/*
+ * $Id$
+ * 
+ * Janus platform is an open-source multiagent platform.
+ * More details on http://www.janusproject.io
+ * 
+ * Copyright (C) 2014-2015 Sebastian RODRIGUEZ, Nicolas GAUD, Stéphane GALLAND.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.janusproject.tests.kernel.services.zeromq;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Queue;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.logging.Level;
+
+import io.janusproject.kernel.services.zeromq.ZeroMQReceivePipeline;
+import io.janusproject.services.logging.LogService;
+import io.janusproject.services.network.EventDispatch;
+import io.janusproject.services.network.EventEnvelope;
+import io.janusproject.tests.testutils.AbstractJanusTest;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+
+import io.sarl.lang.core.Event;
+import io.sarl.lang.core.SpaceID;
+import io.sarl.tests.api.Nullable;
+import io.sarl.util.Scopes;
+
+/**
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ */
+@SuppressWarnings("all")
+public class ZeroMQReceivePipelineTest extends AbstractJanusTest {
+
+	private static final long TIMEOUT = 5;
+
+	@Mock
+	private LogService logger;
+
+	@Nullable
+	private Queue<Runnable> tasks;
+
+	@Nullable
+	private List<EventDispatch> handled;
+
+	@Before
+	public void setUp() {
+		this.tasks = new LinkedList<>();
+		this.handled = Collections.synchronizedList(new ArrayList<>());
+	}
+
+	private ZeroMQReceivePipeline pipeline(int workers, int capacity, int batchSize) {
+		Executor executor = (task) -> this.tasks.add(task);
+		return new ZeroMQReceivePipeline(executor, ZeroMQReceivePipelineTest::decode,
+				(dispatch) -> this.handled.add(dispatch), this.logger, workers, capacity, batchSize);
+	}
+
+	private void runTasks() {
+		Runnable task;
+		while ((task = this.tasks.poll()) != null) {
+			task.run();
+		}
+	}
+
+	private static EventEnvelope envelope(int context, int space, int body) {
+		return new EventEnvelope(new byte[] {(byte) context}, new byte[] {(byte) space}, new byte[] {3}, new byte[] {4},
+				new byte[] {(byte) body});
+	}
+
+	private static EventDispatch decode(EventEnvelope envelope) {
+		SpaceID spaceID = new SpaceID(new UUID(0, envelope.getContextId()[0]), new UUID(0, envelope.getSpaceId()[0]), null);
+		return new EventDispatch(spaceID, new BodyEvent(envelope.getBody()[0]), Scopes.allParticipants());
+	}
+
+	private static int space(EventDispatch dispatch) {
+		return (int) dispatch.getSpaceID().getID().getLeastSignificantBits();
+	}
+
+	private static int body(EventDispatch dispatch) {
+		return ((BodyEvent) dispatch.getEvent()).body;
+	}
+
+	private void assertSameSpaceSameOrder(int spaces, int events) {
+		assertEquals(spaces * events, this.handled.size());
+		int[] last = new int[spaces];
+		java.util.Arrays.fill(last, -1);
+		for (EventDispatch dispatch : this.handled) {
+			int space = space(dispatch);
+			assertEquals(last[space] + 1, body(dispatch));
+			last[space] = body(dispatch);
+		}
+	}
+
+	@Test
+	public void getWorkerCount() {
+		assertEquals(3, pipeline(3, 10, 10).getWorkerCount());
+		assertEquals(Runtime.getRuntime().availableProcessors(), pipeline(0, 10, 10).getWorkerCount());
+	}
+
+	@Test
+	public void getLaneIndex() {
+		ZeroMQReceivePipeline pipeline = pipeline(4, 10, 10);
+		for (int i = 0; i < 100; ++i) {
+			SpaceID spaceID = decode(envelope(1, i, 0)).getSpaceID();
+			int index = pipeline.getLaneIndex(spaceID);
+			assertTrue(index >= 0 && index < 4);
+			assertEquals(index, pipeline.getLaneIndex(decode(envelope(1, i, 0)).getSpaceID()));
+		}
+	}
+
+	@Test
+	public void submit_oneTaskPerWorker() throws Exception {
+		ZeroMQReceivePipeline pipeline = pipeline(1, 10, 10);
+		assertTrue(pipeline.submit(envelope(1, 1, 1)));
+		assertTrue(pipeline.submit(envelope(1, 1, 2)));
+		assertTrue(pipeline.submit(envelope(1, 1, 3)));
+		assertEquals(1, this.tasks.size());
+		assertEquals(3, pipeline.getQueueSize());
+		runTasks();
+		assertEquals(0, pipeline.getQueueSize());
+		assertEquals(3, this.handled.size());
+		assertEquals(1, body(this.handled.get(0)));
+		assertEquals(2, body(this.handled.get(1)));
+		assertEquals(3, body(this.handled.get(2)));
+	}
+
+	@Test
+	public void submit_batchSize() throws Exception {
+		ZeroMQReceivePipeline pipeline = pipeline(1, 10, 2);
+		for (int i = 0; i < 5; ++i) {
+			pipeline.submit(envelope(1, 1, i));
+		}
+		this.tasks.poll().run();
+		// Two envelopes are decoded; the lane is scheduled and the decoding worker has rescheduled itself.
+		assertTrue(this.handled.isEmpty());
+		assertEquals(2, this.tasks.size());
+		assertEquals(5, pipeline.getQueueSize());
+		runTasks();
+		assertEquals(5, this.handled.size());
+		assertEquals(0, pipeline.getQueueSize());
+	}
+
+	@Test
+	public void submit_sameSpaceSameOrder() throws Exception {
+		ZeroMQReceivePipeline pipeline = pipeline(4, 200, 3);
+		for (int i = 0; i < 20; ++i) {
+			for (int space = 0; space < 8; ++space) {
+				pipeline.submit(envelope(1, space, i));
+			}
+		}
+		runTasks();
+		assertSameSpaceSameOrder(8, 20);
+	}
+
+	@Test
+	public void submit_sameSpaceSameOrder_parallelDecoding() throws Exception {
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		try {
+			Random random = new Random();
+			CountDownLatch done = new CountDownLatch(4 * 50);
+			ZeroMQReceivePipeline pipeline = new ZeroMQReceivePipeline(executor,
+					(envelope) -> {
+						LockSupport.parkNanos(random.nextInt(100000));
+						return decode(envelope);
+					},
+					(dispatch) -> {
+						this.handled.add(dispatch);
+						done.countDown();
+					}, this.logger, 4, 16, 3);
+			for (int i = 0; i < 50; ++i) {
+				for (int space = 0; space < 4; ++space) {
+					assertTrue(pipeline.submit(envelope(1, space, i)));
+				}
+			}
+			assertTrue(done.await(TIMEOUT, TimeUnit.SECONDS));
+			assertSameSpaceSameOrder(4, 50);
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	@Test
+	public void submit_twoSpacesOfSameContextDecodedInParallel() throws Exception {
+		ExecutorService executor = Executors.newFixedThreadPool(2);
+		try {
+			// Each decoding waits for the other one: they succeed only if they are run in parallel.
+			CyclicBarrier barrier = new CyclicBarrier(2);
+			CountDownLatch done = new CountDownLatch(2);
+			ZeroMQReceivePipeline pipeline = new ZeroMQReceivePipeline(executor,
+					(envelope) -> {
+						barrier.await(TIMEOUT, TimeUnit.SECONDS);
+						return decode(envelope);
+					},
+					(dispatch) -> {
+						this.handled.add(dispatch);
+						done.countDown();
+					}, this.logger, 2, 10, 1);
+			assertTrue(pipeline.submit(envelope(1, 1, 1)));
+			assertTrue(pipeline.submit(envelope(1, 2, 1)));
+			assertTrue(done.await(TIMEOUT, TimeUnit.SECONDS));
+			assertEquals(2, this.handled.size());
+			Mockito.verifyZeroInteractions(this.logger);
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	@Test
+	public void submit_decoderError() throws Exception {
+		ZeroMQReceivePipeline pipeline = new ZeroMQReceivePipeline((task) -> this.tasks.add(task),
+				(envelope) -> {
+					if (envelope.getBody()[0] == 1) {
+						throw new Exception();
+					}
+					return decode(envelope);
+				},
+				(dispatch) -> this.handled.add(dispatch), this.logger, 1, 10, 10);
+		pipeline.submit(envelope(1, 1, 1));
+		pipeline.submit(envelope(1, 1, 2));
+		runTasks();
+		Mockito.verify(this.logger, Mockito.times(1)).log(Mockito.eq(Level.FINE), Mockito.anyString(), Mockito.any());
+		// The next envelopes are not blocked by the failing one.
+		assertEquals(1, this.handled.size());
+		assertEquals(2, body(this.handled.get(0)));
+		assertEquals(0, pipeline.getQueueSize());
+	}
+
+	@Test
+	public void submit_handlerError() throws Exception {
+		ZeroMQReceivePipeline pipeline = new ZeroMQReceivePipeline((task) -> this.tasks.add(task),
+				ZeroMQReceivePipelineTest::decode,
+				(dispatch) -> {
+					throw new Exception();
+				}, this.logger, 1, 10, 10);
+		pipeline.submit(envelope(1, 1, 1));
+		pipeline.submit(envelope(1, 1, 2));
+		runTasks();
+		Mockito.verify(this.logger, Mockito.times(2)).log(Mockito.eq(Level.FINE), Mockito.anyString(), Mockito.any());
+		assertEquals(0, pipeline.getQueueSize());
+	}
+
+	@Test
+	public void stop() throws Exception {
+		ZeroMQReceivePipeline pipeline = pipeline(1, 10, 10);
+		pipeline.submit(envelope(1, 1, 1));
+		pipeline.stop();
+		assertEquals(0, pipeline.getQueueSize());
+		assertFalse(pipeline.submit(envelope(1, 1, 2)));
+		runTasks();
+		assertTrue(this.handled.isEmpty());
+	}
+
+	/**
+	 * @author $Author: sgalland$
+	 * @version $FullVersion$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 */
+	private static class BodyEvent extends Event {
+
+		private static final long serialVersionUID = -4285467129713480436L;
+
+		final int body;
+
+		BodyEvent(int body) {
+			this.body = body;
+		}
+
+	}
+
+}
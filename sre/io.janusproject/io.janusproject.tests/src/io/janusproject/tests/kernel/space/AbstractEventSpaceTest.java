@@ -25,6 +25,7 @@ import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
+import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.Set;
@@ -58,8 +59,10 @@ import io.sarl.lang.core.Scope;
 import io.sarl.lang.core.SpaceID;
 import io.sarl.tests.api.ManualMocking;
 import io.sarl.tests.api.Nullable;
+import io.sarl.util.EnumerableScope;
 import io.sarl.util.OpenEventSpaceSpecification;
 import io.sarl.util.Scopes;
+import io.sarl.util.SpaceSpecificScope;
 
 /**
  * @author $Author: sgalland$
@@ -286,6 +289,51 @@ public class AbstractEventSpaceTest extends AbstractJanusTest {
 		assertNotSame(event, argument.getValue());
 	}
 
+	@Test
+	public void doEmit_enumerablescope() throws Exception {
+		EnumerableScope<Address> scope = Mockito.mock(EnumerableScope.class);
+		Mockito.when(scope.getReceivers()).thenReturn(Collections.singleton(this.address));
+
+		register();
+
+		Event event = Mockito.mock(Event.class);
+		Mockito.when(event.getSource()).thenReturn(this.address);
+		this.reflect.invoke(this.space, "doEmit", event, scope);
+
+		ArgumentCaptor<Event> argument = ArgumentCaptor.forClass(Event.class);
+		Mockito.verify(this.listener).receiveEvent(argument.capture());
+		assertSame(event, argument.getValue());
+		Mockito.verify(scope, new Times(0)).matches(Mockito.any());
+	}
+
+	@Test
+	public void doEmit_customscope() throws Exception {
+		Scope<Address> scope = Mockito.mock(Scope.class);
+		Mockito.when(scope.matches(this.address)).thenReturn(true);
+
+		register();
+
+		Event event = Mockito.mock(Event.class);
+		Mockito.when(event.getSource()).thenReturn(this.address);
+		this.reflect.invoke(this.space, "doEmit", event, scope);
+
+		ArgumentCaptor<Event> argument = ArgumentCaptor.forClass(Event.class);
+		Mockito.verify(this.listener).receiveEvent(argument.capture());
+		assertSame(event, argument.getValue());
+		Mockito.verify(scope).matches(this.address);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void emitEventScope_spaceSpecificScope() throws Exception {
+		Scope<Address> scope = Mockito.mock(SpaceSpecificScope.class);
+
+		register();
+
+		Event event = Mockito.mock(Event.class);
+		Mockito.when(event.getSource()).thenReturn(this.address);
+		this.space.emit(event, scope);
+	}
+
 	@Test
 	public void emitEventScope_fullscope() throws Exception {
 		Event event;
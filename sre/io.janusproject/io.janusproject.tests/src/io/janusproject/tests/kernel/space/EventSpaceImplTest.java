@@ -24,6 +24,7 @@ import static org.junit.Assert.assertNotSame;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
 import java.util.Comparator;
 import java.util.HashMap;
@@ -33,6 +34,7 @@ import java.util.concurrent.Future;
 
 import io.janusproject.kernel.services.jdk.distributeddata.DMapView;
 import io.janusproject.kernel.space.EventSpaceImpl;
+import io.janusproject.kernel.space.SpatialEventSpace;
 import io.janusproject.services.distributeddata.DMap;
 import io.janusproject.services.distributeddata.DistributedDataStructureService;
 import io.janusproject.services.executor.ExecutorService;
@@ -281,6 +283,29 @@ public class EventSpaceImplTest extends AbstractJanusTest {
 		assertNotSame(event, argument.getValue());
 	}
 
+	@Test
+	public void emitEventScope_topicScope() throws Exception {
+		register();
+		Event event = Mockito.mock(Event.class);
+		Mockito.when(event.getSource()).thenReturn(this.address);
+		try {
+			this.space.emit(event, Scopes.topic("a")); //$NON-NLS-1$
+			fail("Expecting IllegalArgumentException"); //$NON-NLS-1$
+		} catch (IllegalArgumentException exception) {
+			// Expected exception
+		}
+		Mockito.verify(this.listener, new Times(0)).receiveEvent(ArgumentMatchers.any());
+		Mockito.verify(this.network, new Times(0)).publish(ArgumentMatchers.any(), ArgumentMatchers.any());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void emitEventScope_radiusScope() throws Exception {
+		register();
+		Event event = Mockito.mock(Event.class);
+		Mockito.when(event.getSource()).thenReturn(this.address);
+		this.space.emit(event, SpatialEventSpace.range(0., 0., 10.));
+	}
+
 	@Test
 	public void emitEventScope_fullscope() throws Exception {
 		Event event;
@@ -0,0 +1,218 @@
+/*
+ * $Id$
+ * 
+ * Janus platform is an open-source multiagent platform.
+ * More details on http://www.janusproject.io
+ * 
+ * Copyright (C) 2014-2015 Sebastian RODRIGUEZ, Nicolas GAUD, Stéphane GALLAND.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.janusproject.tests.kernel.space;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.HashMap;
+import java.util.UUID;
+import java.util.concurrent.Future;
+
+import io.janusproject.kernel.services.jdk.distributeddata.DMapView;
+import io.janusproject.kernel.space.SpatialEventSpace;
+import io.janusproject.kernel.space.SpatialEventSpaceSpecification;
+import io.janusproject.services.distributeddata.DMap;
+import io.janusproject.services.distributeddata.DistributedDataStructureService;
+import io.janusproject.services.executor.ExecutorService;
+import io.janusproject.services.network.NetworkService;
+import io.janusproject.tests.testutils.AbstractJanusTest;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.ArgumentMatchers;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.MockitoAnnotations;
+import org.mockito.internal.verification.Times;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+
+import io.sarl.lang.core.Address;
+import io.sarl.lang.core.Event;
+import io.sarl.lang.core.EventListener;
+import io.sarl.lang.core.SpaceID;
+import io.sarl.tests.api.ManualMocking;
+import io.sarl.tests.api.Nullable;
+import io.sarl.util.Scopes;
+
+/**
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ */
+@SuppressWarnings("all")
+@ManualMocking
+public class SpatialEventSpaceTest extends AbstractJanusTest {
+
+	@Nullable
+	private DistributedDataStructureService service;
+
+	@Nullable
+	private SpaceID spaceId;
+
+	@Nullable
+	private EventListener near;
+
+	@Nullable
+	private EventListener far;
+
+	@Mock
+	private NetworkService network;
+
+	@Mock
+	private ExecutorService executor;
+
+	@InjectMocks
+	private SpatialEventSpace space;
+
+	@Before
+	public void setUp() {
+		this.service = Mockito.mock(DistributedDataStructureService.class);
+		DMap<Object, Object> mapMock = new DMapView<>(UUID.randomUUID().toString(), new HashMap<>());
+		Mockito.when(this.service.getMap(ArgumentMatchers.any(), ArgumentMatchers.any())).thenReturn(mapMock);
+		Mockito.when(this.service.getMap(ArgumentMatchers.any())).thenReturn(mapMock);
+
+		this.spaceId = new SpaceID(UUID.randomUUID(), UUID.randomUUID(), SpatialEventSpaceSpecification.class);
+
+		this.space = new SpatialEventSpace(this.spaceId, 10., this.service);
+
+		this.near = Mockito.mock(EventListener.class);
+		Mockito.when(this.near.getID()).thenReturn(UUID.randomUUID());
+		this.far = Mockito.mock(EventListener.class);
+		Mockito.when(this.far.getID()).thenReturn(UUID.randomUUID());
+
+		MockitoAnnotations.initMocks(this);
+
+		Mockito.when(this.executor.submit(Mockito.any(Runnable.class))).thenAnswer(new Answer<Future<?>>() {
+			@Override
+			public Future<?> answer(InvocationOnMock invocation) throws Throwable {
+				Runnable r = (Runnable) invocation.getArguments()[0];
+				r.run();
+				return null;
+			}
+		});
+	}
+
+	private Event createEvent() {
+		Event event = Mockito.mock(Event.class);
+		Mockito.when(event.getSource()).thenReturn(new Address(this.spaceId, this.near.getID()));
+		return event;
+	}
+
+	@Test
+	public void range_equals() {
+		assertEquals(SpatialEventSpace.range(1., 2., 3.), SpatialEventSpace.range(1., 2., 3.));
+		assertEquals(SpatialEventSpace.range(1., 2., 3.).hashCode(), SpatialEventSpace.range(1., 2., 3.).hashCode());
+		assertNotEquals(SpatialEventSpace.range(1., 2., 3.), SpatialEventSpace.range(1., 2., 4.));
+		assertNotEquals(SpatialEventSpace.range(1., 2., 3.), SpatialEventSpace.range(2., 1., 3.));
+	}
+
+	@Test
+	public void getCellSize() {
+		assertEquals(10., this.space.getCellSize(), 0.);
+	}
+
+	@Test
+	public void register() {
+		Address address = this.space.register(this.near, 1., 2.);
+		assertEquals(new Address(this.spaceId, this.near.getID()), address);
+		assertTrue(this.space.getParticipants().contains(this.near.getID()));
+		assertArrayEquals(new double[] {1., 2.}, this.space.getPosition(this.near.getID()), 0.);
+	}
+
+	@Test
+	public void unregister() {
+		this.space.register(this.near, 1., 2.);
+		this.space.unregister(this.near);
+		assertFalse(this.space.getParticipants().contains(this.near.getID()));
+		assertNull(this.space.getPosition(this.near.getID()));
+	}
+
+	@Test
+	public void move() {
+		assertFalse(this.space.move(this.near.getID(), 5., 6.));
+		this.space.register(this.near, 1., 2.);
+		assertTrue(this.space.move(this.near.getID(), 5., 6.));
+		assertArrayEquals(new double[] {5., 6.}, this.space.getPosition(this.near.getID()), 0.);
+	}
+
+	@Test
+	public void doEmit_range() throws Exception {
+		this.space.register(this.near, 1., 2.);
+		this.space.register(this.far, 100., 2.);
+
+		Event event = createEvent();
+		this.reflect.invoke(this.space, "doEmit", event, SpatialEventSpace.range(0., 0., 5.));
+
+		ArgumentCaptor<Event> argument = ArgumentCaptor.forClass(Event.class);
+		Mockito.verify(this.near).receiveEvent(argument.capture());
+		assertSame(event, argument.getValue());
+		Mockito.verify(this.far, new Times(0)).receiveEvent(Mockito.any(Event.class));
+	}
+
+	@Test
+	public void doEmit_range_afterMove() throws Exception {
+		this.space.register(this.near, 1., 2.);
+		this.space.register(this.far, 100., 2.);
+		this.space.move(this.near.getID(), 200., 2.);
+		this.space.move(this.far.getID(), 2., 1.);
+
+		Event event = createEvent();
+		this.reflect.invoke(this.space, "doEmit", event, SpatialEventSpace.range(0., 0., 5.));
+
+		Mockito.verify(this.near, new Times(0)).receiveEvent(Mockito.any(Event.class));
+		ArgumentCaptor<Event> argument = ArgumentCaptor.forClass(Event.class);
+		Mockito.verify(this.far).receiveEvent(argument.capture());
+		assertSame(event, argument.getValue());
+	}
+
+	@Test
+	public void doEmit_fullscope() throws Exception {
+		this.space.register(this.near, 1., 2.);
+		this.space.register(this.far, 100., 2.);
+
+		Event event = createEvent();
+		this.reflect.invoke(this.space, "doEmit", event, Scopes.<Address> allParticipants());
+
+		Mockito.verify(this.near).receiveEvent(Mockito.any(Event.class));
+		Mockito.verify(this.far).receiveEvent(Mockito.any(Event.class));
+	}
+
+	@Test
+	public void emit_range() throws Exception {
+		this.space.register(this.near, 1., 2.);
+		this.space.register(this.far, 100., 2.);
+
+		Event event = createEvent();
+		this.space.emit(event, SpatialEventSpace.range(0., 0., 5.));
+
+		Mockito.verify(this.near).receiveEvent(Mockito.any(Event.class));
+		Mockito.verify(this.far, new Times(0)).receiveEvent(Mockito.any(Event.class));
+		Mockito.verify(this.network).publish(ArgumentMatchers.any(), ArgumentMatchers.any());
+	}
+
+}
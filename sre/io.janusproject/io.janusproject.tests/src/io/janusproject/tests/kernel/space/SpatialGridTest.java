@@ -0,0 +1,183 @@
+/*
+ * $Id$
+ * 
+ * Janus platform is an open-source multiagent platform.
+ * More details on http://www.janusproject.io
+ * 
+ * Copyright (C) 2014-2015 Sebastian RODRIGUEZ, Nicolas GAUD, Stéphane GALLAND.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.janusproject.tests.kernel.space;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import io.janusproject.kernel.space.SpatialGrid;
+import io.janusproject.tests.testutils.AbstractJanusTest;
+import org.junit.Before;
+import org.junit.Test;
+
+import io.sarl.tests.api.Nullable;
+
+/**
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ */
+@SuppressWarnings("all")
+public class SpatialGridTest extends AbstractJanusTest {
+
+	@Nullable
+	private SpatialGrid<String> grid;
+
+	@Before
+	public void setUp() {
+		this.grid = new SpatialGrid<>(10.);
+	}
+
+	private List<String> range(double x, double y, double radius) {
+		List<String> result = new ArrayList<>();
+		this.grid.forEachInRange(x, y, radius, result::add);
+		return result;
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void invalidCellSize() {
+		new SpatialGrid<>(0.);
+	}
+
+	@Test
+	public void getCellSize() {
+		assertEquals(10., this.grid.getCellSize(), 0.);
+	}
+
+	@Test
+	public void put() {
+		UUID id1 = UUID.randomUUID();
+		UUID id2 = UUID.randomUUID();
+		this.grid.put(id1, "a", 1., 2.); //$NON-NLS-1$
+		this.grid.put(id2, "b", -15., 25.); //$NON-NLS-1$
+		assertEquals(2, this.grid.size());
+		assertEquals(2, this.grid.getCellCount());
+		assertArrayEquals(new double[] {1., 2.}, this.grid.getPosition(id1), 0.);
+		assertArrayEquals(new double[] {-15., 25.}, this.grid.getPosition(id2), 0.);
+	}
+
+	@Test
+	public void put_twice() {
+		UUID id = UUID.randomUUID();
+		this.grid.put(id, "a", 1., 2.); //$NON-NLS-1$
+		this.grid.put(id, "b", 31., 32.); //$NON-NLS-1$
+		assertEquals(1, this.grid.size());
+		assertEquals(1, this.grid.getCellCount());
+		assertArrayEquals(new double[] {31., 32.}, this.grid.getPosition(id), 0.);
+		assertEquals(1, range(31., 32., 1.).size());
+		assertEquals("b", range(31., 32., 1.).get(0)); //$NON-NLS-1$
+		assertEquals("b", this.grid.remove(id)); //$NON-NLS-1$
+	}
+
+	@Test
+	public void move() {
+		UUID id = UUID.randomUUID();
+		assertFalse(this.grid.move(id, 5., 5.));
+		this.grid.put(id, "a", 1., 2.); //$NON-NLS-1$
+		assertTrue(this.grid.move(id, 5., 5.));
+		assertEquals(1, this.grid.getCellCount());
+		assertTrue(this.grid.move(id, 55., -55.));
+		assertEquals(1, this.grid.getCellCount());
+		assertArrayEquals(new double[] {55., -55.}, this.grid.getPosition(id), 0.);
+		assertTrue(range(1., 2., 5.).isEmpty());
+		assertEquals(1, range(55., -55., 5.).size());
+	}
+
+	@Test
+	public void remove() {
+		UUID id = UUID.randomUUID();
+		assertNull(this.grid.remove(id));
+		this.grid.put(id, "a", 1., 2.); //$NON-NLS-1$
+		assertEquals("a", this.grid.remove(id)); //$NON-NLS-1$
+		assertEquals(0, this.grid.size());
+		assertEquals(0, this.grid.getCellCount());
+		assertNull(this.grid.getPosition(id));
+		assertFalse(this.grid.move(id, 5., 5.));
+		assertTrue(range(1., 2., 5.).isEmpty());
+	}
+
+	@Test
+	public void forEachInRange_infiniteRadius() {
+		this.grid.put(UUID.randomUUID(), "a", 0., 0.); //$NON-NLS-1$
+		this.grid.put(UUID.randomUUID(), "b", -1e300, 1e300); //$NON-NLS-1$
+		this.grid.put(UUID.randomUUID(), "c", 1e12, -1e12); //$NON-NLS-1$
+		//
+		List<String> result = range(0., 0., Double.POSITIVE_INFINITY);
+		assertEquals(3, result.size());
+		assertTrue(result.contains("a")); //$NON-NLS-1$
+		assertTrue(result.contains("b")); //$NON-NLS-1$
+		assertTrue(result.contains("c")); //$NON-NLS-1$
+	}
+
+	@Test(timeout = 10000)
+	public void forEachInRange_hugeRadius() {
+		this.grid.put(UUID.randomUUID(), "a", 0., 0.); //$NON-NLS-1$
+		this.grid.put(UUID.randomUUID(), "b", 1e9, 1e9); //$NON-NLS-1$
+		this.grid.put(UUID.randomUUID(), "c", 3e9, 0.); //$NON-NLS-1$
+		//
+		List<String> result = range(0., 0., 2e9);
+		assertEquals(2, result.size());
+		assertTrue(result.contains("a")); //$NON-NLS-1$
+		assertTrue(result.contains("b")); //$NON-NLS-1$
+	}
+
+	@Test
+	public void forEachInRange_saturatedCoordinates() {
+		this.grid.put(UUID.randomUUID(), "a", 1e300, 1e300); //$NON-NLS-1$
+		this.grid.put(UUID.randomUUID(), "b", 0., 0.); //$NON-NLS-1$
+		this.grid.put(UUID.randomUUID(), "c", 5., 5.); //$NON-NLS-1$
+		this.grid.put(UUID.randomUUID(), "d", 100., 100.); //$NON-NLS-1$
+		//
+		List<String> result = range(1e300, 1e300, 1.);
+		assertEquals(1, result.size());
+		assertTrue(result.contains("a")); //$NON-NLS-1$
+	}
+
+	@Test
+	public void forEachInRange() {
+		this.grid.put(UUID.randomUUID(), "a", 0., 0.); //$NON-NLS-1$
+		this.grid.put(UUID.randomUUID(), "b", 9., 0.); //$NON-NLS-1$
+		this.grid.put(UUID.randomUUID(), "c", 11., 0.); //$NON-NLS-1$
+		this.grid.put(UUID.randomUUID(), "d", -7., -7.); //$NON-NLS-1$
+		this.grid.put(UUID.randomUUID(), "e", 100., 100.); //$NON-NLS-1$
+		//
+		List<String> result = range(0., 0., 10.);
+		assertEquals(3, result.size());
+		assertTrue(result.contains("a")); //$NON-NLS-1$
+		assertTrue(result.contains("b")); //$NON-NLS-1$
+		assertTrue(result.contains("d")); //$NON-NLS-1$
+		//
+		result = range(0., 0., 11.);
+		assertEquals(4, result.size());
+		assertTrue(result.contains("c")); //$NON-NLS-1$
+		//
+		assertTrue(range(50., 50., 10.).isEmpty());
+		assertTrue(range(0., 0., -1.).isEmpty());
+	}
+
+}
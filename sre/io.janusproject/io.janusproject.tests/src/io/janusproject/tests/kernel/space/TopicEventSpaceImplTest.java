@@ -0,0 +1,258 @@
+/*
+ * $Id$
+ * 
+ * Janus platform is an open-source multiagent platform.
+ * More details on http://www.janusproject.io
+ * 
+ * Copyright (C) 2014-2015 Sebastian RODRIGUEZ, Nicolas GAUD, Stéphane GALLAND.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.janusproject.tests.kernel.space;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.HashMap;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Future;
+
+import io.janusproject.kernel.services.jdk.distributeddata.DMapView;
+import io.janusproject.kernel.space.SpatialEventSpace;
+import io.janusproject.kernel.space.TopicEventSpaceImpl;
+import io.janusproject.services.distributeddata.DMap;
+import io.janusproject.services.distributeddata.DistributedDataStructureService;
+import io.janusproject.services.executor.ExecutorService;
+import io.janusproject.services.network.NetworkService;
+import io.janusproject.tests.testutils.AbstractJanusTest;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.ArgumentMatchers;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.MockitoAnnotations;
+import org.mockito.internal.verification.Times;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+
+import io.sarl.lang.core.Address;
+import io.sarl.lang.core.Event;
+import io.sarl.lang.core.EventListener;
+import io.sarl.lang.core.Scope;
+import io.sarl.lang.core.SpaceID;
+import io.sarl.tests.api.ManualMocking;
+import io.sarl.tests.api.Nullable;
+import io.sarl.util.Scopes;
+import io.sarl.util.TopicEventSpaceSpecification;
+import io.sarl.util.TopicScope;
+
+/**
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ */
+@SuppressWarnings("all")
+@ManualMocking
+public class TopicEventSpaceImplTest extends AbstractJanusTest {
+
+	@Nullable
+	private DistributedDataStructureService service;
+
+	@Nullable
+	private SpaceID spaceId;
+
+	@Nullable
+	private EventListener listener1;
+
+	@Nullable
+	private EventListener listener2;
+
+	@Mock
+	private NetworkService network;
+
+	@Mock
+	private ExecutorService executor;
+
+	@InjectMocks
+	private TopicEventSpaceImpl space;
+
+	@Before
+	public void setUp() {
+		this.service = Mockito.mock(DistributedDataStructureService.class);
+		DMap<Object, Object> mapMock = new DMapView<>(UUID.randomUUID().toString(), new HashMap<>());
+		Mockito.when(this.service.getMap(ArgumentMatchers.any(), ArgumentMatchers.any())).thenReturn(mapMock);
+		Mockito.when(this.service.getMap(ArgumentMatchers.any())).thenReturn(mapMock);
+
+		this.spaceId = new SpaceID(UUID.randomUUID(), UUID.randomUUID(), TopicEventSpaceSpecification.class);
+
+		this.space = new TopicEventSpaceImpl(this.spaceId, this.service);
+
+		this.listener1 = Mockito.mock(EventListener.class);
+		Mockito.when(this.listener1.getID()).thenReturn(UUID.randomUUID());
+		this.listener2 = Mockito.mock(EventListener.class);
+		Mockito.when(this.listener2.getID()).thenReturn(UUID.randomUUID());
+
+		MockitoAnnotations.initMocks(this);
+
+		Mockito.when(this.executor.submit(Mockito.any(Runnable.class))).thenAnswer(new Answer<Future<?>>() {
+			@Override
+			public Future<?> answer(InvocationOnMock invocation) throws Throwable {
+				Runnable r = (Runnable) invocation.getArguments()[0];
+				r.run();
+				return null;
+			}
+		});
+	}
+
+	private Event createEvent() {
+		Event event = Mockito.mock(Event.class);
+		Mockito.when(event.getSource()).thenReturn(new Address(this.spaceId, this.listener1.getID()));
+		return event;
+	}
+
+	@Test
+	public void topic_equals() {
+		assertEquals(Scopes.topic("a"), Scopes.topic("a")); //$NON-NLS-1$ //$NON-NLS-2$
+		assertEquals(Scopes.topic("a").hashCode(), Scopes.topic("a").hashCode()); //$NON-NLS-1$ //$NON-NLS-2$
+		assertNotEquals(Scopes.topic("a"), Scopes.topic("b")); //$NON-NLS-1$ //$NON-NLS-2$
+	}
+
+	@Test
+	public void subscribe() {
+		Address address = this.space.subscribe(this.listener1, "a"); //$NON-NLS-1$
+		assertEquals(new Address(this.spaceId, this.listener1.getID()), address);
+		assertTrue(this.space.getParticipants().contains(this.listener1.getID()));
+		assertEquals(1, this.space.getSubscribers("a").size()); //$NON-NLS-1$
+		assertTrue(this.space.getSubscribers("a").contains(this.listener1.getID())); //$NON-NLS-1$
+		assertTrue(this.space.getTopics().contains("a")); //$NON-NLS-1$
+	}
+
+	@Test
+	public void subscribe_twice() {
+		this.space.subscribe(this.listener1, "a"); //$NON-NLS-1$
+		this.space.subscribe(this.listener1, "a"); //$NON-NLS-1$
+		this.space.subscribe(this.listener2, "a"); //$NON-NLS-1$
+		Set<UUID> subscribers = this.space.getSubscribers("a"); //$NON-NLS-1$
+		assertEquals(2, subscribers.size());
+		assertTrue(subscribers.contains(this.listener1.getID()));
+		assertTrue(subscribers.contains(this.listener2.getID()));
+	}
+
+	@Test
+	public void unsubscribe() {
+		assertFalse(this.space.unsubscribe(this.listener1, "a")); //$NON-NLS-1$
+		this.space.subscribe(this.listener1, "a"); //$NON-NLS-1$
+		this.space.subscribe(this.listener2, "a"); //$NON-NLS-1$
+		assertTrue(this.space.unsubscribe(this.listener1, "a")); //$NON-NLS-1$
+		assertFalse(this.space.unsubscribe(this.listener1, "a")); //$NON-NLS-1$
+		assertEquals(1, this.space.getSubscribers("a").size()); //$NON-NLS-1$
+		assertTrue(this.space.getParticipants().contains(this.listener1.getID()));
+		assertTrue(this.space.unsubscribe(this.listener2, "a")); //$NON-NLS-1$
+		assertTrue(this.space.getSubscribers("a").isEmpty()); //$NON-NLS-1$
+		assertFalse(this.space.getTopics().contains("a")); //$NON-NLS-1$
+	}
+
+	@Test
+	public void unregister() {
+		this.space.subscribe(this.listener1, "a"); //$NON-NLS-1$
+		this.space.subscribe(this.listener1, "b"); //$NON-NLS-1$
+		this.space.subscribe(this.listener2, "b"); //$NON-NLS-1$
+		this.space.unregister(this.listener1);
+		assertFalse(this.space.getParticipants().contains(this.listener1.getID()));
+		assertTrue(this.space.getSubscribers("a").isEmpty()); //$NON-NLS-1$
+		assertEquals(1, this.space.getSubscribers("b").size()); //$NON-NLS-1$
+		assertTrue(this.space.getSubscribers("b").contains(this.listener2.getID())); //$NON-NLS-1$
+	}
+
+	@Test
+	public void doEmit_topic() throws Exception {
+		this.space.subscribe(this.listener1, "a"); //$NON-NLS-1$
+		this.space.subscribe(this.listener2, "b"); //$NON-NLS-1$
+
+		Event event = createEvent();
+		this.reflect.invoke(this.space, "doEmit", event, Scopes.topic("a")); //$NON-NLS-1$
+
+		ArgumentCaptor<Event> argument = ArgumentCaptor.forClass(Event.class);
+		Mockito.verify(this.listener1).receiveEvent(argument.capture());
+		assertSame(event, argument.getValue());
+		Mockito.verify(this.listener2, new Times(0)).receiveEvent(Mockito.any(Event.class));
+	}
+
+	@Test
+	public void doEmit_unknownTopic() throws Exception {
+		this.space.subscribe(this.listener1, "a"); //$NON-NLS-1$
+
+		Event event = createEvent();
+		this.reflect.invoke(this.space, "doEmit", event, Scopes.topic("b")); //$NON-NLS-1$
+
+		Mockito.verify(this.listener1, new Times(0)).receiveEvent(Mockito.any(Event.class));
+	}
+
+	@Test
+	public void doEmit_fullscope() throws Exception {
+		this.space.subscribe(this.listener1, "a"); //$NON-NLS-1$
+		this.space.subscribe(this.listener2, "b"); //$NON-NLS-1$
+
+		Event event = createEvent();
+		this.reflect.invoke(this.space, "doEmit", event, Scopes.<Address> allParticipants());
+
+		Mockito.verify(this.listener1).receiveEvent(Mockito.any(Event.class));
+		Mockito.verify(this.listener2).receiveEvent(Mockito.any(Event.class));
+	}
+
+	@Test
+	public void emitEventString() throws Exception {
+		this.space.subscribe(this.listener1, "a"); //$NON-NLS-1$
+		this.space.subscribe(this.listener2, "b"); //$NON-NLS-1$
+
+		Event event = createEvent();
+		this.space.emit(event, "a"); //$NON-NLS-1$
+
+		Mockito.verify(this.listener1).receiveEvent(Mockito.any(Event.class));
+		Mockito.verify(this.listener2, new Times(0)).receiveEvent(Mockito.any(Event.class));
+		ArgumentCaptor<Scope> netscope = ArgumentCaptor.forClass(Scope.class);
+		Mockito.verify(this.network).publish(netscope.capture(), ArgumentMatchers.any());
+		assertTrue(netscope.getValue() instanceof TopicScope);
+		assertEquals("a", ((TopicScope) netscope.getValue()).getTopic()); //$NON-NLS-1$
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void emitEventScope_radiusScope() throws Exception {
+		this.space.subscribe(this.listener1, "a"); //$NON-NLS-1$
+		this.space.emit(createEvent(), SpatialEventSpace.range(0., 0., 10.));
+	}
+
+	@Test
+	public void subscribe_concurrentUnregister() throws Exception {
+		for (int i = 0; i < 500; ++i) {
+			Thread subscriber = new Thread(() -> this.space.subscribe(this.listener1, "a")); //$NON-NLS-1$
+			Thread unregisterer = new Thread(() -> this.space.unregister(this.listener1));
+			subscriber.start();
+			unregisterer.start();
+			subscriber.join();
+			unregisterer.join();
+			// A subscriber of the topic must be a participant of the space.
+			if (!this.space.getParticipants().contains(this.listener1.getID())) {
+				assertFalse(this.space.getSubscribers("a").contains(this.listener1.getID())); //$NON-NLS-1$
+			}
+			this.space.unregister(this.listener1);
+			assertTrue(this.space.getSubscribers("a").isEmpty()); //$NON-NLS-1$
+		}
+	}
+
+}
@@ -0,0 +1,205 @@
+/*
+ * $Id$
+ * 
+ * Janus platform is an open-source multiagent platform.
+ * More details on http://www.janusproject.io
+ * 
+ * Copyright (C) 2014-2015 Sebastian RODRIGUEZ, Nicolas GAUD, Stéphane GALLAND.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.janusproject.tests.services.distributeddata;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import io.janusproject.services.distributeddata.DMap;
+import io.janusproject.services.distributeddata.NearCache;
+import io.janusproject.services.distributeddata.NearCachedDMap;
+import io.janusproject.services.metrics.MetricCounter;
+import io.janusproject.tests.testutils.AbstractJanusTest;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+
+/**
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ */
+@SuppressWarnings("all")
+public class NearCachedDMapTest extends AbstractJanusTest {
+
+	@Mock
+	private DMap<String, String> map;
+
+	private NearCache<Object, String> cache;
+
+	private NearCachedDMap<String, String> cachedMap;
+
+	@Before
+	public void setUp() {
+		Mockito.when(this.map.get("a")).thenReturn("1");
+		this.cache = new NearCache<>(10, 0, new MetricCounter("hits"), new MetricCounter("misses"));
+		this.cachedMap = new NearCachedDMap<>(this.map, this.cache);
+	}
+
+	@Test
+	public void listenerRegistration() {
+		Mockito.verify(this.map).addDMapListener(this.cache);
+	}
+
+	@Test
+	public void get() {
+		assertEquals("1", this.cachedMap.get("a"));
+		assertEquals("1", this.cachedMap.get("a"));
+		Mockito.verify(this.map, Mockito.times(1)).get("a");
+		assertEquals(1L, this.cache.getHitCount());
+		assertEquals(1L, this.cache.getMissCount());
+		assertEquals(1L, this.cache.size());
+	}
+
+	@Test
+	public void getAbsentKey() {
+		assertNull(this.cachedMap.get("b"));
+		assertNull(this.cachedMap.get("b"));
+		Mockito.verify(this.map, Mockito.times(2)).get("b");
+		assertEquals(0L, this.cache.size());
+	}
+
+	@Test
+	public void entryUpdated() {
+		this.cachedMap.get("a");
+		Mockito.when(this.map.get("a")).thenReturn("2");
+		this.cache.entryUpdated("a", "2");
+		assertEquals("2", this.cachedMap.get("a"));
+		Mockito.verify(this.map, Mockito.times(2)).get("a");
+	}
+
+	@Test
+	public void entryRemoved() {
+		this.cachedMap.get("a");
+		Mockito.when(this.map.get("a")).thenReturn(null);
+		this.cache.entryRemoved("a", "1");
+		assertNull(this.cachedMap.get("a"));
+	}
+
+	@Test
+	public void mapCleared() {
+		this.cachedMap.get("a");
+		this.cache.mapCleared(false);
+		assertEquals(0L, this.cache.size());
+	}
+
+	@Test
+	public void put() {
+		this.cachedMap.get("a");
+		Mockito.when(this.map.get("a")).thenReturn("3");
+		this.cachedMap.put("a", "3");
+		Mockito.verify(this.map).put("a", "3");
+		assertEquals("3", this.cachedMap.get("a"));
+	}
+
+	@Test
+	public void remove() {
+		this.cachedMap.get("a");
+		Mockito.when(this.map.get("a")).thenReturn(null);
+		this.cachedMap.remove("a");
+		Mockito.verify(this.map).remove("a");
+		assertNull(this.cachedMap.get("a"));
+	}
+
+	@Test
+	public void containsKey() {
+		Mockito.when(this.map.containsKey("a")).thenReturn(true);
+		assertTrue(this.cachedMap.containsKey("a"));
+		assertFalse(this.cachedMap.containsKey("b"));
+		Mockito.verify(this.map, Mockito.never()).get(Mockito.any());
+	}
+
+	@Test
+	public void invalidationDuringLoading() {
+		Mockito.when(this.map.get("c")).thenAnswer((it) -> {
+			// The entry event is received while the value is read
+			this.cache.entryUpdated("c", "new");
+			return "old";
+		});
+		assertEquals("old", this.cachedMap.get("c"));
+		assertEquals(0L, this.cache.size());
+	}
+
+	@Test
+	public void clearingDuringLoading() {
+		Mockito.when(this.map.get("c")).thenAnswer((it) -> {
+			this.cache.mapCleared(false);
+			return "old";
+		});
+		assertEquals("old", this.cachedMap.get("c"));
+		assertEquals(0L, this.cache.size());
+	}
+
+	@Test
+	public void invalidationOfOtherKeyDuringLoading() {
+		Mockito.when(this.map.get("c")).thenAnswer((it) -> {
+			this.cache.entryUpdated("d", "new");
+			return "3";
+		});
+		assertEquals("3", this.cachedMap.get("c"));
+		assertEquals(1L, this.cache.size());
+		assertEquals("3", this.cachedMap.get("c"));
+		Mockito.verify(this.map, Mockito.times(1)).get("c");
+	}
+
+	@Test
+	public void nestedLoadingsWithInvalidation() {
+		Mockito.when(this.map.get("c")).thenAnswer((it) -> {
+			// A second lookup of the same key starts and ends while the first one is running
+			this.cache.get("c", (key) -> "nested");
+			this.cache.entryUpdated("c", "new");
+			return "old";
+		});
+		assertEquals("old", this.cachedMap.get("c"));
+		assertEquals(0L, this.cache.size());
+	}
+
+	@Test
+	public void destroy() {
+		this.cachedMap.get("a");
+		this.cachedMap.destroy();
+		Mockito.verify(this.map).removeDMapListener(this.cache);
+		assertEquals(0L, this.cache.size());
+	}
+
+	@Test
+	public void timeToLive() throws Exception {
+		this.cache = new NearCache<>(10, 10, new MetricCounter("hits"), new MetricCounter("misses"));
+		this.cachedMap = new NearCachedDMap<>(this.map, this.cache);
+		this.cachedMap.get("a");
+		Thread.sleep(50);
+		this.cachedMap.get("a");
+		assertEquals(2L, this.cache.getMissCount());
+	}
+
+	@Test
+	public void maximumSize() {
+		this.cache = new NearCache<>(1, 0, new MetricCounter("hits"), new MetricCounter("misses"));
+		this.cachedMap = new NearCachedDMap<>(this.map, this.cache);
+		Mockito.when(this.map.get("b")).thenReturn("2");
+		this.cachedMap.get("a");
+		this.cachedMap.get("b");
+		assertEquals(1L, this.cache.size());
+	}
+
+}
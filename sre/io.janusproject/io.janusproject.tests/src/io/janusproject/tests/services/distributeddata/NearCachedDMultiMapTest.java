@@ -0,0 +1,150 @@
+/*
+ * $Id$
+ * 
+ * Janus platform is an open-source multiagent platform.
+ * More details on http://www.janusproject.io
+ * 
+ * Copyright (C) 2014-2015 Sebastian RODRIGUEZ, Nicolas GAUD, Stéphane GALLAND.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.janusproject.tests.services.distributeddata;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+
+import io.janusproject.services.distributeddata.DMultiMap;
+import io.janusproject.services.distributeddata.NearCache;
+import io.janusproject.services.distributeddata.NearCachedDMultiMap;
+import io.janusproject.services.metrics.MetricCounter;
+import io.janusproject.tests.testutils.AbstractJanusTest;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+
+/**
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ */
+@SuppressWarnings("all")
+public class NearCachedDMultiMapTest extends AbstractJanusTest {
+
+	@Mock
+	private DMultiMap<String, String> map;
+
+	private NearCache<Object, Collection<String>> cache;
+
+	private NearCachedDMultiMap<String, String> cachedMap;
+
+	@Before
+	public void setUp() {
+		Mockito.when(this.map.get("a")).thenReturn(Arrays.asList("1", "2"));
+		Mockito.when(this.map.get("b")).thenReturn(Collections.emptyList());
+		this.cache = new NearCache<>(10, 0, new MetricCounter("hits"), new MetricCounter("misses"));
+		this.cachedMap = new NearCachedDMultiMap<>(this.map, this.cache);
+	}
+
+	@Test
+	public void listenerRegistration() {
+		Mockito.verify(this.map).addDMapListener(this.cache);
+	}
+
+	@Test
+	public void get() {
+		assertEquals(Arrays.asList("1", "2"), this.cachedMap.get("a"));
+		assertTrue(this.cachedMap.containsEntry("a", "2"));
+		assertEquals(2, this.cachedMap.valueCount("a"));
+		Mockito.verify(this.map, Mockito.times(1)).get("a");
+		assertEquals(2L, this.cache.getHitCount());
+		assertEquals(1L, this.cache.getMissCount());
+	}
+
+	@Test(expected = UnsupportedOperationException.class)
+	public void getUnmodifiable() {
+		this.cachedMap.get("a").add("3");
+	}
+
+	@Test
+	public void getAbsentKey() {
+		assertTrue(this.cachedMap.get("b").isEmpty());
+		assertFalse(this.cachedMap.containsEntry("b", "1"));
+		Mockito.verify(this.map, Mockito.times(2)).get("b");
+		assertEquals(0L, this.cache.size());
+	}
+
+	@Test
+	public void entryAdded() {
+		this.cachedMap.get("a");
+		Mockito.when(this.map.get("a")).thenReturn(Arrays.asList("1", "2", "3"));
+		this.cache.entryAdded("a", "3");
+		assertEquals(3, this.cachedMap.valueCount("a"));
+	}
+
+	@Test
+	public void put() {
+		this.cachedMap.get("a");
+		Mockito.when(this.map.get("a")).thenReturn(Arrays.asList("1", "2", "3"));
+		this.cachedMap.put("a", "3");
+		Mockito.verify(this.map).put("a", "3");
+		assertTrue(this.cachedMap.containsEntry("a", "3"));
+	}
+
+	@Test
+	public void remove() {
+		this.cachedMap.get("a");
+		Mockito.when(this.map.get("a")).thenReturn(Arrays.asList("2"));
+		this.cachedMap.remove("a", "1");
+		Mockito.verify(this.map).remove("a", "1");
+		assertFalse(this.cachedMap.containsEntry("a", "1"));
+	}
+
+	@Test
+	public void removeAll() {
+		this.cachedMap.get("a");
+		Mockito.when(this.map.get("a")).thenReturn(Collections.emptyList());
+		this.cachedMap.removeAll("a");
+		Mockito.verify(this.map).removeAll("a");
+		assertEquals(0, this.cachedMap.valueCount("a"));
+	}
+
+	@Test
+	public void containsKey() {
+		Mockito.when(this.map.containsKey("a")).thenReturn(true);
+		assertTrue(this.cachedMap.containsKey("a"));
+		assertFalse(this.cachedMap.containsKey("b"));
+		Mockito.verify(this.map, Mockito.never()).get(Mockito.any());
+	}
+
+	@Test
+	public void clear() {
+		this.cachedMap.get("a");
+		this.cachedMap.clear();
+		Mockito.verify(this.map).clear();
+		assertEquals(0L, this.cache.size());
+	}
+
+	@Test
+	public void destroy() {
+		this.cachedMap.get("a");
+		this.cachedMap.destroy();
+		Mockito.verify(this.map).removeDMapListener(this.cache);
+		assertEquals(0L, this.cache.size());
+	}
+
+}
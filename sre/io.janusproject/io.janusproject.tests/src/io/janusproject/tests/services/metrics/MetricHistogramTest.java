@@ -0,0 +1,110 @@
+/*
+ * $Id$
+ * 
+ * Janus platform is an open-source multiagent platform.
+ * More details on http://www.janusproject.io
+ * 
+ * Copyright (C) 2014-2015 Sebastian RODRIGUEZ, Nicolas GAUD, Stéphane GALLAND.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.janusproject.tests.services.metrics;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.TimeUnit;
+
+import io.janusproject.services.metrics.MetricHistogram;
+import io.janusproject.tests.testutils.AbstractJanusTest;
+import org.junit.Before;
+import org.junit.Test;
+
+import io.sarl.tests.api.Nullable;
+
+/**
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ */
+@SuppressWarnings("all")
+public class MetricHistogramTest extends AbstractJanusTest {
+
+	@Nullable
+	private MetricHistogram histogram;
+
+	@Before
+	public void setUp() {
+		this.histogram = new MetricHistogram("test"); //$NON-NLS-1$
+	}
+
+	@Test
+	public void getName() {
+		assertEquals("test", this.histogram.getName()); //$NON-NLS-1$
+	}
+
+	@Test
+	public void getSnapshot_empty() {
+		MetricHistogram.Snapshot snapshot = this.histogram.getSnapshot();
+		assertEquals(0L, snapshot.getCount());
+		assertEquals(0L, snapshot.getSum());
+		assertEquals(0L, snapshot.getMax());
+		assertEquals(0., snapshot.getMean(), 0.);
+		assertEquals(0L, snapshot.getPercentile(50));
+	}
+
+	@Test
+	public void record() {
+		this.histogram.record(100);
+		this.histogram.record(300);
+		this.histogram.record(-5);
+		assertEquals(3L, this.histogram.getCount());
+		MetricHistogram.Snapshot snapshot = this.histogram.getSnapshot();
+		assertEquals(3L, snapshot.getCount());
+		assertEquals(400L, snapshot.getSum());
+		assertEquals(300L, snapshot.getMax());
+		assertEquals(400. / 3., snapshot.getMean(), 1e-9);
+	}
+
+	@Test
+	public void recordSince() {
+		this.histogram.recordSince(System.nanoTime() - TimeUnit.MILLISECONDS.toNanos(10));
+		MetricHistogram.Snapshot snapshot = this.histogram.getSnapshot();
+		assertEquals(1L, snapshot.getCount());
+		assertTrue(snapshot.getMax() >= TimeUnit.MILLISECONDS.toNanos(10));
+	}
+
+	@Test
+	public void getPercentile() {
+		for (int i = 0; i < 90; ++i) {
+			this.histogram.record(10);
+		}
+		for (int i = 0; i < 10; ++i) {
+			this.histogram.record(1000);
+		}
+		MetricHistogram.Snapshot snapshot = this.histogram.getSnapshot();
+		// 10 is in the bucket [8, 16)
+		assertEquals(15L, snapshot.getPercentile(50));
+		assertEquals(15L, snapshot.getPercentile(90));
+		// 1000 is in the bucket [512, 1024), bounded by the maximum.
+		assertEquals(1000L, snapshot.getPercentile(99));
+		assertEquals(1000L, snapshot.getPercentile(100));
+	}
+
+	@Test
+	public void getPercentile_zero() {
+		this.histogram.record(0);
+		assertEquals(0L, this.histogram.getSnapshot().getPercentile(99));
+	}
+
+}
@@ -0,0 +1,73 @@
+/*
+ * $Id$
+ * 
+ * Janus platform is an open-source multiagent platform.
+ * More details on http://www.janusproject.io
+ * 
+ * Copyright (C) 2014-2015 Sebastian RODRIGUEZ, Nicolas GAUD, Stéphane GALLAND.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.janusproject.tests.services.metrics;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+import io.janusproject.services.metrics.MetricHistogram;
+import io.janusproject.services.metrics.MetricsSnapshot;
+import io.janusproject.tests.testutils.AbstractJanusTest;
+import org.junit.Test;
+
+/**
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ */
+@SuppressWarnings("all")
+public class MetricsSnapshotTest extends AbstractJanusTest {
+
+	private static MetricsSnapshot snapshot(long timestamp, long value) {
+		SortedMap<String, Long> counters = new TreeMap<>();
+		counters.put("c", value); //$NON-NLS-1$
+		SortedMap<String, Number> gauges = new TreeMap<>();
+		gauges.put("g", 1.5); //$NON-NLS-1$
+		return new MetricsSnapshot(timestamp, counters, gauges, new TreeMap<String, MetricHistogram.Snapshot>());
+	}
+
+	@Test
+	public void getCounter() {
+		MetricsSnapshot snapshot = snapshot(1000, 12);
+		assertEquals(1000L, snapshot.getTimestamp());
+		assertEquals(12L, snapshot.getCounter("c")); //$NON-NLS-1$
+		assertEquals(0L, snapshot.getCounter("unknown")); //$NON-NLS-1$
+		assertEquals(1.5, snapshot.getGauges().get("g").doubleValue(), 0.); //$NON-NLS-1$
+		assertTrue(snapshot.getHistograms().isEmpty());
+	}
+
+	@Test(expected = UnsupportedOperationException.class)
+	public void getCounters_unmodifiable() {
+		snapshot(1000, 12).getCounters().put("d", 1L); //$NON-NLS-1$
+	}
+
+	@Test
+	public void getRate() {
+		MetricsSnapshot previous = snapshot(1000, 12);
+		MetricsSnapshot current = snapshot(3000, 112);
+		assertEquals(50., current.getRate("c", previous), 1e-9); //$NON-NLS-1$
+		assertEquals(0., current.getRate("c", current), 0.); //$NON-NLS-1$
+	}
+
+}
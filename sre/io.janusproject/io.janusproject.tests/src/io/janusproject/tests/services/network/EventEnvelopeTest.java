@@ -19,8 +19,15 @@
  */
 package io.janusproject.tests.services.network;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertSame;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.nio.ByteBuffer;
+
 import io.janusproject.services.network.EventEnvelope;
 import io.janusproject.tests.testutils.AbstractJanusTest;
 import org.junit.Before;
@@ -125,4 +132,79 @@ public class EventEnvelopeTest extends AbstractJanusTest {
 		assertSame(newMock, this.envelope.getScope());
 	}
 
+	private static ByteBuffer view(byte[] data, int offset, int length) {
+		return ByteBuffer.wrap(data, offset, length);
+	}
+
+	@Test
+	public void getContextIdBuffer() {
+		ByteBuffer buffer = this.envelope.getContextIdBuffer();
+		assertSame(this.contextId, buffer.array());
+		assertEquals(0, buffer.position());
+		assertEquals(1, buffer.remaining());
+	}
+
+	@Test
+	public void getSize() {
+		assertEquals(5, this.envelope.getSize());
+	}
+
+	@Test
+	public void sharedArray() {
+		byte[] data = new byte[] { 0, 1, 2, 3, 3, 4, 4, 4, 5, 0 };
+		EventEnvelope env = new EventEnvelope(view(data, 1, 1), view(data, 2, 1), view(data, 3, 2), view(data, 5, 3),
+				view(data, 8, 1));
+		assertEquals(8, env.getSize());
+		assertSame(data, env.getScopeBuffer().array());
+		assertEquals(2, env.getScopeBuffer().remaining());
+		assertArrayEquals(new byte[] { 1 }, env.getContextId());
+		assertArrayEquals(new byte[] { 2 }, env.getSpaceId());
+		assertArrayEquals(new byte[] { 3, 3 }, env.getScope());
+		assertArrayEquals(new byte[] { 4, 4, 4 }, env.getCustomHeaders());
+		assertArrayEquals(new byte[] { 5 }, env.getBody());
+		// The getters are not changing the views.
+		assertSame(data, env.getContextIdBuffer().array());
+		assertSame(data, env.getSpaceIdBuffer().array());
+		assertSame(data, env.getScopeBuffer().array());
+		assertSame(data, env.getCustomHeadersBuffer().array());
+		assertSame(data, env.getBodyBuffer().array());
+	}
+
+	@Test
+	public void setBodyBuffer() {
+		byte[] data = new byte[] { 0, 1, 2, 0 };
+		this.envelope.setBody(view(data, 1, 2));
+		assertSame(data, this.envelope.getBodyBuffer().array());
+		assertArrayEquals(new byte[] { 1, 2 }, this.envelope.getBody());
+	}
+
+	@Test
+	public void setBodyDirectBuffer() {
+		ByteBuffer buffer = ByteBuffer.allocateDirect(2);
+		buffer.put((byte) 1).put((byte) 2).flip();
+		this.envelope.setBody(buffer);
+		assertEquals(0, buffer.position());
+		assertArrayEquals(new byte[] { 1, 2 }, this.envelope.getBody());
+	}
+
+	@Test
+	public void serialization() throws Exception {
+		byte[] data = new byte[] { 0, 1, 2, 3, 3, 4, 4, 4, 5, 0 };
+		EventEnvelope env = new EventEnvelope(view(data, 1, 1), view(data, 2, 1), view(data, 3, 2), view(data, 5, 3),
+				view(data, 8, 1));
+		ByteArrayOutputStream output = new ByteArrayOutputStream();
+		try (ObjectOutputStream oos = new ObjectOutputStream(output)) {
+			oos.writeObject(env);
+		}
+		EventEnvelope copy;
+		try (ObjectInputStream ois = new ObjectInputStream(new ByteArrayInputStream(output.toByteArray()))) {
+			copy = (EventEnvelope) ois.readObject();
+		}
+		assertArrayEquals(new byte[] { 1 }, copy.getContextId());
+		assertArrayEquals(new byte[] { 2 }, copy.getSpaceId());
+		assertArrayEquals(new byte[] { 3, 3 }, copy.getScope());
+		assertArrayEquals(new byte[] { 4, 4, 4 }, copy.getCustomHeaders());
+		assertArrayEquals(new byte[] { 5 }, copy.getBody());
+	}
+
 }
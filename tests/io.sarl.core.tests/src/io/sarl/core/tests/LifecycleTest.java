@@ -47,7 +47,7 @@ public class LifecycleTest extends AbstractSarlCoreTest<Capacity> {
 	 */
 	@Test
 	public void memberCount() {
-		assertEquals(3, this.type.getDeclaredMethods().length);
+		assertEquals(4, this.type.getDeclaredMethods().length);
 	}
 
 	/**
@@ -57,6 +57,13 @@ public class LifecycleTest extends AbstractSarlCoreTest<Capacity> {
 		assertMethod("spawnInContext", UUID.class, Class.class, AgentContext.class, Object[].class); //$NON-NLS-1$
 	}
 
+	/**
+	 */
+	@Test
+	public void spawnInContext_bulk() {
+		assertMethod("spawnInContext", Iterable.class, int.class, Class.class, AgentContext.class, Object[].class); //$NON-NLS-1$
+	}
+
 	/**
 	 */
 	@Test
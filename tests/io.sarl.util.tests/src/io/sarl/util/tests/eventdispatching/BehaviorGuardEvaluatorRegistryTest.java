@@ -119,6 +119,40 @@ public class BehaviorGuardEvaluatorRegistryTest {
 			assertTrue(evaluators.isEmpty());
 		}
 	
+		@Test
+		public void getBehaviorGuardEvaluators_sameCollectionForSameEventType() {
+			this.registry.register(this.agent);
+			Collection<BehaviorGuardEvaluator> evaluators1 = this.registry.getBehaviorGuardEvaluators(new MyEvent());
+			Collection<BehaviorGuardEvaluator> evaluators2 = this.registry.getBehaviorGuardEvaluators(new MyEvent());
+			assertSame(evaluators1, evaluators2);
+		}
+
+		@Test
+		public void getBehaviorGuardEvaluators_registerAfterDispatch() {
+			Collection<BehaviorGuardEvaluator> evaluators = this.registry.getBehaviorGuardEvaluators(new MyEvent());
+			assertTrue(evaluators.isEmpty());
+			this.registry.register(this.agent);
+			evaluators = this.registry.getBehaviorGuardEvaluators(new MyEvent());
+			assertContains(Collections2.transform(evaluators, (it) -> it.toString()),
+					"$perception$guard$evaluator1", "$perception$guard$evaluator2");
+			this.registry.register(new MyAgent2());
+			evaluators = this.registry.getBehaviorGuardEvaluators(new MyEvent());
+			assertEquals(4, evaluators.size());
+		}
+
+		@Test
+		public void getBehaviorGuardEvaluators_unregisterAfterDispatch() {
+			MyAgent2 agent2 = new MyAgent2();
+			this.registry.register(this.agent);
+			this.registry.register(agent2);
+			Collection<BehaviorGuardEvaluator> evaluators = this.registry.getBehaviorGuardEvaluators(new MyEvent());
+			assertEquals(4, evaluators.size());
+			this.registry.unregister(agent2);
+			evaluators = this.registry.getBehaviorGuardEvaluators(new MyEvent());
+			assertContains(Collections2.transform(evaluators, (it) -> it.toString()),
+					"$perception$guard$evaluator1", "$perception$guard$evaluator2");
+		}
+
 		@Test
 		public void unregisterAll() {
 			this.registry.register(this.agent);
@@ -18,7 +18,9 @@ package io.sarl.util.tests.eventdispatching;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
+import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.Collection;
@@ -111,6 +113,45 @@ public class BehaviorGuardEvaluatorTest extends AbstractSarlTest {
 		assertSame(this.listener.getRunnable(), runs.get(0));
 	}
 
+	@Test(expected = Error.class)
+	public void evaluateGuard_invalidEventType() throws Exception {
+		Method m = ListenerObject.class.getDeclaredMethod("theSpecificFunction", MyEvent.class, Collection.class);
+		BehaviorGuardEvaluator evaluator = new BehaviorGuardEvaluator(this.listener, m);
+		evaluator.evaluateGuard(Mockito.mock(Event.class), new ArrayList<>());
+	}
+
+	@Test
+	public void evaluateGuard_specificEventType() throws Exception {
+		Method m = ListenerObject.class.getDeclaredMethod("theSpecificFunction", MyEvent.class, Collection.class);
+		BehaviorGuardEvaluator evaluator = new BehaviorGuardEvaluator(this.listener, m);
+		List<Runnable> runs = new ArrayList<>();
+		evaluator.evaluateGuard(new MyEvent(), runs);
+		assertEquals(1, runs.size());
+		assertSame(this.listener.getRunnable(), runs.get(0));
+	}
+
+	@Test
+	public void evaluateGuard_exceptionInGuard() throws Exception {
+		Method m = ListenerObject.class.getDeclaredMethod("theFailingFunction", Event.class, Collection.class);
+		BehaviorGuardEvaluator evaluator = new BehaviorGuardEvaluator(this.listener, m);
+		try {
+			evaluator.evaluateGuard(Mockito.mock(Event.class), new ArrayList<>());
+			fail("Expecting InvocationTargetException");
+		} catch (InvocationTargetException exception) {
+			assertTrue(exception.getCause() instanceof IllegalStateException);
+		}
+	}
+
+	/**
+	 * @author $Author: sgalland$
+	 * @version $Name$ $Revision$ $Date$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 */
+	public static class MyEvent extends Event {
+		//
+	}
+
 	/**
 	 * @author $Author: sgalland$
 	 * @version $Name$ $Revision$ $Date$
@@ -129,6 +170,14 @@ public class BehaviorGuardEvaluatorTest extends AbstractSarlTest {
 			callers.add(this.run);
 		}
 
+		private void theSpecificFunction(MyEvent event, Collection<Runnable> callers) {
+			callers.add(this.run);
+		}
+
+		private void theFailingFunction(Event event, Collection<Runnable> callers) {
+			throw new IllegalStateException();
+		}
+
 	}
 	
 }
\ No newline at end of file